@@ -30,6 +30,7 @@ import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
+import org.eclipse.jdt.internal.core.manipulation.ASTCache;
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
@@ -37,6 +38,10 @@ import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 /**
  * The {@link CoreASTProvider} provides access to the {@link CompilationUnit AST root} used by
  * the current active Java editor.
+ * <p>
+ * ASTs created for other Java elements are kept in a memory bounded cache of recently used ASTs,
+ * such that subsequent requests for an unchanged element don't create the AST again.
+ * </p>
  *
  * The {@link CoreASTProvider} contains all methods/functionality that are
  * not dependent on the UI, from org.eclipse.jdt.internal.ui.javaeditor.ASTProvider
@@ -152,6 +157,17 @@ public final class CoreASTProvider {
 			}
 		}
 
+		ASTCache astCache= ASTCache.getDefault();
+		if (!isActiveElement && astCache.contains(input)) {
+			CompilationUnit cached= astCache.get(input, astCache.getContentStamp(input));
+			if (cached != null) {
+				if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+					System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning recently used AST:" + toString(cached) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+				return cached;
+			}
+		}
+
 		final boolean canReturnNull= waitFlag == CoreASTProvider.WAIT_NO || (waitFlag == CoreASTProvider.WAIT_ACTIVE_ONLY && (!isActiveElement || fAST != null));
 		boolean isReconciling= false;
 		final ITypeRoot activeElement;
@@ -196,11 +212,21 @@ public final class CoreASTProvider {
 
 		CompilationUnit ast= null;
 		try {
-			ast= createAST(input, progressMonitor);
-			if (progressMonitor != null && progressMonitor.isCanceled()) {
-				ast= null;
-				if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
-					System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "Ignore created AST for: " + input.getElementName() + " - operation has been cancelled"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			long stamp= astCache.isEnabled() ? astCache.getContentStamp(input) : 0;
+			if (isActiveElement && astCache.contains(input)) {
+				ast= astCache.get(input, stamp);
+				if (ast != null && JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+					System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "reusing recently used AST:" + toString(ast) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			if (ast == null) {
+				ast= createAST(input, progressMonitor);
+				if (progressMonitor != null && progressMonitor.isCanceled()) {
+					ast= null;
+					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "Ignore created AST for: " + input.getElementName() + " - operation has been cancelled"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				} else {
+					astCache.put(input, ast, stamp);
+				}
 			}
 		} finally {
 			if (isActiveElement) {
@@ -0,0 +1,533 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.BufferChangedEvent;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IBufferChangedListener;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+
+/**
+ * A least recently used cache of shared ASTs for Java elements which are not (or no longer) the
+ * active element of the {@link CoreASTProvider}.
+ * <p>
+ * An entry is keyed by its {@link ITypeRoot} and stamped with the modification stamp of the
+ * content the AST has been created from. The cache listens to the buffers of the compilation
+ * units it has computed stamps for, and every change of a buffer advances the stamp of the unit
+ * and removes its entry. A lookup only hits if the stamp is unchanged. Class files can only change
+ * through Java element deltas and have a constant stamp. The cache stops listening to a buffer when
+ * the entry of its unit is evicted or removed, when the cache is cleared, and when the buffer is
+ * closed.
+ * </p>
+ * <p>
+ * The ASTs are referenced strongly as long as their estimated size
+ * ({@link CompilationUnit#subtreeBytes()}) fits into the memory budget. Least recently used ASTs
+ * exceeding the budget are only softly referenced until they are evicted or reclaimed by the
+ * garbage collector. The estimate only covers the nodes of the ASTs. It does not include the
+ * binding environment that an AST with bindings keeps reachable, i.e. the bindings and the lookup
+ * environment of the compiler, which can be larger than the AST itself. ASTs created by the same
+ * parser share the environment, so the budget limits the number of ASTs rather than their total
+ * footprint.
+ * </p>
+ * <p>
+ * Bindings of a cached AST can refer to other compilation units. Therefore, all entries are
+ * discarded on structural changes of the Java model, i.e. on element deltas other than changes to
+ * the contents of method bodies and initializers.
+ * </p>
+ * <p>
+ * The memory budget in MiB can be configured with the system property
+ * <code>org.eclipse.jdt.core.manipulation.astCacheSize</code>, <code>0</code> disables the cache.
+ * </p>
+ *
+ * @since 1.19
+ */
+public final class ASTCache {
+
+	private static final long NO_STAMP= 0;
+
+	/**
+	 * The stamp of class files, whose content only changes with structural deltas.
+	 */
+	private static final long CLASS_FILE_STAMP= 1;
+
+	private static final int MAX_SOFT_ENTRIES= 32;
+
+	private static final ASTCache fgDefault= new ASTCache(getDefaultMemoryBudget());
+
+	private static final class Entry {
+
+		private final long fStamp;
+		private final long fSize;
+		private CompilationUnit fStrongAST;
+		private final SoftReference<CompilationUnit> fSoftAST;
+
+		private Entry(CompilationUnit ast, long stamp, long size) {
+			fStamp= stamp;
+			fSize= size;
+			fStrongAST= ast;
+			fSoftAST= new SoftReference<>(ast);
+		}
+
+		private CompilationUnit getAST() {
+			return fStrongAST != null ? fStrongAST : fSoftAST.get();
+		}
+
+		private boolean isStrong() {
+			return fStrongAST != null;
+		}
+
+		private void demote() {
+			fStrongAST= null;
+		}
+	}
+
+	/**
+	 * Tracks the modification stamp of the buffer of a compilation unit.
+	 */
+	private final class BufferTracker implements IBufferChangedListener {
+
+		private final ITypeRoot fInput;
+		private final IBuffer fBuffer;
+		private long fStamp;
+
+		private BufferTracker(ITypeRoot input, IBuffer buffer) {
+			fInput= input;
+			fBuffer= buffer;
+		}
+
+		@Override
+		public void bufferChanged(BufferChangedEvent event) {
+			ASTCache.this.bufferChanged(this, event.getBuffer().isClosed());
+		}
+	}
+
+	private final LinkedHashMap<ITypeRoot, Entry> fEntries= new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * The trackers of the buffers that are listened to, see {@link #release(ITypeRoot)}.
+	 */
+	private final Map<ITypeRoot, BufferTracker> fTrackers= new HashMap<>();
+
+	/**
+	 * The next modification stamp, stamps are unique across all buffers.
+	 */
+	private long fNextStamp= CLASS_FILE_STAMP + 1;
+
+	private long fMemoryBudget;
+	private long fStrongSize;
+
+	private long fHits;
+	private long fMisses;
+	private long fDemotions;
+	private long fEvictions;
+	private long fReclaimed;
+	private long fInvalidations;
+
+	private IElementChangedListener fListener;
+
+	private ASTCache(long memoryBudget) {
+		fMemoryBudget= memoryBudget;
+	}
+
+	/**
+	 * @return the shared AST cache
+	 */
+	public static ASTCache getDefault() {
+		return fgDefault;
+	}
+
+	private static long getDefaultMemoryBudget() {
+		Long configured= Long.getLong("org.eclipse.jdt.core.manipulation.astCacheSize"); //$NON-NLS-1$
+		if (configured != null)
+			return Math.max(0, configured.longValue()) << 20;
+		return Math.min(Runtime.getRuntime().maxMemory() / 32, 128L << 20);
+	}
+
+	/**
+	 * Returns the modification stamp of the current content of the given element. The stamp must
+	 * be computed before the AST is created, so that content changes during the creation
+	 * invalidate the entry.
+	 * <p>
+	 * The first call for a compilation unit starts to listen to its buffer, subsequent calls don't
+	 * access the buffer.
+	 * </p>
+	 *
+	 * @param input the Java element
+	 * @return the stamp of the content
+	 */
+	public long getContentStamp(ITypeRoot input) {
+		if (!(input instanceof ICompilationUnit))
+			return CLASS_FILE_STAMP;
+
+		synchronized (this) {
+			BufferTracker tracker= fTrackers.get(input);
+			if (tracker != null)
+				return tracker.fStamp;
+		}
+
+		IBuffer buffer;
+		try {
+			buffer= input.getBuffer();
+		} catch (JavaModelException e) {
+			return NO_STAMP;
+		}
+		if (buffer == null || buffer.isClosed())
+			return NO_STAMP;
+
+		// listen before the stamp is assigned, so that no change is missed
+		BufferTracker tracker= new BufferTracker(input, buffer);
+		buffer.addBufferChangedListener(tracker);
+		BufferTracker existing;
+		synchronized (this) {
+			existing= fTrackers.get(input);
+			if (existing == null) {
+				tracker.fStamp= fNextStamp++;
+				fTrackers.put(input, tracker);
+				return tracker.fStamp;
+			}
+		}
+		buffer.removeBufferChangedListener(tracker);
+		synchronized (this) {
+			return existing.fStamp;
+		}
+	}
+
+	/**
+	 * @return whether the cache is enabled
+	 */
+	public synchronized boolean isEnabled() {
+		return fMemoryBudget > 0;
+	}
+
+	/**
+	 * Sets the memory budget of the strongly referenced ASTs.
+	 *
+	 * @param bytes the budget in bytes, <code>0</code> to disable the cache
+	 */
+	public synchronized void setMemoryBudget(long bytes) {
+		fMemoryBudget= Math.max(0, bytes);
+		if (fMemoryBudget == 0)
+			clear();
+		else
+			trim();
+	}
+
+	public synchronized long getMemoryBudget() {
+		return fMemoryBudget;
+	}
+
+	/**
+	 * Returns the cached AST for the given element if it has been created from the content with
+	 * the given stamp.
+	 *
+	 * @param input the Java element
+	 * @param stamp the current content stamp, see {@link #getContentStamp(ITypeRoot)}
+	 * @return the AST or <code>null</code> if no valid AST is cached
+	 */
+	public synchronized CompilationUnit get(ITypeRoot input, long stamp) {
+		Entry entry= fEntries.get(input);
+		if (entry == null || stamp == NO_STAMP) {
+			fMisses++;
+			return null;
+		}
+		CompilationUnit ast= entry.getAST();
+		if (ast == null || entry.fStamp != stamp) {
+			if (ast == null)
+				fReclaimed++;
+			remove(input, entry);
+			fMisses++;
+			return null;
+		}
+		if (!entry.isStrong()) {
+			// used again, reference it strongly
+			entry.fStrongAST= ast;
+			fStrongSize+= entry.fSize;
+			trim();
+		}
+		fHits++;
+		return ast;
+	}
+
+	/**
+	 * Tells whether an AST is cached for the given element, regardless of its content stamp.
+	 *
+	 * @param input the Java element
+	 * @return <code>true</code> if the cache contains an entry for the element
+	 */
+	public synchronized boolean contains(ITypeRoot input) {
+		return fEntries.containsKey(input);
+	}
+
+	/**
+	 * Caches the given AST.
+	 *
+	 * @param input the Java element
+	 * @param ast the AST, created from the content with the given stamp
+	 * @param stamp the stamp of the content computed before the AST has been created
+	 */
+	public synchronized void put(ITypeRoot input, CompilationUnit ast, long stamp) {
+		if (fMemoryBudget == 0 || ast == null || stamp == NO_STAMP)
+			return;
+		if (stamp != CLASS_FILE_STAMP) {
+			BufferTracker tracker= fTrackers.get(input);
+			if (tracker == null || tracker.fStamp != stamp)
+				return; // the content has changed while the AST has been created
+		}
+
+		Entry old= fEntries.get(input);
+		if (old != null)
+			remove(input, old);
+
+		Entry entry= new Entry(ast, stamp, ast.subtreeBytes());
+		fEntries.put(input, entry);
+		fStrongSize+= entry.fSize;
+		trim();
+	}
+
+	/**
+	 * Removes the cached AST of the given element.
+	 *
+	 * @param input the Java element
+	 */
+	public synchronized void remove(ITypeRoot input) {
+		Entry entry= fEntries.get(input);
+		if (entry != null)
+			remove(input, entry);
+		release(input);
+	}
+
+	/**
+	 * Discards all cached ASTs and stops listening to the buffers.
+	 */
+	public synchronized void clear() {
+		if (!fEntries.isEmpty())
+			fInvalidations++;
+		fEntries.clear();
+		fStrongSize= 0;
+		for (BufferTracker tracker : fTrackers.values())
+			tracker.fBuffer.removeBufferChangedListener(tracker);
+		fTrackers.clear();
+	}
+
+	/**
+	 * Starts listening to Java model changes.
+	 */
+	public void install() {
+		synchronized (this) {
+			if (fListener != null)
+				return;
+			fListener= this::elementChanged;
+		}
+		JavaCore.addElementChangedListener(fListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	/**
+	 * Discards all cached ASTs and stops listening to Java model changes.
+	 */
+	public void dispose() {
+		IElementChangedListener listener;
+		synchronized (this) {
+			clear();
+			listener= fListener;
+			fListener= null;
+		}
+		if (listener != null)
+			JavaCore.removeElementChangedListener(listener);
+	}
+
+	private synchronized void bufferChanged(BufferTracker tracker, boolean closed) {
+		tracker.fStamp= fNextStamp++;
+		if (closed && fTrackers.get(tracker.fInput) == tracker) {
+			// the buffer drops its listeners when it is closed
+			fTrackers.remove(tracker.fInput);
+		}
+		Entry entry= fEntries.get(tracker.fInput);
+		if (entry != null && entry.fStamp != CLASS_FILE_STAMP)
+			remove(tracker.fInput, entry);
+	}
+
+	private void remove(ITypeRoot input, Entry entry) {
+		fEntries.remove(input);
+		if (entry.isStrong())
+			fStrongSize-= entry.fSize;
+	}
+
+	/**
+	 * Stops listening to the buffer of the given element. The tracker of a changed buffer is kept
+	 * while the unit is edited, it is released when the buffer is closed or the entry is evicted.
+	 * An AST whose creation has started before is not cached, since its stamp is unknown to the
+	 * next tracker.
+	 *
+	 * @param input the Java element
+	 */
+	private void release(ITypeRoot input) {
+		BufferTracker tracker= fTrackers.remove(input);
+		if (tracker != null)
+			tracker.fBuffer.removeBufferChangedListener(tracker);
+	}
+
+	/**
+	 * Demotes the least recently used ASTs to soft references until the strongly referenced ASTs
+	 * fit into the memory budget, and evicts the least recently used soft references exceeding
+	 * {@link #MAX_SOFT_ENTRIES}. The buffers of evicted compilation units are no longer listened to.
+	 */
+	private void trim() {
+		int softEntries= 0;
+		for (Entry entry : fEntries.values()) {
+			if (!entry.isStrong())
+				softEntries++;
+		}
+
+		List<ITypeRoot> evicted= new ArrayList<>();
+		Iterator<Map.Entry<ITypeRoot, Entry>> iter= fEntries.entrySet().iterator();
+		while (iter.hasNext() && (fStrongSize > fMemoryBudget || softEntries > MAX_SOFT_ENTRIES)) {
+			Map.Entry<ITypeRoot, Entry> next= iter.next();
+			ITypeRoot input= next.getKey();
+			Entry entry= next.getValue();
+			if (entry.isStrong()) {
+				if (fStrongSize <= fMemoryBudget)
+					continue;
+				entry.demote();
+				fStrongSize-= entry.fSize;
+				fDemotions++;
+				softEntries++;
+			}
+			if (softEntries > MAX_SOFT_ENTRIES || entry.getAST() == null) {
+				iter.remove();
+				softEntries--;
+				fEvictions++;
+				evicted.add(input);
+			}
+		}
+		for (ITypeRoot input : evicted)
+			release(input);
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		if (affectsBindings(event.getDelta())) {
+			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+				System.out.println(CoreASTProvider.getThreadName() + " - " + CoreASTProvider.DEBUG_PREFIX + "discarding cached ASTs after structural change"); //$NON-NLS-1$ //$NON-NLS-2$
+			clear();
+		}
+	}
+
+	/**
+	 * Tells whether the given delta can change bindings of other compilation units. Changes of the
+	 * contents of method bodies and initializers don't.
+	 *
+	 * @param delta the delta
+	 * @return <code>true</code> if the bindings of cached ASTs may be out of date
+	 */
+	public static boolean affectsBindings(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+
+		int flags= delta.getFlags();
+		int ignoredFlags= IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED
+				| IJavaElementDelta.F_PRIMARY_WORKING_COPY | IJavaElementDelta.F_PRIMARY_RESOURCE | IJavaElementDelta.F_AST_AFFECTED;
+		if ((flags & ~ignoredFlags) != 0)
+			return true;
+
+		int elementType= delta.getElement().getElementType();
+		if ((flags & IJavaElementDelta.F_CONTENT) != 0) {
+			if (elementType == IJavaElement.COMPILATION_UNIT || elementType == IJavaElement.CLASS_FILE) {
+				// coarse grained change, the members are not known
+				if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+					return true;
+			} else if (elementType == IJavaElement.TYPE || elementType == IJavaElement.FIELD) {
+				// e.g. modified constant values
+				return true;
+			}
+		}
+
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsBindings(child))
+				return true;
+		}
+		return false;
+	}
+
+	public synchronized int size() {
+		return fEntries.size();
+	}
+
+	/**
+	 * @return the estimated size of the strongly referenced ASTs in bytes
+	 */
+	public synchronized long getStrongSize() {
+		return fStrongSize;
+	}
+
+	public synchronized long getHits() {
+		return fHits;
+	}
+
+	public synchronized long getMisses() {
+		return fMisses;
+	}
+
+	/**
+	 * @return the number of ASTs which have been demoted to soft references
+	 */
+	public synchronized long getDemotions() {
+		return fDemotions;
+	}
+
+	/**
+	 * @return the number of ASTs which have been evicted from the cache
+	 */
+	public synchronized long getEvictions() {
+		return fEvictions;
+	}
+
+	/**
+	 * @return the number of softly referenced ASTs which have been reclaimed by the garbage
+	 *         collector before they have been used again
+	 */
+	public synchronized long getReclaimed() {
+		return fReclaimed;
+	}
+
+	/**
+	 * @return the number of times the cache has been cleared due to structural changes
+	 */
+	public synchronized long getInvalidations() {
+		return fInvalidations;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ASTCache [entries=" + fEntries.size() + ", strongSize=" + fStrongSize + ", budget=" + fMemoryBudget //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ", hits=" + fHits + ", misses=" + fMisses + ", demotions=" + fDemotions + ", evictions=" + fEvictions //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ ", reclaimed=" + fReclaimed + ", invalidations=" + fInvalidations + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
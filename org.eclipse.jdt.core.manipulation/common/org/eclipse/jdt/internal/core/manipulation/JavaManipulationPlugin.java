@@ -25,6 +25,10 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.jdt.core.manipulation.JavaManipulation;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerIndex;
+
+import org.eclipse.jdt.internal.ui.text.ChainTypeIndex;
+
 /**
  * The main plug-in class to be used in the workbench.
  */
@@ -60,10 +64,14 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 	@Override
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
+		ASTCache.getDefault().install();
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		ASTCache.getDefault().dispose();
+		ChainTypeIndex.dispose();
+		CallerIndex.shutdown();
 		super.stop(context);
 		fgDefault= null;
 	}
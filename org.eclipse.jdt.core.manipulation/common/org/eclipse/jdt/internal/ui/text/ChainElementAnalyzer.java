@@ -12,7 +12,6 @@ package org.eclipse.jdt.internal.ui.text;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -34,8 +33,6 @@ import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
 public final class ChainElementAnalyzer {
 
-	private static final Map<String, IType> typeCache= new HashMap<>();
-
 	private static final Predicate<IField> NON_STATIC_FIELDS_ONLY_FILTER = t -> {
 		try {
 			return !Flags.isStatic(t.getFlags());
@@ -158,36 +155,47 @@ public final class ChainElementAnalyzer {
     public static boolean isAssignable(final ChainElement edge, final IType expectedType,
             final int expectedDimension) {
         if (expectedDimension <= edge.getReturnTypeDimension()) {
-            final IType base = edge.getReturnType().getType();
-            if (isAssignmentCompatible(base, expectedType)) {
+            return isSubtype(edge.getReturnType().getType(), expectedType);
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether the given type is the expected type or one of its subtypes.
+     *
+     * @param base the type
+     * @param expectedType the expected type
+     * @return <code>true</code> if a value of the type can be assigned to the expected type
+     */
+    public static boolean isSubtype(final IType base, final IType expectedType) {
+        if (isAssignmentCompatible(base, expectedType)) {
+            return true;
+        }
+        final LinkedList<IType> supertypes = new LinkedList<>();
+        supertypes.add(base);
+        String expectedSignature = expectedType.getFullyQualifiedName();
+
+        while (!supertypes.isEmpty()) {
+            final IType type = supertypes.poll();
+            String typeSignature = type.getFullyQualifiedName();
+
+            if (typeSignature.equals(expectedSignature)) {
                 return true;
             }
-            final LinkedList<IType> supertypes = new LinkedList<>();
-            supertypes.add(base);
-            String expectedSignature = expectedType.getFullyQualifiedName();
-
-            while (!supertypes.isEmpty()) {
-                final IType type = supertypes.poll();
-                String typeSignature = type.getFullyQualifiedName();
-
-                if (typeSignature.equals(expectedSignature)) {
-                    return true;
-                }
-				try {
-					if (type.getSuperclassTypeSignature() != null) {
-						IType superclass= ChainElementAnalyzer.getTypeFromSignature(type.getJavaProject(), type.getSuperclassTypeSignature(), type);
-						if (superclass != null) {
-							supertypes.add(superclass);
-						}
-						for (final String intf : type.getSuperInterfaceTypeSignatures()) {
-							IType intfType= ChainElementAnalyzer.getTypeFromSignature(type.getJavaProject(), intf, type);
-							supertypes.add(intfType);
-						}
+			try {
+				if (type.getSuperclassTypeSignature() != null) {
+					IType superclass= ChainElementAnalyzer.getTypeFromSignature(type.getJavaProject(), type.getSuperclassTypeSignature(), type);
+					if (superclass != null) {
+						supertypes.add(superclass);
+					}
+					for (final String intf : type.getSuperInterfaceTypeSignatures()) {
+						IType intfType= ChainElementAnalyzer.getTypeFromSignature(type.getJavaProject(), intf, type);
+						supertypes.add(intfType);
 					}
-				} catch (JavaModelException e) {
-					// ignore
 				}
-            }
+			} catch (JavaModelException e) {
+				// ignore
+			}
         }
         return false;
     }
@@ -268,7 +276,8 @@ public final class ChainElementAnalyzer {
 	}
 
 	public static IType getTypeFromSignature (IJavaProject proj, String typeSig, IType declType) {
-		IType cType= typeCache.get(typeSig);
+		ChainTypeIndex index= ChainTypeIndex.getIndex(proj);
+		IType cType= index.getResolvedType(typeSig);
 		if (cType != null) {
 			return cType;
 		}
@@ -285,7 +294,7 @@ public final class ChainElementAnalyzer {
 			res= proj.findType(type);
 			if (res != null) {
 				if (isResolved) {
-					typeCache.put(typeSig, res);
+					index.putResolvedType(typeSig, res);
 				}
 				return res;
 			}
@@ -294,7 +303,7 @@ public final class ChainElementAnalyzer {
 				String fqExpectedType= JavaModelUtil.concatenateName(resType[0][0], resType[0][1]);
 				res= proj.findType(fqExpectedType);
 				if (isResolved) {
-					typeCache.put(typeSig, res);
+					index.putResolvedType(typeSig, res);
 				}
 				return res;
 			}
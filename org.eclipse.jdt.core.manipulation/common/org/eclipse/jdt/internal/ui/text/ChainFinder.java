@@ -11,32 +11,59 @@
  */
 package org.eclipse.jdt.internal.ui.text;
 
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IType;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.ui.text.ChainElement.ElementType;
 
 public class ChainFinder {
 
+	/**
+	 * The maximal number of incomplete chains in the queue of the breadth-first search.
+	 */
+	private static final int MAX_INCOMPLETE_CHAINS= 50000;
+
+	/**
+	 * The result of visiting an incomplete chain: either the chain ends with the expected type, or
+	 * it is continued by the given chains.
+	 */
+	private static final class Expansion {
+
+		private final boolean validEnd;
+
+		private final List<LinkedList<ChainElement>> children;
+
+		private Expansion(final boolean validEnd, final List<LinkedList<ChainElement>> children) {
+			this.validEnd= validEnd;
+			this.children= children;
+		}
+	}
+
 	private final List<ChainType> expectedTypes;
 
 	private final List<String> excludedTypes;
 
 	private final IType receiverType;
 
-	private final List<Chain> chains= new LinkedList<>();
+	private final List<Chain> chains= new ArrayList<>();
 
-	private final Map<IJavaElement, ChainElement> edgeCache= new HashMap<>();
+	private final ChainTypeIndex index;
 
-	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new HashMap<>();
+	private final Map<IType, List<IJavaElement>> instanceFieldsAndMethodsCache= new ConcurrentHashMap<>();
 
-	private final Map<String, Boolean> assignableCache= new HashMap<>();
+	private final Map<IType, List<IJavaElement>> staticFieldsAndMethodsCache= new ConcurrentHashMap<>();
 
 	private volatile boolean isCanceled;
 
@@ -45,11 +72,34 @@ public class ChainFinder {
 		this.expectedTypes= expectedTypes;
 		this.excludedTypes= excludedTypes;
 		this.receiverType= receiverType;
+		this.index= ChainTypeIndex.getIndex(receiverType != null ? receiverType.getJavaProject() : null);
 	}
 
 	public void startChainSearch(final List<ChainElement> entrypoints, final int maxChains, final int minDepth,
 			final int maxDepth) {
+		startChainSearch(entrypoints, maxChains, minDepth, maxDepth, null);
+	}
+
+	/**
+	 * Searches the chains from the given entry points to the expected types breadth-first. The
+	 * incomplete chains of one depth are visited in parallel in the given pool, the chains found
+	 * are added to {@link #getChains()} in the order of the sequential search as soon as a depth
+	 * has been visited. The visitors stop to search deeper once the depth holds enough chains or
+	 * the next depth is full. The search stops early when {@link #cancel()} is called.
+	 *
+	 * @param entrypoints the entry points
+	 * @param maxChains the maximal number of chains for all expected types
+	 * @param minDepth the minimal length of a chain
+	 * @param maxDepth the maximal length of a chain
+	 * @param pool the pool to visit the chains in, or <code>null</code> to visit them in the
+	 *            calling thread
+	 */
+	public void startChainSearch(final List<ChainElement> entrypoints, final int maxChains, final int minDepth,
+			final int maxDepth, final ForkJoinPool pool) {
 		for (final ChainType expected : expectedTypes) {
+			if (isCanceled || getChainCount() >= maxChains) {
+				return;
+			}
 			if (expected != null && !ChainFinder.isFromExcludedType(excludedTypes, expected)) {
 				ChainType expectedType= expected;
 				int expectedDimension= 0;
@@ -57,7 +107,7 @@ public class ChainFinder {
 					expectedDimension= expectedType.getDimension();
 				}
 				searchChainsForExpectedType(expectedType, expectedDimension, entrypoints, maxChains, minDepth,
-						maxDepth);
+						maxDepth, pool);
 			}
 		}
 	}
@@ -67,39 +117,118 @@ public class ChainFinder {
 	}
 
 	private void searchChainsForExpectedType(final ChainType expectedType, final int expectedDimensions,
-			final List<ChainElement> entrypoints, final int maxChains, final int minDepth, final int maxDepth) {
-		final LinkedList<LinkedList<ChainElement>> incompleteChains= prepareQueue(entrypoints);
+			final List<ChainElement> entrypoints, final int maxChains, final int minDepth, final int maxDepth,
+			final ForkJoinPool pool) {
+		List<LinkedList<ChainElement>> incompleteChains= prepareQueue(entrypoints);
+		int remaining= maxChains - getChainCount();
 
 		while (!incompleteChains.isEmpty() && !isCanceled) {
-			final LinkedList<ChainElement> chain= incompleteChains.poll();
-			final ChainElement edge= chain.getLast();
-			if (isValidEndOfChain(edge, expectedType, expectedDimensions)) {
-				if (chain.size() >= minDepth) {
-					chains.add(new Chain(chain, expectedDimensions));
-					if (chains.size() == maxChains) {
-						break;
+			final List<Expansion> expansions= visit(incompleteChains, expectedType, expectedDimensions, remaining, minDepth,
+					maxDepth, pool);
+			if (expansions == null) {
+				return;
+			}
+
+			final List<LinkedList<ChainElement>> nextChains= new ArrayList<>();
+			for (int i= 0; i < incompleteChains.size(); i++) {
+				final LinkedList<ChainElement> chain= incompleteChains.get(i);
+				final Expansion expansion= expansions.get(i);
+				if (expansion.validEnd) {
+					if (chain.size() >= minDepth) {
+						synchronized (chains) {
+							chains.add(new Chain(chain, expectedDimensions));
+						}
+						if (--remaining <= 0) {
+							return;
+						}
 					}
+					continue;
+				}
+				// the queue of the sequential search holds the rest of this depth and the next depth
+				if (incompleteChains.size() - i + nextChains.size() <= MAX_INCOMPLETE_CHAINS) {
+					nextChains.addAll(expansion.children);
+				}
+			}
+			incompleteChains= nextChains;
+		}
+	}
+
+	private List<Expansion> visit(final List<LinkedList<ChainElement>> incompleteChains, final ChainType expectedType,
+			final int expectedDimensions, final int remaining, final int minDepth, final int maxDepth,
+			final ForkJoinPool pool) {
+		// shared by the visitors of this depth, see visit(LinkedList, ...)
+		final AtomicInteger validEnds= new AtomicInteger();
+		final AtomicInteger queued= new AtomicInteger();
+		if (pool == null || incompleteChains.size() == 1) {
+			final List<Expansion> expansions= new ArrayList<>(incompleteChains.size());
+			for (final LinkedList<ChainElement> chain : incompleteChains) {
+				if (isCanceled) {
+					return null;
 				}
-				continue;
+				expansions.add(visit(chain, expectedType, expectedDimensions, remaining, minDepth, maxDepth, validEnds, queued));
 			}
-			if (chain.size() < maxDepth && incompleteChains.size() <= 50000) {
-				searchDeeper(chain, incompleteChains, edge.getReturnType());
+			return expansions;
+		}
+		try {
+			final List<Expansion> expansions= pool.submit(() -> incompleteChains.parallelStream()
+					.map(chain -> visit(chain, expectedType, expectedDimensions, remaining, minDepth, maxDepth, validEnds, queued))
+					.collect(Collectors.toList())).get();
+			return isCanceled ? null : expansions;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (final ExecutionException e) {
+			JavaManipulationPlugin.log(e.getCause());
+			return null;
+		}
+	}
+
+	/**
+	 * Visits an incomplete chain. The chain is not continued if the chains visited so far in this
+	 * depth already end the search, or if they have filled the queue of the next depth.
+	 *
+	 * @param validEnds the number of chains of this depth that end with the expected type
+	 * @param queued the number of chains that continue the chains of this depth
+	 */
+	private Expansion visit(final LinkedList<ChainElement> chain, final ChainType expectedType,
+			final int expectedDimensions, final int remaining, final int minDepth, final int maxDepth,
+			final AtomicInteger validEnds, final AtomicInteger queued) {
+		final ChainElement edge= chain.getLast();
+		if (isValidEndOfChain(edge, expectedType, expectedDimensions)) {
+			if (chain.size() >= minDepth) {
+				validEnds.incrementAndGet();
 			}
+			return new Expansion(true, Collections.emptyList());
 		}
+		if (isCanceled || chain.size() >= maxDepth || validEnds.get() >= remaining
+				|| queued.get() >= MAX_INCOMPLETE_CHAINS) {
+			return new Expansion(false, Collections.emptyList());
+		}
+		final List<LinkedList<ChainElement>> children= searchDeeper(chain, edge.getReturnType());
+		queued.addAndGet(children.size());
+		return new Expansion(false, children);
 	}
 
 	/**
 	 * Returns the potentially incomplete list of call chains that could be found before a time out
-	 * happened. The contents of this list are mutable and may change as the search makes progress.
+	 * happened. The list is a snapshot, the search may add further chains while it makes progress.
 	 *
 	 * @return The list of call chains
 	 */
 	public List<Chain> getChains() {
-		return chains;
+		synchronized (chains) {
+			return new ArrayList<>(chains);
+		}
+	}
+
+	private int getChainCount() {
+		synchronized (chains) {
+			return chains.size();
+		}
 	}
 
-	private static LinkedList<LinkedList<ChainElement>> prepareQueue(final List<ChainElement> entrypoints) {
-		final LinkedList<LinkedList<ChainElement>> incompleteChains= new LinkedList<>();
+	private static List<LinkedList<ChainElement>> prepareQueue(final List<ChainElement> entrypoints) {
+		final List<LinkedList<ChainElement>> incompleteChains= new ArrayList<>();
 		for (final ChainElement entrypoint : entrypoints) {
 			final LinkedList<ChainElement> chain= new LinkedList<>();
 			chain.add(entrypoint);
@@ -134,53 +263,48 @@ public class ChainFinder {
 		if (expectedType.getPrimitiveType() != null) {
 			return expectedType.getPrimitiveType().equals(edge.getReturnType().getPrimitiveType());
 		}
-		Boolean isAssignable= assignableCache.get(edge.toString() + expectedType.toString());
-		if (isAssignable == null) {
-			isAssignable= ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension);
-			assignableCache.put(edge.toString() + expectedType.toString(), isAssignable);
-		}
-		return isAssignable;
+		return expectedDimension <= edge.getReturnTypeDimension()
+				&& index.isAssignable(edge.getReturnType().getType(), expectedType.getType());
 	}
 
-	private void searchDeeper(final LinkedList<ChainElement> chain,
-			final List<LinkedList<ChainElement>> incompleteChains, final ChainType currentlyVisitedType) {
+	private List<LinkedList<ChainElement>> searchDeeper(final LinkedList<ChainElement> chain,
+			final ChainType currentlyVisitedType) {
 		boolean staticOnly= false;
 		if (chain.getLast().getElementType() == ElementType.TYPE) {
 			staticOnly= true;
 		}
 
+		final List<LinkedList<ChainElement>> incompleteChains= new ArrayList<>();
 		for (final IJavaElement element : findAllFieldsAndMethods(currentlyVisitedType, staticOnly)) {
 			final ChainElement newEdge= createEdge(element);
 			if (newEdge.getElementType() != null && !chain.contains(newEdge)) {
 				incompleteChains.add(cloneChainAndAppendEdge(chain, newEdge));
 			}
 		}
+		return incompleteChains;
 	}
 
 	private List<IJavaElement> findAllFieldsAndMethods(final ChainType chainElementType, boolean staticOnly) {
-		List<IJavaElement> cached= fieldsAndMethodsCache.get(chainElementType.toString() + Boolean.toString(staticOnly));
+		if (chainElementType.getType() == null) {
+			return Collections.emptyList();
+		}
+		// the shared index is not aware of the excluded types of this search
+		final Map<IType, List<IJavaElement>> cache= staticOnly ? staticFieldsAndMethodsCache : instanceFieldsAndMethodsCache;
+		List<IJavaElement> cached= cache.get(chainElementType.getType());
 		if (cached == null) {
-			cached= new LinkedList<>();
-			Collection<IJavaElement> candidates= staticOnly
-					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(chainElementType, new ChainType(receiverType))
-					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(chainElementType, new ChainType(receiverType));
-			for (final IJavaElement e : candidates) {
+			cached= new ArrayList<>();
+			for (final IJavaElement e : index.getFieldsAndMethods(chainElementType, receiverType, staticOnly)) {
 				if (!ChainFinder.isFromExcludedType(excludedTypes, e)) {
 					cached.add(e);
 				}
 			}
-			fieldsAndMethodsCache.put(chainElementType.toString() + Boolean.toString(staticOnly), cached);
+			cache.put(chainElementType.getType(), cached);
 		}
 		return cached;
 	}
 
 	private ChainElement createEdge(final IJavaElement member) {
-		ChainElement cached= edgeCache.get(member);
-		if (cached == null) {
-			cached= new ChainElement(member, false);
-			edgeCache.put(member, cached);
-		}
-		return cached;
+		return index.getEdge(member);
 	}
 
 	private static LinkedList<ChainElement> cloneChainAndAppendEdge(final LinkedList<ChainElement> chain,
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.core.manipulation.ASTCache;
+
+/**
+ * Project-scoped index of the type information needed by {@link ChainFinder}: the fields and
+ * methods reachable from a type, the chain elements created for them, resolved type signatures and
+ * the assignability of types.
+ * <p>
+ * The index of a project is shared by all chain searches in that project. All indexes are
+ * discarded on structural changes of the Java model, i.e. on element deltas other than changes to
+ * the contents of method bodies and initializers.
+ * </p>
+ */
+public final class ChainTypeIndex {
+
+	/**
+	 * The maximal number of entries per map, exceeding maps are cleared.
+	 */
+	private static final int MAX_ENTRIES= 20000;
+
+	private static final Map<IJavaProject, ChainTypeIndex> fgIndexes= new ConcurrentHashMap<>();
+
+	private static IElementChangedListener fgListener;
+
+	private static final class MemberKey {
+
+		private final IType fType;
+		private final IType fReceiverType;
+		private final boolean fStaticOnly;
+
+		private MemberKey(IType type, IType receiverType, boolean staticOnly) {
+			fType= type;
+			fReceiverType= receiverType;
+			fStaticOnly= staticOnly;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fType, fReceiverType, Boolean.valueOf(fStaticOnly));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof MemberKey))
+				return false;
+			MemberKey other= (MemberKey) obj;
+			return fStaticOnly == other.fStaticOnly && fType.equals(other.fType) && Objects.equals(fReceiverType, other.fReceiverType);
+		}
+	}
+
+	private static final class TypePair {
+
+		private final IType fType;
+		private final IType fExpectedType;
+
+		private TypePair(IType type, IType expectedType) {
+			fType= type;
+			fExpectedType= expectedType;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * fType.hashCode() + fExpectedType.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof TypePair))
+				return false;
+			TypePair other= (TypePair) obj;
+			return fType.equals(other.fType) && fExpectedType.equals(other.fExpectedType);
+		}
+	}
+
+	private final Map<MemberKey, List<IJavaElement>> fMembers= new ConcurrentHashMap<>();
+
+	private final Map<IJavaElement, ChainElement> fEdges= new ConcurrentHashMap<>();
+
+	private final Map<TypePair, Boolean> fAssignable= new ConcurrentHashMap<>();
+
+	private final Map<String, IType> fResolvedTypes= new ConcurrentHashMap<>();
+
+	private ChainTypeIndex() {
+	}
+
+	/**
+	 * Returns the shared index of the given project.
+	 *
+	 * @param project the Java project, can be <code>null</code>
+	 * @return the index of the project, or a new index that is not shared if the project is
+	 *         <code>null</code>
+	 */
+	public static ChainTypeIndex getIndex(IJavaProject project) {
+		if (project == null)
+			return new ChainTypeIndex();
+		install();
+		return fgIndexes.computeIfAbsent(project, p -> new ChainTypeIndex());
+	}
+
+	private static synchronized void install() {
+		if (fgListener != null)
+			return;
+		fgListener= ChainTypeIndex::elementChanged;
+		JavaCore.addElementChangedListener(fgListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	/**
+	 * Discards all indexes and stops listening to Java model changes.
+	 */
+	public static void dispose() {
+		IElementChangedListener listener;
+		synchronized (ChainTypeIndex.class) {
+			listener= fgListener;
+			fgListener= null;
+		}
+		if (listener != null)
+			JavaCore.removeElementChangedListener(listener);
+		fgIndexes.clear();
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		if (!fgIndexes.isEmpty() && ASTCache.affectsBindings(event.getDelta()))
+			fgIndexes.clear();
+	}
+
+	/**
+	 * Returns the fields and methods that can be accessed on the given type.
+	 *
+	 * @param type the type
+	 * @param receiverType the type from which the members are accessed
+	 * @param staticOnly <code>true</code> for the static fields and non-void static methods,
+	 *            <code>false</code> for the visible instance fields and non-void instance methods
+	 * @return the fields and methods, must not be modified
+	 */
+	public List<IJavaElement> getFieldsAndMethods(ChainType type, IType receiverType, boolean staticOnly) {
+		if (type.getType() == null)
+			return Collections.emptyList();
+
+		MemberKey key= new MemberKey(type.getType(), receiverType, staticOnly);
+		List<IJavaElement> members= fMembers.get(key);
+		if (members == null) {
+			ChainType receiver= new ChainType(receiverType);
+			Collection<IJavaElement> candidates= staticOnly
+					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(type, receiver)
+					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(type, receiver);
+			members= Collections.unmodifiableList(new ArrayList<>(candidates));
+			put(fMembers, key, members);
+		}
+		return members;
+	}
+
+	/**
+	 * Returns the chain element for a field or method.
+	 *
+	 * @param member the field or method
+	 * @return the shared chain element
+	 */
+	public ChainElement getEdge(IJavaElement member) {
+		ChainElement edge= fEdges.get(member);
+		if (edge == null) {
+			edge= new ChainElement(member, false);
+			put(fEdges, member, edge);
+		}
+		return edge;
+	}
+
+	/**
+	 * Tells whether a value of the given type can be assigned to the expected type.
+	 *
+	 * @param type the type of the value
+	 * @param expectedType the expected type
+	 * @return <code>true</code> if the type is the expected type or one of its subtypes
+	 * @see ChainElementAnalyzer#isSubtype(IType, IType)
+	 */
+	public boolean isAssignable(IType type, IType expectedType) {
+		TypePair key= new TypePair(type, expectedType);
+		Boolean assignable= fAssignable.get(key);
+		if (assignable == null) {
+			assignable= Boolean.valueOf(ChainElementAnalyzer.isSubtype(type, expectedType));
+			put(fAssignable, key, assignable);
+		}
+		return assignable.booleanValue();
+	}
+
+	/**
+	 * Returns the type a resolved type signature has been resolved to before.
+	 *
+	 * @param typeSignature the type signature
+	 * @return the type or <code>null</code> if the signature has not been resolved yet
+	 */
+	IType getResolvedType(String typeSignature) {
+		return fResolvedTypes.get(typeSignature);
+	}
+
+	/**
+	 * Remembers the type a resolved type signature has been resolved to.
+	 *
+	 * @param typeSignature the type signature
+	 * @param type the type, can be <code>null</code>
+	 */
+	void putResolvedType(String typeSignature, IType type) {
+		if (type != null)
+			put(fResolvedTypes, typeSignature, type);
+	}
+
+	private static <K, V> void put(Map<K, V> map, K key, V value) {
+		if (map.size() >= MAX_ENTRIES)
+			map.clear();
+		map.put(key, value);
+	}
+}
@@ -168,6 +168,16 @@ public class CallHierarchyCore {
         return callLocation;
     }
 
+    /**
+     * Returns the index used to find callers of methods.
+     *
+     * @return the index, or <code>null</code> if callers are only found with the search engine
+     * @see CallerIndex#ENABLED
+     */
+    public CallerIndex getCallerIndex() {
+        return CallerIndex.ENABLED ? CallerIndex.getDefault() : null;
+    }
+
     public IJavaSearchScope getSearchScope() {
         if (fSearchScope == null) {
             fSearchScope= SearchEngine.createWorkspaceScope();
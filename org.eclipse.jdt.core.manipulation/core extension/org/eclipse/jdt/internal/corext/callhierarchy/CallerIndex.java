@@ -0,0 +1,1173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AnnotationTypeDeclaration;
+import org.eclipse.jdt.core.dom.AnonymousClassDeclaration;
+import org.eclipse.jdt.core.dom.ClassInstanceCreation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ConstructorInvocation;
+import org.eclipse.jdt.core.dom.CreationReference;
+import org.eclipse.jdt.core.dom.EnumConstantDeclaration;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
+import org.eclipse.jdt.core.dom.ExpressionMethodReference;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.core.dom.RecordDeclaration;
+import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
+import org.eclipse.jdt.core.dom.SuperMethodInvocation;
+import org.eclipse.jdt.core.dom.SuperMethodReference;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.TypeMethodReference;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.util.JdtFlags;
+import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+
+/**
+ * Index of the method calls in the source of the Java projects in the workspace, used to find the
+ * callers of a source method without searching the workspace.
+ * <p>
+ * The index of a project holds the calls of each of its compilation units, together with the
+ * modification stamp of the unit, the names of the methods it declares and fingerprints of its
+ * type and method declarations. Java element deltas of saved or otherwise changed compilation
+ * units and reconciles of working copies with changed content mark them dirty. Dirty units are
+ * indexed again before callers are returned, working copies with their unsaved content. If the methods declared by an
+ * indexed unit changed, calls of methods with the same names may be bound to other methods now,
+ * and the units with such calls in the projects that depend on the unit are indexed again in the
+ * background; if its types changed, all units of these projects are indexed again.
+ * {@link #findCallers(IMethod, IProgressMonitor)} returns
+ * <code>null</code> for projects that are being indexed, and clients have to fall back to the
+ * search engine.
+ * </p>
+ * <p>
+ * The indexes are saved in the state location of the plug-in when it stops or when their project
+ * is closed, and only the compilation units that changed since are indexed again. The saved index
+ * of a project is deleted when the project is removed.
+ * </p>
+ * <p>
+ * Like the search engine, the index reports the calls bound to the given method declaration or to
+ * a method overriding it, and the calls bound to a method that the given method overrides, i.e.
+ * with a receiver of a super type. A call is stored for the method it is bound to and for the
+ * source methods that this method overrides. Unlike the search engine, calls inside lambda
+ * expressions are reported for the enclosing member.
+ * </p>
+ */
+public final class CallerIndex {
+
+	/**
+	 * Tells whether the call hierarchy looks up callers in the index.
+	 */
+	public static final boolean ENABLED= Boolean.getBoolean("org.eclipse.jdt.ui.callhierarchy.callerIndex"); //$NON-NLS-1$
+
+	/**
+	 * Family of the job that indexes the projects.
+	 */
+	public static final Object FAMILY= CallerIndex.class;
+
+	/**
+	 * The maximal number of dirty compilation units that are indexed when callers are requested.
+	 * Projects with more dirty units are indexed in the background.
+	 */
+	private static final int MAX_DIRTY_UNITS= 20;
+
+	/**
+	 * The number of compilation units that are parsed together.
+	 */
+	private static final int BATCH_SIZE= 50;
+
+	private static final int FILE_MAGIC= 0x4A434958;
+
+	private static final int FILE_VERSION= 3;
+
+	/**
+	 * The number of values stored for a call in {@link UnitCalls#fCalls}.
+	 */
+	private static final int CALL_LENGTH= 5;
+
+	private static CallerIndex fgInstance;
+
+	/**
+	 * The calls of an indexed compilation unit.
+	 */
+	private static final class UnitCalls {
+
+		private final long fStamp;
+
+		/**
+		 * The fingerprint of the declared types and their super types.
+		 */
+		private final int fTypeFingerprint;
+
+		/**
+		 * The fingerprint of the declared methods.
+		 */
+		private final int fFingerprint;
+
+		/**
+		 * The names of the declared methods and constructors.
+		 */
+		private final String[] fMethods;
+
+		/**
+		 * The handle identifiers of the called methods and of the calling members.
+		 */
+		private final String[] fHandles;
+
+		/**
+		 * For each call the index in {@link #fHandles} of the called method, of the method the
+		 * call is bound to, which is the called method or a method overriding it, and of the
+		 * caller, followed by the start and end offset of the call.
+		 */
+		private final int[] fCalls;
+
+		private UnitCalls(long stamp, int typeFingerprint, int fingerprint, String[] methods, String[] handles, int[] calls) {
+			fStamp= stamp;
+			fTypeFingerprint= typeFingerprint;
+			fFingerprint= fingerprint;
+			fMethods= methods;
+			fHandles= handles;
+			fCalls= calls;
+		}
+	}
+
+	/**
+	 * The declarations that changed in indexed compilation units.
+	 */
+	private static final class DeclarationChanges {
+
+		/**
+		 * Tells whether declared types or their super types changed.
+		 */
+		private boolean fTypes;
+
+		/**
+		 * The names of the methods that are declared in changed units before or after the change.
+		 */
+		private final Set<String> fMethods= new HashSet<>();
+
+		private void add(UnitCalls previous, UnitCalls calls) {
+			if (previous.fTypeFingerprint != calls.fTypeFingerprint)
+				fTypes= true;
+			if (previous.fFingerprint != calls.fFingerprint) {
+				fMethods.addAll(Arrays.asList(previous.fMethods));
+				fMethods.addAll(Arrays.asList(calls.fMethods));
+			}
+		}
+
+		private boolean isEmpty() {
+			return !fTypes && fMethods.isEmpty();
+		}
+	}
+
+	/**
+	 * The index of a Java project. Accessed while holding the lock on the {@link CallerIndex}.
+	 */
+	private static final class ProjectIndex {
+
+		private final Map<String, UnitCalls> fUnits= new HashMap<>();
+
+		private final Map<String, Set<String>> fUnitsByCallee= new HashMap<>();
+
+		/**
+		 * The units that have to be indexed again.
+		 */
+		private final Set<String> fDirty= new LinkedHashSet<>();
+
+		/**
+		 * Tells whether the units of the project have to be compared with the index, e.g. after
+		 * the index has been loaded or package fragments have been added.
+		 */
+		private boolean fUnchecked= true;
+
+		/**
+		 * Tells whether the project is being indexed.
+		 */
+		private boolean fBusy;
+
+		private boolean fChanged;
+
+		private boolean isUpToDate() {
+			return !fUnchecked && !fBusy && fDirty.isEmpty();
+		}
+
+		private void put(String unit, UnitCalls calls) {
+			remove(unit);
+			fUnits.put(unit, calls);
+			for (int i= 0; i < calls.fCalls.length; i+= CALL_LENGTH) {
+				fUnitsByCallee.computeIfAbsent(calls.fHandles[calls.fCalls[i]], k -> new HashSet<>()).add(unit);
+			}
+			fChanged= true;
+		}
+
+		private void remove(String unit) {
+			UnitCalls calls= fUnits.remove(unit);
+			if (calls == null)
+				return;
+			for (int i= 0; i < calls.fCalls.length; i+= CALL_LENGTH) {
+				String callee= calls.fHandles[calls.fCalls[i]];
+				Set<String> units= fUnitsByCallee.get(callee);
+				if (units != null && units.remove(unit) && units.isEmpty())
+					fUnitsByCallee.remove(callee);
+			}
+			fChanged= true;
+		}
+	}
+
+	/**
+	 * Collects the calls of a compilation unit to methods declared in source.
+	 */
+	private static final class CallCollector extends ASTVisitor {
+
+		private final ICompilationUnit fUnit;
+
+		private final Map<String, Integer> fHandleIndexes= new HashMap<>();
+
+		private final List<String> fHandles= new ArrayList<>();
+
+		private int[] fCalls= new int[64];
+
+		private int fLength;
+
+		private int fTypeFingerprint= 1;
+
+		private int fFingerprint= 1;
+
+		private final Set<String> fMethods= new LinkedHashSet<>();
+
+		/**
+		 * The handle identifiers of the source methods overridden by the called methods, by the
+		 * key of the called method.
+		 */
+		private final Map<String, String[]> fOverridden= new HashMap<>();
+
+		private CallCollector(ICompilationUnit unit) {
+			fUnit= unit;
+		}
+
+		private UnitCalls getCalls(long stamp) {
+			return new UnitCalls(stamp, fTypeFingerprint, fFingerprint, fMethods.toArray(new String[fMethods.size()]),
+					fHandles.toArray(new String[fHandles.size()]), Arrays.copyOf(fCalls, fLength));
+		}
+
+		@Override
+		public boolean visit(MethodInvocation node) {
+			addCall(node.resolveMethodBinding(), node.getName().getStartPosition(), node.getStartPosition() + node.getLength());
+			return true;
+		}
+
+		@Override
+		public boolean visit(SuperMethodInvocation node) {
+			addCall(node.resolveMethodBinding(), node.getName().getStartPosition(), node.getStartPosition() + node.getLength());
+			return true;
+		}
+
+		@Override
+		public boolean visit(ClassInstanceCreation node) {
+			addCall(node.resolveConstructorBinding(), node.getStartPosition(), node.getStartPosition() + node.getLength());
+			return true;
+		}
+
+		@Override
+		public boolean visit(ConstructorInvocation node) {
+			addCall(node.resolveConstructorBinding(), node.getStartPosition(), node.getStartPosition() + node.getLength());
+			return true;
+		}
+
+		@Override
+		public boolean visit(SuperConstructorInvocation node) {
+			addCall(node.resolveConstructorBinding(), node.getStartPosition(), node.getStartPosition() + node.getLength());
+			return true;
+		}
+
+		@Override
+		public boolean visit(EnumConstantDeclaration node) {
+			addCall(node.resolveConstructorBinding(), node.getName().getStartPosition(), node.getStartPosition() + node.getLength());
+			return true;
+		}
+
+		@Override
+		public boolean visit(ExpressionMethodReference node) {
+			addCall(node.resolveMethodBinding(), node.getName().getStartPosition(), node.getStartPosition() + node.getLength());
+			return true;
+		}
+
+		@Override
+		public boolean visit(SuperMethodReference node) {
+			addCall(node.resolveMethodBinding(), node.getName().getStartPosition(), node.getStartPosition() + node.getLength());
+			return true;
+		}
+
+		@Override
+		public boolean visit(TypeMethodReference node) {
+			addCall(node.resolveMethodBinding(), node.getName().getStartPosition(), node.getStartPosition() + node.getLength());
+			return true;
+		}
+
+		@Override
+		public boolean visit(CreationReference node) {
+			addCall(node.resolveMethodBinding(), node.getStartPosition(), node.getStartPosition() + node.getLength());
+			return true;
+		}
+
+		@Override
+		public void endVisit(AnonymousClassDeclaration node) {
+			addDeclaration(node.resolveBinding());
+		}
+
+		@Override
+		public void endVisit(TypeDeclaration node) {
+			addDeclaration(node.resolveBinding());
+		}
+
+		@Override
+		public void endVisit(EnumDeclaration node) {
+			addDeclaration(node.resolveBinding());
+		}
+
+		@Override
+		public void endVisit(RecordDeclaration node) {
+			addDeclaration(node.resolveBinding());
+		}
+
+		@Override
+		public void endVisit(AnnotationTypeDeclaration node) {
+			addDeclaration(node.resolveBinding());
+		}
+
+		/**
+		 * Adds the declaration of a type and its methods to the fingerprints of the unit.
+		 *
+		 * @param type the declared type, can be <code>null</code>
+		 */
+		private void addDeclaration(ITypeBinding type) {
+			if (type == null) {
+				fTypeFingerprint= 31 * fTypeFingerprint;
+				return;
+			}
+			fTypeFingerprint= 31 * fTypeFingerprint + type.getKey().hashCode();
+			fTypeFingerprint= 31 * fTypeFingerprint + type.getModifiers();
+			ITypeBinding superclass= type.getSuperclass();
+			if (superclass != null)
+				fTypeFingerprint= 31 * fTypeFingerprint + superclass.getKey().hashCode();
+			for (ITypeBinding superInterface : type.getInterfaces()) {
+				fTypeFingerprint= 31 * fTypeFingerprint + superInterface.getKey().hashCode();
+			}
+			for (IMethodBinding method : type.getDeclaredMethods()) {
+				fFingerprint= 31 * fFingerprint + method.getKey().hashCode();
+				fFingerprint= 31 * fFingerprint + method.getModifiers();
+				fMethods.add(method.getName());
+			}
+		}
+
+		private void addCall(IMethodBinding binding, int start, int end) {
+			if (binding == null)
+				return;
+			IMethodBinding declaration= binding.getMethodDeclaration();
+			IJavaElement callee= declaration.getJavaElement();
+			if (!(callee instanceof IMethod) || ((IMethod) callee).isBinary())
+				return;
+			IJavaElement caller;
+			try {
+				caller= fUnit.getElementAt(start);
+			} catch (JavaModelException e) {
+				return;
+			}
+			if (!(caller instanceof IMember))
+				return;
+
+			int bound= getHandleIndex(callee.getHandleIdentifier());
+			int callerIndex= getHandleIndex(caller.getHandleIdentifier());
+			addCall(bound, bound, callerIndex, start, end);
+			// the call may invoke the overriding method, like a call with a receiver of a sub type
+			for (String overridden : getOverriddenMethods(declaration)) {
+				addCall(getHandleIndex(overridden), bound, callerIndex, start, end);
+			}
+		}
+
+		private void addCall(int callee, int bound, int caller, int start, int end) {
+			if (fLength + CALL_LENGTH > fCalls.length)
+				fCalls= Arrays.copyOf(fCalls, fCalls.length * 2);
+			fCalls[fLength++]= callee;
+			fCalls[fLength++]= bound;
+			fCalls[fLength++]= caller;
+			fCalls[fLength++]= start;
+			fCalls[fLength++]= end;
+		}
+
+		private String[] getOverriddenMethods(IMethodBinding method) {
+			String[] overridden= fOverridden.get(method.getKey());
+			if (overridden == null) {
+				List<String> handles= new ArrayList<>();
+				int modifiers= method.getModifiers();
+				if (!method.isConstructor() && !Modifier.isStatic(modifiers) && !Modifier.isPrivate(modifiers))
+					collectOverriddenMethods(method, method.getDeclaringClass(), new HashSet<>(), handles);
+				overridden= handles.toArray(new String[handles.size()]);
+				fOverridden.put(method.getKey(), overridden);
+			}
+			return overridden;
+		}
+
+		/**
+		 * Collects the source methods overridden by a method in the super types of a type. Binary
+		 * super types are skipped, their methods are not indexed.
+		 *
+		 * @param method the overriding method
+		 * @param type the type whose super types are searched
+		 * @param visited the visited type declarations
+		 * @param handles collects the handle identifiers of the overridden methods
+		 */
+		private static void collectOverriddenMethods(IMethodBinding method, ITypeBinding type, Set<ITypeBinding> visited, List<String> handles) {
+			List<ITypeBinding> supertypes= new ArrayList<>(Arrays.asList(type.getInterfaces()));
+			if (type.getSuperclass() != null)
+				supertypes.add(0, type.getSuperclass());
+			for (ITypeBinding supertype : supertypes) {
+				if (!supertype.isFromSource() || !visited.add(supertype.getTypeDeclaration()))
+					continue;
+				for (IMethodBinding candidate : supertype.getDeclaredMethods()) {
+					if (method.overrides(candidate)) {
+						IJavaElement overridden= candidate.getMethodDeclaration().getJavaElement();
+						if (overridden instanceof IMethod)
+							handles.add(overridden.getHandleIdentifier());
+					}
+				}
+				collectOverriddenMethods(method, supertype, visited, handles);
+			}
+		}
+
+		private int getHandleIndex(String handle) {
+			Integer index= fHandleIndexes.get(handle);
+			if (index == null) {
+				index= Integer.valueOf(fHandles.size());
+				fHandles.add(handle);
+				fHandleIndexes.put(handle, index);
+			}
+			return index.intValue();
+		}
+	}
+
+	private final Map<String, ProjectIndex> fProjects= new HashMap<>();
+
+	private final File fDirectory;
+
+	private final IElementChangedListener fListener;
+
+	private final Job fJob;
+
+	private CallerIndex(File directory) {
+		fDirectory= directory;
+		fListener= this::elementChanged;
+		fJob= new Job(CallHierarchyMessages.CallerIndex_job_name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					indexProjects(monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == FAMILY;
+			}
+		};
+		fJob.setSystem(true);
+		fJob.setPriority(Job.DECORATE);
+		JavaCore.addElementChangedListener(fListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	/**
+	 * Returns the shared index.
+	 *
+	 * @return the index
+	 */
+	public static synchronized CallerIndex getDefault() {
+		if (fgInstance == null) {
+			File directory= JavaManipulationPlugin.getDefault().getStateLocation().append("callerIndex").toFile(); //$NON-NLS-1$
+			fgInstance= new CallerIndex(directory);
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Saves the index if it has been used, and stops listening to Java model changes.
+	 */
+	public static void shutdown() {
+		CallerIndex index;
+		synchronized (CallerIndex.class) {
+			index= fgInstance;
+			fgInstance= null;
+		}
+		if (index != null) {
+			JavaCore.removeElementChangedListener(index.fListener);
+			index.fJob.cancel();
+			try {
+				index.fJob.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			index.save();
+		}
+	}
+
+	/**
+	 * Returns the callers of a method declared in source.
+	 *
+	 * @param method the method
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return the callers by handle identifier, like the ones found by the search engine, or
+	 *         <code>null</code> if one of the projects the callers can be declared in is not
+	 *         indexed yet
+	 * @throws JavaModelException if the projects of the workspace cannot be accessed
+	 */
+	public Map<String, MethodCall> findCallers(IMethod method, IProgressMonitor monitor) throws JavaModelException {
+		IJavaProject[] projects;
+		if (JdtFlags.isPrivate(method)) {
+			projects= new IJavaProject[] { method.getJavaProject() };
+		} else {
+			projects= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+		}
+
+		SubMonitor subMonitor= SubMonitor.convert(monitor, projects.length + 2);
+		for (IJavaProject project : projects) {
+			if (project.getProject().isOpen() && !update(project, subMonitor.split(1))) {
+				fJob.schedule();
+				return null;
+			}
+		}
+
+		String callee= method.getHandleIdentifier();
+		List<String> overridden= getOverriddenMethods(method, subMonitor.split(1));
+		List<String> callers= new ArrayList<>();
+		List<int[]> ranges= new ArrayList<>();
+		synchronized (this) {
+			for (IJavaProject project : projects) {
+				ProjectIndex index= fProjects.get(project.getElementName());
+				if (index == null)
+					continue;
+				addCalls(index, callee, false, callers, ranges);
+				// calls with a receiver of a super type
+				for (String handle : overridden) {
+					addCalls(index, handle, true, callers, ranges);
+				}
+			}
+		}
+
+		CallSearchResultCollector collector= new CallSearchResultCollector();
+		for (int i= 0; i < callers.size(); i++) {
+			IJavaElement caller= JavaCore.create(callers.get(i));
+			if (caller instanceof IMember) {
+				IMember member= (IMember) caller;
+				collector.addMember(member, member, ranges.get(i)[0], ranges.get(i)[1]);
+			}
+		}
+		subMonitor.done();
+		return collector.getCallers();
+	}
+
+	/**
+	 * Adds the calls of a method that are stored in the index of a project.
+	 *
+	 * @param index the index of the project
+	 * @param callee the handle identifier of the called method
+	 * @param bound <code>true</code> to only add the calls that are bound to the called method,
+	 *            <code>false</code> to also add calls bound to methods overriding it
+	 * @param callers collects the handle identifiers of the callers
+	 * @param ranges collects the start and end offsets of the calls
+	 */
+	private static void addCalls(ProjectIndex index, String callee, boolean bound, List<String> callers, List<int[]> ranges) {
+		Set<String> units= index.fUnitsByCallee.get(callee);
+		if (units == null)
+			return;
+		for (String unit : units) {
+			UnitCalls calls= index.fUnits.get(unit);
+			for (int i= 0; i < calls.fCalls.length; i+= CALL_LENGTH) {
+				if (callee.equals(calls.fHandles[calls.fCalls[i]]) && (!bound || callee.equals(calls.fHandles[calls.fCalls[i + 1]]))) {
+					callers.add(calls.fHandles[calls.fCalls[i + 2]]);
+					ranges.add(new int[] { calls.fCalls[i + 3], calls.fCalls[i + 4] });
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the source methods that a method overrides.
+	 *
+	 * @param method the method
+	 * @param monitor the progress monitor
+	 * @return the handle identifiers of the overridden methods
+	 * @throws JavaModelException if the super type hierarchy cannot be computed
+	 */
+	private static List<String> getOverriddenMethods(IMethod method, IProgressMonitor monitor) throws JavaModelException {
+		List<String> result= new ArrayList<>();
+		IType type= method.getDeclaringType();
+		if (type == null || method.isConstructor() || JdtFlags.isPrivate(method) || JdtFlags.isStatic(method))
+			return result;
+		ITypeHierarchy hierarchy= type.newSupertypeHierarchy(monitor);
+		MethodOverrideTester tester= new MethodOverrideTester(type, hierarchy);
+		for (IType supertype : hierarchy.getAllSupertypes(type)) {
+			IMethod overridden= tester.findOverriddenMethodInType(supertype, method);
+			if (overridden != null && !overridden.isBinary())
+				result.add(overridden.getHandleIdentifier());
+		}
+		return result;
+	}
+
+	/**
+	 * Indexes the dirty units of a project if there are only a few.
+	 *
+	 * @param project the project
+	 * @param monitor the progress monitor
+	 * @return <code>true</code> if the index of the project is up to date
+	 */
+	private boolean update(IJavaProject project, IProgressMonitor monitor) {
+		List<String> dirty;
+		synchronized (this) {
+			ProjectIndex index= fProjects.get(project.getElementName());
+			if (index == null || index.fUnchecked || index.fBusy || index.fDirty.size() > MAX_DIRTY_UNITS)
+				return false;
+			if (index.fDirty.isEmpty())
+				return true;
+			dirty= new ArrayList<>(index.fDirty);
+			index.fDirty.clear();
+			index.fBusy= true;
+		}
+		DeclarationChanges changes= new DeclarationChanges();
+		try {
+			indexUnits(project, dirty, changes, monitor);
+		} finally {
+			setBusy(project.getElementName(), false);
+		}
+		if (!changes.isEmpty()) {
+			invalidateDependents(project, changes);
+			return false;
+		}
+		synchronized (this) {
+			ProjectIndex index= fProjects.get(project.getElementName());
+			return index != null && index.isUpToDate();
+		}
+	}
+
+	private synchronized void setBusy(String name, boolean busy) {
+		ProjectIndex index= fProjects.get(name);
+		if (index != null)
+			index.fBusy= busy;
+	}
+
+	/**
+	 * Brings the indexes of all Java projects in the workspace up to date.
+	 *
+	 * @param monitor the progress monitor
+	 */
+	private void indexProjects(IProgressMonitor monitor) {
+		IJavaProject[] projects;
+		try {
+			projects= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+		} catch (JavaModelException e) {
+			JavaManipulationPlugin.log(e);
+			return;
+		}
+		SubMonitor subMonitor= SubMonitor.convert(monitor, CallHierarchyMessages.CallerIndex_job_name, projects.length);
+		for (IJavaProject project : projects) {
+			if (project.getProject().isOpen())
+				indexProject(project, subMonitor.split(1));
+		}
+	}
+
+	private void indexProject(IJavaProject project, IProgressMonitor monitor) {
+		String name= project.getElementName();
+		boolean load;
+		synchronized (this) {
+			ProjectIndex index= fProjects.get(name);
+			if (index != null && (index.fBusy || !index.fUnchecked && index.fDirty.isEmpty()))
+				return;
+			load= index == null;
+			if (load) {
+				index= new ProjectIndex();
+				fProjects.put(name, index);
+			}
+			index.fBusy= true;
+		}
+
+		DeclarationChanges changes= new DeclarationChanges();
+		try {
+			if (load)
+				load(project);
+			Map<String, Long> stamps= getStamps(project);
+			List<String> dirty;
+			synchronized (this) {
+				ProjectIndex index= fProjects.get(name);
+				if (index == null)
+					return;
+				if (index.fUnchecked) {
+					index.fUnchecked= false;
+					check(index, stamps);
+				}
+				dirty= new ArrayList<>(index.fDirty);
+				index.fDirty.clear();
+			}
+			indexUnits(project, dirty, changes, monitor);
+		} catch (JavaModelException e) {
+			JavaManipulationPlugin.log(e);
+		} finally {
+			setBusy(name, false);
+		}
+		if (!changes.isEmpty()) {
+			invalidateDependents(project, changes);
+			fJob.schedule();
+		}
+	}
+
+	/**
+	 * Returns the current stamps of the compilation units of a project.
+	 *
+	 * @param project the project
+	 * @return the stamps by handle identifier of the units
+	 * @throws JavaModelException if the compilation units of the project cannot be accessed
+	 */
+	private static Map<String, Long> getStamps(IJavaProject project) throws JavaModelException {
+		Map<String, Long> stamps= new HashMap<>();
+		for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+			if (root.getKind() != IPackageFragmentRoot.K_SOURCE || !project.equals(root.getJavaProject()))
+				continue;
+			for (IJavaElement fragment : root.getChildren()) {
+				for (ICompilationUnit unit : ((IPackageFragment) fragment).getCompilationUnits()) {
+					stamps.put(unit.getHandleIdentifier(), Long.valueOf(getStamp(unit)));
+				}
+			}
+		}
+		return stamps;
+	}
+
+	/**
+	 * Marks the units of a project dirty that are not indexed, have been modified since they have
+	 * been indexed, or have unsaved changes, and removes the units that do not exist anymore.
+	 *
+	 * @param index the index of the project
+	 * @param stamps the current stamps of the units of the project
+	 */
+	private static void check(ProjectIndex index, Map<String, Long> stamps) {
+		for (String unit : new ArrayList<>(index.fUnits.keySet())) {
+			if (!stamps.containsKey(unit)) {
+				index.remove(unit);
+				index.fDirty.remove(unit);
+			}
+		}
+		for (Map.Entry<String, Long> entry : stamps.entrySet()) {
+			UnitCalls calls= index.fUnits.get(entry.getKey());
+			long stamp= entry.getValue().longValue();
+			if (calls == null || calls.fStamp != stamp || stamp == IResource.NULL_STAMP)
+				index.fDirty.add(entry.getKey());
+		}
+	}
+
+	/**
+	 * Indexes compilation units.
+	 *
+	 * @param project the project of the units
+	 * @param handles the handle identifiers of the units
+	 * @param changes collects the changed declarations of units that have been indexed before
+	 * @param monitor the progress monitor
+	 */
+	private void indexUnits(IJavaProject project, List<String> handles, DeclarationChanges changes, IProgressMonitor monitor) {
+		String name= project.getElementName();
+		Set<String> remaining= new HashSet<>(handles);
+		List<ICompilationUnit> units= new ArrayList<>(handles.size());
+		for (String handle : handles) {
+			IJavaElement element= JavaCore.create(handle);
+			if (element instanceof ICompilationUnit && element.exists()) {
+				units.add((ICompilationUnit) element);
+			} else {
+				remaining.remove(handle);
+				synchronized (this) {
+					ProjectIndex index= fProjects.get(name);
+					if (index != null)
+						index.remove(handle);
+				}
+			}
+		}
+
+		SubMonitor subMonitor= SubMonitor.convert(monitor, units.size());
+		try {
+			for (int i= 0; i < units.size(); i+= BATCH_SIZE) {
+				List<ICompilationUnit> batch= units.subList(i, Math.min(units.size(), i + BATCH_SIZE));
+				Map<ICompilationUnit, Long> stamps= new HashMap<>();
+				for (ICompilationUnit unit : batch) {
+					stamps.put(unit, Long.valueOf(getStamp(unit)));
+				}
+				ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+				parser.setProject(project);
+				parser.setResolveBindings(true);
+				parser.createASTs(batch.toArray(new ICompilationUnit[batch.size()]), new String[0], new ASTRequestor() {
+					@Override
+					public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+						CallCollector collector= new CallCollector(source);
+						ast.accept(collector);
+						Long stamp= stamps.get(source);
+						UnitCalls calls= collector.getCalls(stamp != null ? stamp.longValue() : IResource.NULL_STAMP);
+						String handle= source.getHandleIdentifier();
+						synchronized (CallerIndex.this) {
+							remaining.remove(handle);
+							ProjectIndex index= fProjects.get(name);
+							if (index == null)
+								return;
+							UnitCalls previous= index.fUnits.get(handle);
+							if (previous != null)
+								changes.add(previous, calls);
+							index.put(handle, calls);
+						}
+					}
+				}, subMonitor.split(batch.size()));
+			}
+		} catch (JavaModelException | IllegalStateException e) {
+			// the project has been closed or deleted meanwhile
+			JavaManipulationPlugin.log(e);
+		} finally {
+			// units that could not be indexed stay dirty
+			synchronized (this) {
+				ProjectIndex index= fProjects.get(name);
+				if (index != null)
+					index.fDirty.addAll(remaining);
+			}
+		}
+	}
+
+	/**
+	 * Marks the units dirty in the given project and in the projects that depend on it whose calls
+	 * may be bound to other methods after the given changes.
+	 *
+	 * @param project the project
+	 * @param changes the changed declarations of units of the project
+	 */
+	private void invalidateDependents(IJavaProject project, DeclarationChanges changes) {
+		String name= project.getElementName();
+		Set<String> dependents= new HashSet<>();
+		dependents.add(name);
+		try {
+			for (IJavaProject other : JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects()) {
+				if (Arrays.asList(other.getRequiredProjectNames()).contains(name))
+					dependents.add(other.getElementName());
+			}
+		} catch (JavaModelException e) {
+			JavaManipulationPlugin.log(e);
+		}
+		synchronized (this) {
+			for (String dependent : dependents) {
+				ProjectIndex index= fProjects.get(dependent);
+				if (index == null)
+					continue;
+				if (changes.fTypes) {
+					index.fDirty.addAll(index.fUnits.keySet());
+					continue;
+				}
+				for (Map.Entry<String, Set<String>> entry : index.fUnitsByCallee.entrySet()) {
+					if (changes.fMethods.contains(JavaCore.create(entry.getKey()).getElementName()))
+						index.fDirty.addAll(entry.getValue());
+				}
+			}
+		}
+	}
+
+	private static long getStamp(ICompilationUnit unit) throws JavaModelException {
+		IResource resource= unit.getResource();
+		if (resource == null || unit.hasUnsavedChanges())
+			return IResource.NULL_STAMP;
+		return resource.getModificationStamp();
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		synchronized (this) {
+			if (fProjects.isEmpty())
+				return;
+		}
+		processDelta(event.getDelta(), event.getType() == ElementChangedEvent.POST_RECONCILE);
+	}
+
+	/**
+	 * Marks the compilation units of a delta dirty.
+	 *
+	 * @param delta the delta
+	 * @param reconcile <code>true</code> if the delta reports the reconcile of a working copy, the
+	 *            unit is marked dirty if its content changed then, including changes of method
+	 *            bodies
+	 */
+	private void processDelta(IJavaElementDelta delta, boolean reconcile) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					removeProject(element.getElementName(), delta.getKind() == IJavaElementDelta.REMOVED);
+					return;
+				}
+				if ((delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					invalidate(element.getElementName(), true);
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0) {
+					invalidate(element.getJavaProject().getElementName(), true);
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					invalidate(element.getJavaProject().getElementName(), false);
+					return;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit unit= (ICompilationUnit) element;
+				if (!unit.equals(unit.getPrimary()))
+					return;
+				if (reconcile && (delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN)) == 0 && delta.getAffectedChildren().length == 0)
+					return;
+				unitChanged(unit, delta.getKind() == IJavaElementDelta.REMOVED);
+				return;
+			default:
+				return;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child, reconcile);
+		}
+	}
+
+	/**
+	 * Removes the index of a project from memory. The index is saved if the project still exists,
+	 * e.g. if it has been closed, and deleted if the project has been removed.
+	 *
+	 * @param name the name of the project
+	 * @param removed <code>true</code> if the project has been removed
+	 */
+	private void removeProject(String name, boolean removed) {
+		Map<String, UnitCalls> snapshot= null;
+		synchronized (this) {
+			ProjectIndex index= fProjects.remove(name);
+			if (removed) {
+				new File(fDirectory, getFileName(name)).delete();
+			} else if (index != null && !index.fBusy && !index.fUnchecked) {
+				snapshot= snapshot(index);
+			}
+		}
+		if (snapshot != null)
+			write(name, snapshot);
+	}
+
+	/**
+	 * Marks a project to be compared with the index.
+	 *
+	 * @param name the name of the project
+	 * @param all <code>true</code> if all units of the project have to be indexed again
+	 */
+	private synchronized void invalidate(String name, boolean all) {
+		ProjectIndex index= fProjects.get(name);
+		if (index != null) {
+			index.fUnchecked= true;
+			if (all)
+				index.fDirty.addAll(index.fUnits.keySet());
+		}
+	}
+
+	private void unitChanged(ICompilationUnit unit, boolean removed) {
+		String name= unit.getJavaProject().getElementName();
+		String handle= unit.getHandleIdentifier();
+		DeclarationChanges changes= new DeclarationChanges();
+		synchronized (this) {
+			ProjectIndex index= fProjects.get(name);
+			if (index == null)
+				return;
+			if (!removed) {
+				index.fDirty.add(handle);
+				return;
+			}
+			UnitCalls calls= index.fUnits.get(handle);
+			if (calls == null)
+				return;
+			changes.fMethods.addAll(Arrays.asList(calls.fMethods));
+			index.remove(handle);
+			index.fDirty.remove(handle);
+		}
+		// calls to methods of the removed unit may be bound to other methods now
+		invalidateDependents(unit.getJavaProject(), changes);
+	}
+
+	private static String getFileName(String projectName) {
+		return Integer.toHexString(projectName.hashCode()) + ".index"; //$NON-NLS-1$
+	}
+
+	private void load(IJavaProject project) {
+		String name= project.getElementName();
+		File file= new File(fDirectory, getFileName(name));
+		if (!file.isFile())
+			return;
+		Map<String, UnitCalls> units= new HashMap<>();
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION || !name.equals(in.readUTF()))
+				return;
+			int unitCount= in.readInt();
+			for (int u= 0; u < unitCount; u++) {
+				String unit= in.readUTF();
+				long stamp= in.readLong();
+				int typeFingerprint= in.readInt();
+				int fingerprint= in.readInt();
+				String[] methods= new String[in.readInt()];
+				for (int i= 0; i < methods.length; i++) {
+					methods[i]= in.readUTF();
+				}
+				String[] handles= new String[in.readInt()];
+				for (int i= 0; i < handles.length; i++) {
+					handles[i]= in.readUTF();
+				}
+				int[] calls= new int[in.readInt()];
+				for (int i= 0; i < calls.length; i++) {
+					calls[i]= in.readInt();
+				}
+				units.put(unit, new UnitCalls(stamp, typeFingerprint, fingerprint, methods, handles, calls));
+			}
+		} catch (IOException e) {
+			// the index is indexed again
+			return;
+		}
+		synchronized (this) {
+			ProjectIndex index= fProjects.get(name);
+			if (index != null) {
+				units.forEach(index::put);
+				index.fChanged= false;
+			}
+		}
+	}
+
+	/**
+	 * Saves the changed project indexes. The indexes are copied while holding the lock and written
+	 * after it has been released.
+	 */
+	private void save() {
+		Map<String, Map<String, UnitCalls>> snapshots= new HashMap<>();
+		synchronized (this) {
+			for (Map.Entry<String, ProjectIndex> entry : fProjects.entrySet()) {
+				Map<String, UnitCalls> snapshot= snapshot(entry.getValue());
+				if (snapshot != null)
+					snapshots.put(entry.getKey(), snapshot);
+			}
+		}
+		for (Map.Entry<String, Map<String, UnitCalls>> entry : snapshots.entrySet()) {
+			write(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Copies the units of a changed project index to save them. Called while holding the lock.
+	 *
+	 * @param index the index of the project
+	 * @return the units by handle identifier, or <code>null</code> if the index did not change
+	 */
+	private static Map<String, UnitCalls> snapshot(ProjectIndex index) {
+		if (!index.fChanged && index.fDirty.isEmpty())
+			return null;
+		Map<String, UnitCalls> units= new HashMap<>(index.fUnits);
+		// dirty units are indexed again in the next session
+		for (String dirty : index.fDirty) {
+			UnitCalls calls= units.get(dirty);
+			if (calls != null)
+				units.put(dirty, new UnitCalls(IResource.NULL_STAMP, calls.fTypeFingerprint, calls.fFingerprint, calls.fMethods, calls.fHandles, calls.fCalls));
+		}
+		index.fChanged= false;
+		return units;
+	}
+
+	private void write(String name, Map<String, UnitCalls> units) {
+		fDirectory.mkdirs();
+		File file= new File(fDirectory, getFileName(name));
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(FILE_VERSION);
+			out.writeUTF(name);
+			out.writeInt(units.size());
+			for (Map.Entry<String, UnitCalls> unit : units.entrySet()) {
+				UnitCalls calls= unit.getValue();
+				out.writeUTF(unit.getKey());
+				out.writeLong(calls.fStamp);
+				out.writeInt(calls.fTypeFingerprint);
+				out.writeInt(calls.fFingerprint);
+				out.writeInt(calls.fMethods.length);
+				for (String method : calls.fMethods) {
+					out.writeUTF(method);
+				}
+				out.writeInt(calls.fHandles.length);
+				for (String handle : calls.fHandles) {
+					out.writeUTF(handle);
+				}
+				out.writeInt(calls.fCalls.length);
+				for (int call : calls.fCalls) {
+					out.writeInt(call);
+				}
+			}
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+			file.delete();
+		}
+	}
+}
@@ -100,7 +100,7 @@ public class CallerMethodWrapper extends MethodWrapper {
 	protected Map<String, MethodCall> findChildren(IProgressMonitor progressMonitor) {
 		try {
 
-			SubMonitor monitor = SubMonitor.convert(progressMonitor,"" , 95); //$NON-NLS-1$
+			SubMonitor monitor = SubMonitor.convert(progressMonitor,"" , 100); //$NON-NLS-1$
 
 			checkCanceled(progressMonitor);
 
@@ -147,10 +147,19 @@ public class CallerMethodWrapper extends MethodWrapper {
 				return new HashMap<>(0);
 			}
 
-			SearchEngine searchEngine= new SearchEngine();
-			MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor();
 			IJavaSearchScope defaultSearchScope= getSearchScope();
 			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
+			if (isWorkspaceScope && member instanceof IMethod && !member.isBinary()) {
+				CallerIndex callerIndex= CallHierarchyCore.getDefault().getCallerIndex();
+				if (callerIndex != null) {
+					Map<String, MethodCall> callers= callerIndex.findCallers((IMethod) member, monitor.split(5));
+					if (callers != null)
+						return callers;
+				}
+			}
+
+			SearchEngine searchEngine= new SearchEngine();
+			MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor();
 			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
 			searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, searchScope, searchRequestor,
 					monitor);
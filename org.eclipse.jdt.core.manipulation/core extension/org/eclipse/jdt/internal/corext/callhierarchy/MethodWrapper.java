@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,9 @@ package org.eclipse.jdt.internal.corext.callhierarchy;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -46,14 +49,22 @@ public abstract class MethodWrapper extends PlatformObject {
 		fMethodWrapperCore= core;
 	}
 
-    private Map<String, MethodCall> fElements = null;
+    private volatile Map<String, MethodCall> fElements = null;
 
     /*
      * A cache of previously found methods. This cache should be searched
      * before adding a "new" method object reference to the list of elements.
      * This way previously found methods won't be searched again.
+     * The cache is shared by all wrappers of a root and only holds completed
+     * searches, such that it can be filled by background searches.
      */
     private Map<String, Map<String, MethodCall>> fMethodCache;
+    /*
+     * The searches that are running, by the key of the searched method call. Shared by all
+     * wrappers of a root like the method cache, such that a method call is only searched once
+     * when it is expanded while it is searched in the background.
+     */
+    private final Map<String, CountDownLatch> fSearches;
     private final MethodCall fMethodCall;
     private final MethodWrapper fParent;
     private int fLevel;
@@ -67,10 +78,12 @@ public abstract class MethodWrapper extends PlatformObject {
         Assert.isNotNull(methodCall);
 
         if (parent == null) {
-            setMethodCache(new HashMap<String, Map<String, MethodCall>>());
+            setMethodCache(new ConcurrentHashMap<String, Map<String, MethodCall>>());
+            fSearches = new ConcurrentHashMap<>();
             fLevel = 1;
         } else {
             setMethodCache(parent.getMethodCache());
+            fSearches = parent.fSearches;
             fLevel = parent.getLevel() + 1;
         }
 
@@ -84,15 +97,17 @@ public abstract class MethodWrapper extends PlatformObject {
 	}
 
     public MethodWrapper[] getCalls(IProgressMonitor progressMonitor) {
-        if (fElements == null) {
-            doFindChildren(progressMonitor);
+        Map<String, MethodCall> elements = fElements;
+        if (elements == null) {
+            elements = doFindChildren(progressMonitor);
+            fElements = elements;
         }
 
-        MethodWrapper[] result = new MethodWrapper[fElements.size()];
+        MethodWrapper[] result = new MethodWrapper[elements.size()];
         int i = 0;
 
-        for (String string : fElements.keySet()) {
-            MethodCall methodCall = getMethodCallFromMap(fElements, string);
+        for (String string : elements.keySet()) {
+            MethodCall methodCall = getMethodCallFromMap(elements, string);
             result[i++] = createMethodWrapper(methodCall);
         }
 
@@ -167,11 +182,6 @@ public abstract class MethodWrapper extends PlatformObject {
 
     protected abstract String getTaskName();
 
-    private void addCallToCache(MethodCall methodCall) {
-        Map<String, MethodCall> cachedCalls = lookupMethod(this.getMethodCall());
-        cachedCalls.put(methodCall.getKey(), methodCall);
-    }
-
 	/**
 	 * Creates a method wrapper for the child of the receiver.
 	 *
@@ -180,28 +190,40 @@ public abstract class MethodWrapper extends PlatformObject {
 	 */
     protected abstract MethodWrapper createMethodWrapper(MethodCall methodCall);
 
-    private void doFindChildren(IProgressMonitor progressMonitor) {
-        Map<String, MethodCall> existingResults = lookupMethod(getMethodCall());
+    private Map<String, MethodCall> doFindChildren(IProgressMonitor progressMonitor) {
+        String key = getMethodCall().getKey();
+        while (true) {
+            Map<String, MethodCall> existingResults = lookupMethod(getMethodCall());
+            if (existingResults != null) {
+                return new HashMap<>(existingResults);
+            }
 
-        if (existingResults != null && !existingResults.isEmpty()) {
-            fElements = new HashMap<>();
-            fElements.putAll(existingResults);
-        } else {
-            initCalls();
+            CountDownLatch search = new CountDownLatch(1);
+            CountDownLatch running = fSearches.putIfAbsent(key, search);
+            if (running == null) {
+                if (progressMonitor != null) {
+                    progressMonitor.beginTask(getTaskName(), 100);
+                }
 
-            if (progressMonitor != null) {
-                progressMonitor.beginTask(getTaskName(), 100);
+                try {
+                    return performSearch(progressMonitor);
+                } finally {
+                    fSearches.remove(key, search);
+                    search.countDown();
+                    if (progressMonitor != null) {
+                        progressMonitor.done();
+                    }
+                }
             }
 
+            // wait for the running search, and search again if it has been cancelled
             try {
-                performSearch(progressMonitor);
-            } catch (OperationCanceledException e){
-            	fElements= null;
-            	throw e;
-            } finally {
-                if (progressMonitor != null) {
-                    progressMonitor.done();
+                while (!running.await(100, TimeUnit.MILLISECONDS)) {
+                    checkCanceled(progressMonitor);
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationCanceledException();
             }
         }
     }
@@ -247,12 +269,6 @@ public abstract class MethodWrapper extends PlatformObject {
         return fMethodCache;
     }
 
-    private void initCalls() {
-        this.fElements = new HashMap<>();
-
-        initCacheForMethod();
-    }
-
     /**
      * Looks up a previously created search result in the "global" cache.
      * @param methodCall the method call
@@ -262,26 +278,25 @@ public abstract class MethodWrapper extends PlatformObject {
         return getMethodCache().get(methodCall.getKey());
     }
 
-    private void performSearch(IProgressMonitor progressMonitor) {
-        fElements = findChildren(progressMonitor);
+    private Map<String, MethodCall> performSearch(IProgressMonitor progressMonitor) {
+        Map<String, MethodCall> elements = findChildren(progressMonitor);
+        Map<String, MethodCall> cachedCalls = new HashMap<>();
 
-        for (String string : fElements.keySet()) {
+        for (String string : elements.keySet()) {
             checkCanceled(progressMonitor);
 
-            MethodCall methodCall = getMethodCallFromMap(fElements, string);
-            addCallToCache(methodCall);
+            MethodCall methodCall = getMethodCallFromMap(elements, string);
+            cachedCalls.put(methodCall.getKey(), methodCall);
         }
+
+        getMethodCache().put(getMethodCall().getKey(), cachedCalls);
+        return elements;
     }
 
     private MethodCall getMethodCallFromMap(Map<String, MethodCall> elements, String key) {
         return elements.get(key);
     }
 
-    private void initCacheForMethod() {
-        Map<String, MethodCall> cachedCalls = new HashMap<>();
-        getMethodCache().put(this.getMethodCall().getKey(), cachedCalls);
-    }
-
     /**
      * Checks with the progress monitor to see whether the creation of the type hierarchy
      * should be canceled. Should be regularly called
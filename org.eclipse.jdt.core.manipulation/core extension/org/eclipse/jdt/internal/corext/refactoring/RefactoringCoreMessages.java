@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1670,6 +1670,8 @@ public final class RefactoringCoreMessages extends NLS {
 
 	public static String RenameFieldRefactoring_name;
 
+	public static String RenameFieldRefactoring_not_in_working_copy;
+
 	public static String RenameFieldRefactoring_overridden;
 
 	public static String RenameFieldRefactoring_overridden_or_overrides;
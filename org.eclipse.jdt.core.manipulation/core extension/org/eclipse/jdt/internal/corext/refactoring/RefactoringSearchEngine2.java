@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 package org.eclipse.jdt.internal.corext.refactoring;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -43,13 +44,34 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ClassInstanceCreation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ConstructorInvocation;
+import org.eclipse.jdt.core.dom.EnumConstantDeclaration;
+import org.eclipse.jdt.core.dom.FieldAccess;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.MethodReference;
+import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
+import org.eclipse.jdt.core.dom.SuperFieldAccess;
+import org.eclipse.jdt.core.dom.SuperMethodInvocation;
+import org.eclipse.jdt.core.dom.Type;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.ReferenceMatch;
 import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
 
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.internal.corext.util.SearchUtils;
 
@@ -201,6 +223,187 @@ public final class RefactoringSearchEngine2 {
 		}
 	}
 
+	/**
+	 * Attributes the matches of an or-pattern to the elements of the pattern.
+	 * <p>
+	 * Declarations are attributed by their element. References are attributed by resolving them
+	 * in an AST with bindings, which is created once per compilation unit. References that cannot
+	 * be resolved are attributed to the elements whose name occurs as an identifier in the
+	 * matched text, or to all elements if there is none.
+	 * </p>
+	 */
+	private static final class MatchSplitter {
+
+		private final IJavaElement[] fElements;
+		private final WorkingCopyOwner fOwner;
+
+		/** The compilation unit of the last resolved match, the matches are ordered by unit */
+		private ICompilationUnit fUnit;
+		private String fSource;
+		private CompilationUnit fAST;
+
+		MatchSplitter(IJavaElement[] elements, WorkingCopyOwner owner) {
+			fElements= elements;
+			fOwner= owner;
+		}
+
+		List<List<SearchMatch>> split(Collection<SearchMatch> matches) throws JavaModelException {
+			List<List<SearchMatch>> result= new ArrayList<>(fElements.length);
+			for (int i= 0; i < fElements.length; i++) {
+				result.add(new ArrayList<SearchMatch>());
+			}
+			for (SearchMatch match : matches) {
+				for (int index : getElementIndices(match)) {
+					result.get(index).add(match);
+				}
+			}
+			return result;
+		}
+
+		private List<Integer> getElementIndices(SearchMatch match) throws JavaModelException {
+			if (fElements.length == 1)
+				return allIndices();
+			Object matchElement= match.getElement();
+			if (!(match instanceof ReferenceMatch)) {
+				List<Integer> declarations= indicesOf(matchElement);
+				if (!declarations.isEmpty())
+					return declarations;
+			}
+			ICompilationUnit unit= matchElement instanceof IJavaElement
+					? (ICompilationUnit) ((IJavaElement) matchElement).getAncestor(IJavaElement.COMPILATION_UNIT)
+					: null;
+			if (unit == null)
+				return allIndices();
+			setUnit(unit);
+
+			List<Integer> resolved= indicesOf(resolveElement(match));
+			if (!resolved.isEmpty())
+				return resolved;
+
+			String text= getMatchedText(match);
+			if (text == null)
+				return allIndices();
+			List<Integer> candidates= new ArrayList<>(1);
+			for (int i= 0; i < fElements.length; i++) {
+				if (containsIdentifier(text, fElements[i].getElementName()))
+					candidates.add(Integer.valueOf(i));
+			}
+			return candidates.isEmpty() ? allIndices() : candidates;
+		}
+
+		private void setUnit(ICompilationUnit unit) {
+			if (!unit.equals(fUnit)) {
+				fUnit= unit;
+				fSource= null;
+				fAST= null;
+			}
+		}
+
+		private List<Integer> indicesOf(Object element) {
+			List<Integer> result= new ArrayList<>(1);
+			if (element != null) {
+				for (int i= 0; i < fElements.length; i++) {
+					if (fElements[i].equals(element))
+						result.add(Integer.valueOf(i));
+				}
+			}
+			return result;
+		}
+
+		private List<Integer> allIndices() {
+			List<Integer> result= new ArrayList<>(fElements.length);
+			for (int i= 0; i < fElements.length; i++) {
+				result.add(Integer.valueOf(i));
+			}
+			return result;
+		}
+
+		private String getMatchedText(SearchMatch match) throws JavaModelException {
+			if (fSource == null) {
+				fSource= fUnit.getSource();
+				if (fSource == null)
+					return null;
+			}
+			int offset= match.getOffset();
+			int end= offset + match.getLength();
+			if (offset < 0 || end > fSource.length())
+				return null;
+			return fSource.substring(offset, end);
+		}
+
+		/**
+		 * Tells whether a name occurs as a complete identifier in a text.
+		 *
+		 * @param text the text
+		 * @param name the identifier
+		 * @return <code>true</code> if the text contains the identifier and not just a part of a
+		 *         longer identifier
+		 */
+		private static boolean containsIdentifier(String text, String name) {
+			int length= text.length();
+			int index= 0;
+			while (index < length) {
+				if (!Character.isJavaIdentifierStart(text.charAt(index))) {
+					index++;
+					continue;
+				}
+				int start= index++;
+				while (index < length && Character.isJavaIdentifierPart(text.charAt(index)))
+					index++;
+				if (index - start == name.length() && text.startsWith(name, start))
+					return true;
+			}
+			return false;
+		}
+
+		private IJavaElement resolveElement(SearchMatch match) {
+			if (fAST == null)
+				fAST= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(fUnit, fOwner, true, null);
+			ASTNode node= NodeFinder.perform(fAST, match.getOffset(), match.getLength());
+			IBinding binding= null;
+			while (node != null && binding == null) {
+				binding= resolveBinding(node);
+				node= node instanceof Name ? node.getParent() : null;
+			}
+			if (binding instanceof IMethodBinding)
+				binding= ((IMethodBinding) binding).getMethodDeclaration();
+			else if (binding instanceof IVariableBinding)
+				binding= ((IVariableBinding) binding).getVariableDeclaration();
+			else if (binding instanceof ITypeBinding)
+				binding= ((ITypeBinding) binding).getTypeDeclaration();
+			return binding != null ? binding.getJavaElement() : null;
+		}
+
+		private static IBinding resolveBinding(ASTNode node) {
+			switch (node.getNodeType()) {
+				case ASTNode.METHOD_INVOCATION:
+					return ((MethodInvocation) node).resolveMethodBinding();
+				case ASTNode.SUPER_METHOD_INVOCATION:
+					return ((SuperMethodInvocation) node).resolveMethodBinding();
+				case ASTNode.CLASS_INSTANCE_CREATION:
+					return ((ClassInstanceCreation) node).resolveConstructorBinding();
+				case ASTNode.CONSTRUCTOR_INVOCATION:
+					return ((ConstructorInvocation) node).resolveConstructorBinding();
+				case ASTNode.SUPER_CONSTRUCTOR_INVOCATION:
+					return ((SuperConstructorInvocation) node).resolveConstructorBinding();
+				case ASTNode.ENUM_CONSTANT_DECLARATION:
+					return ((EnumConstantDeclaration) node).resolveConstructorBinding();
+				case ASTNode.FIELD_ACCESS:
+					return ((FieldAccess) node).resolveFieldBinding();
+				case ASTNode.SUPER_FIELD_ACCESS:
+					return ((SuperFieldAccess) node).resolveFieldBinding();
+				default:
+					if (node instanceof MethodReference)
+						return ((MethodReference) node).resolveMethodBinding();
+					if (node instanceof Name)
+						return ((Name) node).resolveBinding();
+					if (node instanceof Type)
+						return ((Type) node).resolveBinding();
+					return null;
+			}
+		}
+	}
+
 	/** The compilation unit granularity */
 	public static final int GRANULARITY_COMPILATION_UNIT= 2;
 
@@ -359,11 +562,21 @@ public final class RefactoringSearchEngine2 {
 	 * @return the found search matches
 	 */
 	private SearchResultGroup[] getGroupedMatches() {
+		return getGroupedMatches(getSearchMatches());
+	}
+
+	/**
+	 * Returns the given search matches grouped by their containing resource.
+	 *
+	 * @param searchMatches the search matches
+	 * @return the grouped search matches
+	 */
+	private SearchResultGroup[] getGroupedMatches(final Collection<?> searchMatches) {
 		final Map<IResource, List<SearchMatch>> grouped= new HashMap<>();
 		List<SearchMatch> matches= null;
 		IResource resource= null;
 		SearchMatch match= null;
-		for (Object name : getSearchMatches()) {
+		for (Object name : searchMatches) {
 			match= (SearchMatch) name;
 			resource= match.getResource();
 			if (!grouped.containsKey(resource))
@@ -501,6 +714,39 @@ public final class RefactoringSearchEngine2 {
 		}
 	}
 
+	/**
+	 * Performs the search of several elements in a single pass and returns the results of each
+	 * element.
+	 * <p>
+	 * Declarations are attributed to their element, references to the element they resolve to in
+	 * an AST with bindings. References that cannot be resolved are attributed to the elements whose
+	 * name occurs as an identifier in the matched text. The search pattern is replaced by an
+	 * or-pattern of the elements. The granularity must be {@link #GRANULARITY_SEARCH_MATCH}.
+	 *
+	 * @param elements the elements to search
+	 * @param limitTo determines the nature of the expected matches. This is a combination of {@link org.eclipse.jdt.core.search.IJavaSearchConstants}.
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return the results of each element in the order of <code>elements</code>, in the form
+	 *         described by {@link #getResults()}
+	 * @throws JavaModelException if an error occurs during search
+	 */
+	public Object[][] searchElements(final IJavaElement[] elements, final int limitTo, IProgressMonitor monitor) throws JavaModelException {
+		Assert.isTrue(fGranularity == GRANULARITY_SEARCH_MATCH);
+		setPattern(elements, limitTo);
+		searchPattern(monitor);
+		final List<SearchMatch> matches= new ArrayList<>(Arrays.asList(getUngroupedMatches()));
+		final List<List<SearchMatch>> split= new MatchSplitter(elements, fOwner).split(matches);
+		final Object[][] result= new Object[elements.length][];
+		for (int index= 0; index < elements.length; index++) {
+			final List<SearchMatch> elementMatches= split.get(index);
+			if (fGrouping)
+				result[index]= getGroupedMatches(elementMatches);
+			else
+				result[index]= elementMatches.toArray(new SearchMatch[elementMatches.size()]);
+		}
+		return result;
+	}
+
 	/**
 	 * Performs the search of referenced fields.
 	 *
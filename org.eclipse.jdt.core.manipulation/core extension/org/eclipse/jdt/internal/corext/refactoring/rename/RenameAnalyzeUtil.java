@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,11 +19,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
@@ -42,21 +45,33 @@ import org.eclipse.ltk.core.refactoring.TextEditChangeGroup;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.ISourceReference;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.SourceRange;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.EnumConstantDeclaration;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
 import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
 import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Name;
 import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.VariableDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.search.FieldDeclarationMatch;
 import org.eclipse.jdt.core.search.MethodDeclarationMatch;
 import org.eclipse.jdt.core.search.SearchMatch;
@@ -152,10 +167,38 @@ public class RenameAnalyzeUtil {
 		}
 	}
 
+	/**
+	 * Whether the rename processors analyze their changes with
+	 * {@link #analyzeRenameChangesIncrementally(TextChangeManager, SearchResultGroup[], ICompilationUnit[], WorkingCopyOwner, IJavaElement[], IJavaElement[], String, IProgressMonitor)}
+	 * instead of searching the new references in all changed compilation units.
+	 */
+	private static boolean fgIncrementalAnalysis= Boolean.getBoolean("org.eclipse.jdt.ui.refactoring.rename.incrementalAnalysis"); //$NON-NLS-1$
+
 	private RenameAnalyzeUtil() {
 		//no instance
 	}
 
+	/**
+	 * Returns whether the rename processors analyze their changes without searching the new
+	 * references. The default is set with the system property
+	 * <code>org.eclipse.jdt.ui.refactoring.rename.incrementalAnalysis</code>.
+	 *
+	 * @return <code>true</code> if the changes are analyzed incrementally
+	 */
+	public static boolean isIncrementalAnalysis() {
+		return fgIncrementalAnalysis;
+	}
+
+	/**
+	 * Sets whether the rename processors analyze their changes without searching the new
+	 * references.
+	 *
+	 * @param incremental <code>true</code> to analyze the changes incrementally
+	 */
+	public static void setIncrementalAnalysis(boolean incremental) {
+		fgIncrementalAnalysis= incremental;
+	}
+
 	public static RefactoringStatus analyzeRenameChanges(TextChangeManager manager,  SearchResultGroup[] oldOccurrences, SearchResultGroup[] newOccurrences) {
 		RefactoringStatus result= new RefactoringStatus();
 		for (SearchResultGroup oldGroup : oldOccurrences) {
@@ -290,6 +333,205 @@ public class RenameAnalyzeUtil {
 		return result;
 	}
 
+	/**
+	 * Analyzes the rename changes like
+	 * {@link #analyzeRenameChanges2(TextChangeManager, SearchResultGroup[], SearchResultGroup[], String)},
+	 * but without searching the new references. The original references are reused instead: the
+	 * working copies of the changed compilation units are parsed in one batch per project, and
+	 * only the names that equal the new name are resolved. An original reference that does not
+	 * resolve to a renamed element at its updated offset is shadowed, and a resolved name that is
+	 * not at the offset of an original reference is a reference that the rename captures.
+	 * <p>
+	 * Names in compilation units without changes can only start to refer to a renamed member if
+	 * they are inherited, so the unchanged compilation units that declare subtypes of the declaring
+	 * types are parsed as well. The declaring and enclosing types are in the changed compilation
+	 * units.
+	 * </p>
+	 *
+	 * @param manager the text change manager holding the rename changes
+	 * @param oldReferences the references to the element before the rename
+	 * @param newWorkingCopies the working copies of the changed compilation units, containing the
+	 *            preview content of the changes
+	 * @param owner the owner of the working copies
+	 * @param newElements the renamed elements in the working copies
+	 * @param delegates the delegates of the renamed elements in the working copies, references in
+	 *            their declarations are not reported, or <code>null</code>
+	 * @param newElementName the new element name
+	 * @param pm the progress monitor
+	 * @return the status of the analysis
+	 * @throws JavaModelException if the type hierarchy of a declaring type could not be computed
+	 */
+	public static RefactoringStatus analyzeRenameChangesIncrementally(final TextChangeManager manager, SearchResultGroup[] oldReferences,
+			ICompilationUnit[] newWorkingCopies, WorkingCopyOwner owner,
+			IJavaElement[] newElements, IJavaElement[] delegates, final String newElementName, IProgressMonitor pm) throws JavaModelException {
+		final RefactoringStatus result= new RefactoringStatus();
+		final Set<IJavaElement> renamed= getPrimaryElements(newElements);
+		final Set<IJavaElement> ignored= getPrimaryElements(delegates);
+
+		final Map<ICompilationUnit, SearchMatch[]> cuToOldResults= new HashMap<>(oldReferences.length);
+		for (SearchResultGroup oldGroup : oldReferences) {
+			ICompilationUnit cu= oldGroup.getCompilationUnit();
+			if (cu != null)
+				cuToOldResults.put(cu.getPrimary(), oldGroup.getSearchResults());
+		}
+
+		Map<IJavaProject, List<ICompilationUnit>> projectToWorkingCopies= new HashMap<>();
+		Set<ICompilationUnit> changed= new HashSet<>();
+		for (ICompilationUnit newWorkingCopy : newWorkingCopies) {
+			projectToWorkingCopies.computeIfAbsent(newWorkingCopy.getJavaProject(), project -> new ArrayList<>()).add(newWorkingCopy);
+			changed.add(newWorkingCopy.getPrimary());
+		}
+
+		pm.beginTask("", 2); //$NON-NLS-1$
+		try {
+			final Set<ICompilationUnit> unchanged= getUnchangedSubtypeUnits(renamed, changed, owner, new SubProgressMonitor(pm, 1));
+			for (ICompilationUnit cu : unchanged) {
+				projectToWorkingCopies.computeIfAbsent(cu.getJavaProject(), project -> new ArrayList<>()).add(cu);
+			}
+
+			IProgressMonitor parsePm= new SubProgressMonitor(pm, 1);
+			parsePm.beginTask("", projectToWorkingCopies.size()); //$NON-NLS-1$
+			for (Entry<IJavaProject, List<ICompilationUnit>> entry : projectToWorkingCopies.entrySet()) {
+				IJavaProject project= entry.getKey();
+				List<ICompilationUnit> workingCopies= entry.getValue();
+				ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+				parser.setProject(project);
+				parser.setResolveBindings(true);
+				parser.setWorkingCopyOwner(owner);
+				parser.setCompilerOptions(RefactoringASTParser.getCompilerOptions(project));
+				parser.createASTs(workingCopies.toArray(new ICompilationUnit[workingCopies.size()]), new String[0], new ASTRequestor() {
+					@Override
+					public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+						ICompilationUnit cu= source.getPrimary();
+						if (unchanged.contains(cu)) {
+							analyzeChanges(cu, null, new SearchMatch[0], ast, renamed, ignored, newElementName, result);
+							return;
+						}
+						SearchMatch[] oldMatches= cuToOldResults.remove(cu);
+						if (oldMatches == null)
+							oldMatches= new SearchMatch[0];
+						analyzeChanges(cu, manager.get(cu), oldMatches, ast, renamed, ignored, newElementName, result);
+					}
+				}, new SubProgressMonitor(parsePm, 1));
+			}
+			parsePm.done();
+		} finally {
+			pm.done();
+		}
+
+		for (Entry<ICompilationUnit, SearchMatch[]> entry : cuToOldResults.entrySet()) {
+			for (SearchMatch oldMatch : entry.getValue()) {
+				addShadowsError(entry.getKey(), oldMatch, result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the primary compilation units that declare subtypes of the declaring types of the
+	 * renamed members and that are not changed by the rename.
+	 *
+	 * @param renamed the primary renamed members
+	 * @param changed the primary changed compilation units
+	 * @param owner the owner of the working copies of the changed compilation units
+	 * @param pm the progress monitor
+	 * @return the unchanged compilation units
+	 * @throws JavaModelException if a type hierarchy could not be computed
+	 */
+	private static Set<ICompilationUnit> getUnchangedSubtypeUnits(Set<IJavaElement> renamed, Set<ICompilationUnit> changed,
+			WorkingCopyOwner owner, IProgressMonitor pm) throws JavaModelException {
+		Set<IType> declaringTypes= new HashSet<>();
+		for (IJavaElement member : renamed) {
+			if (member instanceof IMember && ((IMember) member).getDeclaringType() != null)
+				declaringTypes.add(((IMember) member).getDeclaringType());
+		}
+		Set<ICompilationUnit> result= new HashSet<>();
+		Set<IType> visited= new HashSet<>();
+		pm.beginTask("", declaringTypes.size()); //$NON-NLS-1$
+		try {
+			for (IType declaringType : declaringTypes) {
+				if (visited.contains(declaringType)) {
+					pm.worked(1);
+					continue;
+				}
+				ITypeHierarchy hierarchy= declaringType.newTypeHierarchy(owner, new SubProgressMonitor(pm, 1));
+				for (IType subtype : hierarchy.getAllSubtypes(declaringType)) {
+					visited.add(subtype);
+					ICompilationUnit cu= subtype.getCompilationUnit();
+					if (cu != null && !changed.contains(cu.getPrimary()))
+						result.add(cu.getPrimary());
+				}
+			}
+		} finally {
+			pm.done();
+		}
+		return result;
+	}
+
+	private static Set<IJavaElement> getPrimaryElements(IJavaElement[] elements) {
+		Set<IJavaElement> result= new HashSet<>();
+		if (elements != null) {
+			for (IJavaElement element : elements) {
+				if (element != null)
+					result.add(element.getPrimaryElement());
+			}
+		}
+		return result;
+	}
+
+	private static void analyzeChanges(final ICompilationUnit cu, TextChange change, SearchMatch[] oldMatches, CompilationUnit newCuNode,
+			final Set<IJavaElement> renamed, final Set<IJavaElement> ignored, final String newElementName, final RefactoringStatus result) {
+		final Map<Integer, SearchMatch> updatedOldOffsets= change != null ? getUpdatedChangeOffsets(change, oldMatches) : new HashMap<>();
+		newCuNode.accept(new ASTVisitor(true) {
+			@Override
+			public boolean visit(SimpleName node) {
+				if (!newElementName.equals(node.getIdentifier()) || node.isDeclaration())
+					return false;
+				if (!renamed.contains(getReferencedElement(node)))
+					return false;
+				if (updatedOldOffsets.remove(Integer.valueOf(node.getStartPosition())) != null)
+					return false;
+				IJavaElement enclosing= getEnclosingElement(node);
+				if (enclosing == null || !ignored.contains(enclosing))
+					addReferenceShadowedError(cu, enclosing, newElementName, result);
+				return false;
+			}
+		});
+		for (SearchMatch oldMatch : updatedOldOffsets.values()) {
+			addShadowsError(cu, oldMatch, result);
+		}
+	}
+
+	private static IJavaElement getReferencedElement(SimpleName name) {
+		IBinding binding= name.resolveBinding();
+		if (binding instanceof IMethodBinding)
+			binding= ((IMethodBinding) binding).getMethodDeclaration();
+		else if (binding instanceof IVariableBinding)
+			binding= ((IVariableBinding) binding).getVariableDeclaration();
+		if (binding == null)
+			return null;
+		IJavaElement element= binding.getJavaElement();
+		return element != null ? element.getPrimaryElement() : null;
+	}
+
+	private static IJavaElement getEnclosingElement(ASTNode node) {
+		for (ASTNode parent= node.getParent(); parent != null; parent= parent.getParent()) {
+			IBinding binding= null;
+			if (parent instanceof MethodDeclaration)
+				binding= ((MethodDeclaration) parent).resolveBinding();
+			else if (parent instanceof VariableDeclarationFragment && parent.getParent() instanceof FieldDeclaration)
+				binding= ((VariableDeclarationFragment) parent).resolveBinding();
+			else if (parent instanceof EnumConstantDeclaration)
+				binding= ((EnumConstantDeclaration) parent).resolveVariable();
+			else if (parent instanceof AbstractTypeDeclaration)
+				binding= ((AbstractTypeDeclaration) parent).resolveBinding();
+			IJavaElement element= binding != null ? binding.getJavaElement() : null;
+			if (element != null)
+				return element.getPrimaryElement();
+		}
+		return null;
+	}
+
 	private static void analyzeChanges(ICompilationUnit cu, TextChange change,
 			SearchMatch[] oldMatches, SearchMatch[] newMatches, String newElementName, RefactoringStatus result) {
 		Map<Integer, SearchMatch> updatedOldOffsets= getUpdatedChangeOffsets(change, oldMatches);
@@ -352,7 +594,11 @@ public class RenameAnalyzeUtil {
 		//TODO: should not have to filter declarations:
 		if (newMatch instanceof MethodDeclarationMatch || newMatch instanceof FieldDeclarationMatch)
 			return;
-		ISourceRange range= getOldSourceRange(newMatch);
+		addReferenceShadowedError(cu, ((IJavaElement) newMatch.getElement()).getPrimaryElement(), newElementName, result);
+	}
+
+	private static void addReferenceShadowedError(ICompilationUnit cu, IJavaElement enclosingElement, String newElementName, RefactoringStatus result) {
+		ISourceRange range= getOldSourceRange(enclosingElement);
 		RefactoringStatusContext context= JavaStatusContext.create(cu, range);
 		String message= Messages.format(
 				RefactoringCoreMessages.RenameAnalyzeUtil_reference_shadowed,
@@ -360,12 +606,10 @@ public class RenameAnalyzeUtil {
 		result.addError(message, context);
 	}
 
-	private static ISourceRange getOldSourceRange(SearchMatch newMatch) {
+	private static ISourceRange getOldSourceRange(IJavaElement primaryElement) {
 		// cannot transfom offset in preview to offset in original -> just show enclosing method
-		IJavaElement newMatchElement= (IJavaElement) newMatch.getElement();
-		IJavaElement primaryElement= newMatchElement.getPrimaryElement();
 		ISourceRange range= null;
-		if (primaryElement.exists() && primaryElement instanceof ISourceReference) {
+		if (primaryElement != null && primaryElement.exists() && primaryElement instanceof ISourceReference) {
 			try {
 				range= ((ISourceReference) primaryElement).getSourceRange();
 			} catch (JavaModelException e) {
@@ -13,9 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.util;
 
-import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -26,30 +29,56 @@ import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * Cached hierarchies are indexed by all the types they contain, lookups don't lock. The number of
+ * cached hierarchies is bounded by a capacity derived from the maximal heap size, the least
+ * recently accessed hierarchy is evicted first. Hierarchies which have not been accessed for
+ * {@link #MAX_AGE} are evicted as well. A hierarchy is removed from the cache as soon as it
+ * reports a change.
+ * </p>
+ * <p>
+ * The capacity can be configured with the system property
+ * <code>org.eclipse.jdt.core.manipulation.superTypeHierarchyCacheSize</code>.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private final ITypeHierarchy fTypeHierarchy;
+		private final IType[] fTypes;
+		private final ConcurrentMap<IType, MethodOverrideTester> fMethodOverrideTesters;
+		private final AtomicBoolean fDisposed;
+		private volatile long fLastAccess;
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
+			fTypes= hierarchy.getAllTypes();
+			fMethodOverrideTesters= new ConcurrentHashMap<>(4);
+			fDisposed= new AtomicBoolean();
 			fTypeHierarchy.addTypeHierarchyChangedListener(this);
 			markAsAccessed();
 		}
 
 		@Override
 		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
-			removeHierarchyEntryFromCache(this);
+			if (removeHierarchyEntryFromCache(this))
+				fgCacheInvalidations.increment();
 		}
 
 		public ITypeHierarchy getTypeHierarchy() {
 			return fTypeHierarchy;
 		}
 
+		public IType[] getTypes() {
+			return fTypes;
+		}
+
+		public MethodOverrideTester getMethodOverrideTester(IType type) {
+			return fMethodOverrideTesters.computeIfAbsent(type, t -> new MethodOverrideTester(t, fTypeHierarchy));
+		}
+
 		public void markAsAccessed() {
 			fLastAccess= System.currentTimeMillis();
 		}
@@ -58,11 +87,21 @@ public class SuperTypeHierarchyCache {
 			return fLastAccess;
 		}
 
-		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
-				fTypeHierarchy= null;
-			}
+		public boolean isDisposed() {
+			return fDisposed.get();
+		}
+
+		/**
+		 * Disposes this entry.
+		 *
+		 * @return <code>true</code> if the entry has been disposed by this call
+		 */
+		public boolean dispose() {
+			if (!fDisposed.compareAndSet(false, true))
+				return false;
+			fTypeHierarchy.removeTypeHierarchyChangedListener(this);
+			fMethodOverrideTesters.clear();
+			return true;
 		}
 
 		@Override
@@ -73,13 +112,38 @@ public class SuperTypeHierarchyCache {
 	}
 
 
-	private static final int CACHE_SIZE= 8;
+	private static final int MIN_CACHE_SIZE= 8;
+
+	/**
+	 * Upper bound of the derived capacity. Each cached hierarchy listens to Java element changes,
+	 * hence a large number of hierarchies slows down the processing of deltas.
+	 */
+	private static final int MAX_CACHE_SIZE= 64;
+
+	/**
+	 * Time in ms after which a hierarchy that has not been accessed is evicted.
+	 */
+	private static final long MAX_AGE= 10 * 60 * 1000;
+
+	private static final int CACHE_SIZE= computeCacheSize();
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	private static final Set<HierarchyCacheEntry> fgHierarchyCache= ConcurrentHashMap.newKeySet();
+	private static final ConcurrentMap<IType, HierarchyCacheEntry> fgTypeIndex= new ConcurrentHashMap<>();
+	private static final Object fgEvictionLock= new Object();
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	private static final LongAdder fgCacheHits= new LongAdder();
+	private static final LongAdder fgCacheMisses= new LongAdder();
+	private static final LongAdder fgCacheEvictions= new LongAdder();
+	private static final LongAdder fgCacheInvalidations= new LongAdder();
+
+	private static int computeCacheSize() {
+		Integer configured= Integer.getInteger("org.eclipse.jdt.core.manipulation.superTypeHierarchyCacheSize"); //$NON-NLS-1$
+		if (configured != null)
+			return Math.max(1, configured.intValue());
+
+		long maxMemory= Runtime.getRuntime().maxMemory() / (1 << 20); // in MiB
+		return (int) Math.max(MIN_CACHE_SIZE, Math.min(MAX_CACHE_SIZE, maxMemory / 64));
+	}
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -97,32 +161,16 @@ public class SuperTypeHierarchyCache {
 	}
 
 	public static MethodOverrideTester getMethodOverrideTester(IType type) throws JavaModelException {
-		MethodOverrideTester test= null;
-		synchronized (fgMethodOverrideTesterCache) {
-			test= fgMethodOverrideTesterCache.get(type);
-		}
-		if (test == null) {
-			ITypeHierarchy hierarchy= getTypeHierarchy(type); // don't nest the locks
-			synchronized (fgMethodOverrideTesterCache) {
-				test= fgMethodOverrideTesterCache.get(type); // test again after waiting a long time for 'getTypeHierarchy'
-				if (test == null) {
-					test= new MethodOverrideTester(type, hierarchy);
-					fgMethodOverrideTesterCache.put(type, test);
-				}
-			}
-		}
-		return test;
-	}
-
-	private static void removeMethodOverrideTester(ITypeHierarchy hierarchy) {
-		synchronized (fgMethodOverrideTesterCache) {
-			for (Iterator<MethodOverrideTester> iter= fgMethodOverrideTesterCache.values().iterator(); iter.hasNext();) {
-				MethodOverrideTester curr= iter.next();
-				if (curr.getTypeHierarchy().equals(hierarchy)) {
-					iter.remove();
-				}
+		HierarchyCacheEntry entry= findEntryInCache(type);
+		if (entry == null) {
+			ITypeHierarchy hierarchy= getTypeHierarchy(type);
+			entry= findEntryInCache(type);
+			if (entry == null || entry.getTypeHierarchy() != hierarchy) {
+				// evicted in the meantime
+				return new MethodOverrideTester(type, hierarchy);
 			}
 		}
+		return entry.getMethodOverrideTester(type);
 	}
 
 	/**
@@ -138,44 +186,69 @@ public class SuperTypeHierarchyCache {
 	 * @throws JavaModelException if a problem occurs
 	 */
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
-		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
-		if (hierarchy == null) {
-			fgCacheMisses++;
-			hierarchy= type.newSupertypeHierarchy(progressMonitor);
+		HierarchyCacheEntry entry= findEntryInCache(type);
+		if (entry == null) {
+			fgCacheMisses.increment();
+			ITypeHierarchy hierarchy= type.newSupertypeHierarchy(progressMonitor);
 			addTypeHierarchyToCache(hierarchy);
-		} else {
-			fgCacheHits++;
+			return hierarchy;
 		}
-		return hierarchy;
+		fgCacheHits.increment();
+		return entry.getTypeHierarchy();
 	}
 
 	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
-		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
-				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
-				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
-					}
-				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
-					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
+		HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
+		synchronized (fgEvictionLock) {
+			// remove the hierarchies of the super types, the new hierarchy contains them
+			for (IType type : newEntry.getTypes()) {
+				HierarchyCacheEntry curr= fgTypeIndex.get(type);
+				if (curr != null && hierarchy.contains(curr.getTypeHierarchy().getType())) {
+					removeHierarchyEntryFromCache(curr);
 				}
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
+
 			fgHierarchyCache.add(newEntry);
+			for (IType type : newEntry.getTypes()) {
+				fgTypeIndex.put(type, newEntry);
+			}
+			if (newEntry.isDisposed()) {
+				// changed while it was added
+				removeFromIndex(newEntry);
+				fgHierarchyCache.remove(newEntry);
+			}
+
+			evictEntries();
+		}
+	}
+
+	/**
+	 * Evicts the entries which are obsolete or too old, and the least recently accessed entries
+	 * exceeding the capacity. Must be called while holding {@link #fgEvictionLock}.
+	 */
+	private static void evictEntries() {
+		long oldestAllowed= System.currentTimeMillis() - MAX_AGE;
+		for (Iterator<HierarchyCacheEntry> iter= fgHierarchyCache.iterator(); iter.hasNext();) {
+			HierarchyCacheEntry entry= iter.next();
+			if (!entry.getTypeHierarchy().exists() || entry.getLastAccess() < oldestAllowed) {
+				if (removeHierarchyEntryFromCache(entry))
+					fgCacheEvictions.increment();
+			}
+		}
+
+		while (fgHierarchyCache.size() > CACHE_SIZE) {
+			HierarchyCacheEntry oldest= null;
+			for (HierarchyCacheEntry entry : fgHierarchyCache) {
+				if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
+					oldest= entry;
+				}
+			}
+			if (oldest == null)
+				break;
+			if (removeHierarchyEntryFromCache(oldest))
+				fgCacheEvictions.increment();
+			else
+				fgHierarchyCache.remove(oldest);
 		}
 	}
 
@@ -186,33 +259,50 @@ public class SuperTypeHierarchyCache {
 	 * @return <code>true</code> if a hierarchy for the given type is cached
 	 */
 	public static boolean hasInCache(IType type) {
-		return findTypeHierarchyInCache(type) != null;
+		return findEntryInCache(type) != null;
 	}
 
 
-	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
-			}
+	private static HierarchyCacheEntry findEntryInCache(IType type) {
+		HierarchyCacheEntry entry= fgTypeIndex.get(type);
+		if (entry == null)
+			return null;
+
+		if (entry.isDisposed()) {
+			fgTypeIndex.remove(type, entry);
+			return null;
+		}
+		if (!entry.getTypeHierarchy().exists()) {
+			removeHierarchyEntryFromCache(entry);
+			return null;
 		}
-		return null;
+		if (entry.getLastAccess() < System.currentTimeMillis() - MAX_AGE) {
+			if (removeHierarchyEntryFromCache(entry))
+				fgCacheEvictions.increment();
+			return null;
+		}
+		entry.markAsAccessed();
+		return entry;
 	}
 
-	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
-		synchronized (fgHierarchyCache) {
-			removeMethodOverrideTester(entry.getTypeHierarchy());
-			entry.dispose();
-			fgHierarchyCache.remove(entry);
+	/**
+	 * Removes the given entry from the cache.
+	 *
+	 * @param entry the entry to remove
+	 * @return <code>true</code> if the entry has been removed by this call, <code>false</code> if
+	 *         it has already been removed
+	 */
+	private static boolean removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
+		if (!entry.dispose())
+			return false;
+		fgHierarchyCache.remove(entry);
+		removeFromIndex(entry);
+		return true;
+	}
+
+	private static void removeFromIndex(HierarchyCacheEntry entry) {
+		for (IType type : entry.getTypes()) {
+			fgTypeIndex.remove(type, entry);
 		}
 	}
 
@@ -222,7 +312,7 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return fgCacheHits.intValue();
 	}
 
 	/**
@@ -230,7 +320,47 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return fgCacheMisses.intValue();
+	}
+
+	/**
+	 * Gets the number of hierarchies evicted because of the capacity or their age.
+	 * @return the number of evictions
+	 */
+	public static long getCacheEvictions() {
+		return fgCacheEvictions.sum();
+	}
+
+	/**
+	 * Gets the number of hierarchies removed because they have changed.
+	 * @return the number of invalidations
+	 */
+	public static long getCacheInvalidations() {
+		return fgCacheInvalidations.sum();
+	}
+
+	/**
+	 * @return the number of currently cached hierarchies
+	 */
+	public static int getCacheSize() {
+		return fgHierarchyCache.size();
+	}
+
+	/**
+	 * @return the maximal number of cached hierarchies
+	 */
+	public static int getCacheCapacity() {
+		return CACHE_SIZE;
+	}
+
+	/**
+	 * Resets the hit, miss, eviction and invalidation counters. Used for testing.
+	 */
+	public static void resetStatistics() {
+		fgCacheHits.reset();
+		fgCacheMisses.reset();
+		fgCacheEvictions.reset();
+		fgCacheInvalidations.reset();
 	}
 
 	private SuperTypeHierarchyCache() {
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * Append-only file that holds the failure traces of a {@link TestRunSession}, such that large
+ * sessions don't keep all their traces in memory. Traces are identified by the offset returned from
+ * {@link #store(String)} and are read again on demand.
+ */
+final class FailureTraceStore {
+
+	private final File fFile;
+	private RandomAccessFile fAccess;
+	/**
+	 * Handle of the first trace in the file. Handles are not reused after {@link #clear()}, such
+	 * that stale handles don't resolve to other traces.
+	 */
+	private long fBase;
+	private long fLength;
+
+	FailureTraceStore(File file) {
+		fFile= file;
+	}
+
+	/**
+	 * Appends the given trace.
+	 *
+	 * @param trace the trace
+	 * @return the handle of the trace, or <code>-1</code> if the trace could not be stored
+	 */
+	synchronized long store(String trace) {
+		try {
+			byte[] bytes= trace.getBytes(StandardCharsets.UTF_8);
+			RandomAccessFile access= getAccess();
+			access.seek(fLength);
+			access.writeInt(bytes.length);
+			access.write(bytes);
+			long handle= fBase + fLength;
+			fLength+= 4 + bytes.length;
+			return handle;
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+			return -1;
+		}
+	}
+
+	/**
+	 * Reads a trace.
+	 *
+	 * @param handle the handle returned by {@link #store(String)}
+	 * @return the trace, or <code>null</code> if it is not available anymore
+	 */
+	synchronized String load(long handle) {
+		if (handle < fBase || handle >= fBase + fLength)
+			return null;
+		try {
+			RandomAccessFile access= getAccess();
+			access.seek(handle - fBase);
+			byte[] bytes= new byte[access.readInt()];
+			access.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Discards all stored traces. Handles returned before are invalid afterwards.
+	 */
+	synchronized void clear() {
+		fBase+= fLength;
+		fLength= 0;
+		if (fAccess != null) {
+			try {
+				fAccess.setLength(0);
+			} catch (IOException e) {
+				JUnitCorePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Discards all stored traces and deletes the file.
+	 */
+	synchronized void dispose() {
+		fBase+= fLength;
+		fLength= 0;
+		if (fAccess != null) {
+			try {
+				fAccess.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			fAccess= null;
+		}
+		if (fFile.exists())
+			fFile.delete();
+	}
+
+	private RandomAccessFile getAccess() throws IOException {
+		if (fAccess == null) {
+			fAccess= new RandomAccessFile(fFile, "rw"); //$NON-NLS-1$
+			fAccess.setLength(0);
+		}
+		return fAccess;
+	}
+}
@@ -15,6 +15,7 @@
 
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -495,9 +496,9 @@ public final class JUnitModel {
 	 * @throws CoreException if an error occurred
 	 */
 	public static void exportTestRunSession(TestRunSession testRunSession, File file) throws CoreException {
-		FileOutputStream out= null;
+		OutputStream out= null;
 		try {
-			out= new FileOutputStream(file);
+			out= new BufferedOutputStream(new FileOutputStream(file));
             exportTestRunSession(testRunSession, out);
 
 		} catch (IOException | TransformerConfigurationException e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
@@ -25,6 +28,7 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.SafeRunner;
@@ -36,6 +40,11 @@ import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 /**
  * The client side of the RemoteTestRunner. Handles the
  * marshaling of the different messages.
+ * <p>
+ * Both the text protocol and the binary protocol of the
+ * {@link org.eclipse.jdt.internal.junit.runner.BinaryMessageWriter} are
+ * understood, the protocol is detected from the first byte sent by the runner.
+ * </p>
  */
 public class RemoteTestRunnerClient {
 
@@ -228,7 +237,16 @@ public class RemoteTestRunnerClient {
 	private int fPort= -1;
 	private PrintWriter fWriter;
 	private PushbackReader fPushbackReader;
+	private DataInputStream fBinaryInput;
 	private String fLastLineDelimiter;
+	/**
+	 * The test ids received in the binary protocol, interned by their numeric id
+	 */
+	private String[] fBinaryTestIds= new String[0];
+	/**
+	 * The test names received in the binary protocol, by numeric test id
+	 */
+	private String[] fBinaryTestNames= new String[0];
 	/**
 	 * The protocol version
 	 */
@@ -266,13 +284,24 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
+				BufferedInputStream input= new BufferedInputStream(fSocket.getInputStream());
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
-				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
-					receiveMessage(message);
+				input.mark(1);
+				if (input.read() == MessageIds.BINARY_PROTOCOL_MAGIC) {
+					fBinaryInput= new DataInputStream(input);
+					readBinaryMessages(fBinaryInput);
+				} else {
+					input.reset();
+					fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+					String message;
+					while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+						receiveMessage(message);
+				}
 			} catch (SocketException e) {
 				notifyTestRunTerminated();
+			} catch (CorruptStreamException e) {
+				JUnitCorePlugin.log(e);
+				notifyTestRunTerminated();
 			} catch (IOException e) {
 				JUnitCorePlugin.log(e);
 				// fall through
@@ -326,6 +355,13 @@ public class RemoteTestRunnerClient {
 			}
 		} catch(IOException e) {
 		}
+		try {
+			if (fBinaryInput != null) {
+				fBinaryInput.close();
+				fBinaryInput= null;
+			}
+		} catch(IOException e) {
+		}
 		try {
 			if (fSocket != null) {
 				fSocket.close();
@@ -378,6 +414,147 @@ public class RemoteTestRunnerClient {
 	    fCurrentState= fCurrentState.readMessage(message);
 	}
 
+	/**
+	 * Reads the batches of the binary protocol until the stream ends.
+	 *
+	 * @param in the stream, positioned after the magic byte
+	 * @throws IOException if reading fails
+	 * @throws CorruptStreamException if the stream is corrupt
+	 * @see org.eclipse.jdt.internal.junit.runner.BinaryMessageWriter
+	 */
+	private void readBinaryMessages(DataInputStream in) throws IOException {
+		int version= in.readUnsignedByte();
+		if (version != MessageIds.BINARY_PROTOCOL_VERSION)
+			throw new CorruptStreamException("Unsupported protocol version: " + version); //$NON-NLS-1$
+		byte[] lineDelimiter= new byte[in.readUnsignedByte()];
+		in.readFully(lineDelimiter);
+		fLastLineDelimiter= new String(lineDelimiter, StandardCharsets.UTF_8);
+
+		BinaryBatch batch= new BinaryBatch();
+		while (fBinaryInput != null) {
+			int length;
+			try {
+				length= in.readInt();
+			} catch (EOFException e) {
+				return;
+			}
+			batch.read(in, length);
+			while (batch.hasRemaining()) {
+				int opcode= batch.readByte();
+				if (opcode == MessageIds.OPCODE_CONTENT) {
+					receiveMessage(batch.readString());
+					continue;
+				}
+				String header= MessageIds.getBinaryHeader(opcode);
+				if (header == null)
+					throw new CorruptStreamException("Unknown message: " + opcode); //$NON-NLS-1$
+				if (MessageIds.isBinaryTestOpcode(opcode))
+					receiveBinaryTestMessage(header, batch);
+				else
+					receiveMessage(header + batch.readString());
+			}
+		}
+	}
+
+	private void receiveBinaryTestMessage(String header, BinaryBatch batch) throws CorruptStreamException {
+		int id= batch.readVarInt();
+		if (id == 0) {
+			receiveMessage(header + batch.readString());
+			return;
+		}
+		// the id is read from the stream, larger ids are sent with the complete argument
+		if (id < 0 || id > MessageIds.BINARY_PROTOCOL_MAX_TEST_ID)
+			throw new CorruptStreamException("Invalid test id: " + id); //$NON-NLS-1$
+		if (id >= fBinaryTestIds.length) {
+			int length= Math.min(Math.max(id + 1, fBinaryTestIds.length * 2), MessageIds.BINARY_PROTOCOL_MAX_TEST_ID + 1);
+			fBinaryTestIds= Arrays.copyOf(fBinaryTestIds, length);
+			fBinaryTestNames= Arrays.copyOf(fBinaryTestNames, length);
+		}
+		String testId= fBinaryTestIds[id];
+		if (testId == null) {
+			testId= Integer.toString(id);
+			fBinaryTestIds[id]= testId;
+		}
+		if (batch.readByte() != 0)
+			fBinaryTestNames[id]= batch.readString();
+		String testName= fBinaryTestNames[id];
+
+		if (fCurrentState != fDefaultState || !hasTestId()) {
+			receiveMessage(header + testId + ',' + testName);
+		} else if (MessageIds.TEST_START.equals(header)) {
+			notifyTestStarted(testId, testName);
+		} else if (MessageIds.TEST_END.equals(header)) {
+			notifyTestEnded(testId, testName);
+		} else if (MessageIds.TEST_ERROR.equals(header)) {
+			setFailure(testId, testName, ITestRunListener2.STATUS_ERROR);
+		} else {
+			setFailure(testId, testName, ITestRunListener2.STATUS_FAILURE);
+		}
+	}
+
+	/**
+	 * Thrown when the binary protocol is violated. The test run cannot continue.
+	 */
+	private static class CorruptStreamException extends IOException {
+		private static final long serialVersionUID= 1L;
+
+		CorruptStreamException(String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * A batch of messages of the binary protocol.
+	 */
+	private static class BinaryBatch {
+		private byte[] fBuffer= new byte[16 * 1024];
+		private int fPosition;
+		private int fLength;
+
+		void read(DataInputStream in, int length) throws IOException {
+			if (length < 0)
+				throw new CorruptStreamException("Invalid batch length: " + length); //$NON-NLS-1$
+			if (length > fBuffer.length)
+				fBuffer= new byte[length];
+			in.readFully(fBuffer, 0, length);
+			fPosition= 0;
+			fLength= length;
+		}
+
+		boolean hasRemaining() {
+			return fPosition < fLength;
+		}
+
+		int readByte() throws CorruptStreamException {
+			if (fPosition >= fLength)
+				throw new CorruptStreamException("Truncated message"); //$NON-NLS-1$
+			return fBuffer[fPosition++] & 0xFF;
+		}
+
+		int readVarInt() throws CorruptStreamException {
+			int value= 0;
+			int shift= 0;
+			int b;
+			do {
+				if (shift > 28)
+					throw new CorruptStreamException("Invalid variable length int"); //$NON-NLS-1$
+				b= readByte();
+				value|= (b & 0x7F) << shift;
+				shift+= 7;
+			} while ((b & 0x80) != 0);
+			return value;
+		}
+
+		String readString() throws CorruptStreamException {
+			int length= readVarInt();
+			if (length < 0 || length > fLength - fPosition)
+				throw new CorruptStreamException("Invalid string length: " + length); //$NON-NLS-1$
+			String s= new String(fBuffer, fPosition, length, StandardCharsets.UTF_8);
+			fPosition+= length;
+			return s;
+		}
+	}
+
 	private void scanOldReranMessage(String arg) {
 		// OLD V1 format
 		// format: className" "testName" "status
@@ -429,8 +606,12 @@ public class RemoteTestRunnerClient {
 
 	private void extractFailure(String arg, int status) {
 		String s[]= extractTestId(arg);
-		fFailedTestId= s[0];
-		fFailedTest= s[1];
+		setFailure(s[0], s[1], status);
+	}
+
+	private void setFailure(String testId, String testName, int status) {
+		fFailedTestId= testId;
+		fFailedTest= testName;
 		fFailureKind= status;
 	}
 
@@ -513,28 +694,40 @@ public class RemoteTestRunnerClient {
 	}
 
 	private void notifyTestEnded(final String test) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		String s[]= extractTestId(test);
+		notifyTestEnded(s[0], s[1]);
+	}
+
+	private void notifyTestEnded(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
 				public void run() {
-					String s[]= extractTestId(test);
-					listener.testEnded(s[0], s[1]);
+					listener.testEnded(testId, testName);
 				}
 			});
 		}
 	}
 
 	private void notifyTestStarted(final String test) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		String s[]= extractTestId(test);
+		notifyTestStarted(s[0], s[1]);
+	}
+
+	private void notifyTestStarted(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
 				public void run() {
-					String s[]= extractTestId(test);
-					listener.testStarted(s[0], s[1]);
+					listener.testStarted(testId, testName);
 				}
 			});
 		}
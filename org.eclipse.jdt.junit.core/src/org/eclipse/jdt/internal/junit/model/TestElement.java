@@ -166,6 +166,23 @@ public abstract class TestElement implements ITestElement {
 
 	}
 
+	private static final class FailureDetails {
+		String fTrace;
+		/**
+		 * Handle of the trace in the {@link FailureTraceStore} of the session, or <code>-1</code>
+		 * if the trace is held in {@link #fTrace}.
+		 */
+		long fTraceHandle= -1;
+		final String fExpected;
+		final String fActual;
+
+		FailureDetails(String trace, String expected, String actual) {
+			fTrace= trace;
+			fExpected= expected;
+			fActual= actual;
+		}
+	}
+
 	private final TestSuiteElement fParent;
 	private final String fId;
 	private String fTestName;
@@ -190,9 +207,11 @@ public abstract class TestElement implements ITestElement {
 	private String fUniqueId;
 
 	private Status fStatus;
-	private String fTrace;
-	private String fExpected;
-	private String fActual;
+	/**
+	 * Trace and comparison values, or <code>null</code> if the test has not reported any. Most
+	 * tests of a large run pass, so the failure details are kept in a separate object.
+	 */
+	private FailureDetails fFailure;
 
 	private boolean fAssumptionFailed;
 
@@ -262,8 +281,8 @@ public abstract class TestElement implements ITestElement {
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED && fTrace != null)) {
-			return new FailureTrace(fTrace, fExpected, fActual);
+				|| (testResult == Result.IGNORED && hasTrace())) {
+			return new FailureTrace(getTrace(), getExpected(), getActual());
 		}
 		return null;
 	}
@@ -304,35 +323,59 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
-		if (trace != null && fTrace != null) {
+		if (trace != null && hasTrace()) {
 			//don't overwrite first trace if same test run logs multiple errors
-			fTrace= fTrace + trace;
+			fFailure= new FailureDetails(getTrace() + trace, fFailure.fExpected, fFailure.fActual);
+		} else if (trace != null || expected != null || actual != null) {
+			fFailure= new FailureDetails(trace, expected, actual);
 		} else {
-			fTrace= trace;
-			fExpected= expected;
-			fActual= actual;
+			fFailure= null;
 		}
 		setStatus(status);
 	}
 
+	/**
+	 * Moves the trace of this element to the given store. The trace is read again from the
+	 * store when it is requested.
+	 *
+	 * @param store the trace store of the test run session
+	 */
+	void spillTrace(FailureTraceStore store) {
+		if (fFailure == null || fFailure.fTrace == null)
+			return;
+		long handle= store.store(fFailure.fTrace);
+		if (handle != -1) {
+			fFailure.fTraceHandle= handle;
+			fFailure.fTrace= null;
+		}
+	}
+
+	private boolean hasTrace() {
+		return fFailure != null && (fFailure.fTrace != null || fFailure.fTraceHandle != -1);
+	}
+
 	public Status getStatus() {
 		return fStatus;
 	}
 
 	public String getTrace() {
-		return fTrace;
+		if (fFailure == null)
+			return null;
+		if (fFailure.fTraceHandle != -1)
+			return ((TestRunSession) getTestRunSession()).loadTrace(fFailure.fTraceHandle);
+		return fFailure.fTrace;
 	}
 
 	public String getExpected() {
-		return fExpected;
+		return fFailure != null ? fFailure.fExpected : null;
 	}
 
 	public String getActual() {
-		return fActual;
+		return fFailure != null ? fFailure.fActual : null;
 	}
 
 	public boolean isComparisonFailure() {
-		return fExpected != null && fActual != null;
+		return getExpected() != null && getActual() != null;
 	}
 
 	/**
@@ -319,6 +319,7 @@ public class TestRunHandler extends DefaultHandler {
 	private void handleFailure(TestElement testElement) {
 		if (fFailureBuffer != null) {
 			fTestRunSession.registerTestFailureStatus(testElement, fStatus, fFailureBuffer.toString(), toString(fExpectedBuffer), toString(fActualBuffer));
+			fTestRunSession.spillTrace(testElement);
 			fFailureBuffer= null;
 			fExpectedBuffer= null;
 			fActualBuffer= null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -102,6 +102,35 @@ public class TestRunSession implements ITestRunSession {
 
 	private static final String EMPTY_STRING= ""; //$NON-NLS-1$
 
+	/**
+	 * Minimal length of imported traces that are moved to the {@link FailureTraceStore}.
+	 */
+	private static final int MIN_SPILLED_TRACE_LENGTH= 512;
+
+	/**
+	 * Store for the traces of imported test elements, or <code>null</code>.
+	 */
+	private FailureTraceStore fTraceStore;
+
+	/**
+	 * <code>true</code> iff the swap file contains the current state of the model,
+	 * i.e. the model has been imported from the swap file and not changed since. Cleared by the
+	 * events of the test runner, which are not sent while holding the lock of this session.
+	 */
+	private volatile boolean fSwapFileCurrent;
+
+	/**
+	 * Canonical instances of the test names of dynamic tests. The invocations of a parameterized
+	 * test or a test factory share the name of their method. Display names are mostly unique per
+	 * invocation and are not pooled.
+	 */
+	private HashMap<String, String> fSharedTestNames= new HashMap<>();
+
+	/**
+	 * Canonical parameter type arrays, by their comma separated representation.
+	 */
+	private HashMap<String, String[]> fSharedParameterTypes= new HashMap<>();
+
 	/**
 	 * Tags included in this test run.
 	 */
@@ -239,6 +268,13 @@ public class TestRunSession implements ITestRunSession {
 		fTestRoot= new TestRoot(this);
 		fTestResult= null;
 		fIdToTest= new HashMap<>();
+		fSharedTestNames= new HashMap<>();
+		fSharedParameterTypes= new HashMap<>();
+		synchronized (this) {
+			fSwapFileCurrent= false;
+			if (fTraceStore != null)
+				fTraceStore.clear();
+		}
 	}
 
 	@Override
@@ -370,11 +406,18 @@ public class TestRunSession implements ITestRunSession {
 		try {
 			File swapFile= getSwapFile();
 
-			JUnitModel.exportTestRunSession(this, swapFile);
+			// the swap file is still valid if nothing changed since the last swap in
+			if (!fSwapFileCurrent || !swapFile.exists())
+				JUnitModel.exportTestRunSession(this, swapFile);
+			fSwapFileCurrent= false;
+			if (fTraceStore != null)
+				fTraceStore.clear();
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
 			fTestRunnerClient= null;
 			fIdToTest= new HashMap<>();
+			fSharedTestNames= new HashMap<>();
+			fSharedParameterTypes= new HashMap<>();
 			fIncompleteTestSuites= null;
 			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
@@ -393,6 +436,41 @@ public class TestRunSession implements ITestRunSession {
 		File swapFile= getSwapFile();
 		if (swapFile.exists())
 			swapFile.delete();
+		synchronized (this) {
+			fSwapFileCurrent= false;
+			// keep the store, such that handles of disposed traces are not reused
+			if (fTraceStore != null)
+				fTraceStore.dispose();
+		}
+	}
+
+	/**
+	 * Moves a long failure trace of an imported test element to disk. It is read again when
+	 * requested by {@link TestElement#getTrace()}.
+	 * <p>
+	 * The trace store is only accessed while holding the lock of this session, such that traces
+	 * are not stored or loaded while {@link #swapOut()}, {@link #reset()} or
+	 * {@link #removeSwapFile()} discard the store.
+	 * </p>
+	 *
+	 * @param testElement the test element
+	 */
+	synchronized void spillTrace(TestElement testElement) {
+		String trace= testElement.getTrace();
+		if (trace == null || trace.length() < MIN_SPILLED_TRACE_LENGTH)
+			return;
+		if (fTraceStore == null) {
+			try {
+				fTraceStore= new FailureTraceStore(new File(JUnitCorePlugin.getHistoryDirectory(), getSwapFile().getName() + ".traces")); //$NON-NLS-1$
+			} catch (IllegalStateException e) {
+				return; // no history directory, keep the trace in memory
+			}
+		}
+		testElement.spillTrace(fTraceStore);
+	}
+
+	synchronized String loadTrace(long handle) {
+		return fTraceStore != null ? fTraceStore.load(handle) : null;
 	}
 
 	private File getSwapFile() throws IllegalStateException {
@@ -409,6 +487,7 @@ public class TestRunSession implements ITestRunSession {
 
 		try {
 			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
+			fSwapFileCurrent= true;
 		} catch (IllegalStateException | CoreException e) {
 			JUnitCorePlugin.log(e);
 			fTestRoot= new TestRoot(this);
@@ -568,6 +647,16 @@ public class TestRunSession implements ITestRunSession {
 		if (parameterTypes != null && parameterTypes.length > 1) {
 			parameterTypes= Arrays.stream(parameterTypes).map(String::trim).toArray(String[]::new);
 		}
+		if (parameterTypes != null) {
+			String[] shared= fSharedParameterTypes.putIfAbsent(String.join(",", parameterTypes), parameterTypes); //$NON-NLS-1$
+			if (shared != null)
+				parameterTypes= shared;
+		}
+		if (isDynamicTest) {
+			testName= shareTestName(testName);
+			if (testName != null && testName.equals(displayName))
+				displayName= testName;
+		}
 		if (isSuite) {
 			TestSuiteElement testSuiteElement= new TestSuiteElement(parent, id, testName, testCount, displayName, parameterTypes, uniqueId);
 			testElement= testSuiteElement;
@@ -583,6 +672,13 @@ public class TestRunSession implements ITestRunSession {
 		return testElement;
 	}
 
+	private String shareTestName(String name) {
+		if (name == null)
+			return null;
+		String shared= fSharedTestNames.putIfAbsent(name, name);
+		return shared != null ? shared : name;
+	}
+
 	/**
 	 * Append the test name from <code>s</code> to <code>testName</code>.
 	 *
@@ -627,6 +723,7 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testRunStarted(int testCount) {
+			fSwapFileCurrent= false;
 			fIncompleteTestSuites= new ArrayList<>();
 			fFactoryTestSuites= new ArrayList<>();
 
@@ -676,6 +773,7 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testTreeEntry(String description) {
+			fSwapFileCurrent= false;
 			TestElement testElement= addTreeEntry(description);
 
 			for (ITestSessionListener listener : fSessionListeners) {
@@ -696,6 +794,7 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testStarted(String testId, String testName) {
+			fSwapFileCurrent= false;
 			if (fStartedCount == 0) {
 				for (ITestSessionListener listener : fSessionListeners) {
 					listener.runningBegins();
@@ -724,6 +823,7 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testEnded(String testId, String testName) {
+			fSwapFileCurrent= false;
 			boolean isIgnored= testName.startsWith(MessageIds.IGNORED_TEST_PREFIX);
 
 			TestElement testElement= getTestElement(testId);
@@ -756,6 +856,7 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testFailed(int statusCode, String testId, String testName, String trace, String expected, String actual) {
+			fSwapFileCurrent= false;
 			TestElement testElement= getTestElement(testId);
 			if (testElement == null) {
 				testElement= createUnrootedTestElement(testId, testName);
@@ -779,6 +880,7 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testReran(String testId, String className, String testName, int statusCode, String trace, String expectedResult, String actualResult) {
+			fSwapFileCurrent= false;
 			TestElement testElement= getTestElement(testId);
 			if (testElement == null) {
 				testElement= createUnrootedTestElement(testId, testName);
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the messages of the {@link RemoteTestRunner} in the binary protocol.
+ * <p>
+ * The stream starts with {@link MessageIds#BINARY_PROTOCOL_MAGIC}, the protocol version and the
+ * line delimiter of the runner. It continues with batches, each one consisting of its length in
+ * bytes (4 bytes, big endian) followed by the encoded messages. A message starts with its opcode,
+ * see {@link MessageIds#getBinaryOpcode(String)}:
+ * </p>
+ * <ul>
+ * <li>{@link MessageIds#OPCODE_CONTENT}: a string, e.g. a line of a trace</li>
+ * <li>opcodes of messages about a single test ({@link MessageIds#TEST_START},
+ * {@link MessageIds#TEST_END}, {@link MessageIds#TEST_ERROR}, {@link MessageIds#TEST_FAILED}): the
+ * test id as variable length int, followed by the test name if it has not been sent for this id
+ * before. The id is <code>0</code> if the argument does not start with a numeric test id or the id
+ * exceeds {@link MessageIds#BINARY_PROTOCOL_MAX_TEST_ID}, then the complete argument follows as a
+ * string.</li>
+ * <li>all other opcodes: the argument of the text message as a string</li>
+ * </ul>
+ * <p>
+ * Strings are encoded as their UTF-8 length as variable length int followed by the UTF-8 bytes.
+ * Variable length ints use 7 bits per byte, the high bit is set on all but the last byte.
+ * </p>
+ * <p>
+ * Batches are written when they exceed {@link #MAX_BATCH_SIZE}, and at the latest
+ * {@link #FLUSH_INTERVAL} ms after a flush has been requested. A batch is written outside of the
+ * lock of the writer, while further messages are collected in a second buffer.
+ * </p>
+ */
+public class BinaryMessageWriter implements MessageSender {
+
+	/**
+	 * Size in bytes after which a batch is written.
+	 */
+	private static final int MAX_BATCH_SIZE= 16 * 1024;
+
+	/**
+	 * Maximal delay in ms until a requested flush is performed.
+	 */
+	private static final long FLUSH_INTERVAL= 50;
+
+	private final OutputStream fOut;
+
+	private byte[] fBatch= new byte[MAX_BATCH_SIZE + 1024];
+	private int fLength;
+
+	/**
+	 * The buffer that is swapped with {@link #fBatch} when a batch is written
+	 */
+	private byte[] fSpare= new byte[MAX_BATCH_SIZE + 1024];
+
+	/**
+	 * Lock held while a batch is written, acquired before the lock of the writer
+	 */
+	private final Object fWriteLock= new Object();
+
+	/**
+	 * The names that have been sent per test id
+	 */
+	private String[] fTestNames= new String[1024];
+
+	private boolean fFlushRequested;
+	private boolean fClosed;
+	private final Thread fFlusher;
+
+	public BinaryMessageWriter(OutputStream out) throws IOException {
+		fOut= out;
+		fOut.write(MessageIds.BINARY_PROTOCOL_MAGIC);
+		fOut.write(MessageIds.BINARY_PROTOCOL_VERSION);
+		byte[] lineDelimiter= System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+		fOut.write(lineDelimiter.length);
+		fOut.write(lineDelimiter);
+		fOut.flush();
+
+		fFlusher= new Thread("BinaryMessageFlusher") { //$NON-NLS-1$
+			@Override
+			public void run() {
+				flushPeriodically();
+			}
+		};
+		fFlusher.setDaemon(true);
+		fFlusher.start();
+	}
+
+	@Override
+	public void sendMessage(String msg) {
+		synchronized (this) {
+			if (fClosed)
+				return;
+
+			int opcode= MessageIds.getBinaryOpcode(msg);
+			if (opcode == MessageIds.OPCODE_CONTENT) {
+				writeByte(opcode);
+				writeString(msg);
+			} else {
+				String arg= msg.substring(MessageIds.MSG_HEADER_LENGTH);
+				writeByte(opcode);
+				if (MessageIds.isBinaryTestOpcode(opcode)) {
+					writeTest(arg);
+				} else {
+					writeString(arg);
+				}
+			}
+
+			if (fLength < MAX_BATCH_SIZE)
+				return;
+		}
+		writeBatch(false);
+	}
+
+	private void writeTest(String arg) {
+		int comma= arg.indexOf(',');
+		int id= parseTestId(arg, comma);
+		if (id <= 0 || id > MessageIds.BINARY_PROTOCOL_MAX_TEST_ID) {
+			writeVarInt(0);
+			writeString(arg);
+			return;
+		}
+
+		writeVarInt(id);
+		String name= arg.substring(comma + 1);
+		if (id >= fTestNames.length) {
+			String[] names= new String[Math.max(id + 1, fTestNames.length * 2)];
+			System.arraycopy(fTestNames, 0, names, 0, fTestNames.length);
+			fTestNames= names;
+		}
+		if (name.equals(fTestNames[id])) {
+			writeByte(0);
+		} else {
+			fTestNames[id]= name;
+			writeByte(1);
+			writeString(name);
+		}
+	}
+
+	private static int parseTestId(String arg, int comma) {
+		if (comma <= 0 || comma > 9)
+			return -1;
+		int id= 0;
+		for (int i= 0; i < comma; i++) {
+			char c= arg.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			id= id * 10 + (c - '0');
+		}
+		return id;
+	}
+
+	/**
+	 * Requests the pending messages to be written. Writing is deferred until the current batch is
+	 * full or {@link #FLUSH_INTERVAL} has elapsed, such that messages of fast tests are sent in
+	 * batches.
+	 */
+	@Override
+	public synchronized void flush() {
+		if (fLength > 0 && !fFlushRequested) {
+			fFlushRequested= true;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Writes all pending messages and closes the stream.
+	 */
+	public void close() {
+		writeBatch(true);
+	}
+
+	private void flushPeriodically() {
+		while (true) {
+			synchronized (this) {
+				try {
+					while (!fClosed && !fFlushRequested)
+						wait();
+					if (fClosed)
+						return;
+					wait(FLUSH_INTERVAL);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+			writeBatch(false);
+		}
+	}
+
+	/**
+	 * Writes the pending messages. The buffers are swapped while holding the lock of the writer,
+	 * such that messages can be sent while the batch is written.
+	 *
+	 * @param close <code>true</code> to close the stream after the batch has been written
+	 */
+	private void writeBatch(boolean close) {
+		synchronized (fWriteLock) {
+			byte[] batch;
+			int length;
+			synchronized (this) {
+				fFlushRequested= false;
+				if (fClosed)
+					return;
+				batch= fBatch;
+				length= fLength;
+				// the spare buffer is free, the previous batch has been written
+				fBatch= fSpare;
+				fSpare= batch;
+				fLength= 0;
+				if (close) {
+					fClosed= true;
+					notifyAll();
+				}
+			}
+			try {
+				if (length > 0) {
+					fOut.write(length >>> 24);
+					fOut.write(length >>> 16);
+					fOut.write(length >>> 8);
+					fOut.write(length);
+					fOut.write(batch, 0, length);
+					fOut.flush();
+				}
+				if (close)
+					fOut.close();
+			} catch (IOException e) {
+				// like PrintWriter, drop messages once the connection is lost
+				synchronized (this) {
+					fClosed= true;
+					notifyAll();
+				}
+			}
+		}
+	}
+
+	private void ensureCapacity(int additional) {
+		if (fLength + additional > fBatch.length) {
+			byte[] batch= new byte[Math.max(fLength + additional, fBatch.length * 2)];
+			System.arraycopy(fBatch, 0, batch, 0, fLength);
+			fBatch= batch;
+		}
+	}
+
+	private void writeByte(int b) {
+		ensureCapacity(1);
+		fBatch[fLength++]= (byte) b;
+	}
+
+	private void writeVarInt(int value) {
+		ensureCapacity(5);
+		while ((value & ~0x7F) != 0) {
+			fBatch[fLength++]= (byte) ((value & 0x7F) | 0x80);
+			value>>>= 7;
+		}
+		fBatch[fLength++]= (byte) value;
+	}
+
+	private void writeString(String s) {
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length);
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, fBatch, fLength, bytes.length);
+		fLength+= bytes.length;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -150,6 +150,116 @@ public class MessageIds {
 	 */
 	public static final String ASSUMPTION_FAILED_TEST_PREFIX= "@AssumptionFailure: "; //$NON-NLS-1$
 
+	/**
+	 * Value of the <code>-protocol</code> argument of the RemoteTestRunner that requests the
+	 * binary protocol, see {@link BinaryMessageWriter}. Runners that do not know the argument
+	 * ignore it and use the text protocol.
+	 */
+	public static final String BINARY_PROTOCOL= "binary"; //$NON-NLS-1$
+
+	/**
+	 * First byte sent by a RemoteTestRunner that uses the binary protocol. Messages of the text
+	 * protocol always start with a '%', hence a client can detect the protocol from the first
+	 * byte.
+	 */
+	public static final int BINARY_PROTOCOL_MAGIC= 0xCA;
+
+	/**
+	 * Version of the binary protocol.
+	 */
+	public static final int BINARY_PROTOCOL_VERSION= 1;
+
+	/**
+	 * The largest test id that is sent as number in the binary protocol. Messages about tests with
+	 * larger ids carry the complete argument instead, so that the receiver can bound the table of
+	 * test names it keeps by id.
+	 */
+	public static final int BINARY_PROTOCOL_MAX_TEST_ID= 1 << 20;
+
+	/**
+	 * Opcode of a binary message that carries a plain line, e.g. a line of a trace.
+	 */
+	public static final int OPCODE_CONTENT= 0;
+
+	/**
+	 * Opcode of a binary {@link #TEST_START} message.
+	 */
+	public static final int OPCODE_TEST_START= 10;
+
+	/**
+	 * Opcode of a binary {@link #TEST_END} message.
+	 */
+	public static final int OPCODE_TEST_END= 11;
+
+	/**
+	 * Opcode of a binary {@link #TEST_ERROR} message.
+	 */
+	public static final int OPCODE_TEST_ERROR= 12;
+
+	/**
+	 * Opcode of a binary {@link #TEST_FAILED} message.
+	 */
+	public static final int OPCODE_TEST_FAILED= 13;
+
+	/**
+	 * The message headers by binary opcode - 1. The order must not be changed, and must match the
+	 * <code>OPCODE_*</code> constants.
+	 */
+	private static final String[] BINARY_HEADERS= {
+			TRACE_START, TRACE_END, EXPECTED_START, EXPECTED_END, ACTUAL_START, ACTUAL_END, RTRACE_START, RTRACE_END,
+			TEST_RUN_START, TEST_START, TEST_END, TEST_ERROR, TEST_FAILED, TEST_RUN_END, TEST_STOPPED, TEST_RERAN,
+			TEST_TREE
+	};
+
+	/**
+	 * Returns the binary opcode of a message of the text protocol.
+	 *
+	 * @param message the text message
+	 * @return the opcode of the message header, or {@link #OPCODE_CONTENT} if the message does not
+	 *         start with a known header
+	 */
+	public static int getBinaryOpcode(String message) {
+		if (message.length() < MSG_HEADER_LENGTH || message.charAt(0) != '%')
+			return OPCODE_CONTENT;
+		for (int i= 0; i < BINARY_HEADERS.length; i++) {
+			if (message.startsWith(BINARY_HEADERS[i]))
+				return i + 1;
+		}
+		return OPCODE_CONTENT;
+	}
+
+	/**
+	 * Returns the message header of a binary opcode.
+	 *
+	 * @param opcode the opcode, must not be {@link #OPCODE_CONTENT}
+	 * @return the header or <code>null</code> if the opcode is unknown
+	 */
+	public static String getBinaryHeader(int opcode) {
+		if (opcode < 1 || opcode > BINARY_HEADERS.length)
+			return null;
+		return BINARY_HEADERS[opcode - 1];
+	}
+
+	/**
+	 * Returns whether the binary message with the given opcode is about a single test and carries
+	 * an interned test id.
+	 *
+	 * @param opcode the opcode
+	 * @return <code>true</code> for {@link #OPCODE_TEST_START}, {@link #OPCODE_TEST_END},
+	 *         {@link #OPCODE_TEST_ERROR} and {@link #OPCODE_TEST_FAILED}
+	 */
+	public static boolean isBinaryTestOpcode(int opcode) {
+		switch (opcode) {
+			case OPCODE_TEST_START:
+			case OPCODE_TEST_END:
+			case OPCODE_TEST_ERROR:
+			case OPCODE_TEST_FAILED:
+				return true;
+			default:
+				return false;
+		}
+	}
+
 	private MessageIds() {
 	}
 }
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotation;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
+import org.eclipse.jface.text.source.projection.ProjectionViewer;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+
+/**
+ * Tests that the folding structure is updated from the deltas of single members.
+ */
+public class FoldingTest {
+
+	private static final String DELTA_UPDATES_PROPERTY= "org.eclipse.jdt.ui.folding.deltaUpdates";
+
+	private static final String SOURCE= "package p;\n" +
+			"\n" +
+			"public class A {\n" +
+			"	void m1() {\n" +
+			"		int a= 1;\n" +
+			"	}\n" +
+			"\n" +
+			"	void m2() {\n" +
+			"		int b= 2;\n" +
+			"	}\n" +
+			"\n" +
+			"	void m3() {\n" +
+			"		int c= 3;\n" +
+			"	}\n" +
+			"}\n";
+
+	private IJavaProject fProject;
+
+	private JavaEditor fEditor;
+
+	private SourceViewer fSourceViewer;
+
+	private String fDeltaUpdates;
+
+	@Before
+	public void setUp() throws Exception {
+		fDeltaUpdates= System.getProperty(DELTA_UPDATES_PROPERTY);
+		System.setProperty(DELTA_UPDATES_PROPERTY, "true");
+
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar_17(fProject, true);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		IPackageFragment pack= root.createPackageFragment("p", true, null);
+		ICompilationUnit cu= pack.createCompilationUnit("A.java", SOURCE, true, null);
+
+		fEditor= (JavaEditor) EditorUtility.openInEditor(cu);
+		fSourceViewer= EditorTestHelper.getSourceViewer(fEditor);
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		EditorTestHelper.closeEditor(fEditor);
+		fEditor= null;
+		fSourceViewer= null;
+		if (fProject != null)
+			JavaProjectHelper.delete(fProject);
+		if (fDeltaUpdates == null)
+			System.clearProperty(DELTA_UPDATES_PROPERTY);
+		else
+			System.setProperty(DELTA_UPDATES_PROPERTY, fDeltaUpdates);
+	}
+
+	@Test
+	public void addMember() throws Exception {
+		Map<Integer, ProjectionAnnotation> before= getAnnotations();
+		assertEquals(3, before.size());
+		ProjectionAnnotation m1= before.get(3);
+		getModel().collapse(m1);
+
+		replace(14, 0, "\n\tvoid m4() {\n\t\tint d= 4;\n\t}\n");
+
+		Map<Integer, ProjectionAnnotation> after= getAnnotations();
+		assertEquals(4, after.size());
+		assertSame(m1, after.get(3));
+		assertTrue(m1.isCollapsed());
+		assertSame(before.get(7), after.get(7));
+		assertSame(before.get(11), after.get(11));
+		assertAnnotation(after.get(15), 15, 17);
+	}
+
+	@Test
+	public void removeMember() throws Exception {
+		Map<Integer, ProjectionAnnotation> before= getAnnotations();
+		ProjectionAnnotation m1= before.get(3);
+		getModel().collapse(m1);
+
+		replace(7, 4, "");
+
+		Map<Integer, ProjectionAnnotation> after= getAnnotations();
+		assertEquals(2, after.size());
+		assertSame(m1, after.get(3));
+		assertTrue(m1.isCollapsed());
+		assertSame(before.get(11), after.get(7));
+		assertAnnotation(after.get(7), 7, 9);
+	}
+
+	@Test
+	public void changeMember() throws Exception {
+		Map<Integer, ProjectionAnnotation> before= getAnnotations();
+		ProjectionAnnotation m1= before.get(3);
+		getModel().collapse(m1);
+
+		replace(9, 0, "\t\tb++;\n");
+
+		Map<Integer, ProjectionAnnotation> after= getAnnotations();
+		assertEquals(3, after.size());
+		assertSame(m1, after.get(3));
+		assertTrue(m1.isCollapsed());
+		assertSame(before.get(7), after.get(7));
+		assertAnnotation(after.get(7), 7, 10);
+		assertFalse(after.get(7).isCollapsed());
+		assertSame(before.get(11), after.get(12));
+		assertAnnotation(after.get(12), 12, 14);
+	}
+
+	/**
+	 * Replaces whole lines of the editor and waits until the document has been reconciled.
+	 *
+	 * @param line the first replaced line
+	 * @param lines the number of replaced lines
+	 * @param text the replacement
+	 * @throws BadLocationException if the lines are not in the document
+	 */
+	private void replace(int line, int lines, String text) throws BadLocationException {
+		IDocument document= fSourceViewer.getDocument();
+		int offset= document.getLineOffset(line);
+		int length= document.getLineOffset(line + lines) - offset;
+		document.replace(offset, length, text);
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+		EditorTestHelper.runEventQueue(100);
+	}
+
+	private ProjectionAnnotationModel getModel() {
+		ProjectionAnnotationModel model= ((ProjectionViewer) fSourceViewer).getProjectionAnnotationModel();
+		assertNotNull(model);
+		return model;
+	}
+
+	/**
+	 * Returns the folding annotations of the members by their first line.
+	 *
+	 * @return the annotations
+	 * @throws BadLocationException if an annotation is not in the document
+	 */
+	private Map<Integer, ProjectionAnnotation> getAnnotations() throws BadLocationException {
+		ProjectionAnnotationModel model= getModel();
+		IDocument document= fSourceViewer.getDocument();
+		Map<Integer, ProjectionAnnotation> result= new TreeMap<>();
+		for (Iterator<Annotation> iter= model.getAnnotationIterator(); iter.hasNext();) {
+			Annotation annotation= iter.next();
+			Position position= model.getPosition(annotation);
+			if (annotation instanceof ProjectionAnnotation && position != null && !position.isDeleted())
+				result.put(Integer.valueOf(document.getLineOfOffset(position.getOffset())), (ProjectionAnnotation) annotation);
+		}
+		return result;
+	}
+
+	private void assertAnnotation(ProjectionAnnotation annotation, int firstLine, int lastLine) throws BadLocationException {
+		assertNotNull(annotation);
+		Position position= getModel().getPosition(annotation);
+		IDocument document= fSourceViewer.getDocument();
+		assertEquals(firstLine, document.getLineOfOffset(position.getOffset()));
+		assertEquals(lastLine, document.getLineOfOffset(position.getOffset() + position.getLength() - 1));
+	}
+}
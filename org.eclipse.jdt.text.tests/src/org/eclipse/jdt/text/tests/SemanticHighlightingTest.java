@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -94,6 +94,34 @@ public class SemanticHighlightingTest extends AbstractSemanticHighlightingTest {
 		assertEqualPositions(expected, actual);
 	}
 
+	@Test
+	public void fieldHighlightingAfterEditInBody() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.FIELD);
+		replace(9, 0, 0, "\t\tfield++;\n");
+		Position[] expected= new Position[] {
+				createPosition( 3,  5,  5),
+				createPosition( 4, 12, 11),
+				createPosition( 5, 11, 10),
+				createPosition( 6, 18, 16),
+				createPosition( 9,  2,  5),
+				createPosition(23,  5, 15),
+				createPosition(26,  2, 15),
+				createPosition(32,  9,  6),
+				createPosition(33,  6, 11),
+				createPosition(33, 31,  5),
+				createPosition(34,  6, 17),
+				createPosition(34, 32, 11),
+				createPosition(35,  6, 16),
+				createPosition(35, 36, 10),
+				createPosition(36,  6, 22),
+				createPosition(36, 37, 16),
+				createPosition(49,  6, 14),
+				createPosition(49, 22,  5),
+		};
+		Position[] actual= getSemanticHighlightingPositions();
+		assertEqualPositions(expected, actual);
+	}
+
 	@Test
 	public void inheritedFieldHighlighting() throws Exception {
 		setUpSemanticHighlighting(SemanticHighlightings.INHERITED_FIELD);
@@ -133,6 +161,49 @@ public class SemanticHighlightingTest extends AbstractSemanticHighlightingTest {
 		assertEqualPositions(expected, actual);
 	}
 
+	@Test
+	public void methodHighlighting() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.METHOD);
+		Position[] expected= new Position[] {
+				createPosition(7, 6, 6),
+				createPosition(10, 2, 12),
+				createPosition(11, 2, 14),
+				createPosition(12, 2, 8),
+				createPosition(15, 17, 8),
+				createPosition(19, 13, 12),
+				createPosition(20, 15, 14),
+				createPosition(24, 15, 16),
+				createPosition(26, 2, 16),
+				createPosition(38, 19, 5),
+				createPosition(40, 4, 6),
+		};
+		Position[] actual= getSemanticHighlightingPositions();
+		assertEqualPositions(expected, actual);
+	}
+
+	@Test
+	public void methodHighlightingOfTypesAndNamesWithoutBinding() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.METHOD);
+		// the instantiated type is matched by its constructor, the label has no binding
+		replace(9, 0, 0, "\t\tnew InnerClass();\n\t\tlabel: break label;\n");
+		Position[] expected= new Position[] {
+				createPosition(7, 6, 6),
+				createPosition(9, 6, 10),
+				createPosition(12, 2, 12),
+				createPosition(13, 2, 14),
+				createPosition(14, 2, 8),
+				createPosition(17, 17, 8),
+				createPosition(21, 13, 12),
+				createPosition(22, 15, 14),
+				createPosition(26, 15, 16),
+				createPosition(28, 2, 16),
+				createPosition(40, 19, 5),
+				createPosition(42, 4, 6),
+		};
+		Position[] actual= getSemanticHighlightingPositions();
+		assertEqualPositions(expected, actual);
+	}
+
 	@Test
 	public void staticMethodInvocationHighlighting() throws Exception {
 		setUpSemanticHighlighting(SemanticHighlightings.STATIC_METHOD_INVOCATION);
@@ -207,6 +278,31 @@ public class SemanticHighlightingTest extends AbstractSemanticHighlightingTest {
 		assertEqualPositions(expected, actual);
 	}
 
+	@Test
+	public void localVariableHighlightingAfterEditInBody() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE);
+		replace(9, 2, 8, "int local3= local;");
+		Position[] expected= new Position[] {
+				createPosition(7, 17, 5),
+				createPosition(8, 6, 5),
+				createPosition(8, 13, 5),
+				createPosition(9, 6, 6),
+				createPosition(9, 14, 5),
+				createPosition(13, 11, 6),
+				createPosition(13, 22, 6),
+				createPosition(13, 35, 6),
+				createPosition(14, 26, 6),
+				createPosition(15, 3, 5),
+				createPosition(15, 10, 6),
+				createPosition(16, 3, 6),
+				createPosition(41, 16, 4),
+				createPosition(42, 20, 13),
+				createPosition(43, 15, 7),
+		};
+		Position[] actual= getSemanticHighlightingPositions();
+		assertEqualPositions(expected, actual);
+	}
+
 	@Test
 	public void parameterVariableHighlighting() throws Exception {
 		setUpSemanticHighlighting(SemanticHighlightings.PARAMETER_VARIABLE);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,13 @@ package org.eclipse.jdt.text.tests.contentassist;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.After;
 import org.junit.Before;
@@ -28,6 +31,11 @@ import org.eclipse.jdt.testplugin.JavaProjectHelper;
 
 import org.eclipse.swt.SWT;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.ProjectScope;
+
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.ITextViewer;
@@ -43,6 +51,8 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
 
@@ -665,6 +675,135 @@ public class ChainCompletionTest {
 		assertEquals(expectedContent,doc.get());
 	}
 
+	@Test
+	public void testSharedIndexUpdatedOnChange() throws Exception {
+		StringBuffer buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Bar {\n" +
+				"  public Baz getBaz() {\n" +
+				"    return new Baz();\n" +
+				"  }\n" +
+				"}");
+		ICompilationUnit bar= getCompilationUnit(pkg, buf, "Bar.java");
+
+		buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Baz {\n" +
+				"}");
+		getCompilationUnit(pkg, buf, "Baz.java");
+
+		buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Foo {\n" +
+				"  public void foo(Bar bar) {\n" +
+				"    Baz b = $\n" +
+				"  }\n" +
+				"}");
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+
+		List<ICompletionProposal> proposals= computeCompletionProposals(cu, completionIndex);
+		assertProposalsExist(Arrays.asList("bar.getBaz() - 2 elements"), proposals);
+
+		// the members of Bar are indexed now, adding a method must update the index
+		bar.getBuffer().setContents("package test;\n" +
+				"public class Bar {\n" +
+				"  public Baz getBaz() {\n" +
+				"    return new Baz();\n" +
+				"  }\n" +
+				"  public Baz getOtherBaz() {\n" +
+				"    return new Baz();\n" +
+				"  }\n" +
+				"}");
+		bar.save(null, true);
+
+		proposals= computeCompletionProposals(cu, completionIndex);
+		assertProposalsExist(Arrays.asList("bar.getBaz() - 2 elements", "bar.getOtherBaz() - 2 elements"), proposals);
+	}
+
+	private static final String MANY_CHAINS= "package test;\n" +
+			"public class Foo {\n" +
+			"  public Bar bar;\n" +
+			"  public Bar getBar() {\n" +
+			"    return new Bar();\n" +
+			"  }\n" +
+			"  \n" +
+			"  public class Bar {\n" +
+			"    Baz baz;\n" +
+			"    Baz getBaz() {\n" +
+			"      return new Baz();\n" +
+			"    }\n" +
+			"    Bar self() {\n" +
+			"      return this;\n" +
+			"    }\n" +
+			"  }\n" +
+			"  \n" +
+			"  public class Baz {\n" +
+			"  }\n" +
+			"\n" +
+			"  public void method() {\n" +
+			"    Baz b = $\n" +
+			"  }\n" +
+			"}";
+
+	@Test
+	public void testParallelSearchEqualsSequentialSearch() throws Exception {
+		StringBuffer buf= new StringBuffer(MANY_CHAINS);
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+
+		boolean wasParallel= ChainCompletionProposalComputer.isParallelSearch();
+		try {
+			ChainCompletionProposalComputer.setParallelSearch(false);
+			List<String> sequential= getDisplayStrings(computeCompletionProposals(cu, completionIndex));
+			ChainCompletionProposalComputer.setParallelSearch(true);
+			List<String> parallel= getDisplayStrings(computeCompletionProposals(cu, completionIndex));
+
+			assertTrue(sequential.toString(), sequential.size() > 4);
+			assertEquals(sequential, parallel);
+		} finally {
+			ChainCompletionProposalComputer.setParallelSearch(wasParallel);
+		}
+	}
+
+	@Test
+	public void testPartialResultOnTimeout() throws Exception {
+		StringBuffer buf= new StringBuffer(MANY_CHAINS);
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+		List<String> all= getDisplayStrings(computeCompletionProposals(cu, completionIndex));
+
+		// time out immediately, the chains found by then are proposed
+		new ProjectScope(fJProject.getProject()).getNode(JavaUI.ID_PLUGIN).put(PreferenceConstants.PREF_CHAIN_TIMEOUT, "0");
+		ChainCompletionProposalComputer comp= new ChainCompletionProposalComputer();
+		comp.sessionStarted();
+		List<String> partial= getDisplayStrings(computeCompletionProposals(comp, cu, completionIndex, null));
+
+		assertTrue(partial + " is no prefix of " + all, partial.size() <= all.size() && partial.equals(all.subList(0, partial.size())));
+		if (partial.isEmpty())
+			assertNotNull(comp.getErrorMessage());
+		else
+			assertNull(comp.getErrorMessage());
+	}
+
+	@Test
+	public void testCanceled() throws Exception {
+		StringBuffer buf= new StringBuffer(MANY_CHAINS);
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+		assertFalse(computeCompletionProposals(cu, completionIndex).isEmpty());
+
+		IProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+		List<ICompletionProposal> proposals= computeCompletionProposals(new ChainCompletionProposalComputer(), cu, completionIndex, monitor);
+
+		assertEquals(0, proposals.size());
+	}
+
+	private static List<String> getDisplayStrings(List<ICompletionProposal> proposals) {
+		return proposals.stream().map(ICompletionProposal::getDisplayString).collect(Collectors.toList());
+	}
+
 	private ICompilationUnit getCompilationUnit(IPackageFragment pack, StringBuffer buf, String name) throws JavaModelException {
 		return pack.createCompilationUnit(name, buf.toString().replace("$", ""), false, null);
 	}
@@ -674,14 +813,16 @@ public class ChainCompletionTest {
 	}
 
 	private List<ICompletionProposal> computeCompletionProposals(ICompilationUnit cu, int completionIndex) throws Exception {
-		ChainCompletionProposalComputer comp= new ChainCompletionProposalComputer();
+		return computeCompletionProposals(new ChainCompletionProposalComputer(), cu, completionIndex, null);
+	}
 
+	private List<ICompletionProposal> computeCompletionProposals(ChainCompletionProposalComputer comp, ICompilationUnit cu, int completionIndex, IProgressMonitor monitor) throws Exception {
 		IEditorPart editor= EditorUtility.openInEditor(cu);
 		ITextViewer viewer= new TextViewer(editor.getSite().getShell(), SWT.NONE);
 		viewer.setDocument(new Document(cu.getSource()));
 		JavaContentAssistInvocationContext ctx= new JavaContentAssistInvocationContext(viewer, completionIndex, editor);
 
-		return comp.computeCompletionProposals(ctx, null);
+		return comp.computeCompletionProposals(ctx, monitor);
 	}
 
 	private void applyProposal (ICompletionProposal prop, IDocument doc, ICompilationUnit cu, int completionIndex) throws Exception {
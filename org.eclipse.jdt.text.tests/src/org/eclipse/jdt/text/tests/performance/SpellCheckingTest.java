@@ -31,8 +31,11 @@ import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Region;
 
+import org.eclipse.ui.texteditor.AbstractTextEditor;
 import org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector;
 import org.eclipse.ui.texteditor.spelling.SpellingContext;
 import org.eclipse.ui.texteditor.spelling.SpellingProblem;
@@ -42,6 +45,8 @@ import org.eclipse.ui.editors.text.EditorsUI;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 
+import org.eclipse.jdt.internal.ui.text.spelling.JavaSpellingReconcileStrategy;
+
 
 /**
  * Measures the time to spell check a large compilation unit.
@@ -107,6 +112,43 @@ public class SpellCheckingTest extends TextPerformanceTestCase {
 		assertAllPerformance();
 	}
 
+	/**
+	 * Measures reconciling the spelling of a Java editor after a change in a comment, which only
+	 * checks the changed partition again.
+	 *
+	 * @throws Exception if the test fails
+	 * @since 3.29
+	 */
+	public void testReconcileAfterChange() throws Exception {
+		AbstractTextEditor editor= (AbstractTextEditor) EditorTestHelper.openInEditor(ResourceTestHelper.findFile(FILE), EditorTestHelper.COMPILATION_UNIT_EDITOR_ID, true);
+		try {
+			IDocument document= EditorTestHelper.getDocument(editor);
+			JavaSpellingReconcileStrategy strategy= new JavaSpellingReconcileStrategy(EditorTestHelper.getSourceViewer(editor), editor);
+			strategy.setDocument(document);
+			strategy.initialReconcile();
+
+			measureReconcile(strategy, document, getNullPerformanceMeter(), getWarmUpRuns());
+			PerformanceMeter performanceMeter= createPerformanceMeter("Java Editor: Spell checking after change");
+			measureReconcile(strategy, document, performanceMeter, getMeasuredRuns());
+			commitAllMeasurements();
+			assertAllPerformance();
+		} finally {
+			EditorTestHelper.revertEditor(editor, true);
+			EditorTestHelper.closeAllEditors();
+		}
+	}
+
+	private void measureReconcile(JavaSpellingReconcileStrategy strategy, IDocument document, PerformanceMeter performanceMeter, int runs) throws BadLocationException {
+		int offset= document.get().indexOf("/*") + 2;
+		for (int i= 0; i < runs; i++) {
+			document.replace(offset, 0, "x");
+			document.replace(offset, 1, "");
+			performanceMeter.start();
+			strategy.reconcile(new Region(0, document.getLength()));
+			performanceMeter.stop();
+		}
+	}
+
 	private void measure(PerformanceMeter performanceMeter, int runs, boolean printDebugInfo) {
 		SpellingService spellingService= EditorsUI.getSpellingService();
 		for (int i= 0; i < runs; i++) {
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.ISourceViewer;
+
+import org.eclipse.ui.IEditorInput;
+
+import org.eclipse.ui.texteditor.IDocumentProvider;
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.eclipse.ui.texteditor.spelling.SpellingService;
+
+import org.eclipse.ui.editors.text.EditorsUI;
+
+import org.eclipse.jdt.core.IProblemRequestor;
+import org.eclipse.jdt.core.compiler.IProblem;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.text.spelling.JavaSpellingReconcileStrategy;
+
+/**
+ * Tests that the spelling problems of partitions that have not been changed are reported from the
+ * cache of the {@link JavaSpellingReconcileStrategy}.
+ */
+public class JavaSpellingReconcileStrategyTest {
+
+	private static final String SOURCE= "package p;\n" +
+			"/**\n" +
+			" * Helo first.\n" +
+			" */\n" +
+			"class A {\n" +
+			"	/**\n" +
+			"	 * Wrld second.\n" +
+			"	 */\n" +
+			"	void m() {\n" +
+			"	}\n" +
+			"}\n";
+
+	/**
+	 * Records the reported problems.
+	 */
+	private static class ProblemRecorder extends AnnotationModel implements IProblemRequestor {
+
+		private final List<IProblem> fProblems= new ArrayList<>();
+
+		@Override
+		public void acceptProblem(IProblem problem) {
+			fProblems.add(problem);
+		}
+
+		@Override
+		public void beginReporting() {
+			fProblems.clear();
+		}
+
+		@Override
+		public void endReporting() {
+			// nothing to do
+		}
+
+		@Override
+		public boolean isActive() {
+			return true;
+		}
+	}
+
+	private IDocument fDocument;
+
+	private ProblemRecorder fRecorder;
+
+	private JavaSpellingReconcileStrategy fStrategy;
+
+	@Before
+	public void setUp() {
+		EditorsUI.getPreferenceStore().putValue(SpellingService.PREFERENCE_SPELLING_ENABLED, IPreferenceStore.TRUE);
+
+		fDocument= new Document(SOURCE);
+		JavaPlugin.getDefault().getJavaTextTools().setupJavaDocumentPartitioner(fDocument, IJavaPartitions.JAVA_PARTITIONING);
+		fRecorder= new ProblemRecorder();
+
+		IEditorInput input= stub(IEditorInput.class, "A.java");
+		IDocumentProvider provider= stub(IDocumentProvider.class, fRecorder);
+		ITextEditor editor= (ITextEditor) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ITextEditor.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getEditorInput":
+					return input;
+				case "getDocumentProvider":
+					return provider;
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		});
+		fStrategy= new JavaSpellingReconcileStrategy(stub(ISourceViewer.class, null), editor);
+		fStrategy.setDocument(fDocument);
+	}
+
+	@After
+	public void tearDown() {
+		fStrategy.dispose();
+		EditorsUI.getPreferenceStore().setToDefault(SpellingService.PREFERENCE_SPELLING_ENABLED);
+	}
+
+	/**
+	 * Returns a stub that returns the given value from all methods returning objects.
+	 *
+	 * @param type the stubbed interface
+	 * @param value the value
+	 * @return the stub
+	 */
+	private static <T> T stub(Class<T> type, Object value) {
+		return type.cast(Proxy.newProxyInstance(JavaSpellingReconcileStrategyTest.class.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+			Class<?> returnType= method.getReturnType();
+			if (value != null && returnType.isInstance(value))
+				return value;
+			return defaultValue(returnType);
+		}));
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (type == boolean.class)
+			return Boolean.FALSE;
+		if (type == int.class)
+			return Integer.valueOf(0);
+		if (type == long.class)
+			return Long.valueOf(0);
+		return null;
+	}
+
+	private List<String> reconcile() throws BadLocationException {
+		fStrategy.reconcile(new Region(0, fDocument.getLength()));
+		List<String> result= new ArrayList<>();
+		for (IProblem problem : fRecorder.fProblems) {
+			int offset= problem.getSourceStart();
+			int length= problem.getSourceEnd() - offset + 1;
+			result.add(fDocument.get(offset, length) + "@" + offset);
+		}
+		return result;
+	}
+
+	private List<String> expected(String... words) {
+		List<String> result= new ArrayList<>();
+		for (String word : words)
+			result.add(word + "@" + fDocument.get().indexOf(word));
+		return result;
+	}
+
+	@Test
+	public void problemsShifted() throws Exception {
+		assertEquals(expected("Helo", "Wrld"), reconcile());
+
+		fDocument.replace(SOURCE.indexOf("\t/**"), 0, "\tint f;\n");
+
+		assertEquals(expected("Helo", "Wrld"), reconcile());
+	}
+
+	@Test
+	public void problemsDroppedInChangedPartition() throws Exception {
+		assertEquals(expected("Helo", "Wrld"), reconcile());
+
+		fDocument.replace(SOURCE.indexOf("Wrld"), 4, "Second");
+		fDocument.replace(0, 0, "\n");
+
+		assertEquals(expected("Helo"), reconcile());
+	}
+
+	@Test
+	public void problemsOfChangedPartitionChecked() throws Exception {
+		assertEquals(expected("Helo", "Wrld"), reconcile());
+
+		fDocument.replace(SOURCE.indexOf("Wrld"), 0, "Nwe ");
+
+		assertEquals(expected("Helo", "Nwe", "Wrld"), reconcile());
+	}
+
+	@Test
+	public void cachedProblemsLimitedByThreshold() throws Exception {
+		assertEquals(expected("Helo", "Wrld"), reconcile());
+
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		int threshold= store.getInt(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD);
+		try {
+			store.setValue(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD, 1);
+			fDocument.replace(SOURCE.indexOf("\t/**"), 0, "\tint f;\n");
+
+			assertEquals(expected("Helo"), reconcile());
+		} finally {
+			store.setValue(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD, threshold);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.ui.text.spelling.engine.MappedSpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.RankedWordProposal;
+
+public class MappedSpellDictionaryTest {
+
+	private File fWordList;
+
+	@Before
+	public void setUp() throws IOException {
+		fWordList= File.createTempFile("words", ".dictionary"); //$NON-NLS-1$ //$NON-NLS-2$
+		Files.write(fWordList.toPath(), Arrays.asList("Lorry", "truck", "trunk", "sentence", "dictionary"), StandardCharsets.UTF_8); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	@After
+	public void tearDown() {
+		fWordList.delete();
+	}
+
+	private static boolean contains(Set<RankedWordProposal> proposals, String word) {
+		for (RankedWordProposal proposal : proposals) {
+			if (proposal.getText().equals(word))
+				return true;
+		}
+		return false;
+	}
+
+	@Test
+	public void testIsCorrect() throws IOException {
+		MappedSpellDictionary dictionary= new MappedSpellDictionary(fWordList.toURI().toURL(), false);
+		assertTrue(dictionary.isCorrect("truck")); //$NON-NLS-1$
+		assertTrue(dictionary.isCorrect("Truck")); //$NON-NLS-1$
+		assertTrue(dictionary.isCorrect("Lorry")); //$NON-NLS-1$
+		assertTrue(dictionary.isCorrect("(sentence)")); //$NON-NLS-1$
+		assertFalse(dictionary.isCorrect("truk")); //$NON-NLS-1$
+		assertTrue(dictionary.isLoaded());
+
+		// second instance maps the cache file that has been written by the first one
+		dictionary= new MappedSpellDictionary(fWordList.toURI().toURL(), false);
+		assertTrue(dictionary.isCorrect("dictionary")); //$NON-NLS-1$
+		assertFalse(dictionary.isCorrect("dictionry")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testIsCorrectLargeWordList() throws IOException {
+		List<String> words= new ArrayList<>();
+		for (int i= 0; i < 2000; i++)
+			words.add("word" + Integer.toString(i, 36) + (i % 3 == 0 ? "\u00e4rger" : "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		Files.write(fWordList.toPath(), words, StandardCharsets.UTF_8);
+
+		MappedSpellDictionary dictionary= new MappedSpellDictionary(fWordList.toURI().toURL(), false);
+		for (String word : words) {
+			assertTrue(word, dictionary.isCorrect(word));
+			assertFalse(word, dictionary.isCorrect("q" + word)); //$NON-NLS-1$
+		}
+		assertFalse(dictionary.isCorrect("word")); //$NON-NLS-1$
+		assertFalse(dictionary.isCorrect("zzz")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testProposals() throws IOException {
+		MappedSpellDictionary dictionary= new MappedSpellDictionary(fWordList.toURI().toURL(), false);
+		Set<RankedWordProposal> proposals= dictionary.getProposals("dictionry", false); //$NON-NLS-1$
+		assertTrue(contains(proposals, "dictionary")); //$NON-NLS-1$
+
+		proposals= dictionary.getProposals("Sentense", true); //$NON-NLS-1$
+		assertTrue(contains(proposals, "Sentence")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testAddWord() throws IOException {
+		MappedSpellDictionary dictionary= new MappedSpellDictionary(fWordList.toURI().toURL(), true);
+		assertFalse(dictionary.isCorrect("lastwagen")); //$NON-NLS-1$
+		dictionary.addWord("lastwagen"); //$NON-NLS-1$
+		assertTrue(dictionary.isCorrect("lastwagen")); //$NON-NLS-1$
+
+		// the changed word list invalidates the cache file
+		dictionary= new MappedSpellDictionary(fWordList.toURI().toURL(), true);
+		assertTrue(dictionary.isCorrect("lastwagen")); //$NON-NLS-1$
+		assertTrue(dictionary.isCorrect("trunk")); //$NON-NLS-1$
+	}
+}
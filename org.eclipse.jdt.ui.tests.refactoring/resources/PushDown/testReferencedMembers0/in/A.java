@@ -0,0 +1,9 @@
+package p;
+
+class A{
+	public void m() {}
+	public void m(int i) {}
+	public void n() { m(1); }
+}
+class B extends A{
+}
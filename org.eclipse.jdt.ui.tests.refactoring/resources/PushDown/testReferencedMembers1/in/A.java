@@ -0,0 +1,9 @@
+package p;
+
+class A{
+	public int f;
+	public int ff;
+	public void n() { ff++; }
+}
+class B extends A{
+}
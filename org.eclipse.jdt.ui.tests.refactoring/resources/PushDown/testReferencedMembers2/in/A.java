@@ -0,0 +1,10 @@
+package p;
+
+class A{
+	public int f;
+	public void m() {}
+	public void mm() { m(); }
+	public void n() { f= 1; mm(); }
+}
+class B extends A{
+}
@@ -0,0 +1,12 @@
+package p;
+
+class A{
+	public int f;
+	public int ff;
+	public void m() { m(f); }
+	public void m(int i) { f= i; }
+	public void mm() {}
+	public void n() { ff++; mm(); }
+}
+class B extends A{
+}
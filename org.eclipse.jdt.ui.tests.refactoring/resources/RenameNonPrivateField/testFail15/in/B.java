@@ -0,0 +1,9 @@
+package p;
+public class B {
+	static int g;
+	static class C extends A {
+		int m() {
+			return g;
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package p;
+/**
+ * p.A
+ */
+public class A{
+	String a= "A";
+}
@@ -0,0 +1,7 @@
+package p;
+/**
+ * p.B
+ */
+public class B{
+	String a= "B";
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -99,6 +99,7 @@ import org.junit.runners.Suite;
 	RenamePrivateFieldTests.class,
 	RenameNonPrivateFieldTests.class,
 	RenameRecordElementsTests.class,
+	RenameIncrementalAnalysisTests.class,
 
 	//--initializers
 	MoveInitializerTests.class,
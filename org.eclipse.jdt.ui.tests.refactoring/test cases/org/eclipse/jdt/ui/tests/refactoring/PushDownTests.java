@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.ltk.core.refactoring.Refactoring;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.RefactoringStatusEntry;
 import org.eclipse.ltk.core.refactoring.participants.ProcessorBasedRefactoring;
 
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -181,6 +182,23 @@ public class PushDownTests extends GenericRefactoringTest {
 		assertEquals("precondition was expected to fail", expectedSeverity, checkInputResult.getSeverity());
 	}
 
+	private void referencedMembersHelper(String[] selectedMethodNames, String[][] selectedMethodSignatures,
+			String[] selectedFieldNames, String[] expectedErrors) throws Exception {
+		ICompilationUnit cu= createCUfromTestFile(getPackageP(), "A");
+		Refactoring ref= createRefactoringPrepareForInputCheck(selectedMethodNames, selectedMethodSignatures, selectedFieldNames, selectedMethodNames, selectedMethodSignatures,
+				selectedFieldNames, new String[0], new String[0][], cu);
+		RefactoringStatus checkInputResult= ref.checkFinalConditions(new NullProgressMonitor());
+		List<String> errors= new ArrayList<>();
+		for (RefactoringStatusEntry entry : checkInputResult.getEntries()) {
+			if (entry.isError())
+				errors.add(entry.getMessage());
+		}
+		String[] actualErrors= errors.toArray(new String[errors.size()]);
+		Arrays.sort(actualErrors);
+		Arrays.sort(expectedErrors);
+		assertEquals(Arrays.asList(expectedErrors).toString(), Arrays.asList(actualErrors).toString());
+	}
+
 	private void addRequiredMembersHelper(String[] fieldNames, String[] methodNames, String[][] methodSignatures, String[] expectedFieldNames, String[] expectedMethodNames, String[][] expectedMethodSignatures) throws Exception {
 		ICompilationUnit cu= createCUfromTestFile(getPackageP(), "A");
 		IType type= getType(cu, "A");
@@ -1219,6 +1237,51 @@ public class PushDownTests extends GenericRefactoringTest {
 				RefactoringStatus.ERROR);
 	}
 
+	@Test
+	public void testReferencedMembers0() throws Exception {
+		// overloaded methods, only one of them is referenced
+		String[] selectedMethodNames= {"m", "m"};
+		String[][] selectedMethodSignatures= {new String[0], new String[] {"I"}};
+		String[] selectedFieldNames= {};
+		String[] expectedErrors= {"Pushed down member 'p.A.m(int)' is referenced by 'p.A.n()'"};
+
+		referencedMembersHelper(selectedMethodNames, selectedMethodSignatures, selectedFieldNames, expectedErrors);
+	}
+
+	@Test
+	public void testReferencedMembers1() throws Exception {
+		// the name of a field is a prefix of the name of the referenced field
+		String[] selectedMethodNames= {};
+		String[][] selectedMethodSignatures= {};
+		String[] selectedFieldNames= {"f", "ff"};
+		String[] expectedErrors= {"Pushed down member 'p.A.ff' is referenced by 'p.A.n()'"};
+
+		referencedMembersHelper(selectedMethodNames, selectedMethodSignatures, selectedFieldNames, expectedErrors);
+	}
+
+	@Test
+	public void testReferencedMembers2() throws Exception {
+		String[] selectedMethodNames= {"m"};
+		String[][] selectedMethodSignatures= {new String[0]};
+		String[] selectedFieldNames= {"f"};
+		String[] expectedErrors= {
+				"Pushed down member 'p.A.f' is referenced by 'p.A.n()'",
+				"Pushed down member 'p.A.m()' is referenced by 'p.A.mm()'"};
+
+		referencedMembersHelper(selectedMethodNames, selectedMethodSignatures, selectedFieldNames, expectedErrors);
+	}
+
+	@Test
+	public void testReferencedMembers3() throws Exception {
+		// the remaining members only reference members whose names start with the pushed names
+		String[] selectedMethodNames= {"m", "m"};
+		String[][] selectedMethodSignatures= {new String[0], new String[] {"I"}};
+		String[] selectedFieldNames= {"f"};
+		String[] expectedErrors= {};
+
+		referencedMembersHelper(selectedMethodNames, selectedMethodSignatures, selectedFieldNames, expectedErrors);
+	}
+
 	@Test
 	public void testVisibility0() throws Exception {
 		String[] selectedMethodNames= {"foo"};
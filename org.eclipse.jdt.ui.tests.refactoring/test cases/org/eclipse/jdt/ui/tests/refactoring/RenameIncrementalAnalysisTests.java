@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import org.junit.ClassRule;
+import org.junit.rules.ExternalResource;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+import org.eclipse.jdt.internal.corext.refactoring.rename.RenameAnalyzeUtil;
+
+/**
+ * Runs the field and method rename tests with the incremental analysis of the rename changes.
+ */
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+	RenameNonPrivateFieldTests.class,
+	RenamePrivateFieldTests.class,
+	RenameVirtualMethodInClassTests.class,
+	RenameMethodInInterfaceTests.class,
+	RenamePrivateMethodTests.class,
+	RenameStaticMethodTests.class
+})
+public class RenameIncrementalAnalysisTests {
+
+	@ClassRule
+	public static ExternalResource fgIncrementalAnalysis= new ExternalResource() {
+		private boolean fWasIncremental;
+
+		@Override
+		protected void before() throws Throwable {
+			fWasIncremental= RenameAnalyzeUtil.isIncrementalAnalysis();
+			RenameAnalyzeUtil.setIncrementalAnalysis(true);
+		}
+
+		@Override
+		protected void after() {
+			RenameAnalyzeUtil.setIncrementalAnalysis(fWasIncremental);
+		}
+	};
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -258,6 +258,13 @@ public class RenameNonPrivateFieldTests extends GenericRefactoringTest {
 		helper1();
 	}
 
+	@Test
+	public void testFail15() throws Exception{
+		// B is not changed, but the inherited field hides B.g in the nested subclass
+		createCUfromTestFile(getPackageP(), "B");
+		helper1();
+	}
+
 	// ------
 	@Test
 	public void test0() throws Exception{
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1318,6 +1318,42 @@ public class RenameTypeTests extends GenericRefactoringTest {
 		assertEqualLines("invalid renaming in p2.A", getFileContents(getOutputTestFileName(type, folder)), cu.getSource());
 	}
 
+	@Test
+	public void testTextualMatchesInParallel() throws Exception {
+		String workers= System.getProperty("org.eclipse.jdt.ui.refactoring.textMatchWorkers");
+		System.setProperty("org.eclipse.jdt.ui.refactoring.textMatchWorkers", "4");
+		try {
+			IPackageFragment pack= getPackageP();
+			ICompilationUnit[] units= new ICompilationUnit[200];
+			for (int i= 0; i < units.length; i++) {
+				String comment= i % 2 == 0 ? "/** Uses p.A */\n" : "";
+				units[i]= pack.createCompilationUnit("C" + i + ".java", "package p;\n" + comment + "class C" + i + " {\n}\n", true, null);
+				units[i].close();
+			}
+			// files with unicode escapes are not filtered on their bytes, even if the name only occurs escaped
+			String escapedSource= "package p;\n/** Uses p.\\u0041 */\nclass \\u0055 {\n}\n";
+			ICompilationUnit escaped= pack.createCompilationUnit("U.java", escapedSource, true, null);
+			escaped.close();
+
+			helperWithTextual("A", "A", "B", "B", true, true);
+
+			// the filtered units have not been opened, the escaped one has been scanned
+			assertFalse(units[1].isOpen());
+			assertTrue(escaped.isOpen());
+			for (int i= 0; i < units.length; i++) {
+				String comment= i % 2 == 0 ? "/** Uses p.B */\n" : "";
+				assertEquals("package p;\n" + comment + "class C" + i + " {\n}\n", units[i].getSource());
+			}
+			// text matches are found in the raw source, the escaped name is not one
+			assertEquals(escapedSource, escaped.getSource());
+		} finally {
+			if (workers == null)
+				System.clearProperty("org.eclipse.jdt.ui.refactoring.textMatchWorkers");
+			else
+				System.setProperty("org.eclipse.jdt.ui.refactoring.textMatchWorkers", workers);
+		}
+	}
+
 	@Test
 	public void test65() throws Exception {
 		// https://bugs.eclipse.org/356677
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -59,6 +59,7 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
+import org.eclipse.jdt.internal.junit.model.TestElement;
 import org.eclipse.jdt.internal.junit.model.TestRunSession;
 import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
@@ -117,6 +118,15 @@ public class AbstractTestRunSessionSerializationTests {
 			// due to lingering TestRunnerViewPart$TestSessionListeners
 			serializationResult.fTestRunSession.swapOut();
 			assertEqualSessions(serializationResult.fTestRunSession, imported);
+
+			// long traces of swapped in sessions are read from the trace store
+			TestRunSession session= serializationResult.fTestRunSession;
+			for (int i= 0; i < 2; i++) {
+				session.swapIn();
+				assertEqualSessions(imported, session);
+				assertEqualTraces(imported.getTestRoot(), session.getTestRoot());
+				session.swapOut();
+			}
 		} finally {
 			if (resultFile.exists())
 				try {
@@ -231,6 +241,17 @@ public class AbstractTestRunSessionSerializationTests {
 		}
 	}
 
+	private void assertEqualTraces(ITestElement expected, ITestElement actual) {
+		assertEquals(((TestElement) expected).getTrace(), ((TestElement) actual).getTrace());
+		if (expected instanceof ITestSuiteElement) {
+			ITestElement[] expChildren= ((ITestSuiteElement) expected).getChildren();
+			ITestElement[] actChildren= ((ITestSuiteElement) actual).getChildren();
+			assertEquals(expChildren.length, actChildren.length);
+			for (int i= 0; i < expChildren.length; i++)
+				assertEqualTraces(expChildren[i], actChildren[i]);
+		}
+	}
+
 	public static String getContents(InputStream in) throws IOException {
 		InputStreamReader reader= new InputStreamReader(in);
 		StringBuilder sb= new StringBuilder(8192);
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageWriter;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+
+/**
+ * Tests that the {@link RemoteTestRunnerClient} reads the messages of the text and the binary
+ * protocol.
+ */
+public class RemoteTestRunnerClientTest {
+
+	private static final String[] MESSAGES= {
+			MessageIds.TEST_RUN_START + "2 v2",
+			MessageIds.TEST_TREE + "1,p.T,true,2,false,-1,p.T,,",
+			MessageIds.TEST_START + "2,m1(p.T)",
+			MessageIds.TEST_END + "2,m1(p.T)",
+			MessageIds.TEST_START + "3,m2(p.T)",
+			MessageIds.TEST_FAILED + "3,m2(p.T)",
+			MessageIds.TRACE_START,
+			"java.lang.AssertionError: m2",
+			MessageIds.TRACE_END,
+			MessageIds.TEST_END + "3,m2(p.T)",
+			MessageIds.TEST_RUN_END + "42"
+	};
+
+	private static final List<String> EVENTS= Arrays.asList(
+			"runStarted 2",
+			"treeEntry 1,p.T,true,2,false,-1,p.T,,",
+			"started 2 m1(p.T)",
+			"ended 2 m1(p.T)",
+			"started 3 m2(p.T)",
+			"failed 2 3 m2(p.T) java.lang.AssertionError: m2",
+			"ended 3 m2(p.T)",
+			"runEnded 42");
+
+	private static class EventLog implements ITestRunListener2 {
+		final List<String> fEvents= new ArrayList<>();
+		final CountDownLatch fDone= new CountDownLatch(1);
+
+		private synchronized void log(String event) {
+			fEvents.add(event);
+		}
+
+		synchronized List<String> getEvents() {
+			return new ArrayList<>(fEvents);
+		}
+
+		@Override
+		public void testRunStarted(int testCount) {
+			log("runStarted " + testCount);
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			log("runEnded " + elapsedTime);
+			fDone.countDown();
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			log("runStopped " + elapsedTime);
+			fDone.countDown();
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			log("started " + testId + " " + testName);
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			log("ended " + testId + " " + testName);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			log("runTerminated");
+			fDone.countDown();
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			log("treeEntry " + description);
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			log("failed " + status + " " + testId + " " + testName + " " + trace.trim());
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+			log("reran " + testId);
+		}
+	}
+
+	private RemoteTestRunnerClient fClient;
+
+	private EventLog fLog;
+
+	private Socket fSocket;
+
+	@Before
+	public void setUp() throws Exception {
+		int port;
+		try (ServerSocket socket= new ServerSocket(0)) {
+			port= socket.getLocalPort();
+		}
+		fLog= new EventLog();
+		fClient= new RemoteTestRunnerClient();
+		fClient.startListening(new ITestRunListener2[] { fLog }, port);
+		fSocket= connect(port);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (fSocket != null)
+			fSocket.close();
+		fClient.stopWaiting();
+	}
+
+	private static Socket connect(int port) throws Exception {
+		for (int i= 0; ; i++) {
+			try {
+				return new Socket(InetAddress.getLoopbackAddress(), port);
+			} catch (ConnectException e) {
+				// the client has not opened the server socket yet
+				if (i == 100)
+					throw e;
+				Thread.sleep(100);
+			}
+		}
+	}
+
+	private List<String> getEvents() throws InterruptedException {
+		assertTrue(fLog.fDone.await(10, TimeUnit.SECONDS));
+		return fLog.getEvents();
+	}
+
+	@Test
+	public void textProtocol() throws Exception {
+		try (Writer writer= new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8)) {
+			for (String message : MESSAGES)
+				writer.write(message + "\n");
+		}
+		assertEquals(EVENTS, getEvents());
+	}
+
+	@Test
+	public void binaryProtocol() throws Exception {
+		BinaryMessageWriter writer= new BinaryMessageWriter(fSocket.getOutputStream());
+		for (String message : MESSAGES) {
+			writer.sendMessage(message);
+			writer.flush();
+		}
+		writer.close();
+		assertEquals(EVENTS, getEvents());
+	}
+
+	@Test
+	public void binaryProtocolLargeTestId() throws Exception {
+		String id= Integer.toString(MessageIds.BINARY_PROTOCOL_MAX_TEST_ID + 1);
+		BinaryMessageWriter writer= new BinaryMessageWriter(fSocket.getOutputStream());
+		writer.sendMessage(MessageIds.TEST_START + id + ",m1(p.T)");
+		writer.sendMessage(MessageIds.TEST_END + id + ",m1(p.T)");
+		writer.sendMessage(MessageIds.TEST_RUN_END + "42");
+		writer.close();
+		assertEquals(Arrays.asList("started " + id + " m1(p.T)", "ended " + id + " m1(p.T)", "runEnded 42"), getEvents());
+	}
+
+	@Test
+	public void binaryProtocolInvalidTestId() throws Exception {
+		ByteArrayOutputStream batch= new ByteArrayOutputStream();
+		batch.write(MessageIds.OPCODE_TEST_START);
+		writeVarInt(batch, Integer.MAX_VALUE);
+		batch.write(1);
+		writeVarInt(batch, 1);
+		batch.write('m');
+
+		OutputStream out= fSocket.getOutputStream();
+		out.write(MessageIds.BINARY_PROTOCOL_MAGIC);
+		out.write(MessageIds.BINARY_PROTOCOL_VERSION);
+		out.write(1);
+		out.write('\n');
+		int length= batch.size();
+		out.write(new byte[] { (byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length });
+		batch.writeTo(out);
+		out.flush();
+
+		assertEquals(Arrays.asList("runTerminated"), getEvents());
+	}
+
+	private static void writeVarInt(OutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value>>>= 7;
+		}
+		out.write(value);
+	}
+}
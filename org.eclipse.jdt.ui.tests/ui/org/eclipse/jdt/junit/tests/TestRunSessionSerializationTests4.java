@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,7 +14,18 @@
 
 package org.eclipse.jdt.junit.tests;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
 import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -30,6 +41,10 @@ import org.eclipse.jdt.testplugin.JavaTestPlugin;
 import org.eclipse.core.runtime.Path;
 
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
 import org.eclipse.jdt.ui.tests.core.rules.JUnit4WorkspaceTestSetup;
 import org.eclipse.jdt.ui.tests.core.rules.JUnitWorkspaceTestSetup;
@@ -39,6 +54,132 @@ public class TestRunSessionSerializationTests4 extends AbstractTestRunSessionSer
 	@Rule
 	public JUnit4WorkspaceTestSetup jwts= new JUnit4WorkspaceTestSetup();
 
+	@Test
+	public void testSharedDynamicTestNames() throws Exception {
+		TestRunSession session= new TestRunSession("Dynamic", null);
+		TestSuiteElement suite= (TestSuiteElement) session.createTestElement(session.getTestRoot(), "1", "pack.ParameterizedTest", true, 0, false, null, null, null);
+		TestElement[] invocations= new TestElement[3];
+		for (int i= 0; i < invocations.length; i++) {
+			String testName= new String("test(pack.ParameterizedTest)");
+			String displayName= i == 0 ? new String(testName) : "[" + i + "] value=" + i;
+			invocations[i]= session.createTestElement(suite, String.valueOf(i + 2), testName, false, 0, true, displayName, null, null);
+		}
+
+		// all invocations reference the name of the test method
+		for (TestElement invocation : invocations) {
+			assertEquals("test(pack.ParameterizedTest)", invocation.getTestName());
+			assertSame(invocations[0].getTestName(), invocation.getTestName());
+		}
+		// a display name that equals the test name is shared, the others are kept as reported
+		assertSame(invocations[0].getTestName(), invocations[0].getDisplayName());
+		assertEquals("[1] value=1", invocations[1].getDisplayName());
+		assertNotSame(invocations[1].getTestName(), invocations[1].getDisplayName());
+	}
+
+	/**
+	 * Checks the memory retained by the invocations of a parameterized test. The sizes are
+	 * estimated for a 64-bit VM with compressed references and compact strings.
+	 */
+	@Test
+	public void testRetainedSizeOfDynamicTests() throws Exception {
+		int count= 1000;
+		TestRunSession session= new TestRunSession("Dynamic", null);
+		TestSuiteElement suite= (TestSuiteElement) session.createTestElement(session.getTestRoot(), "1", "pack.ParameterizedTest", true, 0, false, null, null, null);
+		TestElement[] invocations= new TestElement[count];
+		for (int i= 0; i < count; i++) {
+			// names and parameter types are parsed from every message of the test runner
+			String testName= new String("test(pack.ParameterizedTest)");
+			String[] parameterTypes= { new String("int") };
+			String uniqueId= "[engine:junit-jupiter]/[class:pack.ParameterizedTest]/[test-template:test(int)]/[test-template-invocation:#" + i + "]";
+			invocations[i]= session.createTestElement(suite, String.valueOf(i + 2), testName, false, 0, true, "[" + i + "] value=" + i, parameterTypes, uniqueId);
+			if (i % 100 == 0)
+				invocations[i].setStatus(Status.FAILURE, "java.lang.AssertionError: " + i, null, null);
+			else
+				invocations[i].setStatus(Status.OK, null, null, null);
+		}
+
+		long unshared= 0;
+		for (TestElement invocation : invocations)
+			unshared+= retainedSize(invocation, newIdentitySet());
+		long shared= retainedSize(invocations, newIdentitySet()) - retainedSize(new Object[count], newIdentitySet());
+		long nameSize= retainedSize(invocations[0].getTestName(), newIdentitySet());
+		long parameterTypesSize= retainedSize(invocations[0].getParameterTypes(), newIdentitySet());
+
+		// all invocations share one test name and one parameter type array
+		assertEquals(unshared - (count - 1) * (nameSize + parameterTypesSize), shared);
+
+		// a passing invocation only retains its own identifiers, but no failure details
+		TestElement passed= invocations[1];
+		long identifiers= retainedSize(passed.getId(), newIdentitySet()) + retainedSize(passed.getDisplayName(), newIdentitySet())
+				+ retainedSize(passed.getUniqueId(), newIdentitySet());
+		assertEquals(shallowSize(passed) + nameSize + parameterTypesSize + identifiers, retainedSize(passed, newIdentitySet()));
+		TestElement failed= invocations[0];
+		assertTrue(retainedSize(failed, newIdentitySet()) > retainedSize(passed, newIdentitySet()));
+	}
+
+	private static Set<Object> newIdentitySet() {
+		return Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+
+	/**
+	 * Estimates the size of the given object and the objects it references. Test elements
+	 * referenced by the object and test statuses are not included.
+	 *
+	 * @param object the object, can be <code>null</code>
+	 * @param visited the objects whose size has already been counted
+	 * @return the size in bytes
+	 * @throws IllegalAccessException if a field cannot be read
+	 */
+	private static long retainedSize(Object object, Set<Object> visited) throws IllegalAccessException {
+		if (object == null || !visited.add(object))
+			return 0;
+		if (object instanceof String)
+			return align(24) + align(16 + ((String) object).length());
+		if (object.getClass().isArray()) {
+			int length= Array.getLength(object);
+			long size= align(16 + 4L * length);
+			for (int i= 0; i < length; i++)
+				size+= retainedSize(Array.get(object, i), visited);
+			return size;
+		}
+		long size= shallowSize(object);
+		for (Class<?> type= object.getClass(); type != Object.class; type= type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				Class<?> fieldType= field.getType();
+				if (Modifier.isStatic(field.getModifiers()) || fieldType.isPrimitive()
+						|| TestElement.class.isAssignableFrom(fieldType) || fieldType == Status.class)
+					continue;
+				field.setAccessible(true);
+				size+= retainedSize(field.get(object), visited);
+			}
+		}
+		return size;
+	}
+
+	private static long shallowSize(Object object) {
+		long size= 12;
+		for (Class<?> type= object.getClass(); type != Object.class; type= type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()))
+					continue;
+				Class<?> fieldType= field.getType();
+				if (fieldType == long.class || fieldType == double.class)
+					size+= 8;
+				else if (fieldType == boolean.class || fieldType == byte.class)
+					size+= 1;
+				else if (fieldType == short.class || fieldType == char.class)
+					size+= 2;
+				else
+					size+= 4;
+			}
+		}
+		return align(size);
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+
 	@Test
 	public void testATestCase() throws Exception {
 		String test= "ATestCase";
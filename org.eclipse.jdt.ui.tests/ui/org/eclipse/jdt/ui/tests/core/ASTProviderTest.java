@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import org.junit.After;
 import org.junit.Before;
@@ -41,6 +43,9 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
@@ -141,6 +146,42 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void testRecentlyUsedAST() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E1 {\n");
+		buf.append("}\n");
+		ICompilationUnit cu= pack1.createCompilationUnit("E1.java", buf.toString(), false, null);
+
+		CompilationUnit ast= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_YES, null);
+		assertNotNull(ast);
+		assertSame(ast, SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_YES, null));
+		assertSame(ast, SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_NO, null));
+
+		ICompilationUnit wc= cu.getWorkingCopy(null);
+		try {
+			wc.getBuffer().replace(buf.length() - 2, 0, "  int a;\n");
+			CompilationUnit changed= SharedASTProviderCore.getAST(wc, SharedASTProviderCore.WAIT_YES, null);
+			assertNotNull(changed);
+			assertNotSame(ast, changed);
+			assertEquals(1, ((TypeDeclaration) changed.types().get(0)).getFields().length);
+			assertSame(changed, SharedASTProviderCore.getAST(wc, SharedASTProviderCore.WAIT_NO, null));
+
+			// an edit that keeps the length of the content
+			int offset= wc.getBuffer().getContents().indexOf("int a");
+			wc.getBuffer().replace(offset + 4, 1, "b");
+			CompilationUnit renamed= SharedASTProviderCore.getAST(wc, SharedASTProviderCore.WAIT_YES, null);
+			assertNotNull(renamed);
+			assertNotSame(changed, renamed);
+			FieldDeclaration field= ((TypeDeclaration) renamed.types().get(0)).getFields()[0];
+			assertEquals("b", ((VariableDeclarationFragment) field.fragments().get(0)).getName().getIdentifier());
+		} finally {
+			wc.discardWorkingCopy();
+		}
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
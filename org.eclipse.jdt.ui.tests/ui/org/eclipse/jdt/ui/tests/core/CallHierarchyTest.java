@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,28 +19,42 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerMethodWrapper;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerIndex;
+import org.eclipse.jdt.internal.corext.callhierarchy.MethodCall;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
 import org.eclipse.jdt.ui.tests.callhierarchy.CallHierarchyTestHelper;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.callhierarchy.CallHierarchyPrefetcher;
 
 public class CallHierarchyTest {
     private static final String[] EMPTY= new String[0];
@@ -57,6 +71,8 @@ public class CallHierarchyTest {
 	public void tearDown() throws Exception {
         helper.tearDown();
         helper= null;
+        // stop the index of the tests that used it from listening to later tests
+        CallerIndex.shutdown();
     }
 
 	static MethodWrapper getSingleCallerRoot(IMethod method) {
@@ -113,6 +129,166 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedMethods, cachedCalls);
     }
 
+	@Test
+	public void callersSearchedConcurrently() throws Exception {
+        helper.createSimpleClasses();
+
+        Map<String, AtomicInteger> searches= new ConcurrentHashMap<>();
+        MethodWrapper wrapper= new CountingCallerMethodWrapper(null, new MethodCall(helper.getMethod1()), searches);
+        MethodWrapper[] calls= wrapper.getCalls(new NullProgressMonitor());
+
+        // search the next level in parallel, like the prefetching of the view, and again with new wrappers of the same root
+        MethodWrapper[] sameCalls= wrapper.getCalls(new NullProgressMonitor());
+        Stream.concat(Arrays.stream(calls), Arrays.stream(sameCalls)).parallel().forEach(call -> call.getCalls(new NullProgressMonitor()));
+
+        MethodWrapper[] cachedCalls= wrapper.getCalls(new NullProgressMonitor());
+        helper.assertCalls(Arrays.asList(helper.getMethod3()), helper.findMethodWrapper(helper.getMethod2(), cachedCalls).getCalls(new NullProgressMonitor()));
+        helper.assertCalls(Arrays.asList(helper.getMethod4()), helper.findMethodWrapper(helper.getMethod3(), cachedCalls).getCalls(new NullProgressMonitor()));
+        assertSearchedOnce(searches, helper.getMethod1(), helper.getMethod2(), helper.getMethod3());
+    }
+
+	@Test
+	public void callersPrefetchedThenExpanded() throws Exception {
+        helper.createSimpleClasses();
+
+        Map<String, AtomicInteger> searches= new ConcurrentHashMap<>();
+        MethodWrapper wrapper= new CountingCallerMethodWrapper(null, new MethodCall(helper.getMethod1()), searches);
+        MethodWrapper[] calls= wrapper.getCalls(new NullProgressMonitor());
+
+        // expand a node while the prefetcher of the view searches the levels below the shown nodes
+        CallHierarchyPrefetcher prefetcher= new CallHierarchyPrefetcher(2);
+        MethodWrapper[] expanded;
+        try {
+            prefetcher.prefetch(calls);
+            expanded= helper.findMethodWrapper(helper.getMethod3(), calls).getCalls(new NullProgressMonitor());
+            prefetcher.join();
+        } finally {
+            prefetcher.cancel();
+        }
+        helper.assertCalls(Arrays.asList(helper.getMethod4()), expanded);
+        helper.assertCalls(Arrays.asList(helper.getMethod3()), helper.findMethodWrapper(helper.getMethod2(), wrapper.getCalls(new NullProgressMonitor())).getCalls(new NullProgressMonitor()));
+
+        // the prefetcher has also searched the callers of method4, which has none
+        assertSearchedOnce(searches, helper.getMethod1(), helper.getMethod2(), helper.getMethod3(), helper.getMethod4());
+    }
+
+	/**
+	 * Counts the searches for the callers of each method.
+	 */
+	private static class CountingCallerMethodWrapper extends CallerMethodWrapper {
+
+		private final Map<String, AtomicInteger> fSearches;
+
+		CountingCallerMethodWrapper(MethodWrapper parent, MethodCall methodCall, Map<String, AtomicInteger> searches) {
+			super(parent, methodCall);
+			fSearches= searches;
+		}
+
+		@Override
+		public MethodWrapper createMethodWrapper(MethodCall methodCall) {
+			return new CountingCallerMethodWrapper(this, methodCall, fSearches);
+		}
+
+		@Override
+		protected Map<String, MethodCall> findChildren(IProgressMonitor progressMonitor) {
+			fSearches.computeIfAbsent(getMethodCall().getKey(), key -> new AtomicInteger()).incrementAndGet();
+			return super.findChildren(progressMonitor);
+		}
+	}
+
+	private static void assertSearchedOnce(Map<String, AtomicInteger> searches, IMethod... methods) {
+		assertEquals(methods.length, searches.size());
+		for (IMethod method : methods) {
+			AtomicInteger count= searches.get(new MethodCall(method).getKey());
+			assertNotNull(method.getElementName(), count);
+			assertEquals(method.getElementName(), 1, count.get());
+		}
+	}
+
+	@Test
+	public void callersFromIndex() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod1();
+        assertIndexedCallers(method, helper.getMethod2(), helper.getMethod3());
+
+        IType typeB= helper.getMethod3().getDeclaringType();
+        IMethod method5= typeB.createMethod("public void method5() { method1(); }\n", null, false, null);
+        assertIndexedCallers(method, helper.getMethod2(), helper.getMethod3(), method5);
+    }
+
+	@Test
+	public void callersFromIndexWithSuperTypeReceiver() throws Exception {
+        helper.createCalleeClasses();
+
+        IType typeP= helper.getTypeP();
+        IMethod callFoo= typeP.getMethod("callFoo", EMPTY);
+        IMethod callImplFoo= typeP.createMethod("public void callImplFoo() { new AImpl().foo(); }\n", null, false, null);
+
+        // handler.foo() is bound to A.foo() and may invoke both implementations
+        assertIndexedCallers(helper.getFooImplMethod_A(), callFoo, callImplFoo);
+        assertIndexedCallers(helper.getFooImplMethod_B(), callFoo);
+        assertIndexedCallers(helper.getFooMethod(), callFoo, callImplFoo);
+    }
+
+	@Test
+	public void callersFromIndexWithUnsavedChanges() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod1();
+        IMethod method4= helper.getMethod4();
+        assertIndexedCallers(method, helper.getMethod2(), helper.getMethod3());
+
+        ICompilationUnit cu= method4.getCompilationUnit();
+        cu.becomeWorkingCopy(null);
+        try {
+            // edit the body of method4 like an editor, without saving
+            IBuffer buffer= cu.getBuffer();
+            int offset= buffer.getContents().indexOf("method3();", method4.getSourceRange().getOffset());
+            buffer.replace(offset, 0, "method1(); ");
+            cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            assertIndexedCallers(method, helper.getMethod2(), helper.getMethod3(), method4);
+        } finally {
+            cu.discardWorkingCopy();
+        }
+        assertIndexedCallers(method, helper.getMethod2(), helper.getMethod3());
+    }
+
+	@Test
+	public void callersFromReloadedIndex() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod1();
+        assertIndexedCallers(method, helper.getMethod2(), helper.getMethod3());
+
+        // save the index like on shutdown, and change a unit before the index is loaded again
+        CallerIndex.shutdown();
+        File directory= Platform.getStateLocation(Platform.getBundle("org.eclipse.jdt.core.manipulation")).append("callerIndex").toFile();
+        String[] files= directory.list();
+        assertTrue("index not saved", files != null && files.length > 0);
+
+        IType typeB= helper.getMethod3().getDeclaringType();
+        IMethod method5= typeB.createMethod("public void method5() { method1(); }\n", null, false, null);
+        assertIndexedCallers(method, helper.getMethod2(), helper.getMethod3(), method5);
+        assertIndexedCallers(method5);
+    }
+
+	private static void assertIndexedCallers(IMethod method, IMember... expectedCallers) throws Exception {
+        Map<String, MethodCall> callers= CallerIndex.getDefault().findCallers(method, new NullProgressMonitor());
+        if (callers == null) {
+            Job.getJobManager().join(CallerIndex.FAMILY, null);
+            callers= CallerIndex.getDefault().findCallers(method, new NullProgressMonitor());
+        }
+        assertNotNull("project not indexed", callers);
+
+        List<IMember> foundCallers= new ArrayList<>();
+        for (MethodCall call : callers.values()) {
+            foundCallers.add(call.getMember());
+        }
+        assertEquals("Wrong number of callers", expectedCallers.length, foundCallers.size());
+        assertTrue("One or more callers not found", foundCallers.containsAll(Arrays.asList(expectedCallers)));
+    }
+
 	@Test
 	public void callees() throws Exception {
         helper.createSimpleClasses();
@@ -15,6 +15,8 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
 import org.junit.Before;
@@ -36,6 +38,8 @@ import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
 
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -86,6 +90,34 @@ public class TypeHierarchyTest {
 		assertNotNull("Type not found", type);
 	}
 
+	@Test
+	public void superTypeHierarchyCache() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		ICompilationUnit cu1= pack1.getCompilationUnit("A.java");
+		IType type1= cu1.createType("public class A {\n}\n", null, true, null);
+
+		ICompilationUnit cu2= pack1.getCompilationUnit("B.java");
+		IType type2= cu2.createType("public class B extends A {\n}\n", null, true, null);
+
+		SuperTypeHierarchyCache.resetStatistics();
+
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(type2);
+		assertEquals(1, SuperTypeHierarchyCache.getCacheMisses());
+		assertTrue(SuperTypeHierarchyCache.hasInCache(type1));
+
+		// the hierarchy of B contains A
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(type1));
+		assertEquals(1, SuperTypeHierarchyCache.getCacheHits());
+		assertEquals(1, SuperTypeHierarchyCache.getCacheMisses());
+
+		MethodOverrideTester tester= SuperTypeHierarchyCache.getMethodOverrideTester(type2);
+		assertSame(tester, SuperTypeHierarchyCache.getMethodOverrideTester(type2));
+		assertSame(hierarchy, tester.getTypeHierarchy());
+		assertTrue(SuperTypeHierarchyCache.getCacheSize() <= SuperTypeHierarchyCache.getCacheCapacity());
+	}
+
 	@Test
 	public void hierarchyWithWorkingCopy1() throws Exception {
 
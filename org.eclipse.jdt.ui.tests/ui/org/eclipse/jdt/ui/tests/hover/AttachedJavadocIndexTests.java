@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.hover;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.IClasspathAttribute;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.ui.tests.core.CoreTests;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+import org.eclipse.jdt.ui.tests.quickfix.JarUtil;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.text.javadoc.AttachedJavadocIndex;
+
+/**
+ * Tests the stores of attached Javadoc.
+ */
+public class AttachedJavadocIndexTests extends CoreTests {
+
+	private static final String DESCRIPTION= "Type description.";
+
+	private static final String CHANGED_DESCRIPTION= "Tape description.";
+
+	private static final String[] LIB= {
+			"p/A.java",
+			"package p;\n" +
+			"public class A {\n" +
+			"}\n"
+	};
+
+	private static final String[] DOC= {
+			"p/A.html",
+			"<HTML>\n" +
+			"<BODY>\n" +
+			"<!-- ======== START OF CLASS DATA ======== -->\n" +
+			"<H2>Class A</H2>\n" +
+			"<HR>\n" +
+			"<P>" + DESCRIPTION + "</P>\n" +
+			"<HR>\n" +
+			"<!-- ========= END OF CLASS DATA ========= -->\n" +
+			"</BODY>\n" +
+			"</HTML>\n"
+	};
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private File fLibrary;
+
+	private File fDocArchive;
+
+	private File fStoreDirectory;
+
+	private boolean fWasEnabled;
+
+	@Before
+	public void setUp() throws Exception {
+		fWasEnabled= AttachedJavadocIndex.isEnabled();
+		fStoreDirectory= JavaPlugin.getDefault().getStateLocation().append("attachedJavadoc").toFile();
+		AttachedJavadocIndex.setEnabled(true);
+		clearStores();
+
+		fJProject1= pts.getProject();
+		IProject project= fJProject1.getProject();
+		File location= project.getLocation().toFile();
+		fLibrary= new File(location, "lib.jar");
+		fDocArchive= new File(location, "doc.zip");
+		String[] classpath= { pts.getDefaultClasspath()[0].getPath().toOSString() };
+		JarUtil.createJar(LIB, null, fLibrary.getPath(), classpath, "1.8", null, null);
+		JarUtil.createSourceZip(DOC, fDocArchive.getPath());
+		project.refreshLocal(IResource.DEPTH_INFINITE, null);
+
+		IPath path= fJProject1.getPath();
+		IClasspathAttribute javadoc= JavaCore.newClasspathAttribute(IClasspathAttribute.JAVADOC_LOCATION_ATTRIBUTE_NAME, "jar:" + fDocArchive.toURI() + "!/");
+		IClasspathEntry[] entries= {
+				pts.getDefaultClasspath()[0],
+				JavaCore.newLibraryEntry(path.append("lib.jar"), null, null, null, new IClasspathAttribute[] { javadoc }, false)
+		};
+		fJProject1.setRawClasspath(entries, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		AttachedJavadocIndex.setEnabled(fWasEnabled);
+		clearStores();
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	private void clearStores() {
+		File[] files= fStoreDirectory.listFiles();
+		if (files != null) {
+			for (File file : files)
+				file.delete();
+		}
+	}
+
+	private IType getType() throws Exception {
+		IType type= fJProject1.findType("p.A");
+		assertNotNull(type);
+		return type;
+	}
+
+	private String getAttachedJavadoc() throws Exception {
+		String content= AttachedJavadocIndex.getAttachedJavadoc(getType());
+		assertNotNull(content);
+		return content;
+	}
+
+	/**
+	 * Returns the only store file.
+	 *
+	 * @return the store
+	 */
+	private File getStore() {
+		File[] files= fStoreDirectory.listFiles();
+		assertNotNull(files);
+		assertEquals(1, files.length);
+		return files[0];
+	}
+
+	/**
+	 * Replaces the stored fragment with one of the same length, such that reading from the store
+	 * can be told from reading the Javadoc location.
+	 *
+	 * @param store the store file
+	 * @throws Exception if the store cannot be changed
+	 */
+	private static void changeFragment(File store) throws Exception {
+		String content= new String(Files.readAllBytes(store.toPath()), StandardCharsets.ISO_8859_1);
+		assertTrue(content.contains(DESCRIPTION));
+		Files.write(store.toPath(), content.replace(DESCRIPTION, CHANGED_DESCRIPTION).getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	private static void touch(File file) {
+		assertTrue(file.setLastModified(file.lastModified() + 10000));
+	}
+
+	@Test
+	public void storeReadAfterReopen() throws Exception {
+		assertTrue(getAttachedJavadoc().contains(DESCRIPTION));
+		AttachedJavadocIndex.shutdown();
+
+		changeFragment(getStore());
+
+		assertTrue(getAttachedJavadoc().contains(CHANGED_DESCRIPTION));
+	}
+
+	@Test
+	public void truncatedRecordDropped() throws Exception {
+		getAttachedJavadoc();
+		AttachedJavadocIndex.shutdown();
+
+		File store= getStore();
+		changeFragment(store);
+		long length= store.length();
+		try (RandomAccessFile access= new RandomAccessFile(store, "rw")) {
+			access.seek(length);
+			access.writeInt(100);
+			access.write("p/B".getBytes(StandardCharsets.UTF_8));
+		}
+
+		assertTrue(getAttachedJavadoc().contains(CHANGED_DESCRIPTION));
+		assertEquals(length, store.length());
+	}
+
+	@Test
+	public void storeDiscardedWhenArchiveChanged() throws Exception {
+		getAttachedJavadoc();
+		AttachedJavadocIndex.shutdown();
+		changeFragment(getStore());
+
+		// replaced outside of the workspace, without a delta
+		touch(fLibrary);
+
+		assertTrue(getAttachedJavadoc().contains(DESCRIPTION));
+	}
+
+	@Test
+	public void storeDiscardedWhenJavadocArchiveChanged() throws Exception {
+		getAttachedJavadoc();
+		AttachedJavadocIndex.shutdown();
+		changeFragment(getStore());
+
+		touch(fDocArchive);
+
+		assertTrue(getAttachedJavadoc().contains(DESCRIPTION));
+	}
+
+	@Test
+	public void unusedStoresDeleted() throws Exception {
+		fStoreDirectory.mkdirs();
+		File unused= new File(fStoreDirectory, "unused.jdix");
+		Files.write(unused.toPath(), new byte[16]);
+		assertTrue(unused.setLastModified(System.currentTimeMillis() - 60L * 24 * 60 * 60 * 1000));
+
+		getAttachedJavadoc();
+
+		assertFalse(unused.exists());
+		assertEquals(1, fStoreDirectory.listFiles().length);
+	}
+
+	@Test
+	public void disabled() throws Exception {
+		AttachedJavadocIndex.setEnabled(false);
+
+		assertTrue(getAttachedJavadoc().contains(DESCRIPTION));
+
+		File[] files= fStoreDirectory.listFiles();
+		assertTrue(files == null || files.length == 0);
+	}
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.hover;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.ui.tests.core.CoreTests;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+import org.eclipse.jdt.ui.tests.quickfix.JarUtil;
+
+import org.eclipse.jdt.internal.ui.text.javadoc.JavadocContentCache;
+
+/**
+ * Tests the cache of the Javadoc rendered for library members.
+ */
+public class JavadocContentCacheTests extends CoreTests {
+
+	private static final String[] BASE= {
+			"base/Base.java",
+			"package base;\n" +
+			"public class Base {\n" +
+			"	/**\n" +
+			"	 * Base description.\n" +
+			"	 */\n" +
+			"	public void m() {\n" +
+			"	}\n" +
+			"}\n"
+	};
+
+	private static final String[] LIB= {
+			"lib/Sub.java",
+			"package lib;\n" +
+			"/**\n" +
+			" * Sub description.\n" +
+			" */\n" +
+			"public class Sub extends base.Base {\n" +
+			"	/**\n" +
+			"	 * {@inheritDoc}\n" +
+			"	 */\n" +
+			"	@Override\n" +
+			"	public void m() {\n" +
+			"	}\n" +
+			"}\n"
+	};
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private int fCacheSize;
+
+	@Before
+	public void setUp() throws Exception {
+		fCacheSize= JavadocContentCache.getCacheSize();
+		JavadocContentCache.setCacheSize(100);
+
+		fJProject1= pts.getProject();
+		IProject project= fJProject1.getProject();
+		String location= project.getLocation().toOSString();
+		String[] classpath= { pts.getDefaultClasspath()[0].getPath().toOSString() };
+		JarUtil.createJar(BASE, null, location + File.separator + "base.jar", classpath, "1.8", null, null);
+		JarUtil.createSourceZip(BASE, location + File.separator + "basesrc.zip");
+		String[] libClasspath= { classpath[0], location + File.separator + "base.jar" };
+		JarUtil.createJar(LIB, null, location + File.separator + "lib.jar", libClasspath, "1.8", null, null);
+		JarUtil.createSourceZip(LIB, location + File.separator + "libsrc.zip");
+		project.refreshLocal(IResource.DEPTH_INFINITE, null);
+
+		JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		setLibraries(true);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavadocContentCache.setCacheSize(fCacheSize);
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	private void setLibraries(boolean libSource) throws Exception {
+		IPath path= fJProject1.getPath();
+		IClasspathEntry[] entries= {
+				pts.getDefaultClasspath()[0],
+				JavaCore.newSourceEntry(path.append("src")),
+				JavaCore.newLibraryEntry(path.append("base.jar"), path.append("basesrc.zip"), null),
+				JavaCore.newLibraryEntry(path.append("lib.jar"), libSource ? path.append("libsrc.zip") : null, null)
+		};
+		fJProject1.setRawClasspath(entries, null);
+	}
+
+	private IType getSubType() throws Exception {
+		IType type= fJProject1.findType("lib.Sub");
+		assertNotNull(type);
+		return type;
+	}
+
+	private static void touch(IType type) {
+		File file= type.getPackageFragment().getParent().getResource().getLocation().toFile();
+		assertTrue(file.setLastModified(file.lastModified() + 10000));
+	}
+
+	@Test
+	public void cachedContent() throws Exception {
+		IType type= getSubType();
+		String content= JavadocContentCache.getHTMLContent(type);
+		assertNotNull(content);
+		assertTrue(content, content.contains("Sub description."));
+		assertSame(content, JavadocContentCache.getHTMLContent(type));
+	}
+
+	@Test
+	public void clearedOnAttachmentChange() throws Exception {
+		IType type= getSubType();
+		String content= JavadocContentCache.getHTMLContent(type);
+		assertNotNull(content);
+
+		setLibraries(false);
+		setLibraries(true);
+
+		String rendered= JavadocContentCache.getHTMLContent(getSubType());
+		assertNotSame(content, rendered);
+		assertEquals(content, rendered);
+	}
+
+	@Test
+	public void renderedAgainWhenLibraryChanged() throws Exception {
+		IType type= getSubType();
+		String content= JavadocContentCache.getHTMLContent(type);
+
+		// replaced outside of the workspace, without a delta
+		touch(type);
+
+		String rendered= JavadocContentCache.getHTMLContent(type);
+		assertNotSame(content, rendered);
+		assertEquals(content, rendered);
+		assertSame(rendered, JavadocContentCache.getHTMLContent(type));
+	}
+
+	@Test
+	public void inheritedContentRenderedAgainWhenSuperLibraryChanged() throws Exception {
+		IType type= getSubType();
+		IMethod method= type.getMethod("m", new String[0]);
+		String typeContent= JavadocContentCache.getHTMLContent(type);
+		String methodContent= JavadocContentCache.getHTMLContent(method);
+		assertTrue(methodContent, methodContent.contains("Base description."));
+		assertSame(methodContent, JavadocContentCache.getHTMLContent(method));
+
+		touch(fJProject1.findType("base.Base"));
+
+		// only the method inherits Javadoc from the changed library
+		assertSame(typeContent, JavadocContentCache.getHTMLContent(type));
+		String rendered= JavadocContentCache.getHTMLContent(method);
+		assertNotSame(methodContent, rendered);
+		assertEquals(methodContent, rendered);
+	}
+
+	@Test
+	public void sourceMembersNotCached() throws Exception {
+		IPackageFragment pack= fJProject1.findPackageFragmentRoot(fJProject1.getPath().append("src")).createPackageFragment("p", true, null);
+		ICompilationUnit cu= pack.createCompilationUnit("A.java", "package p;\n/**\n * A description.\n */\npublic class A {\n}\n", true, null);
+		IType type= cu.getType("A");
+		String content= JavadocContentCache.getHTMLContent(type);
+		assertTrue(content, content.contains("A description."));
+		assertNotSame(content, JavadocContentCache.getHTMLContent(type));
+	}
+}
@@ -61,6 +61,7 @@ import org.eclipse.jdt.core.manipulation.CleanUpOptionsCore;
 
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
 import org.eclipse.jdt.internal.corext.fix.FixMessages;
 import org.eclipse.jdt.internal.corext.fix.UpdateProperty;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
@@ -218,6 +219,44 @@ public class CleanUpTest extends CleanUpTestCase {
 		assertRefactoringResultAsExpected(new ICompilationUnit[] {cu1, cu2, cu3}, new String[] {expected1, expected2, expected3}, null);
 	}
 
+	@Test
+	public void testAddNLSTagWithWorkers() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit[] cus= new ICompilationUnit[50];
+		String[] expected= new String[cus.length];
+		for (int i= 0; i < cus.length; i++) {
+			String sample= "" //
+					+ "package test1;\n" //
+					+ "public class E" + i + " {\n" //
+					+ "    public void foo() {\n" //
+					+ "        String s= \"" + i + "\";\n" //
+					+ "    }\n" //
+					+ "}\n";
+			cus[i]= pack1.createCompilationUnit("E" + i + ".java", sample, false, null);
+
+			expected[i]= "" //
+					+ "package test1;\n" //
+					+ "public class E" + i + " {\n" //
+					+ "    public void foo() {\n" //
+					+ "        String s= \"" + i + "\"; //$NON-NLS-1$\n" //
+					+ "    }\n" //
+					+ "}\n";
+		}
+
+		enable(CleanUpConstants.ADD_MISSING_NLS_TAGS);
+
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		ref.setWorkerCount(4);
+		performRefactoring(ref, cus, JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps(), null);
+
+		String[] previews= new String[cus.length];
+		for (int i= 0; i < cus.length; i++) {
+			previews[i]= cus[i].getBuffer().getContents();
+		}
+		assertEqualStringsIgnoreOrder(previews, expected);
+	}
+
 	@Test
 	public void testRemoveNLSTag01() throws Exception {
 		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
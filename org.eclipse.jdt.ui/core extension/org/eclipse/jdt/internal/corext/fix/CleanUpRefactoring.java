@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,11 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -27,6 +32,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
@@ -202,16 +208,23 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	/**
+	 * Progress monitor reporting progress per processed compilation unit. When clean ups are
+	 * calculated by several workers, each worker owns one monitor on a
+	 * {@link SynchronizedProgressMonitor}. All monitors of one iteration share the unit counter.
+	 */
 	private final static class CleanUpRefactoringProgressMonitor extends SubProgressMonitor {
 
 		private double fRealWork;
-		private int fFlushCount;
 		private final int fSize;
-		private final int fIndex;
+		private final AtomicInteger fIndex;
 
 		private CleanUpRefactoringProgressMonitor(IProgressMonitor monitor, int ticks, int size, int index) {
+			this(monitor, ticks, size, new AtomicInteger(index));
+		}
+
+		private CleanUpRefactoringProgressMonitor(IProgressMonitor monitor, int ticks, int size, AtomicInteger index) {
 			super(monitor, ticks);
-			fFlushCount= 0;
 			fSize= size;
 			fIndex= index;
 		}
@@ -224,7 +237,19 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		public void flush() {
 			super.internalWorked(fRealWork);
 			reset();
-			fFlushCount++;
+			fIndex.incrementAndGet();
+		}
+
+		/**
+		 * Creates a monitor for a worker of the same iteration. The worker must be the only thread
+		 * using the returned monitor.
+		 *
+		 * @param parent the thread safe monitor of the iteration
+		 * @param ticks the number of ticks of the parent monitor the worker consumes
+		 * @return a monitor sharing the unit counter with this monitor
+		 */
+		public CleanUpRefactoringProgressMonitor newWorkerMonitor(SynchronizedProgressMonitor parent, int ticks) {
+			return new CleanUpRefactoringProgressMonitor(parent, ticks, fSize, fIndex);
 		}
 
 		public void reset() {
@@ -235,7 +260,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		public void done() {}
 
 		public int getIndex() {
-			return fIndex + fFlushCount;
+			return fIndex.get();
 		}
 
 		public String getSubTaskMessage(ICompilationUnit source) {
@@ -244,6 +269,57 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	/**
+	 * Progress monitor that serializes the calls to the wrapped monitor, such that the monitors of
+	 * several workers can report to it.
+	 */
+	private static final class SynchronizedProgressMonitor extends ProgressMonitorWrapper {
+
+		private SynchronizedProgressMonitor(IProgressMonitor monitor) {
+			super(monitor);
+		}
+
+		@Override
+		public synchronized void beginTask(String name, int totalWork) {
+			super.beginTask(name, totalWork);
+		}
+
+		@Override
+		public synchronized void done() {
+			super.done();
+		}
+
+		@Override
+		public synchronized void internalWorked(double work) {
+			super.internalWorked(work);
+		}
+
+		@Override
+		public synchronized boolean isCanceled() {
+			return super.isCanceled();
+		}
+
+		@Override
+		public synchronized void setCanceled(boolean value) {
+			super.setCanceled(value);
+		}
+
+		@Override
+		public synchronized void setTaskName(String name) {
+			super.setTaskName(name);
+		}
+
+		@Override
+		public synchronized void subTask(String name) {
+			super.subTask(name);
+		}
+
+		@Override
+		public synchronized void worked(int work) {
+			super.worked(work);
+		}
+	}
+
 	private static class CleanUpASTRequestor extends ASTRequestor {
 
 		private final List<ParseListElement> fUndoneElements;
@@ -325,13 +401,27 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	private class CleanUpFixpointIterator {
 
 		private List<ParseListElement> fParseList;
+		private final CleanUpTarget[] fTargets;
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ICompilationUnit> fWorkingCopies; // map from primary to working copy
 		private final Map<String, String> fCleanUpOptions;
+		private final ExecutorService fExecutor;
+		private final int fWorkers;
 		private final int fSize;
 		private int fIndex;
 
-		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps) {
+		/**
+		 * @param targets the targets to clean up
+		 * @param cleanUps the clean ups to apply
+		 * @param executor the executor to calculate the changes with, or <code>null</code> to
+		 *            calculate them in the calling thread
+		 * @param workers the maximal number of units of work to submit to <code>executor</code>
+		 *            in one iteration
+		 */
+		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps, ExecutorService executor, int workers) {
+			fTargets= targets;
+			fExecutor= executor;
+			fWorkers= executor == null ? 1 : workers;
 			fSolutions= new Hashtable<>(targets.length);
 			fWorkingCopies= new Hashtable<>();
 
@@ -357,7 +447,9 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 		public void next(IProgressMonitor monitor) throws CoreException {
 			List<ICompilationUnit> parseList= new ArrayList<>();
+			List<ParseListElement> parseElements= new ArrayList<>();
 			List<ICompilationUnit> sourceList= new ArrayList<>();
+			List<ParseListElement> sourceElements= new ArrayList<>();
 
 			try {
 				for (ParseListElement element : fParseList) {
@@ -374,42 +466,39 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 					if (requiresAST(element.getCleanUps())) {
 						parseList.add(compilationUnit);
+						parseElements.add(element);
 					} else {
 						sourceList.add(compilationUnit);
+						sourceElements.add(element);
 					}
 				}
 
+				int batches= getBatchCount(parseList.size());
+				if (batches > 1) {
+					CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, sourceList.size(), fSize, fIndex);
+					List<ParseListElement> undoneElements= parseInParallel(parseList, parseElements, batches, monitor, cuMonitor);
+
+					CleanUpASTRequestor requestor= new CleanUpASTRequestor(sourceElements, fSolutions, cuMonitor);
+					acceptSources(sourceList, requestor, monitor);
+
+					undoneElements.addAll(requestor.getUndoneElements());
+					fParseList= undoneElements;
+					fIndex= cuMonitor.getIndex();
+					return;
+				}
+
 				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
 				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
 				if (parseList.size() > 0) {
-					ASTBatchParser parser= new ASTBatchParser() {
-						@Override
-						protected ASTParser createParser(IJavaProject project) {
-							ASTParser result= createCleanUpASTParser();
-							result.setProject(project);
-
-							Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
-							options.putAll(fCleanUpOptions);
-							result.setCompilerOptions(options);
-							return result;
-						}
-					};
 					try {
 						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
-						parser.createASTs(units, new String[0], requestor, cuMonitor);
+						createCleanUpBatchParser().createASTs(units, new String[0], requestor, cuMonitor);
 					} catch (FixCalculationException e) {
 						throw e.getException();
 					}
 				}
 
-				for (ICompilationUnit cu : sourceList) {
-					monitor.worked(1);
-
-					requestor.acceptSource(cu);
-
-					if (monitor.isCanceled())
-						throw new OperationCanceledException();
-				}
+				acceptSources(sourceList, requestor, monitor);
 
 				fParseList= requestor.getUndoneElements();
 				fIndex= cuMonitor.getIndex();
@@ -417,6 +506,110 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			}
 		}
 
+		private void acceptSources(List<ICompilationUnit> sourceList, CleanUpASTRequestor requestor, IProgressMonitor monitor) {
+			for (ICompilationUnit cu : sourceList) {
+				monitor.worked(1);
+
+				requestor.acceptSource(cu);
+
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+			}
+		}
+
+		private int getBatchCount(int parseListSize) {
+			if (fWorkers <= 1)
+				return 1;
+
+			int batches= (parseListSize + MIN_UNITS_PER_WORKER - 1) / MIN_UNITS_PER_WORKER;
+			return Math.max(1, Math.min(fWorkers, batches));
+		}
+
+		/**
+		 * Splits <code>parseList</code> into <code>batches</code> consecutive batches and
+		 * calculates the solutions of each batch in a worker of the executor. Solutions are
+		 * integrated per compilation unit, hence each unit is processed by exactly one worker and
+		 * the result does not depend on the scheduling of the workers.
+		 * <p>
+		 * Each worker gets the parse list elements of its own batch and its own progress monitor,
+		 * which reports to <code>monitor</code> through a {@link SynchronizedProgressMonitor}.
+		 * </p>
+		 *
+		 * @param parseList the units to parse
+		 * @param parseElements the parse list elements of the units, in the same order
+		 * @param batches the number of batches, at least 2
+		 * @param monitor the monitor of this iteration
+		 * @param cuMonitor the unit counting monitor of this iteration
+		 * @return the elements which need another iteration, in batch order
+		 * @throws CoreException if a fix could not be calculated
+		 */
+		private List<ParseListElement> parseInParallel(List<ICompilationUnit> parseList, List<ParseListElement> parseElements, int batches, IProgressMonitor monitor, CleanUpRefactoringProgressMonitor cuMonitor) throws CoreException {
+			List<Future<List<ParseListElement>>> futures= new ArrayList<>(batches);
+			SynchronizedProgressMonitor sharedMonitor= new SynchronizedProgressMonitor(monitor);
+			int size= parseList.size();
+			int start= 0;
+			for (int i= 0; i < batches; i++) {
+				int end= start + (size - start) / (batches - i);
+				final ICompilationUnit[] units= parseList.subList(start, end).toArray(new ICompilationUnit[end - start]);
+				final CleanUpRefactoringProgressMonitor workerMonitor= cuMonitor.newWorkerMonitor(sharedMonitor, units.length);
+				final CleanUpASTRequestor requestor= new CleanUpASTRequestor(parseElements.subList(start, end), fSolutions, workerMonitor);
+				futures.add(fExecutor.submit(() -> {
+					createCleanUpBatchParser().createASTs(units, new String[0], requestor, workerMonitor);
+					return requestor.getUndoneElements();
+				}));
+				start= end;
+			}
+
+			// wait for all workers, the working copies must not be discarded while a worker still uses them
+			List<ParseListElement> result= new ArrayList<>();
+			Throwable failure= null;
+			boolean interrupted= false;
+			for (Future<List<ParseListElement>> future : futures) {
+				try {
+					while (true) {
+						try {
+							List<ParseListElement> undoneElements= future.get();
+							if (failure == null)
+								result.addAll(undoneElements);
+							break;
+						} catch (InterruptedException e) {
+							interrupted= true;
+						}
+					}
+				} catch (ExecutionException e) {
+					if (failure == null)
+						failure= e.getCause();
+				}
+			}
+			if (interrupted)
+				Thread.currentThread().interrupt();
+
+			if (failure instanceof FixCalculationException)
+				throw ((FixCalculationException) failure).getException();
+			if (failure instanceof RuntimeException)
+				throw (RuntimeException) failure;
+			if (failure instanceof Error)
+				throw (Error) failure;
+			if (failure != null)
+				throw new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IJavaStatusConstants.INTERNAL_ERROR, failure.getMessage(), failure));
+			return result;
+		}
+
+		private ASTBatchParser createCleanUpBatchParser() {
+			return new ASTBatchParser() {
+				@Override
+				protected ASTParser createParser(IJavaProject project) {
+					ASTParser result= createCleanUpASTParser();
+					result.setProject(project);
+
+					Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
+					options.putAll(fCleanUpOptions);
+					result.setCompilerOptions(options);
+					return result;
+				}
+			};
+		}
+
 		public void dispose() {
 			for (ICompilationUnit cu : fWorkingCopies.values()) {
 				try {
@@ -439,11 +632,23 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 		public Change[] getResult() {
 
-			Change[] result= new Change[fSolutions.size()];
+			// report the changes in the order of the targets, independent of the order in which they have been calculated
+			List<ICompilationUnit> units= new ArrayList<>(fSolutions.size());
+			HashSet<ICompilationUnit> added= new HashSet<>();
+			for (CleanUpTarget target : fTargets) {
+				ICompilationUnit unit= target.getCompilationUnit().getPrimary();
+				if (fSolutions.containsKey(unit) && added.add(unit))
+					units.add(unit);
+			}
+			for (ICompilationUnit unit : fSolutions.keySet()) {
+				if (added.add(unit))
+					units.add(unit);
+			}
+
+			Change[] result= new Change[units.size()];
 			int i=0;
-			for (Entry<ICompilationUnit, List<CleanUpChange>> entry : fSolutions.entrySet()) {
-				List<CleanUpChange> changes= entry.getValue();
-				ICompilationUnit unit= entry.getKey();
+			for (ICompilationUnit unit : units) {
+				List<CleanUpChange> changes= fSolutions.get(unit);
 
 				int saveMode;
 				if (fLeaveFilesDirty) {
@@ -501,6 +706,19 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	 */
 	private static final int SLOW_CLEAN_UP_THRESHOLD= 2000;
 
+	/**
+	 * The default number of workers used to calculate the changes of a project. Can be set with
+	 * the system property <code>org.eclipse.jdt.ui.cleanup.workers</code>, the default is to
+	 * calculate the changes in the calling thread.
+	 */
+	private static final int DEFAULT_WORKER_COUNT= Integer.getInteger("org.eclipse.jdt.ui.cleanup.workers", 1).intValue(); //$NON-NLS-1$
+
+	/**
+	 * The minimal number of compilation units a worker parses in one iteration. Fewer units do not
+	 * pay off the setup of an additional parser.
+	 */
+	private static final int MIN_UNITS_PER_WORKER= 20;
+
 	private final List<ICleanUp> fCleanUps;
 	private final Hashtable<IJavaProject, List<CleanUpTarget>> fProjects;
 	private Change fChange;
@@ -509,6 +727,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	private boolean fUseOptionsFromProfile;
 
+	private int fWorkerCount;
+
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
 	}
@@ -518,12 +738,34 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		setWorkerCount(DEFAULT_WORKER_COUNT);
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the maximal number of workers used to parse the compilation units of a project and to
+	 * calculate their changes. Projects are still processed one after the other. The value is
+	 * bounded by the number of available processors.
+	 * <p>
+	 * A value greater than <code>1</code> requires that the clean ups can create fixes for
+	 * different compilation units concurrently. Note that each worker holds its own batch of
+	 * ASTs, memory consumption grows accordingly.
+	 * </p>
+	 *
+	 * @param workers the number of workers, <code>1</code> to calculate the changes in the
+	 *            calling thread
+	 */
+	public void setWorkerCount(int workers) {
+		fWorkerCount= Math.max(1, Math.min(workers, Runtime.getRuntime().availableProcessors()));
+	}
+
+	public int getWorkerCount() {
+		return fWorkerCount;
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
@@ -624,6 +866,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 		ICleanUp[] cleanUps= getCleanUps();
 		pm.beginTask("", cuCount * 2 * fCleanUps.size() + 4 * cleanUps.length); //$NON-NLS-1$
+		ExecutorService executor= createExecutor();
 		try {
 			DynamicValidationStateChange change= new DynamicValidationStateChange(getName());
 			change.setSchedulingRule(getSchedulingRule());
@@ -639,7 +882,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				result.merge(checkPreConditions(project, targets, new SubProgressMonitor(pm, 3 * cleanUps.length)));
 				if (result.hasFatalError())
 					return result;
-				Change[] changes= cleanUpProject(project, targets, cleanUps, pm);
+				Change[] changes= cleanUpProject(project, targets, cleanUps, executor, pm);
 				result.merge(checkPostConditions(new SubProgressMonitor(pm, cleanUps.length)));
 				if (result.hasFatalError())
 					return result;
@@ -653,6 +896,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			findFilesToBeModified(change, files);
 			result.merge(Checks.validateModifiesFiles(files.toArray(new IFile[files.size()]), getValidationContext(), pm));
 		} finally {
+			if (executor != null)
+				executor.shutdownNow();
 			pm.done();
 		}
 
@@ -671,8 +916,20 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
-	private Change[] cleanUpProject(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, IProgressMonitor monitor) throws CoreException {
-		CleanUpFixpointIterator iter= new CleanUpFixpointIterator(targets, cleanUps);
+	private ExecutorService createExecutor() {
+		if (fWorkerCount <= 1)
+			return null;
+
+		AtomicInteger threadCount= new AtomicInteger();
+		return Executors.newFixedThreadPool(fWorkerCount, r -> {
+			Thread thread= new Thread(r, "Clean Up Worker-" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private Change[] cleanUpProject(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, ExecutorService executor, IProgressMonitor monitor) throws CoreException {
+		CleanUpFixpointIterator iter= new CleanUpFixpointIterator(targets, cleanUps, executor, fWorkerCount);
 
 		SubProgressMonitor subMonitor= new SubProgressMonitor(monitor, 2 * targets.length * cleanUps.length);
 		subMonitor.beginTask("", targets.length); //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1087,6 +1087,11 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 				compilationUnitsToModify.addAll(Arrays.asList(fChangeManager.getAllCompilationUnits()));
 			}
 
+			if (RenameAnalyzeUtil.isIncrementalAnalysis()) {
+				result.merge(analyzeRenameChangesIncrementally(compilationUnitsToModify, newWCOwner, new SubProgressMonitor(pm, 2)));
+				return result;
+			}
+
 			newWorkingCopies= RenameAnalyzeUtil.createNewWorkingCopies(compilationUnitsToModify.toArray(new ICompilationUnit[compilationUnitsToModify.size()]),
 					fChangeManager, newWCOwner, new SubProgressMonitor(pm, 1));
 
@@ -1103,6 +1108,50 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 		}
 	}
 
+	/**
+	 * Analyzes the rename changes without searching the new references. The original references
+	 * are resolved again in the changed compilation units and in the unchanged units of subtypes by
+	 * {@link RenameAnalyzeUtil#analyzeRenameChangesIncrementally(TextChangeManager, SearchResultGroup[], ICompilationUnit[], WorkingCopyOwner, IJavaElement[], IJavaElement[], String, IProgressMonitor)}.
+	 *
+	 * @param compilationUnitsToModify the changed compilation units
+	 * @param owner the working copy owner to use
+	 * @param pm the progress monitor
+	 * @return the status of the analysis
+	 * @throws CoreException if creating the working copies failed
+	 */
+	private RefactoringStatus analyzeRenameChangesIncrementally(List<ICompilationUnit> compilationUnitsToModify, WorkingCopyOwner owner, IProgressMonitor pm) throws CoreException {
+		ICompilationUnit[] newWorkingCopies= null;
+		try {
+			pm.beginTask("", 2); //$NON-NLS-1$
+			RefactoringStatus result= new RefactoringStatus();
+			newWorkingCopies= RenameAnalyzeUtil.createNewWorkingCopies(compilationUnitsToModify.toArray(new ICompilationUnit[compilationUnitsToModify.size()]),
+					fChangeManager, owner, new SubProgressMonitor(pm, 1));
+
+			ICompilationUnit declaringCuWorkingCopy= RenameAnalyzeUtil.findWorkingCopyForCu(newWorkingCopies, fField.getCompilationUnit());
+			IField field= declaringCuWorkingCopy != null ? getFieldInWorkingCopy(declaringCuWorkingCopy, getNewElementName()) : null;
+			if (field == null || !field.exists()) {
+				String message= Messages.format(RefactoringCoreMessages.RenameFieldRefactoring_not_in_working_copy,
+						new String[] { BasicElementLabels.getJavaElementName(getNewElementName()), BasicElementLabels.getFileName(fField.getCompilationUnit()) });
+				result.addError(message);
+				return result;
+			}
+			IJavaElement[] delegates= null;
+			if (fDelegateUpdating && RefactoringAvailabilityTester.isDelegateCreationAvailable(getField()))
+				delegates= new IJavaElement[] { getFieldInWorkingCopy(declaringCuWorkingCopy, getCurrentElementName()) };
+
+			result.merge(RenameAnalyzeUtil.analyzeRenameChangesIncrementally(fChangeManager, fReferences, newWorkingCopies, owner,
+					new IJavaElement[] { field }, delegates, getNewElementName(), new SubProgressMonitor(pm, 1)));
+			return result;
+		} finally {
+			pm.done();
+			if (newWorkingCopies != null) {
+				for (ICompilationUnit newWorkingCopy : newWorkingCopies) {
+					newWorkingCopy.discardWorkingCopy();
+				}
+			}
+		}
+	}
+
 	private SearchResultGroup[] getNewReferences(IProgressMonitor pm, RefactoringStatus status, WorkingCopyOwner owner, ICompilationUnit[] newWorkingCopies) throws CoreException {
 		pm.beginTask("", 2); //$NON-NLS-1$
 		ICompilationUnit declaringCuWorkingCopy= RenameAnalyzeUtil.findWorkingCopyForCu(newWorkingCopies, fField.getCompilationUnit());
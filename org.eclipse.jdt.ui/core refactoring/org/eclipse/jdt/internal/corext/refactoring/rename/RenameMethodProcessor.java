@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -566,6 +566,11 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 				wcNewMethods[i]= getMethodInWorkingCopy(method, getNewElementName(), typeWc);
 			}
 
+			if (RenameAnalyzeUtil.isIncrementalAnalysis()) {
+				result.merge(analyzeNewOccurrencesIncrementally(wcNewMethods, wcOldMethods, newDeclarationWCs, new SubProgressMonitor(pm, 3)));
+				return result;
+			}
+
 //			SearchResultGroup[] newOccurrences= findNewOccurrences(newMethods, newDeclarationWCs, new SubProgressMonitor(pm, 3));
 			SearchResultGroup[] newOccurrences= batchFindNewOccurrences(wcNewMethods, wcOldMethods, newDeclarationWCs, new SubProgressMonitor(pm, 3), result);
 
@@ -620,7 +625,60 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 		SearchPattern refsPattern= RefactoringSearchEngine.createOrPattern(wcNewMethods, IJavaSearchConstants.REFERENCES);
 		SearchParticipant[] searchParticipants= SearchUtils.getDefaultSearchParticipants();
 		IJavaSearchScope scope= RefactoringScopeFactory.createProjectsScope(wcNewMethods, true);
+		MethodOccurenceCollector requestor= createNewOccurrenceCollector(wcOldMethods);
+		SearchEngine searchEngine= new SearchEngine(fWorkingCopyOwner);
+
+		ICompilationUnit[] otherWCs= null;
+		try {
+			otherWCs= RenameAnalyzeUtil.createNewWorkingCopies(getOtherOccurrenceCUs(newDeclarationWCs),
+					fChangeManager, fWorkingCopyOwner, new SubProgressMonitor(pm, 1));
+			searchEngine.search(refsPattern, searchParticipants, scope,	requestor, new SubProgressMonitor(pm, 1));
+		} finally {
+			pm.done();
+			if (otherWCs != null) {
+				for (ICompilationUnit otherWC : otherWCs) {
+					otherWC.discardWorkingCopy();
+				}
+			}
+		}
+		SearchResultGroup[] newResults= RefactoringSearchEngine.groupByCu(requestor.getResults(), status);
+		return newResults;
+	}
 
+	/**
+	 * Analyzes the rename changes without searching the new occurrences. The original occurrences
+	 * are resolved again in the changed compilation units by
+	 * {@link RenameAnalyzeUtil#analyzeRenameChangesIncrementally(TextChangeManager, SearchResultGroup[], ICompilationUnit[], WorkingCopyOwner, IJavaElement[], IJavaElement[], String, IProgressMonitor)}.
+	 *
+	 * @param wcNewMethods the renamed methods in the working copies
+	 * @param wcOldMethods the methods with the old name in the working copies
+	 * @param newDeclarationWCs the working copies of the declaring compilation units
+	 * @param pm the progress monitor
+	 * @return the status of the analysis
+	 * @throws CoreException if creating the working copies failed
+	 */
+	private RefactoringStatus analyzeNewOccurrencesIncrementally(IMethod[] wcNewMethods, IMethod[] wcOldMethods, ICompilationUnit[] newDeclarationWCs, IProgressMonitor pm) throws CoreException {
+		pm.beginTask("", 2); //$NON-NLS-1$
+		ICompilationUnit[] otherWCs= null;
+		try {
+			otherWCs= RenameAnalyzeUtil.createNewWorkingCopies(getOtherOccurrenceCUs(newDeclarationWCs),
+					fChangeManager, fWorkingCopyOwner, new SubProgressMonitor(pm, 1));
+			List<ICompilationUnit> newWCs= new ArrayList<>(Arrays.asList(newDeclarationWCs));
+			newWCs.addAll(Arrays.asList(otherWCs));
+			return RenameAnalyzeUtil.analyzeRenameChangesIncrementally(fChangeManager, fOccurrences,
+					newWCs.toArray(new ICompilationUnit[newWCs.size()]), fWorkingCopyOwner, wcNewMethods,
+					getDelegateUpdating() ? wcOldMethods : null, getNewElementName(), new SubProgressMonitor(pm, 1));
+		} finally {
+			pm.done();
+			if (otherWCs != null) {
+				for (ICompilationUnit otherWC : otherWCs) {
+					otherWC.discardWorkingCopy();
+				}
+			}
+		}
+	}
+
+	private MethodOccurenceCollector createNewOccurrenceCollector(final IMethod[] wcOldMethods) {
 		MethodOccurenceCollector requestor;
 		if (getDelegateUpdating()) {
 			// There will be two new matches inside the delegate(s) (the invocation
@@ -640,9 +698,10 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 			};
 		} else
 			requestor= new MethodOccurenceCollector(getNewElementName());
+		return requestor;
+	}
 
-		SearchEngine searchEngine= new SearchEngine(fWorkingCopyOwner);
-
+	private ICompilationUnit[] getOtherOccurrenceCUs(ICompilationUnit[] newDeclarationWCs) {
 		ArrayList<ICompilationUnit> needWCs= new ArrayList<>();
 		HashSet<ICompilationUnit> declaringCUs= new HashSet<>(newDeclarationWCs.length);
 		for (ICompilationUnit newDeclarationWC : newDeclarationWCs) {
@@ -653,22 +712,7 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 			if (! declaringCUs.contains(cu))
 				needWCs.add(cu);
 		}
-		ICompilationUnit[] otherWCs= null;
-		try {
-			otherWCs= RenameAnalyzeUtil.createNewWorkingCopies(
-					needWCs.toArray(new ICompilationUnit[needWCs.size()]),
-					fChangeManager, fWorkingCopyOwner, new SubProgressMonitor(pm, 1));
-			searchEngine.search(refsPattern, searchParticipants, scope,	requestor, new SubProgressMonitor(pm, 1));
-		} finally {
-			pm.done();
-			if (otherWCs != null) {
-				for (ICompilationUnit otherWC : otherWCs) {
-					otherWC.discardWorkingCopy();
-				}
-			}
-		}
-		SearchResultGroup[] newResults= RefactoringSearchEngine.groupByCu(requestor.getResults(), status);
-		return newResults;
+		return needWCs.toArray(new ICompilationUnit[needWCs.size()]);
 	}
 
 	private ICompilationUnit[] getDeclarationCUs() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,21 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.rename;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -66,10 +76,32 @@ class TextMatchUpdater {
 	private final SearchResultGroup[] fReferences;
 	private final boolean fOnlyQualified;
 
-	private final RefactoringScanner fScanner;
+	/**
+	 * The system property with the number of workers that scan the compilation units. The default
+	 * is <code>1</code>, which scans in the calling thread.
+	 */
+	private static final String WORKER_COUNT_PROPERTY= "org.eclipse.jdt.ui.refactoring.textMatchWorkers"; //$NON-NLS-1$
+
+	/**
+	 * The minimal number of compilation units scanned by a worker.
+	 */
+	private static final int MIN_UNITS_PER_WORKER= 50;
+
+	/**
+	 * The start of a unicode escape, files containing it are always scanned.
+	 */
+	private static final byte[] UNICODE_ESCAPE= { '\\', 'u' };
+
+	private final String fCurrentName;
+	private final String fCurrentQualifier;
 	private final String fNewName;
 	private final int fCurrentNameLength;
 
+	/**
+	 * The ASCII bytes of the current name, or <code>null</code> if the name is not ASCII.
+	 */
+	private final byte[] fCurrentNameBytes;
+
 	private TextMatchUpdater(TextChangeManager manager, IJavaSearchScope scope, String currentName, String currentQualifier, String newName, SearchResultGroup[] references, boolean onlyQualified){
 		Assert.isNotNull(manager);
 		Assert.isNotNull(scope);
@@ -79,9 +111,11 @@ class TextMatchUpdater {
 		fReferences= references;
 		fOnlyQualified= onlyQualified;
 
+		fCurrentName= currentName;
+		fCurrentQualifier= currentQualifier;
 		fNewName= newName;
 		fCurrentNameLength= currentName.length();
-		fScanner= new RefactoringScanner(currentName, currentQualifier);
+		fCurrentNameBytes= !currentName.isEmpty() && StandardCharsets.US_ASCII.newEncoder().canEncode(currentName) ? currentName.getBytes(StandardCharsets.US_ASCII) : null;
 	}
 
 	static void perform(IProgressMonitor pm, IJavaSearchScope scope, String currentName, String currentQualifier, String newName, TextChangeManager manager, SearchResultGroup[] references, boolean onlyQualified) throws JavaModelException{
@@ -96,11 +130,17 @@ class TextMatchUpdater {
 		try{
 			IProject[] projectsInScope= getProjectsInScope();
 
-			pm.beginTask("", projectsInScope.length); //$NON-NLS-1$
+			pm.beginTask("", 2 * projectsInScope.length + 8); //$NON-NLS-1$
+			List<ICompilationUnit> units= new ArrayList<>();
 			for (IProject project : projectsInScope) {
 				if (pm.isCanceled())
 					throw new OperationCanceledException();
-				addTextMatches(project, new SubProgressMonitor(pm, 1));
+				collectCompilationUnits(project, units, new SubProgressMonitor(pm, 2));
+			}
+
+			List<Set<TextMatch>> matches= scanCompilationUnits(units, new SubProgressMonitor(pm, 8));
+			for (int i= 0; i < units.size(); i++) {
+				addCuTextMatches(units.get(i), matches.get(i));
 			}
 		} finally{
 			pm.done();
@@ -120,7 +160,7 @@ class TextMatchUpdater {
 		return projectsInScope.toArray(new IProject[projectsInScope.size()]);
 	}
 
-	private void addTextMatches(IResource resource, IProgressMonitor pm) throws JavaModelException{
+	private void collectCompilationUnits(IResource resource, List<ICompilationUnit> units, IProgressMonitor pm) throws JavaModelException{
 		try{
 			String task= RefactoringCoreMessages.TextMatchUpdater_searching + resource.getFullPath();
 			if (resource instanceof IFile){
@@ -132,7 +172,7 @@ class TextMatchUpdater {
 					return;
 				if (! fScope.encloses(element))
 					return;
-				addCuTextMatches((ICompilationUnit) element);
+				units.add((ICompilationUnit) element);
 
 			} else if (resource instanceof IContainer){
 				IResource[] members= ((IContainer) resource).members();
@@ -141,7 +181,7 @@ class TextMatchUpdater {
 				for (IResource member : members) {
 					if (pm.isCanceled())
 						throw new OperationCanceledException();
-					addTextMatches(member, new SubProgressMonitor(pm, 1));
+					collectCompilationUnits(member, units, new SubProgressMonitor(pm, 1));
 				}
 			}
 		} catch (JavaModelException e){
@@ -153,9 +193,130 @@ class TextMatchUpdater {
 		}
 	}
 
-	private void addCuTextMatches(ICompilationUnit cu) throws JavaModelException{
-		fScanner.scan(cu);
-		Set<TextMatch> matches= fScanner.getMatches(); //Set of TextMatch
+	/**
+	 * Scans the given compilation units for text matches. The units are distributed among the
+	 * number of workers set with {@link #WORKER_COUNT_PROPERTY}, which run in the common pool.
+	 * Each worker uses its own scanner.
+	 *
+	 * @param units the compilation units to scan
+	 * @param pm the progress monitor
+	 * @return the text matches of each unit, in the order of <code>units</code>
+	 * @throws JavaModelException if a unit cannot be read
+	 */
+	private List<Set<TextMatch>> scanCompilationUnits(List<ICompilationUnit> units, IProgressMonitor pm) throws JavaModelException {
+		pm.beginTask("", units.size()); //$NON-NLS-1$
+		try {
+			List<Set<TextMatch>> result= new ArrayList<>(Collections.nCopies(units.size(), Collections.<TextMatch>emptySet()));
+			int workerCount= Math.max(1, Integer.getInteger(WORKER_COUNT_PROPERTY, 1).intValue());
+			int workers= Math.min(workerCount, (units.size() + MIN_UNITS_PER_WORKER - 1) / MIN_UNITS_PER_WORKER);
+			if (workers <= 1) {
+				RefactoringScanner scanner= new RefactoringScanner(fCurrentName, fCurrentQualifier);
+				for (int i= 0; i < units.size(); i++) {
+					if (pm.isCanceled())
+						throw new OperationCanceledException();
+					result.set(i, scan(scanner, units.get(i)));
+					pm.worked(1);
+				}
+				return result;
+			}
+
+			AtomicInteger next= new AtomicInteger();
+			try {
+				CompletionService<Integer> completion= new ExecutorCompletionService<>(ForkJoinPool.commonPool());
+				for (int w= 0; w < workers; w++) {
+					completion.submit(() -> {
+						RefactoringScanner scanner= new RefactoringScanner(fCurrentName, fCurrentQualifier);
+						int scanned= 0;
+						for (int i= next.getAndIncrement(); i < units.size() && !pm.isCanceled(); i= next.getAndIncrement()) {
+							result.set(i, scan(scanner, units.get(i)));
+							scanned++;
+						}
+						return Integer.valueOf(scanned);
+					});
+				}
+				for (int w= 0; w < workers; w++) {
+					pm.worked(completion.take().get().intValue());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				Throwable cause= e.getCause();
+				if (cause instanceof JavaModelException)
+					throw (JavaModelException) cause;
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				throw new IllegalStateException(cause);
+			} finally {
+				// stops the remaining workers after a failure
+				next.set(units.size());
+			}
+			if (pm.isCanceled())
+				throw new OperationCanceledException();
+			return result;
+		} finally {
+			pm.done();
+		}
+	}
+
+	private Set<TextMatch> scan(RefactoringScanner scanner, ICompilationUnit cu) throws JavaModelException {
+		if (!mayContainName(cu))
+			return Collections.emptySet();
+		scanner.scan(cu);
+		return scanner.getMatches();
+	}
+
+	/**
+	 * Tells whether the given compilation unit can contain the current name. Units that are not
+	 * open are checked on the bytes of their file, without creating a buffer. Files in encodings
+	 * other than UTF-8, US-ASCII and ISO-8859-1, and files containing unicode escapes are not
+	 * checked.
+	 *
+	 * @param cu the compilation unit
+	 * @return <code>false</code> if the unit does not contain the current name, <code>true</code>
+	 *         if it does or if this cannot be decided on the bytes of the file
+	 */
+	private boolean mayContainName(ICompilationUnit cu) {
+		if (fCurrentNameBytes == null || cu.isWorkingCopy() || cu.isOpen())
+			return true;
+		IResource resource= cu.getResource();
+		if (!(resource instanceof IFile))
+			return true;
+		IFile file= (IFile) resource;
+		try {
+			if (!isAsciiCompatible(file.getCharset()))
+				return true;
+			byte[] contents;
+			try (InputStream stream= file.getContents(true)) {
+				contents= stream.readAllBytes();
+			}
+			return indexOf(contents, UNICODE_ESCAPE) != -1 || indexOf(contents, fCurrentNameBytes) != -1;
+		} catch (CoreException | IOException e) {
+			return true;
+		}
+	}
+
+	private static boolean isAsciiCompatible(String charsetName) {
+		return StandardCharsets.UTF_8.name().equalsIgnoreCase(charsetName) || StandardCharsets.US_ASCII.name().equalsIgnoreCase(charsetName)
+				|| StandardCharsets.ISO_8859_1.name().equalsIgnoreCase(charsetName);
+	}
+
+	private static int indexOf(byte[] contents, byte[] name) {
+		byte first= name[0];
+		int last= contents.length - name.length;
+		outer: for (int i= 0; i <= last; i++) {
+			if (contents[i] != first)
+				continue;
+			for (int j= 1; j < name.length; j++) {
+				if (contents[i + j] != name[j])
+					continue outer;
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	private void addCuTextMatches(ICompilationUnit cu, Set<TextMatch> matches) {
 		if (matches.isEmpty())
 			return;
 
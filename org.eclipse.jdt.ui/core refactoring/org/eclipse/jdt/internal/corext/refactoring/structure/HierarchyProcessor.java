@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -79,6 +79,7 @@ import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
 import org.eclipse.jdt.core.dom.rewrite.ITrackedNodePosition;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchPattern;
 
@@ -694,6 +695,51 @@ public abstract class HierarchyProcessor extends SuperTypeRefactoringProcessor {
 		return false;
 	}
 
+	/**
+	 * Searches the references to the given members in a single pass and caches them for
+	 * {@link #hasNonMovedReferences(IMember, IProgressMonitor, RefactoringStatus)}. Public and
+	 * protected members, whose visibility is never adjusted, and members whose references are
+	 * already cached are not searched.
+	 *
+	 * @param members the members
+	 * @param monitor the progress monitor
+	 * @param status the status to report search problems
+	 * @throws JavaModelException if the search failed
+	 * @since 3.29
+	 */
+	protected void searchMemberReferences(final IMember[] members, final IProgressMonitor monitor, final RefactoringStatus status) throws JavaModelException {
+		final List<IMember> searched= new ArrayList<>(members.length);
+		for (IMember member : members) {
+			if (JdtFlags.isPublic(member) || JdtFlags.isProtected(member) || fCachedMembersReferences.containsKey(member) || searched.contains(member))
+				continue;
+			if (SearchPattern.createPattern(member, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE) != null)
+				searched.add(member);
+		}
+		if (searched.isEmpty()) {
+			monitor.done();
+			return;
+		}
+		final IMember[] elements= searched.toArray(new IMember[searched.size()]);
+		final RefactoringSearchEngine2 engine= new RefactoringSearchEngine2();
+		engine.setFiltering(true, true);
+		engine.setStatus(status);
+		engine.setOwner(fOwner);
+		engine.setScope(RefactoringScopeFactory.create(elements));
+		final Object[][] results= engine.searchElements(elements, IJavaSearchConstants.REFERENCES, monitor);
+		for (int index= 0; index < elements.length; index++) {
+			// the scope of the most visible member may be larger than the scope of this member
+			final IJavaSearchScope scope= RefactoringScopeFactory.create(elements[index]);
+			final List<SearchResultGroup> groups= new ArrayList<>();
+			for (Object result : results[index]) {
+				final SearchResultGroup group= (SearchResultGroup) result;
+				final ICompilationUnit unit= group.getCompilationUnit();
+				if (unit == null || scope.encloses(unit))
+					groups.add(group);
+			}
+			fCachedMembersReferences.put(elements[index], groups.toArray(new SearchResultGroup[groups.size()]));
+		}
+	}
+
 	protected boolean isMovedReference(final SearchMatch match) throws JavaModelException {
 		for (IMember m : fMembersToMove) {
 			ISourceRange range= m.getSourceRange();
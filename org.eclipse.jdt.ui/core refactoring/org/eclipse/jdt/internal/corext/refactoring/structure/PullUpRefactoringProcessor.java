@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1158,7 +1158,7 @@ public class PullUpRefactoringProcessor extends HierarchyProcessor {
 		Assert.isNotNull(monitor);
 		Assert.isNotNull(status);
 		try {
-			monitor.beginTask(RefactoringCoreMessages.PullUpRefactoring_checking, 24);
+			monitor.beginTask(RefactoringCoreMessages.PullUpRefactoring_checking, 25);
 			final ICompilationUnit source= getDeclaringType().getCompilationUnit();
 			final IType destination= getDestinationType();
 			final ICompilationUnit target= destination.getCompilationUnit();
@@ -1167,6 +1167,11 @@ public class PullUpRefactoringProcessor extends HierarchyProcessor {
 			final Map<ICompilationUnit, ArrayList<IMember>> deleteMap= createMembersToDeleteMap(new SubProgressMonitor(monitor, 1));
 			final Map<ICompilationUnit, ArrayList<IType>> affectedMap= createAffectedTypesMap(new SubProgressMonitor(monitor, 1));
 			final ICompilationUnit[] units= getAffectedCompilationUnits(new SubProgressMonitor(monitor, 1));
+			// the visibility of moved fields and methods depends on their references, search them in one pass
+			if (destination.isInterface())
+				monitor.worked(1);
+			else
+				searchMemberReferences(JavaElementUtil.merge(getMembers(fMembersToMove, IJavaElement.FIELD), getMembers(fMembersToMove, IJavaElement.METHOD)), new SubProgressMonitor(monitor, 1), status);
 
 			final Map<IMember, IncomingMemberVisibilityAdjustment> adjustments= new HashMap<>();
 			MemberVisibilityAdjustor adjustor= null;
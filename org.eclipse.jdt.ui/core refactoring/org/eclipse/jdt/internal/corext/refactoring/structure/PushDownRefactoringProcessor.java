@@ -299,32 +299,59 @@ public final class PushDownRefactoringProcessor extends HierarchyProcessor {
 		return rewrite;
 	}
 
-	private static IJavaElement[] getReferencingElementsFromSameClass(IMember member, IProgressMonitor pm, RefactoringStatus status) throws JavaModelException {
-		Assert.isNotNull(member);
-		SearchPattern pattern= SearchPattern.createPattern(member,
-				IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
-		if (pattern == null) {
-			return new IJavaElement[0];
+	/**
+	 * Finds the references to the given members from within their declaring type, searching all
+	 * members in a single pass.
+	 *
+	 * @param members the members declared in the same type
+	 * @param pm the progress monitor
+	 * @param status the status to report search problems
+	 * @return the referencing elements of each member, in the order of <code>members</code>
+	 * @throws JavaModelException if the search failed
+	 */
+	private static IJavaElement[][] getReferencingElementsFromSameClass(IMember[] members, IProgressMonitor pm, RefactoringStatus status) throws JavaModelException {
+		Assert.isNotNull(members);
+		List<IMember> searchable= new ArrayList<>(members.length);
+		List<Integer> indices= new ArrayList<>(members.length);
+		for (int i= 0; i < members.length; i++) {
+			if (SearchPattern.createPattern(members[i], IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE) != null) {
+				searchable.add(members[i]);
+				indices.add(Integer.valueOf(i));
+			}
+		}
+		IJavaElement[][] result= new IJavaElement[members.length][];
+		Arrays.fill(result, new IJavaElement[0]);
+		if (searchable.isEmpty()) {
+			pm.done();
+			return result;
 		}
-		final RefactoringSearchEngine2 engine= new RefactoringSearchEngine2(pattern);
+		IMember[] searched= searchable.toArray(new IMember[searchable.size()]);
+		final RefactoringSearchEngine2 engine= new RefactoringSearchEngine2();
 		engine.setFiltering(true, true);
-		IType declaringType= member.getDeclaringType();
+		IType declaringType= searched[0].getDeclaringType();
 		engine.setScope(SearchEngine.createJavaSearchScope(new IJavaElement[] { declaringType }));
 		engine.setStatus(status);
-		engine.searchPattern(new SubProgressMonitor(pm, 1));
-		Set<IJavaElement> result= new HashSet<>(3);
-		ICompilationUnit cu= member.getCompilationUnit();
+		Object[][] groups= engine.searchElements(searched, IJavaSearchConstants.REFERENCES, pm);
+		ICompilationUnit cu= declaringType.getCompilationUnit();
 		String source= cu.getSource();
-		CompilationUnit cuRoot= null;
-		for (SearchResultGroup group : (SearchResultGroup[]) engine.getResults()) {
+		CompilationUnit[] cuRoot= new CompilationUnit[1];
+		for (int i= 0; i < searched.length; i++) {
+			result[indices.get(i).intValue()]= getReferencingElements((SearchResultGroup[]) groups[i], declaringType, cu, source, cuRoot);
+		}
+		return result;
+	}
+
+	private static IJavaElement[] getReferencingElements(SearchResultGroup[] groups, IType declaringType, ICompilationUnit cu, String source, CompilationUnit[] cuRoot) {
+		Set<IJavaElement> result= new HashSet<>(3);
+		for (SearchResultGroup group : groups) {
 			outer:
 			for (SearchMatch searchResult : group.getSearchResults()) {
 				if (source.charAt(searchResult.getOffset() - 1) == '.') {
-					if (cuRoot == null) {
-						cuRoot= getCompilationUnitRoot(cu, source);
+					if (cuRoot[0] == null) {
+						cuRoot[0]= getCompilationUnitRoot(cu, source);
 					}
-					if (cuRoot != null) {
-						ASTNode node= NodeFinder.perform(cuRoot, searchResult.getOffset(), searchResult.getLength());
+					if (cuRoot[0] != null) {
+						ASTNode node= NodeFinder.perform(cuRoot[0], searchResult.getOffset(), searchResult.getLength());
 						if (node != null && node instanceof MethodInvocation) {
 							MethodInvocation methodInvocation= (MethodInvocation)node;
 							Expression expression= methodInvocation.getExpression();
@@ -620,10 +647,12 @@ public final class PushDownRefactoringProcessor extends HierarchyProcessor {
 		IMember[] membersToPush= fields.toArray(new IMember[fields.size()]);
 		RefactoringStatus result= new RefactoringStatus();
 		List<IMember> movedMembers= Arrays.asList(MemberActionInfo.getMembers(getInfosForMembersToBeCreatedInSubclassesOfDeclaringClass()));
-		monitor.beginTask(RefactoringCoreMessages.PushDownRefactoring_check_references, membersToPush.length);
-		for (IMember member : membersToPush) {
+		monitor.beginTask(RefactoringCoreMessages.PushDownRefactoring_check_references, 1);
+		IJavaElement[][] referencingElements= getReferencingElementsFromSameClass(membersToPush, new SubProgressMonitor(monitor, 1), result);
+		for (int i= 0; i < membersToPush.length; i++) {
+			IMember member= membersToPush[i];
 			String label= createLabel(member);
-			for (IJavaElement element : getReferencingElementsFromSameClass(member, new SubProgressMonitor(monitor, 1), result)) {
+			for (IJavaElement element : referencingElements[i]) {
 				if (movedMembers.contains(element))
 					continue;
 				if (!(element instanceof IMember))
@@ -66,6 +66,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
 
     private DeferredTreeContentManager fManager;
     private CallHierarchyViewPart fPart;
+    private final CallHierarchyPrefetcher fPrefetcher= new CallHierarchyPrefetcher();
 
     private static class MethodWrapperRunnable implements IRunnableWithProgress {
         private MethodWrapper fMethodWrapper;
@@ -314,7 +315,18 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
         	}
         }
 
-        return runnable.getCalls();
+        MethodWrapper[] calls= runnable.getCalls();
+        prefetch(calls);
+        return calls;
+    }
+
+    /**
+     * Starts to search the calls of the next levels in the background, if enabled.
+     *
+     * @param calls the calls that have just been found
+     */
+    void prefetch(MethodWrapper[] calls) {
+        fPrefetcher.prefetch(calls);
     }
 
 
@@ -399,7 +411,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
      */
     @Override
 	public void dispose() {
-        // Nothing to dispose
+        fPrefetcher.cancel();
     }
 
     /**
@@ -442,6 +454,9 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
     		MethodWrapper[] roots = ((TreeRoot) oldInput).getRoots();
    			cancelJobs(roots);
     	}
+    	if (oldInput != newInput) {
+    		fPrefetcher.cancel();
+    	}
         if (viewer instanceof AbstractTreeViewer) {
             fManager = new DeferredTreeContentManager((AbstractTreeViewer) viewer, fPart.getSite());
         }
@@ -456,6 +471,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
         	for (MethodWrapper wrapper : wrappers) {
         		fManager.cancel(wrapper);
         	}
+        	fPrefetcher.cancel();
             if (fPart != null) {
                 fPart.setCancelEnabled(false);
             }
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.callhierarchy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
+
+/**
+ * Searches the calls of the next levels below the nodes shown in the call hierarchy in the
+ * background, while the user inspects the shown nodes. The results end up in the cache of the
+ * {@link MethodWrapper}s, such that expanding the nodes later on does not search again.
+ * <p>
+ * The nodes of a level are searched in parallel by at most {@link #MAX_CONCURRENT_SEARCHES} jobs.
+ * All searches are cancelled by {@link #cancel()}, e.g. when the input of the view changes.
+ * </p>
+ */
+public class CallHierarchyPrefetcher {
+
+	/**
+	 * The default number of levels that are searched below the shown nodes, <code>0</code>
+	 * disables prefetching.
+	 */
+	static final int PREFETCH_DEPTH= Integer.getInteger("org.eclipse.jdt.ui.callhierarchy.prefetchDepth", 0).intValue(); //$NON-NLS-1$
+
+	/**
+	 * The maximal number of searches that run at the same time.
+	 */
+	private static final int MAX_CONCURRENT_SEARCHES= Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+	private final Object fFamily= new Object();
+
+	/**
+	 * The keys of the method calls that have been searched or are being searched since the last
+	 * {@link #cancel()}.
+	 */
+	private final Set<String> fScheduled= ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The number of levels that are searched below the shown nodes.
+	 */
+	private final int fDepth;
+
+	/**
+	 * Creates a prefetcher that searches {@link #PREFETCH_DEPTH} levels.
+	 */
+	CallHierarchyPrefetcher() {
+		this(PREFETCH_DEPTH);
+	}
+
+	/**
+	 * Creates a prefetcher.
+	 *
+	 * @param depth the number of levels that are searched below the shown nodes, <code>0</code>
+	 *            disables prefetching
+	 */
+	public CallHierarchyPrefetcher(int depth) {
+		fDepth= depth;
+	}
+
+	/**
+	 * Searches the given levels one after the other.
+	 */
+	private class PrefetchJob extends Job {
+
+		private final List<MethodWrapper> fFirstLevel;
+
+		private final int fMaxCallDepth;
+
+		PrefetchJob(List<MethodWrapper> firstLevel, int maxCallDepth) {
+			super(CallHierarchyMessages.CallHierarchyPrefetcher_job_name);
+			fFirstLevel= firstLevel;
+			fMaxCallDepth= maxCallDepth;
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			List<MethodWrapper> level= fFirstLevel;
+			for (int depth= 0; depth < fDepth && !level.isEmpty(); depth++) {
+				if (monitor.isCanceled())
+					return Status.CANCEL_STATUS;
+				level= searchLevel(level, fMaxCallDepth);
+			}
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == fFamily;
+		}
+	}
+
+	/**
+	 * Takes nodes from a shared queue and searches their calls.
+	 */
+	private class SearchJob extends Job {
+
+		private final Queue<MethodWrapper> fQueue;
+
+		private final Queue<MethodWrapper> fNextLevel;
+
+		private final int fMaxCallDepth;
+
+		SearchJob(Queue<MethodWrapper> queue, Queue<MethodWrapper> nextLevel, int maxCallDepth) {
+			super(CallHierarchyMessages.CallHierarchyPrefetcher_job_name);
+			fQueue= queue;
+			fNextLevel= nextLevel;
+			fMaxCallDepth= maxCallDepth;
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			SubMonitor subMonitor= SubMonitor.convert(monitor);
+			MethodWrapper wrapper;
+			while ((wrapper= fQueue.poll()) != null) {
+				try {
+					subMonitor.setWorkRemaining(2);
+					for (MethodWrapper call : wrapper.getCalls(subMonitor.split(1))) {
+						if (shouldSearch(call, fMaxCallDepth))
+							fNextLevel.add(call);
+					}
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == fFamily;
+		}
+	}
+
+	/**
+	 * Starts to search the calls below the given nodes.
+	 *
+	 * @param shownCalls the nodes that have just been shown
+	 */
+	public void prefetch(MethodWrapper[] shownCalls) {
+		if (fDepth <= 0 || shownCalls == null)
+			return;
+		int maxCallDepth= CallHierarchyUI.getDefault().getMaxCallDepth();
+		List<MethodWrapper> firstLevel= new ArrayList<>();
+		for (MethodWrapper call : shownCalls) {
+			if (shouldSearch(call, maxCallDepth))
+				firstLevel.add(call);
+		}
+		if (!firstLevel.isEmpty())
+			new PrefetchJob(firstLevel, maxCallDepth).schedule();
+	}
+
+	/**
+	 * Cancels all searches.
+	 */
+	public void cancel() {
+		Job.getJobManager().cancel(fFamily);
+		fScheduled.clear();
+	}
+
+	/**
+	 * Waits until all searches are done.
+	 *
+	 * @throws InterruptedException if the thread has been interrupted while waiting
+	 */
+	public void join() throws InterruptedException {
+		Job.getJobManager().join(fFamily, null);
+	}
+
+	private boolean shouldSearch(MethodWrapper wrapper, int maxCallDepth) {
+		return wrapper.getLevel() <= maxCallDepth
+				&& wrapper.canHaveChildren()
+				&& !wrapper.isRecursive()
+				&& fScheduled.add(wrapper.getMethodCall().getKey());
+	}
+
+	private List<MethodWrapper> searchLevel(List<MethodWrapper> level, int maxCallDepth) {
+		Queue<MethodWrapper> queue= new ConcurrentLinkedQueue<>(level);
+		Queue<MethodWrapper> nextLevel= new ConcurrentLinkedQueue<>();
+		int count= Math.min(MAX_CONCURRENT_SEARCHES, level.size());
+		Job[] jobs= new Job[count];
+		for (int i= 0; i < count; i++) {
+			jobs[i]= new SearchJob(queue, nextLevel, maxCallDepth);
+			jobs[i].schedule();
+		}
+		try {
+			for (Job job : jobs) {
+				job.join();
+			}
+		} catch (InterruptedException e) {
+			for (Job job : jobs) {
+				job.cancel();
+			}
+			Thread.currentThread().interrupt();
+			return new ArrayList<>();
+		}
+		return new ArrayList<>(nextLevel);
+	}
+}
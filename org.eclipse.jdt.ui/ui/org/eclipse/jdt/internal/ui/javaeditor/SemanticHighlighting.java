@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,12 @@ import org.eclipse.jdt.ui.JavaUI;
  */
 public abstract class SemanticHighlighting extends SemanticHighlightingCore {
 
+	/**
+	 * The binding kind of tokens without a binding.
+	 * @since 3.29
+	 */
+	public static final int NO_BINDING= 0;
+
 	/**
 	 * @return the preference key, will be augmented by a prefix and a suffix for each preference
 	 */
@@ -76,6 +82,20 @@ public abstract class SemanticHighlighting extends SemanticHighlightingCore {
 	 */
 	public abstract boolean isEnabledByDefault();
 
+	/**
+	 * Tells whether this semantic highlighting may consume tokens whose binding has the given
+	 * kind. The reconciler only asks the highlightings that may consume a token whether they
+	 * consume it.
+	 *
+	 * @param kind the binding kind, see {@link org.eclipse.jdt.core.dom.IBinding#getKind()}, or
+	 *            {@link #NO_BINDING} if the token has no binding
+	 * @return <code>false</code> if this highlighting never consumes such tokens
+	 * @since 3.29
+	 */
+	public boolean consumesBindingKind(int kind) {
+		return true;
+	}
+
 	private String getThemeColorKey() {
 		return JavaUI.ID_PLUGIN + "." + getPreferenceKey() + "Highlighting";  //$NON-NLS-1$//$NON-NLS-2$
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -52,6 +52,32 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	/** The background presentation reconciler */
 	private JavaPresentationReconciler fPresentationReconciler;
 
+	/**
+	 * Lock for the region changed since the last reconcile.
+	 * @since 3.29
+	 */
+	private final Object fDirtyRegionLock= new Object();
+	/**
+	 * <code>true</code> iff the changes since the last reconcile are known.
+	 * @since 3.29
+	 */
+	private boolean fIsDirtyRegionKnown= false;
+	/**
+	 * Offset of the region changed since the last reconcile, <code>-1</code> if there are no changes.
+	 * @since 3.29
+	 */
+	private int fDirtyOffset= -1;
+	/**
+	 * End of the region changed since the last reconcile.
+	 * @since 3.29
+	 */
+	private int fDirtyEnd;
+	/**
+	 * Incremented on every document change.
+	 * @since 3.29
+	 */
+	private int fModificationStamp;
+
 	/**
 	 * Creates and returns a new highlighted position with the given offset, length and highlighting.
 	 * <p>
@@ -77,6 +103,25 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	}
 
 
+	/**
+	 * Adds the current positions with an offset in the given range to the given list.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param list The list
+	 * @param offset The range offset
+	 * @param length The range length
+	 * @since 3.29
+	 */
+	public void addPositions(List<Position> list, int offset, int length) {
+		synchronized (fPositionLock) {
+			int i= computeIndexAtOffset(fPositions, offset);
+			int n= computeIndexAtOffset(fPositions, offset + length);
+			list.addAll(fPositions.subList(i, Math.max(i, n)));
+		}
+	}
+
 	/**
 	 * Create a text presentation in the background.
 	 * <p>
@@ -337,6 +382,9 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	@Override
 	public void documentAboutToBeChanged(DocumentEvent event) {
 		setCanceled(true);
+		synchronized (fDirtyRegionLock) {
+			fModificationStamp++;
+		}
 	}
 
 	/*
@@ -344,6 +392,78 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	 */
 	@Override
 	public void documentChanged(DocumentEvent event) {
+		int offset= event.getOffset();
+		String text= event.getText();
+		int end= offset + (text != null ? text.length() : 0);
+		synchronized (fDirtyRegionLock) {
+			fModificationStamp++;
+			if (!fIsDirtyRegionKnown)
+				return;
+			if (fDirtyOffset == -1) {
+				fDirtyOffset= offset;
+				fDirtyEnd= end;
+			} else {
+				int replacedEnd= offset + event.getLength();
+				if (fDirtyEnd >= replacedEnd)
+					fDirtyEnd+= end - replacedEnd;
+				else
+					fDirtyEnd= end;
+				fDirtyOffset= Math.min(fDirtyOffset, offset);
+			}
+		}
+	}
+
+	/**
+	 * Returns the region of the document changed since the positions have last been reconciled.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @return the changed region, or <code>null</code> if the document has not been changed or
+	 *         the changes are not known
+	 * @since 3.29
+	 */
+	public IRegion getDirtyRegion() {
+		synchronized (fDirtyRegionLock) {
+			if (!fIsDirtyRegionKnown || fDirtyOffset == -1)
+				return null;
+			return new Region(fDirtyOffset, fDirtyEnd - fDirtyOffset);
+		}
+	}
+
+	/**
+	 * Returns the modification stamp of the document, which changes with every document change.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @return the modification stamp
+	 * @since 3.29
+	 */
+	public int getModificationStamp() {
+		synchronized (fDirtyRegionLock) {
+			return fModificationStamp;
+		}
+	}
+
+	/**
+	 * Tells this presenter that its positions have been reconciled with the document as of the
+	 * given modification stamp. The changed region is reset unless the document has been changed
+	 * since.
+	 * <p>
+	 * NOTE: Also called from background thread.
+	 * </p>
+	 *
+	 * @param modificationStamp the modification stamp of the reconciled document
+	 * @since 3.29
+	 */
+	public void positionsReconciled(int modificationStamp) {
+		synchronized (fDirtyRegionLock) {
+			if (fModificationStamp == modificationStamp) {
+				fIsDirtyRegionKnown= true;
+				fDirtyOffset= -1;
+			}
+		}
 	}
 
 	/**
@@ -485,6 +605,10 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 		synchronized (fPositionLock) {
 			fPositions.clear();
 		}
+		synchronized (fDirtyRegionLock) {
+			fModificationStamp++;
+			fIsDirtyRegionKnown= false;
+		}
 	}
 
 	/**
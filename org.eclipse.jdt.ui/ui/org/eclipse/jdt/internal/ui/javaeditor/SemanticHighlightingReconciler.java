@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,13 @@
 package org.eclipse.jdt.internal.ui.javaeditor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
@@ -26,6 +32,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.TextPresentation;
@@ -36,13 +43,19 @@ import org.eclipse.ui.IWorkbenchPartSite;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.Block;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.GuardedPattern;
+import org.eclipse.jdt.core.dom.IBinding;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
+import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SimpleType;
@@ -61,11 +74,38 @@ import org.eclipse.jdt.internal.ui.util.ASTHelper;
 
 /**
  * Semantic highlighting reconciler - Background thread implementation.
+ * <p>
+ * If all document changes since the last reconcile are inside the body of a method or an
+ * initializer, only that body is visited and only the positions inside it are reconciled. Names
+ * declared inside a body are not visible outside of it, so the positions elsewhere remain valid.
+ * Forced reconciles, e.g. after a change of another compilation unit, visit the whole AST.
+ * </p>
  *
  * @since 3.0
  */
 public class SemanticHighlightingReconciler implements IJavaReconcilingListener, ITextInputListener {
 
+	/**
+	 * The number of workers that collect the positions of a large compilation unit when it is
+	 * opened, set with the system property
+	 * <code>org.eclipse.jdt.ui.semanticHighlighting.workers</code>. The workers run in the common
+	 * fork/join pool. The default of <code>1</code> collects the positions in the reconciler thread.
+	 * @since 3.29
+	 */
+	private static final int PARALLELISM= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.semanticHighlighting.workers", 1).intValue()); //$NON-NLS-1$
+
+	/**
+	 * The minimal length of a compilation unit whose positions are collected in parallel.
+	 * @since 3.29
+	 */
+	private static final int MIN_PARALLEL_LENGTH= 32 * 1024;
+
+	/**
+	 * The number of binding kinds, including {@link SemanticHighlighting#NO_BINDING}.
+	 * @since 3.29
+	 */
+	private static final int BINDING_KINDS= IBinding.MODULE + 1;
+
 	/**
 	 * Collects positions from the AST.
 	 */
@@ -74,13 +114,43 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		/** The semantic token */
 		private SemanticToken fToken= new SemanticToken();
 
+		/**
+		 * The list to which added positions are appended.
+		 * @since 3.29
+		 */
+		private final List<Position> fAdded;
+
+		/**
+		 * The nodes whose subtrees are not visited, or <code>null</code>.
+		 * @since 3.29
+		 */
+		private Set<ASTNode> fSkippedNodes;
+
+		/**
+		 * Creates a new position collector.
+		 *
+		 * @param added the list to which added positions are appended
+		 * @since 3.29
+		 */
+		PositionCollector(List<Position> added) {
+			fAdded= added;
+		}
+
+		/*
+		 * @see org.eclipse.jdt.core.dom.ASTVisitor#preVisit2(org.eclipse.jdt.core.dom.ASTNode)
+		 * @since 3.29
+		 */
+		@Override
+		public boolean preVisit2(ASTNode node) {
+			return fSkippedNodes == null || !fSkippedNodes.contains(node);
+		}
 
 		@Override
 		protected boolean visitLiteral(Expression node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
+			for (int i : fJobLiteralHighlightings) {
 				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumesLiteral(fToken)) {
+				if (semanticHighlighting.consumesLiteral(fToken)) {
 					int offset= node.getStartPosition();
 					int length= node.getLength();
 					if (offset > -1 && length > 0)
@@ -98,7 +168,6 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		public boolean visit(ConstructorInvocation node) {
-			// XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
 			if (fJobDeprecatedMemberHighlighting != null) {
 				IMethodBinding constructorBinding= node.resolveConstructorBinding();
 				if (constructorBinding != null && constructorBinding.isDeprecated()) {
@@ -117,7 +186,6 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		public boolean visit(SuperConstructorInvocation node) {
-			// XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
 			if (fJobDeprecatedMemberHighlighting != null) {
 				IMethodBinding constructorBinding= node.resolveConstructorBinding();
 				if (constructorBinding != null && constructorBinding.isDeprecated()) {
@@ -136,12 +204,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getStartPosition();
 				int length= node.getLength();
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return false;
-						}
+					if (fJobRestrictedIdentifiersHighlighting != null) {
+						addPosition(offset, length, fJobRestrictedIdentifiersHighlighting);
+						return false;
 					}
 				}
 			}
@@ -155,12 +220,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getStartPosition();
 				int length= 5; // length of 'yield'
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return true;
-						}
+					if (fJobRestrictedIdentifiersHighlighting != null) {
+						addPosition(offset, length, fJobRestrictedIdentifiersHighlighting);
+						return true;
 					}
 				}
 			}
@@ -174,12 +236,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getRestrictedIdentifierStartPosition();
 				int length= 6; // length of 'record'
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return true;
-						}
+					if (fJobRestrictedIdentifiersHighlighting != null) {
+						addPosition(offset, length, fJobRestrictedIdentifiersHighlighting);
+						return true;
 					}
 				}
 			}
@@ -193,12 +252,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					int offset= node.getRestrictedIdentifierStartPosition();
 					int length= 7; // length of 'permits'
 					if (offset > -1) {
-						for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-							SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-							if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-								addPosition(offset, length, fJobHighlightings[i]);
-								return true;
-							}
+						if (fJobRestrictedIdentifiersHighlighting != null) {
+							addPosition(offset, length, fJobRestrictedIdentifiersHighlighting);
+							return true;
 						}
 					}
 				}
@@ -223,12 +279,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					return true;
 				}
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return false;
-						}
+					if (fJobRestrictedIdentifiersHighlighting != null) {
+						addPosition(offset, length, fJobRestrictedIdentifiersHighlighting);
+						return false;
 					}
 				}
 			}
@@ -241,9 +294,13 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		public boolean visit(SimpleName node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
+			IBinding binding= fToken.getBinding();
+			int kind= binding != null ? binding.getKind() : SemanticHighlighting.NO_BINDING;
+			if (kind < 0 || kind >= fJobNameHighlightings.length)
+				kind= SemanticHighlighting.NO_BINDING;
+			for (int i : fJobNameHighlightings[kind]) {
 				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumes(fToken)) {
+				if (semanticHighlighting.consumes(fToken)) {
 					int offset= node.getStartPosition();
 					int length= node.getLength();
 					if (offset > -1 && length > 0)
@@ -263,8 +320,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		private void addPosition(int offset, int length, Highlighting highlighting) {
 			boolean isExisting= false;
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			for (int i= computeRemovedIndexAtOffset(offset), n= fRemovedOffsets.length; i < n && fRemovedOffsets[i] == offset; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
 				if (position == null)
 					continue;
@@ -278,7 +334,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 			if (!isExisting) {
 				Position position= fJobPresenter.createHighlightedPosition(offset, length, highlighting);
-				fAddedPositions.add(position);
+				fAdded.add(position);
 			}
 		}
 
@@ -289,8 +345,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		protected void retainPositions(int offset, int length) {
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			int end= offset + length;
+			for (int i= computeRemovedIndexAtOffset(offset), n= fRemovedOffsets.length; i < n && fRemovedOffsets[i] < end; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
 				if (position != null && position.isContained(offset, length)) {
 					fRemovedPositions.set(i, null);
@@ -306,12 +362,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					int offset= node.getRestrictedIdentifierStartPosition();
 					int length= 4; // length of 'when'
 					if (offset > -1) {
-						for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-							SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-							if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-								addPosition(offset, length, fJobHighlightings[i]);
-								return true;
-							}
+						if (fJobRestrictedIdentifiersHighlighting != null) {
+							addPosition(offset, length, fJobRestrictedIdentifiersHighlighting);
+							return true;
 						}
 					}
 				}
@@ -322,9 +375,6 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		}
 	}
 
-	/** Position collector */
-	private PositionCollector fCollector= new PositionCollector();
-
 	/** The Java editor this semantic highlighting reconciler is installed on */
 	private JavaEditor fEditor;
 	/** The source viewer this semantic highlighting reconciler is installed on */
@@ -338,10 +388,23 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 	/** Background job's added highlighted positions */
 	private List<Position> fAddedPositions= new ArrayList<>();
+	/** Position collector */
+	private PositionCollector fCollector= new PositionCollector(fAddedPositions);
 	/** Background job's removed highlighted positions */
 	private List<Position> fRemovedPositions= new ArrayList<>();
 	/** Number of removed positions */
 	private int fNOfRemovedPositions;
+	/**
+	 * Offsets of the background job's removed highlighted positions when reconciling started,
+	 * ordered like the positions.
+	 * @since 3.29
+	 */
+	private int[] fRemovedOffsets= new int[0];
+	/**
+	 * Modification stamp of the document when reconciling started.
+	 * @since 3.29
+	 */
+	private volatile int fModificationStamp;
 
 	/** Background job */
 	private Job fJob;
@@ -367,17 +430,35 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private Highlighting[] fJobHighlightings;
 
 	/**
-	 * XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
+	 * The highlighting for deprecated members if it is enabled, used for constructor invocations - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
 	 * @since 3.5
 	 */
 	private Highlighting fJobDeprecatedMemberHighlighting;
+	/**
+	 * The highlighting for restricted identifiers - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 * @since 3.29
+	 */
+	private Highlighting fJobRestrictedIdentifiersHighlighting;
+	/**
+	 * The indices of the enabled highlightings which may consume a name, in order of precedence,
+	 * indexed by the binding kind of the name - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 * @since 3.29
+	 */
+	private int[][] fJobNameHighlightings;
+	/**
+	 * The indices of the enabled highlightings which may consume a literal, in order of precedence - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
+	 * @since 3.29
+	 */
+	private int[] fJobLiteralHighlightings;
 
 	/*
 	 * @see org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener#aboutToBeReconciled()
 	 */
 	@Override
 	public void aboutToBeReconciled() {
-		// Do nothing
+		SemanticHighlightingPresenter presenter= fPresenter;
+		if (presenter != null)
+			fModificationStamp= presenter.getModificationStamp();
 	}
 
 	/*
@@ -385,6 +466,19 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor) {
+		reconciled(ast, forced, fModificationStamp, progressMonitor);
+	}
+
+	/**
+	 * Reconciles the positions with the given AST.
+	 *
+	 * @param ast the compilation unit AST
+	 * @param forced <code>true</code> to reconcile the positions of the whole AST
+	 * @param modificationStamp the modification stamp of the document before the AST was created
+	 * @param progressMonitor the progress monitor
+	 * @since 3.29
+	 */
+	private void reconciled(CompilationUnit ast, boolean forced, int modificationStamp, IProgressMonitor progressMonitor) {
 		// ensure at most one thread can be reconciling at any time
 		synchronized (fReconcileLock) {
 			if (fIsReconciling)
@@ -405,21 +499,14 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			ASTNode[] subtrees= getAffectedSubtrees(ast);
+			ASTNode[] subtrees= getAffectedSubtrees(ast, forced);
 			if (subtrees.length == 0)
 				return;
 
-			startReconcilingPositions();
+			startReconcilingPositions(subtrees);
 
 			if (!fJobPresenter.isCanceled()) {
-				fJobDeprecatedMemberHighlighting= null;
-				for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-					SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-					if (fJobHighlightings[i].isEnabled() && semanticHighlighting instanceof DeprecatedMemberHighlighting) {
-						fJobDeprecatedMemberHighlighting= fJobHighlightings[i];
-						break;
-					}
-				}
+				createDispatchTables();
 				reconcilePositions(subtrees);
 			}
 
@@ -428,7 +515,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
 
 			if (!fJobPresenter.isCanceled())
-				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions, modificationStamp);
 
 			stopReconcilingPositions();
 		} finally {
@@ -436,27 +523,131 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fJobSemanticHighlightings= null;
 			fJobHighlightings= null;
 			fJobDeprecatedMemberHighlighting= null;
+			fJobRestrictedIdentifiersHighlighting= null;
+			fJobNameHighlightings= null;
+			fJobLiteralHighlightings= null;
 			synchronized (fReconcileLock) {
 				fIsReconciling= false;
 			}
 		}
 	}
 
+	/**
+	 * Computes which highlightings are asked for which tokens, so that each token is only
+	 * passed to the enabled highlightings that may consume it.
+	 *
+	 * @since 3.29
+	 */
+	private void createDispatchTables() {
+		fJobDeprecatedMemberHighlighting= null;
+		fJobRestrictedIdentifiersHighlighting= null;
+		int n= fJobSemanticHighlightings.length;
+		int[] enabled= new int[n];
+		int nOfEnabled= 0;
+		for (int i= 0; i < n; i++) {
+			SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
+			if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting && fJobRestrictedIdentifiersHighlighting == null)
+				fJobRestrictedIdentifiersHighlighting= fJobHighlightings[i];
+			if (!fJobHighlightings[i].isEnabled())
+				continue;
+			if (semanticHighlighting instanceof DeprecatedMemberHighlighting && fJobDeprecatedMemberHighlighting == null)
+				fJobDeprecatedMemberHighlighting= fJobHighlightings[i];
+			enabled[nOfEnabled++]= i;
+		}
+		fJobLiteralHighlightings= Arrays.copyOf(enabled, nOfEnabled);
+
+		fJobNameHighlightings= new int[BINDING_KINDS][];
+		for (int kind= 0; kind < BINDING_KINDS; kind++) {
+			int[] candidates= new int[nOfEnabled];
+			int nOfCandidates= 0;
+			for (int i : fJobLiteralHighlightings) {
+				if (fJobSemanticHighlightings[i].consumesBindingKind(kind))
+					candidates[nOfCandidates++]= i;
+			}
+			fJobNameHighlightings[kind]= Arrays.copyOf(candidates, nOfCandidates);
+		}
+	}
+
 	/**
 	 * @param node Root node
+	 * @param forced <code>true</code> if the whole AST is affected
 	 * @return Array of subtrees that may be affected by past document changes
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
+	private ASTNode[] getAffectedSubtrees(CompilationUnit node, boolean forced) {
+		if (!forced) {
+			IRegion dirtyRegion= fJobPresenter.getDirtyRegion();
+			if (dirtyRegion != null) {
+				Block body= getEnclosingBody(node, dirtyRegion);
+				if (body != null)
+					return new ASTNode[] { body };
+			}
+		}
 		return new ASTNode[] { node };
 	}
 
+	/**
+	 * Returns the outermost body of a method or an initializer that strictly contains the given
+	 * region, i.e. changes in the region cannot have effects outside of it.
+	 *
+	 * @param node the compilation unit AST
+	 * @param region the region
+	 * @return the body, or <code>null</code> if the region is not contained in a body or the
+	 *         AST has been recovered around it
+	 * @since 3.29
+	 */
+	private static Block getEnclosingBody(CompilationUnit node, IRegion region) {
+		int start= region.getOffset();
+		int end= start + region.getLength();
+		Block body= null;
+		for (ASTNode current= NodeFinder.perform(node, start, region.getLength()); current != null; current= current.getParent()) {
+			if ((current.getFlags() & (ASTNode.MALFORMED | ASTNode.RECOVERED)) != 0)
+				return null;
+			if (current.getLocationInParent() == MethodDeclaration.BODY_PROPERTY || current.getLocationInParent() == Initializer.BODY_PROPERTY) {
+				int bodyStart= current.getStartPosition();
+				if (bodyStart < start && end < bodyStart + current.getLength())
+					body= (Block) current;
+			}
+		}
+		return body;
+	}
+
 	/**
 	 * Start reconciling positions.
+	 *
+	 * @param subtrees the AST subtrees
 	 */
-	private void startReconcilingPositions() {
-		fJobPresenter.addAllPositions(fRemovedPositions);
+	private void startReconcilingPositions(ASTNode[] subtrees) {
+		if (subtrees.length == 1 && subtrees[0].getParent() == null) {
+			fJobPresenter.addAllPositions(fRemovedPositions);
+		} else {
+			for (ASTNode subtree : subtrees)
+				fJobPresenter.addPositions(fRemovedPositions, subtree.getStartPosition(), subtree.getLength());
+		}
 		fNOfRemovedPositions= fRemovedPositions.size();
+		fRemovedOffsets= new int[fNOfRemovedPositions];
+		for (int i= 0; i < fNOfRemovedPositions; i++)
+			fRemovedOffsets[i]= fRemovedPositions.get(i).getOffset();
+	}
+
+	/**
+	 * Returns the index of the first removed position with an offset equal or greater than the
+	 * given offset when reconciling started.
+	 *
+	 * @param offset the offset
+	 * @return the index
+	 * @since 3.29
+	 */
+	private int computeRemovedIndexAtOffset(int offset) {
+		int i= -1;
+		int j= fRemovedOffsets.length;
+		while (j - i > 1) {
+			int k= (i + j) >> 1;
+			if (fRemovedOffsets[k] >= offset)
+				j= k;
+			else
+				i= k;
+		}
+		return j;
 	}
 
 	/**
@@ -465,12 +656,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param subtrees the AST subtrees
 	 */
 	private void reconcilePositions(ASTNode[] subtrees) {
-		// FIXME: remove positions not covered by subtrees
-
-
-
-		for (ASTNode subtree : subtrees)
-			subtree.accept(fCollector);
+		if (fNOfRemovedPositions == 0 && subtrees.length == 1 && subtrees[0] instanceof CompilationUnit)
+			collectPositionsInParallel((CompilationUnit) subtrees[0]);
+		else {
+			for (ASTNode subtree : subtrees)
+				subtree.accept(fCollector);
+		}
 		List<Position> oldPositions= fRemovedPositions;
 		List<Position> newPositions= new ArrayList<>(fNOfRemovedPositions);
 		for (Position current : oldPositions) {
@@ -480,15 +671,96 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fRemovedPositions= newPositions;
 	}
 
+	/**
+	 * Collects the positions of the given AST when there are no positions yet, e.g. when the
+	 * editor is opened. The members of the top-level types of large compilation units are visited
+	 * in parallel, the rest of the AST is visited in the calling thread.
+	 * <p>
+	 * The shared AST is already read by several reconcile listeners in different threads, its
+	 * binding resolver synchronizes the resolution of bindings.
+	 * </p>
+	 *
+	 * @param ast the compilation unit AST
+	 * @since 3.29
+	 */
+	private void collectPositionsInParallel(CompilationUnit ast) {
+		List<ASTNode> members= new ArrayList<>();
+		if (PARALLELISM > 1 && ast.getLength() >= MIN_PARALLEL_LENGTH) {
+			List<AbstractTypeDeclaration> types= ast.types();
+			for (AbstractTypeDeclaration type : types)
+				members.addAll(type.bodyDeclarations());
+		}
+		if (members.size() < 2) {
+			ast.accept(fCollector);
+			return;
+		}
+
+		fCollector.fSkippedNodes= new HashSet<>(members);
+		try {
+			ast.accept(fCollector);
+		} finally {
+			fCollector.fSkippedNodes= null;
+		}
+		int threshold= Math.max(1, members.size() / (PARALLELISM * 4));
+		fAddedPositions.addAll(ForkJoinPool.commonPool().invoke(new CollectPositionsTask(members, 0, members.size(), threshold)));
+		fAddedPositions.sort(Comparator.comparingInt(Position::getOffset));
+	}
+
+	/**
+	 * Collects the positions of a range of members in the common fork/join pool.
+	 *
+	 * @since 3.29
+	 */
+	private class CollectPositionsTask extends RecursiveTask<List<Position>> {
+
+		private static final long serialVersionUID= 1L;
+
+		private final List<ASTNode> fMembers;
+		private final int fStart;
+		private final int fEnd;
+		private final int fThreshold;
+
+		CollectPositionsTask(List<ASTNode> members, int start, int end, int threshold) {
+			fMembers= members;
+			fStart= start;
+			fEnd= end;
+			fThreshold= threshold;
+		}
+
+		@Override
+		protected List<Position> compute() {
+			if (fEnd - fStart <= fThreshold) {
+				List<Position> added= new ArrayList<>();
+				PositionCollector collector= new PositionCollector(added);
+				for (int i= fStart; i < fEnd && !fJobPresenter.isCanceled(); i++)
+					fMembers.get(i).accept(collector);
+				return added;
+			}
+			int middle= (fStart + fEnd) >>> 1;
+			CollectPositionsTask second= new CollectPositionsTask(fMembers, middle, fEnd, fThreshold);
+			second.fork();
+			List<Position> added= new CollectPositionsTask(fMembers, fStart, middle, fThreshold).compute();
+			added.addAll(second.join());
+			return added;
+		}
+	}
+
 	/**
 	 * Update the presentation.
 	 *
 	 * @param textPresentation the text presentation
 	 * @param addedPositions the added positions
 	 * @param removedPositions the removed positions
+	 * @param modificationStamp the modification stamp of the document before the AST was created
 	 */
-	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions) {
-		Runnable runnable= fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
+	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions, int modificationStamp) {
+		final SemanticHighlightingPresenter presenter= fJobPresenter;
+		if (addedPositions.isEmpty() && removedPositions.isEmpty()) {
+			presenter.positionsReconciled(modificationStamp);
+			return;
+		}
+
+		Runnable runnable= presenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
 		if (runnable == null)
 			return;
 
@@ -508,7 +780,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		if (display == null || display.isDisposed())
 			return;
 
-		display.asyncExec(runnable);
+		display.asyncExec(() -> {
+			runnable.run();
+			presenter.positionsReconciled(modificationStamp);
+		});
 	}
 
 	/**
@@ -517,6 +792,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private void stopReconcilingPositions() {
 		fRemovedPositions.clear();
 		fNOfRemovedPositions= 0;
+		fRemovedOffsets= new int[0];
 		fAddedPositions.clear();
 	}
 
@@ -592,8 +868,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 						}
 						if (monitor.isCanceled())
 							return Status.CANCEL_STATUS;
+						SemanticHighlightingPresenter presenter= fPresenter;
+						int modificationStamp= presenter != null ? presenter.getModificationStamp() : 0;
 						CompilationUnit ast= SharedASTProviderCore.getAST(element, SharedASTProviderCore.WAIT_YES, monitor);
-						reconciled(ast, false, monitor);
+						reconciled(ast, true, modificationStamp, monitor);
 						synchronized (fJobLock) {
 							// allow the job to be gc'ed
 							if (fJob == this)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -266,6 +266,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField() && (binding.getModifiers() & (Modifier.FINAL | Modifier.STATIC)) == (Modifier.FINAL | Modifier.STATIC);
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -329,6 +337,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField() && (binding.getModifiers() & Modifier.STATIC) == Modifier.STATIC;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -392,6 +408,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.VARIABLE && ((IVariableBinding)binding).isField();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -630,6 +654,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding != null && binding.getKind() == IBinding.METHOD && (binding.getModifiers() & Modifier.STATIC) == Modifier.STATIC;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -701,6 +733,14 @@ public class SemanticHighlightings {
 
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -779,6 +819,14 @@ public class SemanticHighlightings {
 
 			return true;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -854,6 +902,14 @@ public class SemanticHighlightings {
 
 			return Bindings.isSuperType(declaringType, currentType);
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.METHOD;
+		}
 	}
 
 	/**
@@ -917,6 +973,15 @@ public class SemanticHighlightings {
 			IBinding binding= getBinding(token);
 			return binding != null && binding.getKind() == IBinding.METHOD;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			// the names of instantiated types are matched by their constructor binding
+			return kind == IBinding.METHOD || kind == IBinding.TYPE || kind == NO_BINDING;
+		}
 	}
 
 	/**
@@ -1055,6 +1120,14 @@ public class SemanticHighlightings {
 			}
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -1122,6 +1195,14 @@ public class SemanticHighlightings {
 			}
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -1288,6 +1369,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isTypeVariable();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1367,6 +1456,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isClass();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1447,6 +1544,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isEnum();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1526,6 +1631,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isInterface();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1606,6 +1719,14 @@ public class SemanticHighlightings {
 			IBinding binding= token.getBinding();
 			return binding instanceof ITypeBinding && ((ITypeBinding) binding).isAnnotation();
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1746,6 +1867,14 @@ public class SemanticHighlightings {
 			return false;
 		}
 
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return false;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesLiteral(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1839,6 +1968,14 @@ public class SemanticHighlightings {
 
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.TYPE;
+		}
 	}
 
 	/**
@@ -1917,6 +2054,14 @@ public class SemanticHighlightings {
 
 			return Bindings.isSuperType(declaringType, currentType);
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return kind == IBinding.VARIABLE;
+		}
 	}
 
 	/**
@@ -1958,6 +2103,14 @@ public class SemanticHighlightings {
 		public boolean consumes(SemanticToken token) {
 			return false;
 		}
+
+		/*
+		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumesBindingKind(int)
+		 */
+		@Override
+		public boolean consumesBindingKind(int kind) {
+			return false;
+		}
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2010, 2022 Darmstadt University of Technology and others
+ * Copyright (c) 2010, 2026 Darmstadt University of Technology and others
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,8 +16,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -54,6 +57,24 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 
 	public static final String CATEGORY_ID= "org.eclipse.jdt.ui.javaChainProposalCategory"; //$NON-NLS-1$
 
+	/**
+	 * The interval in ms in which the progress monitor is checked for cancellation while the
+	 * chains are searched.
+	 */
+	private static final long CANCEL_CHECK_INTERVAL= 100;
+
+	/**
+	 * The pool in which the chains of one depth are visited in parallel, created on demand. The
+	 * visitors access the Java model and may block, so they do not run in the common pool. Idle
+	 * workers of the pool terminate.
+	 */
+	private static ForkJoinPool fgSearchPool;
+
+	/**
+	 * Tells whether the chains of one depth are visited in parallel.
+	 */
+	private static volatile boolean fgParallelSearch= !Boolean.getBoolean("org.eclipse.jdt.ui.chainCompletion.sequential"); //$NON-NLS-1$
+
 	private JavaContentAssistInvocationContext ctx;
 
 	private CompletionProposalCollector collector;
@@ -74,7 +95,40 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 		if (!shouldPerformCompletionOnExpectedType()) {
 			return Collections.emptyList();
 		}
-		return executeCallChainSearch();
+		return executeCallChainSearch(monitor != null ? monitor : new NullProgressMonitor());
+	}
+
+	/**
+	 * Tells whether the chains of one depth are visited in parallel.
+	 *
+	 * @return <code>true</code> if the search is parallel
+	 * @since 3.29
+	 */
+	public static boolean isParallelSearch() {
+		return fgParallelSearch;
+	}
+
+	/**
+	 * Sets whether the chains of one depth are visited in parallel.
+	 *
+	 * @param parallel <code>true</code> to search in parallel, <code>false</code> to search in
+	 *            the thread of the computation
+	 * @since 3.29
+	 */
+	public static void setParallelSearch(boolean parallel) {
+		fgParallelSearch= parallel;
+	}
+
+	private static synchronized ForkJoinPool getSearchPool() {
+		if (fgSearchPool == null) {
+			int parallelism= Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+			fgSearchPool= new ForkJoinPool(parallelism, pool -> {
+				ForkJoinWorkerThread thread= ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName("Call Chain Search " + thread.getPoolIndex()); //$NON-NLS-1$
+				return thread;
+			}, null, false);
+		}
+		return fgSearchPool;
 	}
 
 	private boolean initializeRequiredContext(final ContentAssistInvocationContext context) {
@@ -151,7 +205,7 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 		return String.valueOf(element.getElementName()).startsWith(prefix);
 	}
 
-	private List<ICompletionProposal> executeCallChainSearch() {
+	private List<ICompletionProposal> executeCallChainSearch(final IProgressMonitor monitor) {
 		final int maxChains= Integer.parseInt(JavaManipulation.getPreference(PreferenceConstants.PREF_MAX_CHAINS, ctx.getProject()));
 		final int minDepth= Integer.parseInt(JavaManipulation.getPreference(PreferenceConstants.PREF_MIN_CHAIN_LENGTH, ctx.getProject()));
 		final int maxDepth= Integer.parseInt(JavaManipulation.getPreference(PreferenceConstants.PREF_MAX_CHAIN_LENGTH, ctx.getProject()));
@@ -165,19 +219,42 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 
 		final List<ChainType> expectedTypes= ChainElementAnalyzer.resolveBindingsForExpectedTypes(ctx.getProject(), ctx.getCoreContext());
 		final ChainFinder finder= new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType);
+		final ForkJoinPool pool= fgParallelSearch ? getSearchPool() : null;
 		final ExecutorService executor= Executors.newSingleThreadExecutor();
 		try {
 			Future<?> future= executor.submit(() -> {
 				if (findEntrypoints()) {
-					finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth);
+					finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth, pool);
 				}
 			});
 			long timeout= Long.parseLong(JavaManipulation.getPreference(PreferenceConstants.PREF_CHAIN_TIMEOUT, ctx.getProject()));
-			future.get(timeout, TimeUnit.SECONDS);
+			long deadline= System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+			while (true) {
+				if (monitor.isCanceled()) {
+					finder.cancel();
+					return Collections.emptyList();
+				}
+				long remaining= deadline - System.nanoTime();
+				try {
+					future.get(Math.min(Math.max(remaining, 0), TimeUnit.MILLISECONDS.toNanos(CANCEL_CHECK_INTERVAL)), TimeUnit.NANOSECONDS);
+					break;
+				} catch (final TimeoutException e) {
+					if (remaining <= 0) {
+						throw e;
+					}
+				}
+			}
+		} catch (final TimeoutException e) {
+			finder.cancel();
+			// propose the chains found so far, they are the shortest ones
+			if (finder.getChains().isEmpty()) {
+				setError("Timeout during call chain computation."); //$NON-NLS-1$
+			}
 		} catch (final Exception e) {
 			finder.cancel();
-			executor.shutdownNow();
 			setError("Timeout during call chain computation."); //$NON-NLS-1$
+		} finally {
+			executor.shutdownNow();
 		}
 		return buildCompletionProposals(finder.getChains());
 	}
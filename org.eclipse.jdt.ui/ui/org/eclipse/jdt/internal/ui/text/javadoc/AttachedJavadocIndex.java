@@ -0,0 +1,466 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.javadoc;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.URIUtil;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.corext.javadoc.JavaDocLocations;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Keeps the attached Javadoc of library elements in a store per library archive, such that the
+ * Javadoc location only has to be read once for every element.
+ * <p>
+ * A store is a file in the state location of the plug-in, named after a digest of the path of the
+ * archive and the Javadoc location. Its header records the modification time and the length of
+ * the archive, and of the Javadoc archive for <code>jar:file:</code> Javadoc locations, followed by
+ * the path of the archive and the Javadoc location; the store is discarded when one of them
+ * changes. Other Javadoc locations, e.g. remote ones, cannot be checked for changes, so their
+ * stores are only discarded when the archive changes. The header is followed by one record per
+ * element with the signature of the element, i.e. its handle identifier relative to the archive,
+ * and the HTML fragment that was extracted for it. When a store is opened, the offsets of the
+ * fragments are indexed by signature. Fragments are read from and appended to the store with
+ * positional reads and writes of its file channel.
+ * </p>
+ * <p>
+ * Before a store is opened, the stores that are not open and have not been used for some time are
+ * deleted, and so are the least recently used ones while the stores exceed their maximal total
+ * size.
+ * </p>
+ * <p>
+ * The index is enabled with the system property
+ * <code>org.eclipse.jdt.ui.javadoc.attachedJavadocIndex</code>.
+ * </p>
+ *
+ * @since 3.29
+ */
+public final class AttachedJavadocIndex {
+
+	/**
+	 * Tells whether attached Javadoc is read from the index.
+	 */
+	private static volatile boolean fgEnabled= Boolean.getBoolean("org.eclipse.jdt.ui.javadoc.attachedJavadocIndex"); //$NON-NLS-1$
+
+	/** Magic number of the store file format */
+	private static final int MAGIC= 0x4a444958; // "JDIX"
+
+	/** The version of the store file format */
+	private static final int VERSION= 2;
+
+	/** The length of the fixed part of the store header */
+	private static final int HEADER_LENGTH= 44;
+
+	/** Name of the store directory in the state location */
+	private static final String STORE_DIRECTORY= "attachedJavadoc"; //$NON-NLS-1$
+
+	/** File name extension of the stores */
+	private static final String STORE_EXTENSION= ".jdix"; //$NON-NLS-1$
+
+	/** The maximal size of a store, no fragments are added to larger stores */
+	private static final long MAX_STORE_SIZE= 64 * 1024 * 1024;
+
+	/** The maximal total size of the stores, unused stores are deleted when it is exceeded */
+	private static final long MAX_DIRECTORY_SIZE= 256 * 1024 * 1024;
+
+	/** The time in milliseconds after which unused stores are deleted */
+	private static final long MAX_STORE_AGE= 30L * 24 * 60 * 60 * 1000;
+
+	/** Maps the paths of the archives and the Javadoc locations to the stores */
+	private static final Map<String, Store> fgStores= new HashMap<>();
+
+	/**
+	 * The store of a library archive.
+	 */
+	private static final class Store {
+
+		private final File fFile;
+
+		private final long fLastModified;
+
+		private final long fLength;
+
+		/** The modification time of the Javadoc archive, or <code>0</code> if there is none */
+		private final long fJavadocLastModified;
+
+		/** The length of the Javadoc archive, or <code>0</code> if there is none */
+		private final long fJavadocLength;
+
+		/** The path of the archive and the Javadoc location */
+		private final String fLocation;
+
+		/** Maps the signatures of the elements to the offsets of their fragments */
+		private final Map<String, Long> fOffsets= new HashMap<>();
+
+		private long fSize;
+
+		/** The channel of the store file, or <code>null</code> if the store has been closed */
+		private FileChannel fChannel;
+
+		private Store(File file, long lastModified, long length, long javadocLastModified, long javadocLength, String location) {
+			fFile= file;
+			fLastModified= lastModified;
+			fLength= length;
+			fJavadocLastModified= javadocLastModified;
+			fJavadocLength= javadocLength;
+			fLocation= location;
+		}
+
+		private boolean isCurrent(long lastModified, long length, long javadocLastModified, long javadocLength) {
+			return fLastModified == lastModified && fLength == length && fJavadocLastModified == javadocLastModified && fJavadocLength == javadocLength;
+		}
+
+		/**
+		 * Reads the index of the store, or creates an empty store if the file does not exist or
+		 * belongs to another version of the archive.
+		 *
+		 * @throws IOException if the store cannot be read or created
+		 */
+		private void open() throws IOException {
+			try (RandomAccessFile access= new RandomAccessFile(fFile, "rw")) { //$NON-NLS-1$
+				if (!readIndex(access)) {
+					fOffsets.clear();
+					byte[] location= fLocation.getBytes(StandardCharsets.UTF_8);
+					access.setLength(0);
+					access.writeInt(MAGIC);
+					access.writeInt(VERSION);
+					access.writeLong(fLastModified);
+					access.writeLong(fLength);
+					access.writeLong(fJavadocLastModified);
+					access.writeLong(fJavadocLength);
+					access.writeInt(location.length);
+					access.write(location);
+				}
+				fSize= access.getFilePointer();
+				// drop a record that was not written completely
+				access.setLength(fSize);
+			}
+			fChannel= FileChannel.open(fFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+			// mark the store as used
+			fFile.setLastModified(System.currentTimeMillis());
+		}
+
+		private boolean readIndex(RandomAccessFile access) throws IOException {
+			long size= access.length();
+			if (size < HEADER_LENGTH || access.readInt() != MAGIC || access.readInt() != VERSION
+					|| access.readLong() != fLastModified || access.readLong() != fLength
+					|| access.readLong() != fJavadocLastModified || access.readLong() != fJavadocLength)
+				return false;
+			int locationLength= access.readInt();
+			if (locationLength < 0 || locationLength > size - HEADER_LENGTH)
+				return false;
+			byte[] location= new byte[locationLength];
+			access.readFully(location);
+			if (!fLocation.equals(new String(location, StandardCharsets.UTF_8)))
+				return false;
+
+			long end= access.getFilePointer();
+			try {
+				while (end < size) {
+					int signatureLength= access.readInt();
+					if (signatureLength < 0 || signatureLength > size - end)
+						break;
+					byte[] signature= new byte[signatureLength];
+					access.readFully(signature);
+					int length= access.readInt();
+					long offset= access.getFilePointer();
+					if (length < 0 || offset + length > size)
+						break;
+					access.seek(offset + length);
+					fOffsets.put(new String(signature, StandardCharsets.UTF_8), Long.valueOf(offset - 4));
+					end= offset + length;
+				}
+			} catch (IOException e) {
+				// truncated record
+			}
+			access.seek(end);
+			return true;
+		}
+
+		private synchronized String get(String signature) throws IOException {
+			Long offset= fOffsets.get(signature);
+			if (offset == null || fChannel == null)
+				return null;
+			long position= offset.longValue();
+			ByteBuffer length= ByteBuffer.allocate(4);
+			read(length, position);
+			ByteBuffer fragment= ByteBuffer.allocate(length.getInt(0));
+			read(fragment, position + 4);
+			return new String(fragment.array(), StandardCharsets.UTF_8);
+		}
+
+		private void read(ByteBuffer buffer, long position) throws IOException {
+			while (buffer.hasRemaining()) {
+				if (fChannel.read(buffer, position + buffer.position()) < 0)
+					throw new EOFException(fFile.getPath());
+			}
+		}
+
+		private synchronized void put(String signature, String content) throws IOException {
+			if (fChannel == null || fOffsets.containsKey(signature) || fSize >= MAX_STORE_SIZE)
+				return;
+			byte[] key= signature.getBytes(StandardCharsets.UTF_8);
+			byte[] fragment= content.getBytes(StandardCharsets.UTF_8);
+			ByteBuffer record= ByteBuffer.allocate(8 + key.length + fragment.length);
+			record.putInt(key.length).put(key).putInt(fragment.length).put(fragment).flip();
+			long offset= fSize + 4 + key.length;
+			while (record.hasRemaining())
+				fChannel.write(record, fSize + record.position());
+			fSize+= record.limit();
+			fOffsets.put(signature, Long.valueOf(offset));
+		}
+
+		private synchronized void close() {
+			if (fChannel == null)
+				return;
+			try {
+				fChannel.close();
+			} catch (IOException e) {
+				JavaPlugin.log(e);
+			}
+			fChannel= null;
+		}
+	}
+
+	private AttachedJavadocIndex() {
+	}
+
+	/**
+	 * Tells whether attached Javadoc is read from the index.
+	 *
+	 * @return <code>true</code> if the index is enabled
+	 */
+	public static boolean isEnabled() {
+		return fgEnabled;
+	}
+
+	/**
+	 * Enables or disables the index. The open stores are released.
+	 *
+	 * @param enabled <code>true</code> to read attached Javadoc from the index
+	 */
+	public static void setEnabled(boolean enabled) {
+		fgEnabled= enabled;
+		shutdown();
+	}
+
+	/**
+	 * Returns the attached Javadoc of an element, like {@link IJavaElement#getAttachedJavadoc}.
+	 * Javadoc that is read from the Javadoc location is added to the store of the archive.
+	 *
+	 * @param element the element
+	 * @return the extracted Javadoc, or <code>null</code> if none is available
+	 * @throws JavaModelException if the Javadoc cannot be accessed
+	 */
+	public static String getAttachedJavadoc(IJavaElement element) throws JavaModelException {
+		Store store= fgEnabled ? getStore(element) : null;
+		if (store == null)
+			return element.getAttachedJavadoc(null);
+
+		String signature= getSignature(element);
+		try {
+			String content= store.get(signature);
+			if (content != null)
+				return content;
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+
+		String content= element.getAttachedJavadoc(null);
+		if (content != null) {
+			try {
+				store.put(signature, content);
+			} catch (IOException e) {
+				JavaPlugin.log(e);
+			}
+		}
+		return content;
+	}
+
+	/**
+	 * Releases the stores.
+	 */
+	public static void shutdown() {
+		synchronized (fgStores) {
+			for (Store store : fgStores.values())
+				store.close();
+			fgStores.clear();
+		}
+	}
+
+	private static String getSignature(IJavaElement element) {
+		IJavaElement root= element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		return element.getHandleIdentifier().substring(root.getHandleIdentifier().length());
+	}
+
+	private static Store getStore(IJavaElement element) throws JavaModelException {
+		IPackageFragmentRoot root= (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		if (root == null || !root.isArchive() || root.getKind() != IPackageFragmentRoot.K_BINARY)
+			return null;
+		URL location= JavaDocLocations.getJavadocBaseLocation(root);
+		if (location == null)
+			return null;
+		IResource resource= root.getResource();
+		IPath path= resource != null ? resource.getLocation() : root.getPath();
+		if (path == null)
+			return null;
+		File archive= path.toFile();
+		long lastModified= archive.lastModified();
+		long length= archive.length();
+		if (lastModified == 0)
+			return null;
+		File javadocArchive= getJavadocArchive(location);
+		long javadocLastModified= javadocArchive != null ? javadocArchive.lastModified() : 0;
+		long javadocLength= javadocArchive != null ? javadocArchive.length() : 0;
+
+		String key= path.toString() + '|' + location.toExternalForm();
+		synchronized (fgStores) {
+			Store store= fgStores.get(key);
+			if (store != null) {
+				if (store.isCurrent(lastModified, length, javadocLastModified, javadocLength))
+					return store;
+				fgStores.remove(key);
+				store.close();
+			}
+
+			JavaPlugin plugin= JavaPlugin.getDefault();
+			if (plugin == null)
+				return null;
+			File directory= plugin.getStateLocation().append(STORE_DIRECTORY).toFile();
+			if (!directory.isDirectory() && !directory.mkdirs())
+				return null;
+			String name= getStoreName(key);
+			if (name == null)
+				return null;
+			File file= new File(directory, name);
+			prune(directory, file);
+			store= new Store(file, lastModified, length, javadocLastModified, javadocLength, key);
+			try {
+				store.open();
+			} catch (IOException e) {
+				store.close();
+				JavaPlugin.log(e);
+				return null;
+			}
+			fgStores.put(key, store);
+			return store;
+		}
+	}
+
+	/**
+	 * Deletes the stores that are not open and have not been used for {@link #MAX_STORE_AGE}, and
+	 * the least recently used ones that are not open while the stores exceed
+	 * {@link #MAX_DIRECTORY_SIZE}. Must be called while holding the lock of {@link #fgStores}.
+	 *
+	 * @param directory the store directory
+	 * @param opened the store file that is about to be opened
+	 */
+	private static void prune(File directory, File opened) {
+		File[] files= directory.listFiles((dir, name) -> name.endsWith(STORE_EXTENSION));
+		if (files == null)
+			return;
+		Set<File> open= new HashSet<>();
+		open.add(opened);
+		for (Store store : fgStores.values())
+			open.add(store.fFile);
+		long[] lastModified= new long[files.length];
+		Integer[] order= new Integer[files.length];
+		for (int i= 0; i < files.length; i++) {
+			lastModified[i]= files[i].lastModified();
+			order[i]= Integer.valueOf(i);
+		}
+		// most recently used first
+		Arrays.sort(order, Comparator.comparingLong((Integer i) -> lastModified[i.intValue()]).reversed());
+		long oldest= System.currentTimeMillis() - MAX_STORE_AGE;
+		long size= 0;
+		for (Integer i : order) {
+			File file= files[i.intValue()];
+			long length= file.length();
+			if (!open.contains(file) && (lastModified[i.intValue()] < oldest || size + length > MAX_DIRECTORY_SIZE)) {
+				if (file.delete())
+					continue;
+			}
+			size+= length;
+		}
+	}
+
+	/**
+	 * Returns the Javadoc archive of a <code>jar:file:</code> Javadoc location.
+	 *
+	 * @param location the Javadoc location
+	 * @return the archive, or <code>null</code> if the location is not in a local archive
+	 */
+	private static File getJavadocArchive(URL location) {
+		if (!"jar".equals(location.getProtocol())) //$NON-NLS-1$
+			return null;
+		String spec= location.getFile();
+		int separator= spec.indexOf("!/"); //$NON-NLS-1$
+		if (separator == -1)
+			return null;
+		try {
+			URL archive= new URL(spec.substring(0, separator));
+			if (!"file".equals(archive.getProtocol())) //$NON-NLS-1$
+				return null;
+			return URIUtil.toFile(URIUtil.toURI(archive));
+		} catch (MalformedURLException | URISyntaxException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the name of the store file of an archive and a Javadoc location.
+	 *
+	 * @param key the path of the archive and the Javadoc location
+	 * @return the name, or <code>null</code> if no digest is available
+	 */
+	private static String getStoreName(String key) {
+		try {
+			byte[] digest= MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			StringBuilder name= new StringBuilder(digest.length * 2 + STORE_EXTENSION.length());
+			for (byte b : digest)
+				name.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			return name.append(STORE_EXTENSION).toString();
+		} catch (NoSuchAlgorithmException e) {
+			JavaPlugin.log(e);
+			return null;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2022 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -522,7 +522,7 @@ public class JavadocContentAccess2 {
 		if (sourceJavadoc == null || sourceJavadoc.length() == 0 || "{@inheritDoc}".equals(sourceJavadoc.trim())) { //$NON-NLS-1$
 			if (useAttachedJavadoc) {
 				if (element.getOpenable().getBuffer() == null) { // only if no source available
-					return element.getAttachedJavadoc(null);
+					return AttachedJavadocIndex.getAttachedJavadoc(element);
 				}
 				IMember member= null;
 				if (element instanceof ILocalVariable) {
@@ -826,7 +826,7 @@ public class JavadocContentAccess2 {
 					return InheritDocVisitor.CONTINUE;
 
 				if (overridden.getOpenable().getBuffer() == null) { // only if no source available
-					String attachedJavadoc= overridden.getAttachedJavadoc(null);
+					String attachedJavadoc= AttachedJavadocIndex.getAttachedJavadoc(overridden);
 					if (attachedJavadoc != null) {
 						// BaseURL for the original method can be wrong for attached Javadoc from overridden
 						// (e.g. when overridden is from rt.jar).
@@ -2217,7 +2217,7 @@ public class JavadocContentAccess2 {
 
 		//3==> Handle the case when the documentation is coming from the attached Javadoc
 		if ((root.isArchive() || root.isExternal())) {
-			return packageFragment.getAttachedJavadoc(null);
+			return AttachedJavadocIndex.getAttachedJavadoc(packageFragment);
 
 		}
 
@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.javadoc;
+
+import java.io.File;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
+
+import org.eclipse.jdt.internal.corext.javadoc.JavaDocLocations;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+/**
+ * Caches the Javadoc HTML that {@link JavadocContentAccess2#getHTMLContent(IJavaElement, boolean)}
+ * renders for members of libraries.
+ * <p>
+ * Rendering the Javadoc of a library member reads the attached source or Javadoc, and resolves
+ * <code>{@inheritDoc}</code> with the super type hierarchy. The result only changes when the
+ * libraries, their attachments or the classpath change, so the cache drops all entries on Java
+ * element deltas that report such changes. Not every change produces such a delta, e.g. a Javadoc
+ * location set in a user library or an archive replaced outside of the workspace. Each entry
+ * therefore also records the Javadoc location and the source attachment of its library, and the
+ * time stamps and lengths of the library and source archives; an entry is rendered again when one
+ * of them differs. The Javadoc of a method can be inherited from the methods it overrides, which
+ * may be declared in other libraries, so the entry of a method records the state of the libraries
+ * of all super types of its declaring type as well. Members of source folders are not cached.
+ * </p>
+ * <p>
+ * The cache is enabled by setting the number of cached members with the system property
+ * <code>org.eclipse.jdt.ui.javadoc.hoverCacheSize</code>. The default of <code>0</code> disables
+ * the cache. When the system property <code>org.eclipse.jdt.ui.javadoc.prerenderHovers</code> is
+ * set as well, opening a compilation unit renders the Javadoc of the library members it references
+ * in the background.
+ * </p>
+ *
+ * @since 3.29
+ */
+public final class JavadocContentCache {
+
+	/**
+	 * The maximal number of cached members.
+	 */
+	private static volatile int fgCacheSize= Integer.getInteger("org.eclipse.jdt.ui.javadoc.hoverCacheSize", 0).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Tells whether the Javadoc of referenced library members is rendered when a compilation unit
+	 * is opened.
+	 */
+	private static final boolean PRERENDER= Boolean.getBoolean("org.eclipse.jdt.ui.javadoc.prerenderHovers"); //$NON-NLS-1$
+
+	/**
+	 * The maximal number of members rendered for an opened compilation unit.
+	 */
+	private static final int MAX_PRERENDERED= 100;
+
+	/**
+	 * The delta flags that report changes of libraries or of their attachments.
+	 */
+	private static final int LIBRARY_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_CLASSPATH_ATTRIBUTES | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_SOURCEATTACHED
+			| IJavaElementDelta.F_SOURCEDETACHED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+			| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+
+	private static JavadocContentCache fgInstance;
+
+	/**
+	 * The rendered Javadoc of a member, with the state of its library when it was rendered.
+	 */
+	private static final class Entry {
+
+		private final String fLibraryStamp;
+
+		private final String fContent;
+
+		private Entry(String libraryStamp, String content) {
+			fLibraryStamp= libraryStamp;
+			fContent= content;
+		}
+	}
+
+	private final Map<IJavaElement, Entry> fContents= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IJavaElement, Entry> eldest) {
+			return size() > fgCacheSize;
+		}
+	};
+
+	/**
+	 * Incremented whenever the cache is cleared, so that contents rendered before are not added.
+	 */
+	private int fStamp;
+
+	private final IElementChangedListener fListener= this::elementChanged;
+
+	private JavadocContentCache() {
+		JavaCore.addElementChangedListener(fListener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	private static synchronized JavadocContentCache getDefault() {
+		if (fgInstance == null)
+			fgInstance= new JavadocContentCache();
+		return fgInstance;
+	}
+
+	/**
+	 * Returns the maximal number of cached members.
+	 *
+	 * @return the cache size, <code>0</code> if the cache is disabled
+	 */
+	public static int getCacheSize() {
+		return fgCacheSize;
+	}
+
+	/**
+	 * Sets the maximal number of cached members. The cached contents are discarded.
+	 *
+	 * @param size the cache size, <code>0</code> to disable the cache
+	 */
+	public static void setCacheSize(int size) {
+		fgCacheSize= size;
+		shutdown();
+	}
+
+	/**
+	 * Discards the cache and stops listening to Java element changes.
+	 */
+	public static synchronized void shutdown() {
+		if (fgInstance != null) {
+			JavaCore.removeElementChangedListener(fgInstance.fListener);
+			fgInstance.clear();
+			fgInstance= null;
+		}
+	}
+
+	/**
+	 * Gets the Javadoc of an element rendered in HTML, like
+	 * {@link JavadocContentAccess2#getHTMLContent(IJavaElement, boolean)} with attached Javadoc.
+	 *
+	 * @param element the element to get the Javadoc of
+	 * @return the Javadoc comment content in HTML or <code>null</code> if the element does not have
+	 *         a Javadoc comment or if no source is available
+	 * @throws CoreException is thrown when the element's Javadoc cannot be accessed
+	 */
+	public static String getHTMLContent(IJavaElement element) throws CoreException {
+		if (fgCacheSize <= 0 || !isLibraryMember(element))
+			return JavadocContentAccess2.getHTMLContent(element, true);
+		return getDefault().get(element);
+	}
+
+	/**
+	 * Renders the Javadoc of the library members referenced by a compilation unit in the
+	 * background, if enabled.
+	 *
+	 * @param input the opened editor input, may be <code>null</code>
+	 */
+	public static void prerender(ITypeRoot input) {
+		if (!PRERENDER || fgCacheSize <= 0 || !(input instanceof ICompilationUnit))
+			return;
+		Job job= Job.create(JavaDocMessages.JavadocContentCache_prerender_job, monitor -> {
+			prerender((ICompilationUnit) input, monitor);
+		});
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+		job.schedule();
+	}
+
+	private static void prerender(ICompilationUnit unit, IProgressMonitor monitor) {
+		CompilationUnit ast= SharedASTProviderCore.getAST(unit, SharedASTProviderCore.WAIT_YES, monitor);
+		if (ast == null)
+			return;
+
+		Set<IJavaElement> members= new LinkedHashSet<>();
+		ast.accept(new ASTVisitor() {
+			@Override
+			public boolean preVisit2(ASTNode node) {
+				return members.size() < MAX_PRERENDERED && !monitor.isCanceled();
+			}
+
+			@Override
+			public boolean visit(SimpleName node) {
+				IBinding binding= node.resolveBinding();
+				if (binding != null && binding.getKind() != IBinding.PACKAGE) {
+					IJavaElement element= binding.getJavaElement();
+					if (isLibraryMember(element))
+						members.add(element);
+				}
+				return false;
+			}
+		});
+
+		JavadocContentCache cache= getDefault();
+		for (IJavaElement member : members) {
+			if (monitor.isCanceled())
+				return;
+			try {
+				cache.get(member);
+			} catch (CoreException e) {
+				// reported again when hovering over the member
+			}
+		}
+	}
+
+	private static boolean isLibraryMember(IJavaElement element) {
+		if (!(element instanceof IMember) || !((IMember) element).isBinary())
+			return false;
+		IPackageFragmentRoot root= (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		try {
+			return root != null && root.getKind() == IPackageFragmentRoot.K_BINARY;
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	private String get(IJavaElement element) throws CoreException {
+		String libraryStamp= getLibraryStamp(element);
+		int stamp;
+		synchronized (this) {
+			Entry entry= fContents.get(element);
+			if (entry != null && entry.fLibraryStamp.equals(libraryStamp))
+				return entry.fContent;
+			stamp= fStamp;
+		}
+		String content= JavadocContentAccess2.getHTMLContent(element, true);
+		if (content != null) {
+			// missing Javadoc is not cached, attached Javadoc may be temporarily unavailable
+			synchronized (this) {
+				if (stamp == fStamp)
+					fContents.put(element, new Entry(libraryStamp, content));
+			}
+		}
+		return content;
+	}
+
+	/**
+	 * Describes the state of the libraries of a member that its rendered Javadoc depends on: the
+	 * Javadoc location and the source attachment of the libraries, and the time stamps and lengths
+	 * of the library and source archives. The Javadoc of a method depends on the libraries of the
+	 * super types of its declaring type as well, since it can inherit their Javadoc.
+	 *
+	 * @param element the library member
+	 * @return the state of the libraries
+	 * @throws JavaModelException if the library cannot be accessed
+	 */
+	private static String getLibraryStamp(IJavaElement element) throws JavaModelException {
+		IPackageFragmentRoot root= (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		StringBuilder buf= new StringBuilder();
+		appendLibraryStamp(buf, root);
+		if (element instanceof IMethod && !((IMethod) element).isConstructor()) {
+			IType type= ((IMethod) element).getDeclaringType();
+			Set<IPackageFragmentRoot> roots= new LinkedHashSet<>();
+			roots.add(root);
+			for (IType supertype : SuperTypeHierarchyCache.getTypeHierarchy(type).getAllSupertypes(type)) {
+				IPackageFragmentRoot superRoot= (IPackageFragmentRoot) supertype.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+				if (superRoot != null && roots.add(superRoot)) {
+					buf.append('#');
+					appendLibraryStamp(buf, superRoot);
+				}
+			}
+		}
+		return buf.toString();
+	}
+
+	private static void appendLibraryStamp(StringBuilder buf, IPackageFragmentRoot root) throws JavaModelException {
+		URL javadocLocation= JavaDocLocations.getJavadocBaseLocation(root);
+		if (javadocLocation != null)
+			buf.append(javadocLocation.toExternalForm());
+		buf.append('|');
+		IResource resource= root.getResource();
+		appendFileStamp(buf, resource != null ? resource.getLocation() : root.getPath());
+		buf.append('|');
+		IPath sourceAttachment= root.getSourceAttachmentPath();
+		if (sourceAttachment != null) {
+			buf.append(sourceAttachment.toString());
+			// like the Java model, prefer a workspace file over an external file
+			IResource sourceResource= ResourcesPlugin.getWorkspace().getRoot().findMember(sourceAttachment);
+			appendFileStamp(buf, sourceResource != null ? sourceResource.getLocation() : sourceAttachment);
+		}
+	}
+
+	private static void appendFileStamp(StringBuilder buf, IPath location) {
+		if (location == null)
+			return;
+		File file= location.toFile();
+		if (file.isFile())
+			buf.append(':').append(file.lastModified()).append(':').append(file.length());
+	}
+
+	private synchronized void clear() {
+		fContents.clear();
+		fStamp++;
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		if (isLibraryChange(event.getDelta()))
+			clear();
+	}
+
+	private static boolean isLibraryChange(IJavaElementDelta delta) {
+		if ((delta.getFlags() & LIBRARY_FLAGS) != 0)
+			return true;
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED)
+					return true;
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				// class folders have no archive delta, the class files in them changed
+				try {
+					return delta.getKind() != IJavaElementDelta.CHANGED || ((IPackageFragmentRoot) element).getKind() == IPackageFragmentRoot.K_BINARY;
+				} catch (JavaModelException e) {
+					return true;
+				}
+			default:
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isLibraryChange(child))
+				return true;
+		}
+		return false;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,12 +13,21 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.spelling;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.AssertionFailedException;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentType;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextUtilities;
 import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.jface.text.source.ISourceViewer;
 
@@ -27,6 +36,7 @@ import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.texteditor.IDocumentProvider;
 import org.eclipse.ui.texteditor.ITextEditor;
 import org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector;
+import org.eclipse.ui.texteditor.spelling.SpellingContext;
 import org.eclipse.ui.texteditor.spelling.SpellingProblem;
 import org.eclipse.ui.texteditor.spelling.SpellingReconcileStrategy;
 import org.eclipse.ui.texteditor.spelling.SpellingService;
@@ -37,9 +47,19 @@ import org.eclipse.jdt.core.IProblemRequestor;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.IProblem;
 
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker;
+
 
 /**
  * Reconcile strategy for spell checking comments.
+ * <p>
+ * The problems found in each partition are cached. Partitions that have not been touched by a
+ * document change since they have been checked are not checked again, their cached problems are
+ * reported instead.
+ * </p>
  *
  * @since 3.1
  */
@@ -52,32 +72,42 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	 */
 	private class SpellingProblemCollector implements ISpellingProblemCollector {
 
+		/**
+		 * Tells whether to forward the begin and end of collecting.
+		 * @since 3.29
+		 */
+		private final boolean fReportBoundaries;
+
+		/**
+		 * The collected problems, or <code>null</code> if they are not recorded.
+		 * @since 3.29
+		 */
+		private List<SpellingProblem> fProblems;
+
+		/**
+		 * Creates a new collector.
+		 *
+		 * @param reportBoundaries <code>true</code> to forward the begin and end of collecting
+		 * @since 3.29
+		 */
+		SpellingProblemCollector(boolean reportBoundaries) {
+			fReportBoundaries= reportBoundaries;
+		}
+
 		/*
 		 * @see org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector#accept(org.eclipse.ui.texteditor.spelling.SpellingProblem)
 		 */
 		@Override
 		public void accept(SpellingProblem problem) {
-			IProblemRequestor requestor= fRequestor;
-			if (requestor != null) {
-				try {
-					int line= getDocument().getLineOfOffset(problem.getOffset()) + 1;
-					String word= getDocument().get(problem.getOffset(), problem.getLength());
-					boolean dictionaryMatch= false;
-					boolean sentenceStart= false;
-					if (problem instanceof JavaSpellingProblem) {
-						dictionaryMatch= ((JavaSpellingProblem)problem).isDictionaryMatch();
-						sentenceStart= ((JavaSpellingProblem) problem).isSentenceStart();
-					}
-					// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=81514
-					IEditorInput editorInput= fEditor.getEditorInput();
-					if (editorInput != null) {
-						CoreSpellingProblem iProblem= new CoreSpellingProblem(problem.getOffset(), problem.getOffset() + problem.getLength() - 1, line, problem.getMessage(), word, dictionaryMatch, sentenceStart, getDocument(), editorInput.getName());
-						requestor.acceptProblem(iProblem);
-					}
-				} catch (BadLocationException x) {
-					// drop this SpellingProblem
-				}
+			if (fProblems != null)
+				fProblems.add(problem);
+			boolean dictionaryMatch= false;
+			boolean sentenceStart= false;
+			if (problem instanceof JavaSpellingProblem) {
+				dictionaryMatch= ((JavaSpellingProblem)problem).isDictionaryMatch();
+				sentenceStart= ((JavaSpellingProblem) problem).isSentenceStart();
 			}
+			reportProblem(problem.getOffset(), problem.getLength(), problem.getMessage(), dictionaryMatch, sentenceStart);
 		}
 
 		/*
@@ -85,7 +115,7 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 		 */
 		@Override
 		public void beginCollecting() {
-			if (fRequestor != null)
+			if (fReportBoundaries && fRequestor != null)
 				fRequestor.beginReporting();
 		}
 
@@ -94,11 +124,93 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 		 */
 		@Override
 		public void endCollecting() {
-			if (fRequestor != null)
+			if (fReportBoundaries && fRequestor != null)
 				fRequestor.endReporting();
 		}
 	}
 
+	/**
+	 * A partition that has been checked, together with the problems found in it.
+	 *
+	 * @since 3.29
+	 */
+	private static final class CheckedPartition {
+
+		/** The offset of the partition, updated on document changes */
+		int fOffset;
+		final int fLength;
+		final String fType;
+		/** The problems, with offsets relative to the partition */
+		final List<CachedProblem> fProblems;
+
+		CheckedPartition(int offset, int length, String type, List<CachedProblem> problems) {
+			fOffset= offset;
+			fLength= length;
+			fType= type;
+			fProblems= problems;
+		}
+	}
+
+	/**
+	 * A spelling problem found in a {@link CheckedPartition}.
+	 *
+	 * @since 3.29
+	 */
+	private static final class CachedProblem {
+
+		final int fOffset;
+		final int fLength;
+		final String fMessage;
+		final boolean fDictionaryMatch;
+		final boolean fSentenceStart;
+
+		CachedProblem(int offset, int length, String message, boolean dictionaryMatch, boolean sentenceStart) {
+			fOffset= offset;
+			fLength= length;
+			fMessage= message;
+			fDictionaryMatch= dictionaryMatch;
+			fSentenceStart= sentenceStart;
+		}
+	}
+
+	/**
+	 * Invalidates the checked partitions touched by document changes.
+	 *
+	 * @since 3.29
+	 */
+	private class DocumentListener implements IDocumentListener {
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// nothing to do
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			NullProgressMonitor monitor;
+			synchronized (fCacheLock) {
+				fModificationCount++;
+				monitor= fIncrementalMonitor;
+
+				int start= event.getOffset();
+				int end= start + event.getLength();
+				String text= event.getText();
+				int delta= (text == null ? 0 : text.length()) - event.getLength();
+				int j= 0;
+				for (int i= 0; i < fCheckedPartitions.size(); i++) {
+					CheckedPartition partition= fCheckedPartitions.get(i);
+					if (partition.fOffset > end)
+						partition.fOffset+= delta;
+					else if (partition.fOffset + partition.fLength >= start)
+						continue;
+					fCheckedPartitions.set(j++, partition);
+				}
+				fCheckedPartitions.subList(j, fCheckedPartitions.size()).clear();
+			}
+			if (monitor != null)
+				monitor.setCanceled(true);
+		}
+	}
 
 	/** The id of the problem */
 	public static final int SPELLING_PROBLEM_ID= 0x80000000;
@@ -112,6 +224,60 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	/** The problem requester. */
 	private IProblemRequestor fRequestor;
 
+	/**
+	 * The collector that is used for checking complete regions.
+	 * @since 3.29
+	 */
+	private SpellingProblemCollector fCollector;
+
+	/**
+	 * The spelling context.
+	 * @since 3.29
+	 */
+	private final SpellingContext fSpellingContext;
+
+	/**
+	 * The document listener.
+	 * @since 3.29
+	 */
+	private final IDocumentListener fDocumentListener= new DocumentListener();
+
+	/**
+	 * The lock for the cache of checked partitions.
+	 * @since 3.29
+	 */
+	private final Object fCacheLock= new Object();
+
+	/**
+	 * The checked partitions, sorted by offset.
+	 * @since 3.29
+	 */
+	private final List<CheckedPartition> fCheckedPartitions= new ArrayList<>();
+
+	/**
+	 * The checker that found the problems of the checked partitions.
+	 * @since 3.29
+	 */
+	private ISpellChecker fCachedChecker;
+
+	/**
+	 * The modification stamp of {@link #fCachedChecker} at the time the problems were found.
+	 * @since 3.29
+	 */
+	private long fCachedStamp;
+
+	/**
+	 * The number of document changes.
+	 * @since 3.29
+	 */
+	private int fModificationCount;
+
+	/**
+	 * The progress monitor of a running incremental check, canceled when the document changes.
+	 * @since 3.29
+	 */
+	private NullProgressMonitor fIncrementalMonitor;
+
 
 	/**
 	 * Creates a new comment reconcile strategy.
@@ -122,6 +288,8 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	public JavaSpellingReconcileStrategy(ISourceViewer viewer, ITextEditor editor) {
 		super(viewer, EditorsUI.getSpellingService());
 		fEditor= editor;
+		fSpellingContext= new SpellingContext();
+		fSpellingContext.setContentType(getContentType());
 	}
 
 	/*
@@ -129,8 +297,213 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	 */
 	@Override
 	public void reconcile(IRegion region) {
-		if (fRequestor != null && isSpellingEnabled())
-			super.reconcile(region);
+		if (fRequestor == null || !isSpellingEnabled())
+			return;
+
+		IDocument document= getDocument();
+		ITypedRegion[] partitions;
+		try {
+			partitions= TextUtilities.computePartitioning(document, IJavaPartitions.JAVA_PARTITIONING, region.getOffset(), region.getLength(), false);
+		} catch (BadLocationException | AssertionFailedException x) {
+			// the document has been changed in another thread and will be checked again
+			return;
+		}
+
+		ISpellChecker checker= SpellCheckEngine.getInstance().getSpellChecker();
+		long stamp= checker != null ? checker.getModificationStamp() : 0;
+
+		List<CheckedPartition> reused= new ArrayList<>();
+		List<ITypedRegion> unchecked= new ArrayList<>();
+		int modificationCount;
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		synchronized (fCacheLock) {
+			if (checker == null || checker != fCachedChecker || stamp != fCachedStamp) {
+				fCheckedPartitions.clear();
+				fCachedChecker= checker;
+				fCachedStamp= stamp;
+			}
+			modificationCount= fModificationCount;
+			for (ITypedRegion partition : partitions) {
+				CheckedPartition checked= findCheckedPartition(partition);
+				if (checked != null)
+					reused.add(new CheckedPartition(checked.fOffset, checked.fLength, checked.fType, checked.fProblems));
+				else
+					unchecked.add(partition);
+			}
+			fIncrementalMonitor= monitor;
+		}
+
+		int threshold= PreferenceConstants.getPreferenceStore().getInt(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD);
+		List<SpellingProblem> problems= new ArrayList<>();
+		boolean complete;
+		try {
+			if (reused.isEmpty()) {
+				fCollector.fProblems= problems;
+				try {
+					super.reconcile(region);
+				} finally {
+					fCollector.fProblems= null;
+				}
+				complete= problems.size() < threshold;
+			} else {
+				complete= reconcileIncrementally(document, reused, unchecked, problems, threshold, monitor);
+			}
+		} finally {
+			synchronized (fCacheLock) {
+				fIncrementalMonitor= null;
+			}
+		}
+
+		synchronized (fCacheLock) {
+			if (modificationCount != fModificationCount || checker != fCachedChecker)
+				return;
+			if (!complete || checker == null || checker.getModificationStamp() != stamp) {
+				fCheckedPartitions.clear();
+				return;
+			}
+			updateCheckedPartitions(region, reused, unchecked, problems);
+		}
+	}
+
+	/**
+	 * Reports the cached problems of the reused partitions and checks the unchecked partitions.
+	 *
+	 * @param document the document
+	 * @param reused the partitions whose cached problems are reported
+	 * @param unchecked the partitions to check
+	 * @param problems the list to add the problems found in the unchecked partitions to
+	 * @param threshold the maximal number of problems to report
+	 * @param monitor the progress monitor
+	 * @return <code>true</code> if all problems have been reported
+	 * @since 3.29
+	 */
+	private boolean reconcileIncrementally(IDocument document, List<CheckedPartition> reused, List<ITypedRegion> unchecked, List<SpellingProblem> problems, int threshold, NullProgressMonitor monitor) {
+		int count= 0;
+		fRequestor.beginReporting();
+		try {
+			for (CheckedPartition partition : reused) {
+				for (CachedProblem problem : partition.fProblems) {
+					if (count++ >= threshold)
+						return false;
+					reportProblem(partition.fOffset + problem.fOffset, problem.fLength, problem.fMessage, problem.fDictionaryMatch, problem.fSentenceStart);
+				}
+			}
+			if (!unchecked.isEmpty()) {
+				SpellingProblemCollector collector= new SpellingProblemCollector(false);
+				collector.fProblems= problems;
+				EditorsUI.getSpellingService().check(document, unchecked.toArray(new IRegion[unchecked.size()]), fSpellingContext, collector, monitor);
+			}
+			return !monitor.isCanceled() && count + problems.size() < threshold;
+		} finally {
+			fRequestor.endReporting();
+		}
+	}
+
+	/**
+	 * Returns the checked partition that equals the given partition.
+	 *
+	 * @param partition the partition
+	 * @return the checked partition or <code>null</code> if the partition has to be checked
+	 * @since 3.29
+	 */
+	private CheckedPartition findCheckedPartition(ITypedRegion partition) {
+		int index= indexOf(fCheckedPartitions, partition.getOffset());
+		if (index < 0)
+			return null;
+		CheckedPartition checked= fCheckedPartitions.get(index);
+		if (checked.fOffset != partition.getOffset() || checked.fLength != partition.getLength() || !checked.fType.equals(partition.getType()))
+			return null;
+		return checked;
+	}
+
+	/**
+	 * Replaces the checked partitions in the given region.
+	 *
+	 * @param region the checked region
+	 * @param reused the reused partitions
+	 * @param checked the partitions that have been checked
+	 * @param problems the problems found in the checked partitions
+	 * @since 3.29
+	 */
+	private void updateCheckedPartitions(IRegion region, List<CheckedPartition> reused, List<ITypedRegion> checked, List<SpellingProblem> problems) {
+		List<CheckedPartition> partitions= new ArrayList<>(fCheckedPartitions.size());
+		int regionEnd= region.getOffset() + region.getLength();
+		for (CheckedPartition partition : fCheckedPartitions) {
+			if (partition.fOffset + partition.fLength <= region.getOffset() || partition.fOffset >= regionEnd)
+				partitions.add(partition);
+		}
+		partitions.addAll(reused);
+
+		List<CheckedPartition> added= new ArrayList<>(checked.size());
+		for (ITypedRegion partition : checked)
+			added.add(new CheckedPartition(partition.getOffset(), partition.getLength(), partition.getType(), new ArrayList<>(0)));
+		for (SpellingProblem problem : problems) {
+			int index= indexOf(added, problem.getOffset());
+			if (index < 0)
+				continue;
+			CheckedPartition partition= added.get(index);
+			boolean dictionaryMatch= false;
+			boolean sentenceStart= false;
+			if (problem instanceof JavaSpellingProblem) {
+				dictionaryMatch= ((JavaSpellingProblem) problem).isDictionaryMatch();
+				sentenceStart= ((JavaSpellingProblem) problem).isSentenceStart();
+			}
+			partition.fProblems.add(new CachedProblem(problem.getOffset() - partition.fOffset, problem.getLength(), problem.getMessage(), dictionaryMatch, sentenceStart));
+		}
+		partitions.addAll(added);
+
+		partitions.sort((p1, p2) -> Integer.compare(p1.fOffset, p2.fOffset));
+		fCheckedPartitions.clear();
+		fCheckedPartitions.addAll(partitions);
+	}
+
+	/**
+	 * Returns the index of the last partition that starts at or before the given offset.
+	 *
+	 * @param partitions the partitions, sorted by offset
+	 * @param offset the offset
+	 * @return the index or <code>-1</code> if no partition starts at or before the offset
+	 * @since 3.29
+	 */
+	private static int indexOf(List<CheckedPartition> partitions, int offset) {
+		int low= 0;
+		int high= partitions.size() - 1;
+		while (low <= high) {
+			int mid= (low + high) >>> 1;
+			if (partitions.get(mid).fOffset <= offset)
+				low= mid + 1;
+			else
+				high= mid - 1;
+		}
+		return high;
+	}
+
+	/**
+	 * Forwards a spelling problem to the problem requestor.
+	 *
+	 * @param offset the offset of the problem
+	 * @param length the length of the problem
+	 * @param message the message
+	 * @param dictionaryMatch <code>true</code> if the problem is a dictionary match
+	 * @param sentenceStart <code>true</code> if the word starts a sentence
+	 * @since 3.29
+	 */
+	private void reportProblem(int offset, int length, String message, boolean dictionaryMatch, boolean sentenceStart) {
+		IProblemRequestor requestor= fRequestor;
+		if (requestor != null) {
+			try {
+				int line= getDocument().getLineOfOffset(offset) + 1;
+				String word= getDocument().get(offset, length);
+				// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=81514
+				IEditorInput editorInput= fEditor.getEditorInput();
+				if (editorInput != null) {
+					CoreSpellingProblem iProblem= new CoreSpellingProblem(offset, offset + length - 1, line, message, word, dictionaryMatch, sentenceStart, getDocument(), editorInput.getName());
+					requestor.acceptProblem(iProblem);
+				}
+			} catch (BadLocationException x) {
+				// drop this SpellingProblem
+			}
+		}
 	}
 
 	private boolean isSpellingEnabled() {
@@ -143,7 +516,8 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	 */
 	@Override
 	protected ISpellingProblemCollector createSpellingProblemCollector() {
-		return new SpellingProblemCollector();
+		fCollector= new SpellingProblemCollector(true);
+		return fCollector;
 	}
 
 	/*
@@ -160,10 +534,33 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	 */
 	@Override
 	public void setDocument(IDocument document) {
+		IDocument oldDocument= getDocument();
+		if (oldDocument != null)
+			oldDocument.removeDocumentListener(fDocumentListener);
+		synchronized (fCacheLock) {
+			fCheckedPartitions.clear();
+		}
 		super.setDocument(document);
+		if (document != null)
+			document.addDocumentListener(fDocumentListener);
 		updateProblemRequester();
 	}
 
+	/**
+	 * Stops listening to the document and discards the checked partitions. Must be called when the
+	 * reconciler of this strategy is uninstalled.
+	 *
+	 * @since 3.29
+	 */
+	public void dispose() {
+		IDocument document= getDocument();
+		if (document != null)
+			document.removeDocumentListener(fDocumentListener);
+		synchronized (fCacheLock) {
+			fCheckedPartitions.clear();
+		}
+	}
+
 	/**
 	 * Update the problem requester based on the current editor
 	 */
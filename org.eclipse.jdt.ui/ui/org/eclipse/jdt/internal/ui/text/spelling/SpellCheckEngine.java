@@ -49,6 +49,7 @@ import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellCheckEngine;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellDictionary;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.LocaleSensitiveSpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.MappedSpellDictionary;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.PersistentSpellDictionary;
 
 
@@ -62,6 +63,14 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	/** The dictionary location */
 	public static final String DICTIONARY_LOCATION= "dictionaries/"; //$NON-NLS-1$
 
+	/**
+	 * Tells whether the dictionaries are loaded from memory-mapped BK-trees, see
+	 * {@link MappedSpellDictionary}.
+	 *
+	 * @since 3.29
+	 */
+	private static final boolean USE_MAPPED_DICTIONARIES= Boolean.getBoolean("org.eclipse.jdt.ui.spelling.mappedDictionaries"); //$NON-NLS-1$
+
 	/** The singleton engine instance */
 	private static ISpellCheckEngine fgEngine= null;
 
@@ -249,6 +258,16 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 		}
 	}
 
+	/**
+	 * Notifies the singleton instance that the words of one of its dictionaries have changed.
+	 *
+	 * @since 3.29
+	 */
+	static synchronized void dictionaryChanged() {
+		if (fgEngine instanceof SpellCheckEngine)
+			((SpellCheckEngine) fgEngine).configurationChanged();
+	}
+
 	/** The registered locale insensitive dictionaries */
 	private Set<ISpellDictionary> fGlobalDictionaries= new HashSet<>();
 
@@ -281,7 +300,10 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 				for (final Iterator<Locale> iterator= getLocalesWithInstalledDictionaries(location).iterator(); iterator.hasNext();) {
 
 					locale= iterator.next();
-					fLocaleDictionaries.put(locale, new LocaleSensitiveSpellDictionary(locale, location));
+					if (USE_MAPPED_DICTIONARIES)
+						fLocaleDictionaries.put(locale, new MappedSpellDictionary(new URL(location, locale.toString() + ".dictionary"), false)); //$NON-NLS-1$
+					else
+						fLocaleDictionaries.put(locale, new LocaleSensitiveSpellDictionary(locale, location));
 				}
 			}
 
@@ -369,6 +391,8 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	 */
 	@Override
 	public final void propertyChange(final PropertyChangeEvent event) {
+		configurationChanged();
+
 		if (PreferenceConstants.SPELLING_LOCALE.equals(event.getProperty())) {
 			resetSpellChecker();
 			return;
@@ -392,6 +416,16 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 		}
 	}
 
+	/**
+	 * Discards the cached results of the current checker.
+	 *
+	 * @since 3.29
+	 */
+	private synchronized void configurationChanged() {
+		if (fChecker != null)
+			fChecker.configurationChanged();
+	}
+
 	/**
 	 * Resets the current checker's user dictionary.
 	 */
@@ -430,7 +464,10 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 				InputStream stream= url.openStream();
 				if (stream != null) {
 					try {
-						fUserDictionary= new PersistentSpellDictionary(url);
+						if (USE_MAPPED_DICTIONARIES)
+							fUserDictionary= new MappedSpellDictionary(url, true);
+						else
+							fUserDictionary= new PersistentSpellDictionary(url);
 						fChecker.addDictionary(fUserDictionary);
 					} finally {
 						stream.close();
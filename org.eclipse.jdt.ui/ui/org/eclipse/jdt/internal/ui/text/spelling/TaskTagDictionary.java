@@ -55,8 +55,10 @@ public class TaskTagDictionary extends AbstractSpellDictionary implements IPrope
 	@Override
 	public void propertyChange(final PropertyChangeEvent event) {
 
-		if (JavaCore.COMPILER_TASK_TAGS.equals(event.getProperty()))
+		if (JavaCore.COMPILER_TASK_TAGS.equals(event.getProperty())) {
 			updateTaskTags();
+			SpellCheckEngine.dictionaryChanged();
+		}
 	}
 
 	/*
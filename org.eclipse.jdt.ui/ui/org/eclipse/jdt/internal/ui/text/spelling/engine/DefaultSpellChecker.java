@@ -17,7 +17,10 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -36,6 +39,12 @@ public class DefaultSpellChecker implements ISpellChecker {
 	/** Array of URL prefixes */
 	public static final String[] URL_PREFIXES= new String[] { "http://", "https://", "www.", "ftp://", "ftps://", "news://", "mailto://" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
 
+	/**
+	 * The maximal number of cached results of {@link #isCorrect(String)}.
+	 * @since 3.29
+	 */
+	private static final int MAX_CACHED_WORDS= 10000;
+
 	/**
 	 * Does this word contain digits?
 	 *
@@ -146,6 +155,26 @@ public class DefaultSpellChecker implements ISpellChecker {
 	 */
 	private Locale fLocale;
 
+	/**
+	 * The results of {@link #isCorrect(String)} by word. Discarded whenever the dictionaries or
+	 * the ignored words change.
+	 * @since 3.29
+	 */
+	private final Map<String, Boolean> fCorrectWords= new ConcurrentHashMap<>();
+
+	/**
+	 * The modification stamp, see {@link #getModificationStamp()}.
+	 * @since 3.29
+	 */
+	private final AtomicLong fModificationStamp= new AtomicLong();
+
+	/**
+	 * The last value passed to {@link ISpellDictionary#setStripNonLetters(boolean)}, or
+	 * <code>null</code> if it has not been set yet.
+	 * @since 3.29
+	 */
+	private volatile Boolean fStripNonLetters;
+
 	/**
 	 * Creates a new default spell checker.
 	 *
@@ -164,6 +193,7 @@ public class DefaultSpellChecker implements ISpellChecker {
 	public final void addDictionary(final ISpellDictionary dictionary) {
 		// synchronizing is necessary as this is a write access
 		fDictionaries.add(dictionary);
+		configurationChanged();
 	}
 
 	@Override
@@ -197,13 +227,14 @@ public class DefaultSpellChecker implements ISpellChecker {
 			if (dictionary.acceptsWords())
 				dictionary.addWord(addable);
 		}
-
+		configurationChanged();
 	}
 
 	@Override
 	public final void checkWord(final String word) {
 		// synchronizing is necessary as this is a write access
 		fIgnored.remove(word.toLowerCase());
+		configurationChanged();
 	}
 
 	@Override
@@ -223,6 +254,10 @@ public class DefaultSpellChecker implements ISpellChecker {
 		Iterator<ISpellDictionary> iter= fDictionaries.iterator();
 		while (iter.hasNext())
 			iter.next().setStripNonLetters(ignoreNonLetters);
+		if (fStripNonLetters == null || fStripNonLetters.booleanValue() != ignoreNonLetters) {
+			fStripNonLetters= Boolean.valueOf(ignoreNonLetters);
+			configurationChanged();
+		}
 
 		String word= null;
 		boolean starts= false;
@@ -284,10 +319,25 @@ public class DefaultSpellChecker implements ISpellChecker {
 	public final void ignoreWord(final String word) {
 		// synchronizing is necessary as this is a write access
 		fIgnored.add(word.toLowerCase());
+		configurationChanged();
 	}
 
 	@Override
 	public final boolean isCorrect(final String word) {
+		Boolean cached= fCorrectWords.get(word);
+		if (cached != null)
+			return cached.booleanValue();
+
+		long stamp= fModificationStamp.get();
+		boolean correct= isCorrectUncached(word);
+		if (fCorrectWords.size() >= MAX_CACHED_WORDS)
+			fCorrectWords.clear();
+		if (stamp == fModificationStamp.get())
+			fCorrectWords.put(word, Boolean.valueOf(correct));
+		return correct;
+	}
+
+	private boolean isCorrectUncached(final String word) {
 		// synchronizing is necessary as this is called from execute
 		Set<ISpellDictionary> copy;
 		synchronized (fDictionaries) {
@@ -308,10 +358,22 @@ public class DefaultSpellChecker implements ISpellChecker {
 	public final void removeDictionary(final ISpellDictionary dictionary) {
 		// synchronizing is necessary as this is a write access
 		fDictionaries.remove(dictionary);
+		configurationChanged();
 	}
 
 	@Override
 	public Locale getLocale() {
 		return fLocale;
 	}
+
+	@Override
+	public void configurationChanged() {
+		fModificationStamp.incrementAndGet();
+		fCorrectWords.clear();
+	}
+
+	@Override
+	public long getModificationStamp() {
+		return fModificationStamp.get();
+	}
 }
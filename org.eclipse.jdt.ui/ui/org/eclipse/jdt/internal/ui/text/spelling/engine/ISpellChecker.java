@@ -110,4 +110,21 @@ public interface ISpellChecker {
 	 * @since 3.3
 	 */
 	Locale getLocale();
+
+	/**
+	 * Notifies this spell checker that its dictionaries or the spelling preferences have changed
+	 * behind its back, such that cached results must be discarded.
+	 *
+	 * @since 3.29
+	 */
+	void configurationChanged();
+
+	/**
+	 * Returns a stamp that changes whenever words may be checked differently than before, e.g.
+	 * because words or dictionaries have been added or removed.
+	 *
+	 * @return the modification stamp of this spell checker
+	 * @since 3.29
+	 */
+	long getModificationStamp();
 }
@@ -0,0 +1,646 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+
+/**
+ * Word-list based dictionary that stores its words in a BK-tree. The tree is written to a cache
+ * file in the state location of the plug-in and memory-mapped, such that the word list only has
+ * to be read again when it changes. The header of the cache file records the location and the
+ * encoding of the word list, and the cache is rebuilt if they don't match.
+ * <p>
+ * Each version of a word list is cached in a file of its own, such that a new version never has
+ * to replace a file that is still mapped by another dictionary. Mapped files cannot be renamed or
+ * deleted on all platforms, outdated versions are deleted once they can be.
+ * </p>
+ * <p>
+ * Words are looked up in a table of the node offsets that is sorted by word, the tree is only
+ * searched for proposals.
+ * </p>
+ * <p>
+ * A BK-tree arranges the words by their edit distance to the word of the parent node, hence
+ * proposals within a bounded edit distance are found without computing the phonetic distance to
+ * every word in the neighbourhood of the word's phonetic hash. Proposals are ranked with the
+ * phonetic distance algorithm like in {@link AbstractSpellDictionary}.
+ * </p>
+ *
+ * @since 3.29
+ */
+public class MappedSpellDictionary implements ISpellDictionary {
+
+	/** Magic number of the cache file format */
+	private static final int MAGIC= 0x424b5431; // "BKT1"
+
+	/** The version of the cache file format */
+	private static final int VERSION= 2;
+
+	/** Offset of the offset of the root node in the cache file */
+	private static final int ROOT= 24;
+
+	/** Offset of the offset of the sorted word table in the cache file */
+	private static final int WORD_TABLE= 28;
+
+	/** Offset of the number of words in the cache file */
+	private static final int WORD_COUNT= 32;
+
+	/** Offset of the key of the word list in the cache file */
+	private static final int KEY= 36;
+
+	/** Size of the cache file header without the key */
+	private static final int HEADER_SIZE= 40;
+
+	/** Name of the cache directory in the state location */
+	private static final String CACHE_DIRECTORY= "spellingDictionaries"; //$NON-NLS-1$
+
+	/** Extension of the cache files */
+	private static final String CACHE_FILE_EXTENSION= ".bktree"; //$NON-NLS-1$
+
+	/** Extension of cache files that are being written */
+	private static final String TEMP_FILE_EXTENSION= ".tmp"; //$NON-NLS-1$
+
+	/** Age in milliseconds from which on temporary files of other dictionaries are deleted */
+	private static final long TEMP_FILE_AGE= 60 * 60 * 1000;
+
+	/** The maximal edit distance of proposals */
+	private static final int MAX_EDIT_DISTANCE= 2;
+
+	/** The phonetic distance threshold, see {@link AbstractSpellDictionary#DISTANCE_THRESHOLD} */
+	private static final int DISTANCE_THRESHOLD= 160;
+
+	/** The location of the word list */
+	private final URL fLocation;
+
+	/** Does this dictionary accept new words? */
+	private final boolean fAcceptsWords;
+
+	/** The phonetic distance algorithm */
+	private final IPhoneticDistanceAlgorithm fDistanceAlgorithm= new DefaultPhoneticDistanceAlgorithm();
+
+	/** The mapped tree, or <code>null</code> if the dictionary is not loaded or empty */
+	private ByteBuffer fTree;
+
+	/** Words that have been added since the tree was built */
+	private final Set<String> fAddedWords= new HashSet<>();
+
+	/** Is the dictionary loaded? */
+	private boolean fLoaded;
+
+	/** Must the dictionary be loaded? */
+	private boolean fMustLoad= true;
+
+	/** Tells whether to strip non-letters at word boundaries. */
+	private boolean fIsStrippingNonLetters= true;
+
+	/**
+	 * Creates a new mapped spell dictionary.
+	 *
+	 * @param url the URL of the word list
+	 * @param acceptsWords <code>true</code> if words can be added to the word list
+	 */
+	public MappedSpellDictionary(URL url, boolean acceptsWords) {
+		fLocation= url;
+		fAcceptsWords= acceptsWords;
+	}
+
+	@Override
+	public boolean acceptsWords() {
+		return fAcceptsWords;
+	}
+
+	@Override
+	public void addWord(String word) {
+		if (!fAcceptsWords || isCorrect(word))
+			return;
+
+		if (PersistentSpellDictionary.appendWord(fLocation, getEncoding(), word, isEmpty())) {
+			synchronized (this) {
+				fAddedWords.add(word);
+			}
+		}
+	}
+
+	@Override
+	public Set<RankedWordProposal> getProposals(String word, boolean sentence) {
+		ensureLoaded();
+
+		Set<RankedWordProposal> result= new HashSet<>();
+		if (word.isEmpty())
+			return result;
+
+		List<String> candidates= new ArrayList<>();
+		collect(word, MAX_EDIT_DISTANCE, candidates);
+		int minimum= Integer.MAX_VALUE;
+		List<RankedWordProposal> closest= new ArrayList<>();
+		for (String candidate : candidates) {
+			int distance= fDistanceAlgorithm.getDistance(word, candidate);
+			if (distance < DISTANCE_THRESHOLD) {
+				result.add(new RankedWordProposal(adjustCase(candidate, sentence), -distance));
+			} else if (result.isEmpty() && distance <= minimum) {
+				if (distance < minimum)
+					closest.clear();
+				closest.add(new RankedWordProposal(adjustCase(candidate, sentence), -distance));
+				minimum= distance;
+			}
+		}
+		if (result.isEmpty())
+			result.addAll(closest);
+		return result;
+	}
+
+	private static String adjustCase(String candidate, boolean sentence) {
+		if (!sentence || candidate.isEmpty())
+			return candidate;
+		return Character.toUpperCase(candidate.charAt(0)) + candidate.substring(1);
+	}
+
+	@Override
+	public boolean isCorrect(String word) {
+		word= stripNonLetters(word);
+		ensureLoaded();
+
+		String lowerCase= word.toLowerCase();
+		synchronized (this) {
+			if (fAddedWords.contains(word) || fAddedWords.contains(lowerCase))
+				return true;
+		}
+		ByteBuffer tree= getTree();
+		if (tree == null)
+			return false;
+		return contains(tree, word) || !lowerCase.equals(word) && contains(tree, lowerCase);
+	}
+
+	@Override
+	public synchronized boolean isLoaded() {
+		return fLoaded || fTree != null;
+	}
+
+	@Override
+	public synchronized void unload() {
+		fLoaded= false;
+		fMustLoad= true;
+		fTree= null;
+		fAddedWords.clear();
+	}
+
+	@Override
+	public void setStripNonLetters(boolean state) {
+		fIsStrippingNonLetters= state;
+	}
+
+	/**
+	 * Strips non-letter characters from the given word.
+	 *
+	 * @param word the word to strip
+	 * @return the stripped word
+	 * @see AbstractSpellDictionary#stripNonLetters(String)
+	 */
+	protected String stripNonLetters(String word) {
+		if (!fIsStrippingNonLetters)
+			return word;
+
+		int i= 0;
+		int j= word.length() - 1;
+		while (i <= j && !Character.isLetter(word.charAt(i)))
+			i++;
+		if (i > j)
+			return ""; //$NON-NLS-1$
+
+		while (j > i && !Character.isLetter(word.charAt(j)))
+			j--;
+
+		return word.substring(i, j+1);
+	}
+
+	/**
+	 * Tells whether this dictionary is empty.
+	 *
+	 * @return <code>true</code> if this dictionary is empty
+	 */
+	protected synchronized boolean isEmpty() {
+		return fTree == null && fAddedWords.isEmpty();
+	}
+
+	/**
+	 * Returns the encoding of the word list.
+	 *
+	 * @return the encoding of the word list
+	 */
+	protected String getEncoding() {
+		String encoding= JavaPlugin.getDefault().getPreferenceStore().getString(PreferenceConstants.SPELLING_USER_DICTIONARY_ENCODING);
+		if (encoding == null || encoding.length() == 0)
+			encoding= ResourcesPlugin.getEncoding();
+		return encoding;
+	}
+
+	private synchronized ByteBuffer getTree() {
+		return fTree;
+	}
+
+	private synchronized void ensureLoaded() {
+		if (!fMustLoad)
+			return;
+		fMustLoad= false;
+		try {
+			fTree= load(fLocation);
+			fLoaded= true;
+		} catch (FileNotFoundException e) {
+			String urlString= fLocation.toString();
+			String lowercaseUrlString= urlString.toLowerCase();
+			if (urlString.equals(lowercaseUrlString)) {
+				JavaPlugin.log(e);
+				return;
+			}
+			try {
+				fTree= load(new URL(lowercaseUrlString));
+				fLoaded= true;
+			} catch (MalformedURLException e1) {
+				JavaPlugin.log(e1);
+			} catch (IOException e1) {
+				JavaPlugin.log(e1);
+			}
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Maps the cached tree of the given word list, and builds the cache file first if it is
+	 * missing or outdated.
+	 *
+	 * @param url the URL of the word list
+	 * @return the tree, or <code>null</code> if the word list is empty
+	 * @throws IOException if the word list cannot be read
+	 */
+	private ByteBuffer load(URL url) throws IOException {
+		URLConnection connection= url.openConnection();
+		long lastModified= connection.getLastModified();
+		long length= connection.getContentLengthLong();
+		if (length == -1)
+			length= 0;
+
+		byte[] key= (url.toExternalForm() + '|' + getEncoding()).getBytes(StandardCharsets.UTF_8);
+		File directory= getCacheDirectory();
+		String prefix= getCacheFilePrefix(key);
+		File cacheFile= new File(directory, prefix + Long.toHexString(lastModified) + '-' + Long.toHexString(length) + CACHE_FILE_EXTENSION);
+		ByteBuffer tree= mapCacheFile(cacheFile, lastModified, length, key);
+		if (tree != null)
+			return tree.getInt(ROOT) == -1 ? null : tree;
+
+		List<String> words= readWords(url);
+		BKTree bkTree= new BKTree();
+		for (String word : words)
+			bkTree.add(word);
+
+		File tempFile= File.createTempFile(prefix, TEMP_FILE_EXTENSION, directory);
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			bkTree.write(out, lastModified, length, key);
+		}
+		// an invalid file of this version may exist, it cannot be replaced while it is mapped
+		cacheFile.delete();
+		if (!tempFile.renameTo(cacheFile)) {
+			cacheFile= tempFile;
+			cacheFile.deleteOnExit();
+		}
+		deleteOutdatedCacheFiles(directory, prefix, cacheFile);
+
+		tree= mapCacheFile(cacheFile, lastModified, length, key);
+		if (tree == null)
+			throw new IOException("Could not read " + cacheFile); //$NON-NLS-1$
+		return tree.getInt(ROOT) == -1 ? null : tree;
+	}
+
+	private static File getCacheDirectory() {
+		File directory= JavaPlugin.getDefault().getStateLocation().append(CACHE_DIRECTORY).toFile();
+		if (!directory.isDirectory())
+			directory.mkdirs();
+		return directory;
+	}
+
+	private static String getCacheFilePrefix(byte[] key) {
+		// the name may collide, the key in the header identifies the word list
+		return String.format("%08x-", Integer.valueOf(Arrays.hashCode(key))); //$NON-NLS-1$
+	}
+
+	/**
+	 * Deletes the cache files of other versions of the word list. Files that are still mapped
+	 * cannot be deleted on all platforms, they are deleted when the word list is cached again.
+	 *
+	 * @param directory the cache directory
+	 * @param prefix the prefix of the cache files of the word list
+	 * @param current the cache file of the current version
+	 */
+	private static void deleteOutdatedCacheFiles(File directory, String prefix, File current) {
+		File[] files= directory.listFiles();
+		if (files == null)
+			return;
+		for (File file : files) {
+			String name= file.getName();
+			if (!name.startsWith(prefix) || file.equals(current))
+				continue;
+			// temporary files may still be written by another dictionary of the same word list
+			if (name.endsWith(CACHE_FILE_EXTENSION) || name.endsWith(TEMP_FILE_EXTENSION) && file.lastModified() < System.currentTimeMillis() - TEMP_FILE_AGE)
+				file.delete();
+		}
+	}
+
+	private static ByteBuffer mapCacheFile(File file, long lastModified, long length, byte[] key) {
+		if (!file.isFile())
+			return null;
+		try (RandomAccessFile access= new RandomAccessFile(file, "r"); FileChannel channel= access.getChannel()) { //$NON-NLS-1$
+			if (channel.size() < HEADER_SIZE + key.length)
+				return null;
+			MappedByteBuffer buffer= channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+					|| buffer.getLong(8) != lastModified || buffer.getLong(16) != length
+					|| buffer.getInt(KEY) != key.length)
+				return null;
+			byte[] storedKey= new byte[key.length];
+			buffer.get(HEADER_SIZE, storedKey);
+			if (!Arrays.equals(key, storedKey))
+				return null;
+			return buffer;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private List<String> readWords(URL url) throws IOException {
+		CharsetDecoder decoder= Charset.forName(getEncoding()).newDecoder();
+		decoder.onMalformedInput(CodingErrorAction.REPLACE);
+		decoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		List<String> words= new ArrayList<>();
+		try (BufferedReader reader= new BufferedReader(new InputStreamReader(url.openStream(), decoder))) {
+			String word;
+			while ((word= reader.readLine()) != null) {
+				if (!word.isEmpty())
+					words.add(word);
+			}
+		}
+		return words;
+	}
+
+	/*
+	 * Layout of the cache file:
+	 *   header: int magic, int version, long last modified, long length, int offset of the root
+	 *           node, int offset of the word table, int number of words, int length of the key,
+	 *           byte[] UTF-8 encoded key
+	 *   nodes
+	 *   word table: int offsets of the nodes, sorted by their words
+	 *
+	 * Layout of a node:
+	 *   short  length of the word in bytes
+	 *   byte[] UTF-8 encoded word
+	 *   short  number of children
+	 *   children: short edit distance, int offset of the child node
+	 */
+
+	private static boolean contains(ByteBuffer tree, String word) {
+		int table= tree.getInt(WORD_TABLE);
+		int low= 0;
+		int high= tree.getInt(WORD_COUNT) - 1;
+		while (low <= high) {
+			int middle= (low + high) >>> 1;
+			int comparison= readWord(tree, tree.getInt(table + 4 * middle)).compareTo(word);
+			if (comparison < 0)
+				low= middle + 1;
+			else if (comparison > 0)
+				high= middle - 1;
+			else
+				return true;
+		}
+		return false;
+	}
+
+	private void collect(String word, int maxDistance, List<String> result) {
+		synchronized (this) {
+			for (String added : fAddedWords) {
+				if (editDistance(word, added, maxDistance) <= maxDistance)
+					result.add(added);
+			}
+		}
+		ByteBuffer tree= getTree();
+		if (tree == null)
+			return;
+
+		int[] stack= new int[64];
+		int size= 0;
+		stack[size++]= tree.getInt(ROOT);
+		while (size > 0) {
+			int node= stack[--size];
+			String nodeWord= readWord(tree, node);
+			int distance= editDistance(word, nodeWord, Integer.MAX_VALUE);
+			if (distance <= maxDistance)
+				result.add(nodeWord);
+
+			int children= node + 2 + (tree.getShort(node) & 0xFFFF);
+			int childCount= tree.getShort(children) & 0xFFFF;
+			for (int i= 0; i < childCount; i++) {
+				int entry= children + 2 + i * 6;
+				int childDistance= tree.getShort(entry) & 0xFFFF;
+				if (childDistance >= distance - maxDistance && childDistance <= distance + maxDistance) {
+					if (size == stack.length) {
+						int[] newStack= new int[size * 2];
+						System.arraycopy(stack, 0, newStack, 0, size);
+						stack= newStack;
+					}
+					stack[size++]= tree.getInt(entry + 2);
+				}
+			}
+		}
+	}
+
+	private static String readWord(ByteBuffer tree, int node) {
+		int length= tree.getShort(node) & 0xFFFF;
+		byte[] bytes= new byte[length];
+		tree.get(node + 2, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Computes the Levenshtein distance of the given words.
+	 *
+	 * @param a the first word
+	 * @param b the second word
+	 * @param bound the distance from which on the exact value is not needed
+	 * @return the edit distance, or a value greater than <code>bound</code> if the distance is
+	 *         greater than <code>bound</code>
+	 */
+	static int editDistance(String a, String b, int bound) {
+		int lengthA= a.length();
+		int lengthB= b.length();
+		if (Math.abs(lengthA - lengthB) > bound)
+			return bound + 1;
+		int[] previous= new int[lengthB + 1];
+		int[] current= new int[lengthB + 1];
+		for (int j= 0; j <= lengthB; j++)
+			previous[j]= j;
+		for (int i= 1; i <= lengthA; i++) {
+			current[0]= i;
+			int rowMinimum= i;
+			char c= a.charAt(i - 1);
+			for (int j= 1; j <= lengthB; j++) {
+				int cost= c == b.charAt(j - 1) ? 0 : 1;
+				int value= Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+				current[j]= value;
+				if (value < rowMinimum)
+					rowMinimum= value;
+			}
+			if (rowMinimum > bound)
+				return bound + 1;
+			int[] swap= previous;
+			previous= current;
+			current= swap;
+		}
+		return previous[lengthB];
+	}
+
+	/**
+	 * In-memory BK-tree that is only used to build the cache file.
+	 */
+	private static final class BKTree {
+
+		private final List<byte[]> fWords= new ArrayList<>();
+		private final List<String> fStrings= new ArrayList<>();
+		/** Per node: edit distances and node indices of the children, or <code>null</code> */
+		private final List<int[]> fChildren= new ArrayList<>();
+		private final List<Integer> fChildCounts= new ArrayList<>();
+
+		void add(String word) {
+			byte[] bytes= word.getBytes(StandardCharsets.UTF_8);
+			if (bytes.length > 0xFFFF)
+				return;
+			if (fStrings.isEmpty()) {
+				addNode(word, bytes);
+				return;
+			}
+			int node= 0;
+			while (true) {
+				int distance= editDistance(word, fStrings.get(node), Integer.MAX_VALUE);
+				if (distance == 0)
+					return;
+				int child= findChild(node, distance);
+				if (child == -1) {
+					addChild(node, distance, addNode(word, bytes));
+					return;
+				}
+				node= child;
+			}
+		}
+
+		private int addNode(String word, byte[] bytes) {
+			fStrings.add(word);
+			fWords.add(bytes);
+			fChildren.add(null);
+			fChildCounts.add(Integer.valueOf(0));
+			return fStrings.size() - 1;
+		}
+
+		private int findChild(int node, int distance) {
+			int[] children= fChildren.get(node);
+			int count= fChildCounts.get(node).intValue();
+			for (int i= 0; i < count; i++) {
+				if (children[2 * i] == distance)
+					return children[2 * i + 1];
+			}
+			return -1;
+		}
+
+		private void addChild(int node, int distance, int child) {
+			int[] children= fChildren.get(node);
+			int count= fChildCounts.get(node).intValue();
+			if (children == null) {
+				children= new int[4];
+			} else if (children.length == 2 * count) {
+				int[] newChildren= new int[children.length * 2];
+				System.arraycopy(children, 0, newChildren, 0, children.length);
+				children= newChildren;
+			}
+			children[2 * count]= distance;
+			children[2 * count + 1]= child;
+			fChildren.set(node, children);
+			fChildCounts.set(node, Integer.valueOf(count + 1));
+		}
+
+		void write(DataOutputStream out, long lastModified, long length, byte[] key) throws IOException {
+			int nodeCount= fWords.size();
+			int[] offsets= new int[nodeCount];
+			int offset= HEADER_SIZE + key.length;
+			for (int i= 0; i < nodeCount; i++) {
+				offsets[i]= offset;
+				offset+= 4 + fWords.get(i).length + 6 * fChildCounts.get(i).intValue();
+			}
+
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(lastModified);
+			out.writeLong(length);
+			out.writeInt(nodeCount == 0 ? -1 : offsets[0]);
+			out.writeInt(offset);
+			out.writeInt(nodeCount);
+			out.writeInt(key.length);
+			out.write(key);
+
+			for (int i= 0; i < nodeCount; i++) {
+				byte[] bytes= fWords.get(i);
+				out.writeShort(bytes.length);
+				out.write(bytes);
+				int count= fChildCounts.get(i).intValue();
+				out.writeShort(count);
+				int[] children= fChildren.get(i);
+				for (int j= 0; j < count; j++) {
+					out.writeShort(children[2 * j]);
+					out.writeInt(offsets[children[2 * j + 1]]);
+				}
+			}
+
+			Integer[] sorted= new Integer[nodeCount];
+			for (int i= 0; i < nodeCount; i++)
+				sorted[i]= Integer.valueOf(i);
+			Arrays.sort(sorted, (a, b) -> fStrings.get(a.intValue()).compareTo(fStrings.get(b.intValue())));
+			for (Integer node : sorted)
+				out.writeInt(offsets[node.intValue()]);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2009 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -86,6 +86,12 @@ public interface ICleanUp {
 	/**
 	 * Create an <code>ICleanUpFix</code> which fixes all problems in <code>context</code> or
 	 * <code>null</code> if nothing to fix.
+	 * <p>
+	 * <strong>Note:</strong> When the clean up refactoring calculates the changes of a project with
+	 * several workers (see the system property <code>org.eclipse.jdt.ui.cleanup.workers</code>),
+	 * this method is called concurrently for different compilation units. Implementations must then
+	 * be thread safe and must not keep state between calls.
+	 * </p>
 	 *
 	 * @param context a context containing all information requested by {@link #getRequirements()}
 	 * @return the fix for the problems or <code>null</code> if nothing to fix
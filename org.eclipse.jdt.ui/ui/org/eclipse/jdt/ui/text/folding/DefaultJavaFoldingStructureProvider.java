@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2011 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -365,7 +365,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 				fUpdatingCount++;
 				try {
-					update(createContext(false));
+					if (!Boolean.getBoolean(DELTA_UPDATES_PROPERTY) || !updateFromDelta(createContext(false), delta))
+						update(createContext(false));
 				} finally {
 					fUpdatingCount--;
 				}
@@ -700,6 +701,14 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		}
 	}
 
+	/**
+	 * The system property that tells whether element changes only recompute the folding structure
+	 * of the members reported in the delta. It is read on every change.
+	 *
+	 * @since 3.29
+	 */
+	private static final String DELTA_UPDATES_PROPERTY= "org.eclipse.jdt.ui.folding.deltaUpdates"; //$NON-NLS-1$
+
 	/* context and listeners */
 	private JavaEditor fEditor;
 	private ProjectionListener fProjectionListener;
@@ -891,13 +900,117 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		if (ctx == null)
 			return;
 
+		computeFoldingStructure(ctx);
+		updateAnnotations(ctx, computeCurrentStructure(ctx));
+	}
+
+	/**
+	 * Updates the folding structure of the members reported in a fine-grained delta of the input.
+	 * <p>
+	 * The members that have been added or whose content has changed are computed again, together
+	 * with their children, as well as the member types whose children have changed. The annotations
+	 * of all other elements are left untouched: their positions, including those of their comments,
+	 * are kept up to date by the document while it is edited.
+	 * </p>
+	 *
+	 * @param ctx the context, may be <code>null</code>
+	 * @param delta the delta of the input
+	 * @return <code>true</code> if the folding structure has been updated, <code>false</code> if
+	 *         the delta requires a full update
+	 * @since 3.29
+	 */
+	private boolean updateFromDelta(FoldingStructureComputationContext ctx, IJavaElementDelta delta) {
+		if (ctx == null || !(fInput instanceof ICompilationUnit) || (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) == 0)
+			return false;
+
+		IJavaElementDelta[] children= delta.getAffectedChildren();
+		if (children.length == 0)
+			return false;
+
+		Set<IJavaElement> recomputed= new HashSet<>();
+		Set<IJavaElement> removed= new HashSet<>();
+		List<IJavaElement> enclosing= new ArrayList<>();
+		for (IJavaElementDelta child : children) {
+			// changes outside of the type declarations may affect the header comment
+			if (child.getElement().getElementType() != IJavaElement.TYPE || child.getKind() != IJavaElementDelta.CHANGED || child.getFlags() != IJavaElementDelta.F_CHILDREN)
+				return false;
+			collectChangedMembers(child.getAffectedChildren(), recomputed, removed, enclosing);
+		}
+
+		try {
+			String source= ((ICompilationUnit) fInput).getSource();
+			if (source == null)
+				return false;
+
+			IType[] types= ((ICompilationUnit) fInput).getTypes();
+			if (types.length > 0)
+				ctx.setFirstType(types[0]);
+
+			ctx.getScanner().setSource(source.toCharArray());
+			for (IJavaElement element : recomputed) {
+				if (element.getParent() == null || isContained(element.getParent(), recomputed))
+					continue;
+				computeFoldingStructure(element, ctx);
+				if (element instanceof IParent)
+					computeFoldingStructure(((IParent) element).getChildren(), ctx);
+			}
+			for (IJavaElement element : enclosing) {
+				if (!isContained(element, recomputed))
+					computeFoldingStructure(element, ctx);
+			}
+		} catch (JavaModelException x) {
+			return false;
+		}
+
+		Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx);
+		Set<IJavaElement> owners= new HashSet<>(recomputed);
+		owners.addAll(removed);
+		for (Iterator<IJavaElement> iter= oldStructure.keySet().iterator(); iter.hasNext();) {
+			IJavaElement element= iter.next();
+			if (!enclosing.contains(element) && !isContained(element, owners))
+				iter.remove();
+		}
+		updateAnnotations(ctx, oldStructure);
+		return true;
+	}
+
+	private static void collectChangedMembers(IJavaElementDelta[] deltas, Set<IJavaElement> recomputed, Set<IJavaElement> removed, List<IJavaElement> enclosing) {
+		for (IJavaElementDelta delta : deltas) {
+			IJavaElement element= delta.getElement();
+			switch (delta.getKind()) {
+				case IJavaElementDelta.ADDED:
+					recomputed.add(element);
+					break;
+				case IJavaElementDelta.REMOVED:
+					removed.add(element);
+					break;
+				default:
+					if (delta.getFlags() == IJavaElementDelta.F_CHILDREN) {
+						if (element.getElementType() == IJavaElement.TYPE)
+							enclosing.add(element);
+						collectChangedMembers(delta.getAffectedChildren(), recomputed, removed, enclosing);
+					} else {
+						recomputed.add(element);
+					}
+					break;
+			}
+		}
+	}
+
+	private boolean isContained(IJavaElement element, Set<IJavaElement> ancestors) {
+		for (IJavaElement e= element; e != null && !e.equals(fInput); e= e.getParent()) {
+			if (ancestors.contains(e))
+				return true;
+		}
+		return false;
+	}
+
+	private void updateAnnotations(FoldingStructureComputationContext ctx, Map<IJavaElement, List<Tuple>> oldStructure) {
 		Map<JavaProjectionAnnotation, Position> additions= new HashMap<>();
 		List<JavaProjectionAnnotation> deletions= new ArrayList<>();
 		List<JavaProjectionAnnotation> updates= new ArrayList<>();
 
-		computeFoldingStructure(ctx);
 		Map<JavaProjectionAnnotation, Position> newStructure= ctx.fMap;
-		Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx);
 
 		Iterator<JavaProjectionAnnotation> e= newStructure.keySet().iterator();
 		while (e.hasNext()) {
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.history;
+
+import org.junit.ClassRule;
+import org.junit.rules.ExternalResource;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryIndex;
+
+/**
+ * Runs the refactoring history service tests with the refactoring history index.
+ */
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+	RefactoringHistoryServiceTests.class
+})
+public class RefactoringHistoryIndexTests {
+
+	@ClassRule
+	public static ExternalResource fgIndex= new ExternalResource() {
+		private boolean fWasEnabled;
+
+		@Override
+		protected void before() throws Throwable {
+			fWasEnabled= RefactoringHistoryIndex.isEnabled();
+			RefactoringHistoryIndex.setEnabled(true);
+		}
+
+		@Override
+		protected void after() {
+			RefactoringHistoryIndex.setEnabled(fWasEnabled);
+		}
+	};
+}
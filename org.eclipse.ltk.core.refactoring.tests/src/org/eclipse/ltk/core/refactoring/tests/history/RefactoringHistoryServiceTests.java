@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,8 +21,10 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.After;
@@ -31,6 +33,7 @@ import org.junit.Test;
 import org.osgi.service.prefs.BackingStoreException;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 
 import org.eclipse.core.resources.IFolder;
@@ -39,10 +42,13 @@ import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.ltk.core.refactoring.CheckConditionsOperation;
+import org.eclipse.ltk.core.refactoring.PerformRefactoringHistoryOperation;
 import org.eclipse.ltk.core.refactoring.PerformRefactoringOperation;
+import org.eclipse.ltk.core.refactoring.Refactoring;
 import org.eclipse.ltk.core.refactoring.RefactoringCore;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.history.IRefactoringExecutionListener;
 import org.eclipse.ltk.core.refactoring.history.IRefactoringHistoryListener;
 import org.eclipse.ltk.core.refactoring.history.IRefactoringHistoryService;
@@ -304,6 +310,47 @@ public class RefactoringHistoryServiceTests {
 		assertEquals("", afterHistory.getDescriptors().length + BREAKING_NUMBER, workspaceHistory.getDescriptors().length);
 	}
 
+	private void performRefactoringHistoryHelper(boolean unshare) throws Exception {
+		final RefactoringHistory history= RefactoringHistoryService.getInstance().getProjectHistory(fProject.getProject(), null);
+		final RefactoringDescriptorProxy[] proxies= history.getDescriptors();
+		assertEquals("Refactoring history has wrong size", TOTAL_PROJECT_NUMBER, proxies.length);
+		final List<RefactoringDescriptor> performed= new ArrayList<>();
+		PerformRefactoringHistoryOperation operation= new PerformRefactoringHistoryOperation(history) {
+
+			@Override
+			protected RefactoringStatus aboutToPerformRefactoring(Refactoring refactoring, RefactoringDescriptor descriptor, IProgressMonitor monitor) {
+				if (unshare && performed.isEmpty()) {
+					// moves the history while the next descriptor is resolved
+					try {
+						setSharedRefactoringHistory(false);
+					} catch (Exception exception) {
+						throw new IllegalStateException(exception);
+					}
+				}
+				performed.add(descriptor);
+				return super.aboutToPerformRefactoring(refactoring, descriptor, monitor);
+			}
+		};
+		ResourcesPlugin.getWorkspace().run(operation, null);
+		assertTrue("Refactorings should have been performed", operation.getExecutionStatus().isOK());
+		assertEquals("Wrong number of performed refactorings", proxies.length, performed.size());
+		for (int index= 0; index < proxies.length; index++) {
+			assertEquals("Wrong refactoring performed", proxies[index].getTimeStamp(), performed.get(index).getTimeStamp());
+			assertEquals("Wrong refactoring performed", proxies[index].getDescription(), performed.get(index).getDescription());
+		}
+	}
+
+	@Test
+	public void testPerformRefactoringHistory0() throws Exception {
+		performRefactoringHistoryHelper(false);
+	}
+
+	@Test
+	public void testPerformRefactoringHistory1() throws Exception {
+		performRefactoringHistoryHelper(true);
+		assertFalse("Refactoring history should not be shared", RefactoringHistoryService.hasSharedRefactoringHistory(fProject.getProject()));
+	}
+
 	@Test
 	public void testPopDescriptor0() throws Exception {
 		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2020 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,8 +18,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import org.junit.After;
 import org.junit.Before;
@@ -39,8 +43,11 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 
+import org.eclipse.text.edits.InsertEdit;
+
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.CheckConditionsOperation;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
 import org.eclipse.ltk.core.refactoring.PerformChangeOperation;
 import org.eclipse.ltk.core.refactoring.PerformRefactoringOperation;
 import org.eclipse.ltk.core.refactoring.Refactoring;
@@ -49,12 +56,16 @@ import org.eclipse.ltk.core.refactoring.RefactoringContribution;
 import org.eclipse.ltk.core.refactoring.RefactoringCore;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
 import org.eclipse.ltk.core.refactoring.resource.DeleteResourcesDescriptor;
 import org.eclipse.ltk.core.refactoring.resource.MoveRenameResourceDescriptor;
 import org.eclipse.ltk.core.refactoring.resource.MoveResourceChange;
 import org.eclipse.ltk.core.refactoring.resource.MoveResourcesDescriptor;
 import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
 
+import org.eclipse.ltk.internal.core.refactoring.ResourceValidationCache;
+import org.eclipse.ltk.internal.core.refactoring.TextFileBufferPrefetcher;
+
 public class ResourceRefactoringTests {
 	private SimpleTestProject fProject;
 
@@ -391,6 +402,75 @@ public class ResourceRefactoringTests {
 		}
 	}
 
+	@Test
+	public void testPrefetchedTextFileChanges() throws Exception {
+		IFolder testFolder= fProject.createFolder("test");
+		IFile[] files= new IFile[20];
+		CompositeChange change= new CompositeChange("prefetch");
+		for (int i= 0; i < files.length; i++) {
+			files[i]= fProject.createFile(testFolder, "file" + i + ".txt", "hello");
+			TextFileChange textChange= new TextFileChange("change" + i, files[i]);
+			textChange.setEdit(new InsertEdit(5, " world"));
+			change.add(textChange);
+			if (i == 10) {
+				// a sibling change of the same file, applied to the result of the first one
+				TextFileChange sibling= new TextFileChange("sibling", files[i]);
+				sibling.setEdit(new InsertEdit(11, "!"));
+				change.add(sibling);
+			}
+		}
+
+		int window= TextFileBufferPrefetcher.getWindow();
+		TextFileBufferPrefetcher.setWindow(4);
+		try {
+			Change undoChange= perform(change);
+			for (int i= 0; i < files.length; i++)
+				assertEquals(i == 10 ? "hello world!" : "hello world", fProject.getContent(files[i]));
+
+			perform(undoChange);
+			for (IFile file : files)
+				assertEquals("hello", fProject.getContent(file));
+		} finally {
+			TextFileBufferPrefetcher.setWindow(window);
+		}
+	}
+
+	@Test
+	public void testValidationCacheOutOfSync() throws Exception {
+		IFolder testFolder= fProject.createFolder("test");
+		IFile file= fProject.createFile(testFolder, "myFile.txt", "hello");
+		CompositeChange change= new CompositeChange("validate");
+		TextFileChange textChange= new TextFileChange("change", file);
+		textChange.setEdit(new InsertEdit(5, " world"));
+		change.add(textChange);
+
+		boolean enabled= ResourceValidationCache.isEnabled();
+		ResourceValidationCache.setEnabled(true);
+		try {
+			change.initializeValidationData(null);
+			assertTrue(change.isValid(null).isOK());
+
+			// modified outside of the workspace, the cached state of the file is stale
+			File location= file.getLocation().toFile();
+			Files.write(location.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+			assertTrue(location.setLastModified(location.lastModified() + 10000));
+			assertTrue(change.isValid(null).isOK());
+
+			// the file buffer refuses to overwrite the modification
+			try {
+				new PerformChangeOperation(change).run(null);
+				fail("out of sync file has been overwritten");
+			} catch (CoreException e) {
+				// expected
+			}
+			file.refreshLocal(IResource.DEPTH_ZERO, null);
+			assertEquals("changed", fProject.getContent(file));
+		} finally {
+			change.dispose();
+			ResourceValidationCache.setEnabled(enabled);
+		}
+	}
+
 	private Change perform(Change change) throws CoreException {
 		PerformChangeOperation op= new PerformChangeOperation(change);
 		op.run(null);
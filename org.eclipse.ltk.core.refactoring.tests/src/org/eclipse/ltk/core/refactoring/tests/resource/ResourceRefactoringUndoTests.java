@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -57,12 +57,18 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+
+import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.CheckConditionsOperation;
 import org.eclipse.ltk.core.refactoring.PerformRefactoringOperation;
 import org.eclipse.ltk.core.refactoring.Refactoring;
 import org.eclipse.ltk.core.refactoring.RefactoringContribution;
 import org.eclipse.ltk.core.refactoring.RefactoringCore;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
 import org.eclipse.ltk.core.refactoring.resource.DeleteResourcesDescriptor;
 import org.eclipse.ltk.core.refactoring.resource.RenameResourceDescriptor;
 import org.eclipse.ltk.core.refactoring.tests.FileSystemHelper;
@@ -71,6 +77,7 @@ import org.eclipse.ltk.core.refactoring.tests.participants.ElementRenameProcesso
 import org.eclipse.ltk.core.refactoring.tests.participants.ElementRenameRefactoring;
 import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.UndoMemoryBudget;
 
 public class ResourceRefactoringUndoTests {
 	private static final String TEST_NEWPROJECT_NAME= "projectTestNew";
@@ -417,6 +424,62 @@ public class ResourceRefactoringUndoTests {
 		assertEquals(ElementRenameProcessor.WORKINGPRE_EXEC, h.get(i++));
 	}
 
+	@Test
+	public void testCompactedTextFileUndoRedoLTK() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < 1000; i++)
+			buffer.append("line ").append(i).append(" of the text file which is long enough to be compacted\n");
+		String original= buffer.toString();
+		testFile.setContents(new ByteArrayInputStream(original.getBytes(testFile.getCharset())), IResource.FORCE, getMonitor());
+
+		// edits changing the length of the text, such that the offsets of the undo edits depend on each other
+		MultiTextEdit edit= new MultiTextEdit();
+		for (int offset= 0; offset + 100 <= original.length(); offset+= 100) {
+			edit.addChild(new ReplaceEdit(offset, 90, "x"));
+			edit.addChild(new InsertEdit(offset + 95, "inserted"));
+		}
+		edit.addChild(new InsertEdit(original.length(), "end\n"));
+		TextFileChange first= new TextFileChange("first", testFile);
+		first.setEdit(edit);
+		TextFileChange second= new TextFileChange("second", testFile);
+		second.setEdit(new InsertEdit(0, "start\n"));
+
+		UndoMemoryBudget budget= UndoMemoryBudget.getDefault();
+		long size= UndoMemoryBudget.getBudget();
+		UndoMemoryBudget.setBudget(1);
+		try {
+			int compacted= budget.getCompactedCount();
+			first.initializeValidationData(getMonitor());
+			Change firstUndo= perform(first);
+			String changed= readContent(testFile);
+			second.initializeValidationData(getMonitor());
+			Change secondUndo= perform(second);
+			String last= readContent(testFile);
+			budget.join();
+			assertEquals("Undo edit should be compacted", compacted + 1, budget.getCompactedCount());
+
+			Change secondRedo= perform(secondUndo);
+			assertEquals(changed, readContent(testFile));
+			Change firstRedo= perform(firstUndo);
+			assertEquals(original, readContent(testFile));
+			assertEquals("Undo edit should be restored", compacted, budget.getCompactedCount());
+
+			perform(firstRedo).dispose();
+			assertEquals(changed, readContent(testFile));
+			perform(secondRedo).dispose();
+			assertEquals(last, readContent(testFile));
+		} finally {
+			UndoMemoryBudget.setBudget(size);
+		}
+	}
+
+	private Change perform(Change change) throws CoreException {
+		Change undo= change.perform(getMonitor());
+		change.dispose();
+		undo.initializeValidationData(getMonitor());
+		return undo;
+	}
+
 	private void execute(PerformRefactoringOperation op) throws CoreException {
 		ResourcesPlugin.getWorkspace().run(op, getMonitor());
 	}
@@ -29,6 +29,8 @@ import org.eclipse.core.runtime.SubProgressMonitor;
 
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.ResourceValidationCache;
+import org.eclipse.ltk.internal.core.refactoring.TextFileBufferPrefetcher;
 
 /**
  * Represents a composite change. Composite changes can be marked
@@ -234,6 +236,11 @@ public class CompositeChange extends Change {
 	@Override
 	public RefactoringStatus isValid(IProgressMonitor pm) throws CoreException {
 		RefactoringStatus result= new RefactoringStatus();
+		if (getParent() == null) {
+			ResourceValidationCache cache= ResourceValidationCache.getDefault();
+			if (cache != null)
+				cache.snapshot(this);
+		}
 		pm.beginTask("", fChanges.size()); //$NON-NLS-1$
 		for (Iterator<Change> iter= fChanges.iterator(); iter.hasNext() && !result.hasFatalError();) {
 			Change change= iter.next();
@@ -269,6 +276,7 @@ public class CompositeChange extends Change {
 		pm.setTaskName(RefactoringCoreMessages.CompositeChange_performingChangesTask_name);
 		Change change= null;
 		boolean canceled= false;
+		TextFileBufferPrefetcher prefetcher= TextFileBufferPrefetcher.start(this);
 		try {
 			for (Iterator<Change> iter= fChanges.iterator(); iter.hasNext();) {
 				change= iter.next();
@@ -279,6 +287,7 @@ public class CompositeChange extends Change {
 					Change undoChange= null;
 					try {
 						undoChange= change.perform(new SubProgressMonitor(pm, 1));
+						TextFileBufferPrefetcher.changePerformed(change);
 					} catch(OperationCanceledException e) {
 						canceled= true;
 						if (!internalContinueOnCancel())
@@ -324,6 +333,9 @@ public class CompositeChange extends Change {
 			handleUndos(change, undos);
 			internalHandleException(change, e);
 			throw e;
+		} finally {
+			if (prefetcher != null)
+				prefetcher.stop();
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2011 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,20 @@
  *******************************************************************************/
 package org.eclipse.ltk.core.refactoring;
 
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 
@@ -35,6 +44,13 @@ import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryServi
  * <code>IWorkspace</code> to achieve proper delta batching.
  * </p>
  * <p>
+ * Refactoring descriptors are resolved one at a time. While a refactoring is
+ * being performed, the descriptor of the next refactoring is resolved in the
+ * background. The descriptor is resolved again if the refactoring has moved
+ * the history of the project of the next refactoring, e.g. by renaming the
+ * project.
+ * </p>
+ * <p>
  * Note: this class is not intended to be instantiated or extended outside of
  * the refactoring framework.
  * </p>
@@ -208,16 +224,95 @@ public class PerformRefactoringHistoryOperation implements IWorkspaceRunnable {
 		// Do nothing
 	}
 
+	/**
+	 * Returns a key for the history location of the specified refactoring
+	 * descriptor proxy.
+	 *
+	 * @param proxy
+	 *            the refactoring descriptor proxy
+	 * @return the key, or <code>null</code> if the project of the proxy is not
+	 *         accessible
+	 */
+	private static String getHistoryLocation(final RefactoringDescriptorProxy proxy) {
+		final String name= proxy.getProject();
+		if (name == null || "".equals(name)) //$NON-NLS-1$
+			return ""; //$NON-NLS-1$
+		if (!Path.EMPTY.isValidSegment(name))
+			return null;
+		final IProject project= ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+		if (!project.isAccessible())
+			return null;
+		return String.valueOf(project.getLocationURI()) + ':' + RefactoringHistoryService.hasSharedRefactoringHistory(project);
+	}
+
+	/**
+	 * Starts to resolve the specified refactoring descriptor proxy in the
+	 * background.
+	 *
+	 * @param executor
+	 *            the executor to use, or <code>null</code>
+	 * @param proxies
+	 *            the refactoring descriptor proxies
+	 * @param index
+	 *            the index of the proxy to resolve
+	 * @return the future of the resolved descriptor, or <code>null</code> if
+	 *         the proxy is resolved when needed
+	 */
+	private static Future<RefactoringDescriptor> prefetchDescriptor(final ExecutorService executor, final RefactoringDescriptorProxy[] proxies, final int index) {
+		if (executor == null || index >= proxies.length)
+			return null;
+		final RefactoringDescriptorProxy proxy= proxies[index];
+		return executor.submit(() -> proxy.requestDescriptor(new NullProgressMonitor()));
+	}
+
+	/**
+	 * Resolves the specified refactoring descriptor proxy.
+	 *
+	 * @param proxy
+	 *            the refactoring descriptor proxy
+	 * @param future
+	 *            the future of the descriptor resolved in the background, or
+	 *            <code>null</code>
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the resolved descriptor, or <code>null</code>
+	 */
+	private static RefactoringDescriptor requestDescriptor(final RefactoringDescriptorProxy proxy, final Future<RefactoringDescriptor> future, final IProgressMonitor monitor) {
+		if (future != null) {
+			try {
+				return future.get();
+			} catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException exception) {
+				// Resolve the descriptor again to report the problem
+			} finally {
+				monitor.done();
+			}
+		}
+		return proxy.requestDescriptor(monitor);
+	}
+
 	@Override
 	public void run(final IProgressMonitor monitor) throws CoreException {
 		fExecutionStatus= new RefactoringStatus();
 		final RefactoringDescriptorProxy[] proxies= fRefactoringHistory.getDescriptors();
 		monitor.beginTask(RefactoringCoreMessages.PerformRefactoringHistoryOperation_perform_refactorings, 170 * proxies.length);
 		final IRefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		ExecutorService executor= null;
 		try {
 			service.connect();
-			for (RefactoringDescriptorProxy proxie : proxies) {
-				final RefactoringDescriptor descriptor= proxie.requestDescriptor(new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			if (proxies.length > 1) {
+				executor= Executors.newSingleThreadExecutor(r -> {
+					Thread thread= new Thread(r, "Refactoring Descriptor Resolver"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+			Future<RefactoringDescriptor> next= null;
+			for (int index= 0; index < proxies.length; index++) {
+				final RefactoringDescriptor descriptor= requestDescriptor(proxies[index], next, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+				next= prefetchDescriptor(executor, proxies, index + 1);
+				final String location= next != null ? getHistoryLocation(proxies[index + 1]) : null;
 				if (descriptor != null) {
 					RefactoringContext context= null;
 					RefactoringStatus status= new RefactoringStatus();
@@ -248,8 +343,15 @@ public class PerformRefactoringHistoryOperation implements IWorkspaceRunnable {
 							context.dispose();
 					}
 				}
+				if (next != null && !Objects.equals(location, getHistoryLocation(proxies[index + 1]))) {
+					// Resolved from the history before it has been moved
+					next.cancel(false);
+					next= null;
+				}
 			}
 		} finally {
+			if (executor != null)
+				executor.shutdownNow();
 			service.disconnect();
 			monitor.done();
 		}
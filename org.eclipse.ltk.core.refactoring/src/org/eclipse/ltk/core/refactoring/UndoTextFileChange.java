@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.ltk.core.refactoring;
 
+import java.lang.ref.WeakReference;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -41,6 +43,7 @@ import org.eclipse.ltk.internal.core.refactoring.Changes;
 import org.eclipse.ltk.internal.core.refactoring.ContentStamps;
 import org.eclipse.ltk.internal.core.refactoring.Lock;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.UndoMemoryBudget;
 
 /**
  * A change to perform the reverse change of a {@link TextFileChange}.
@@ -56,8 +59,35 @@ import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
  */
 public class UndoTextFileChange extends Change {
 
+	/**
+	 * The entry of an undo change in the {@link UndoMemoryBudget}. Does not keep the change alive.
+	 */
+	private static final class BudgetEntry extends UndoMemoryBudget.Entry {
+
+		private final WeakReference<UndoTextFileChange> fChange;
+
+		BudgetEntry(UndoTextFileChange change, long size) {
+			super(size);
+			fChange= new WeakReference<>(change);
+		}
+
+		@Override
+		protected boolean isAlive() {
+			return fChange.get() != null;
+		}
+
+		@Override
+		protected long compact() {
+			UndoTextFileChange change= fChange.get();
+			return change != null ? change.compactUndo() : -1;
+		}
+	}
+
 	private String fName;
-	private UndoEdit fUndo;
+	private TextEdit fUndo;
+	private UndoMemoryBudget.CompactedEdit fCompactedUndo;
+	private BudgetEntry fBudgetEntry;
+	private boolean fDisposed;
 	private IFile fFile;
 	private ContentStamp fContentStampToRestore;
 	private int fSaveMode;
@@ -149,6 +179,7 @@ public class UndoTextFileChange extends Change {
 		} finally {
 			pm.done();
 		}
+		registerUndo();
 	}
 
 	@Override
@@ -176,13 +207,14 @@ public class UndoTextFileChange extends Change {
 		pm.beginTask("", 2); //$NON-NLS-1$
 		ITextFileBuffer buffer= null;
 		try {
+			TextEdit undo= getUndoEdit();
 			manager.connect(fFile.getFullPath(), LocationKind.IFILE, new SubProgressMonitor(pm, 1));
 			buffer= manager.getTextFileBuffer(fFile.getFullPath(), LocationKind.IFILE);
 			IDocument document= buffer.getDocument();
 			ContentStamp currentStamp= ContentStamps.get(fFile, document);
 
 			boolean[] setContentStampSuccess= { false };
-			UndoEdit redo= performEdits(buffer, document, setContentStampSuccess);
+			UndoEdit redo= performEdits(buffer, document, undo, setContentStampSuccess);
 
 			if (needsSaving()) {
 				buffer.commit(pm, false);
@@ -214,9 +246,9 @@ public class UndoTextFileChange extends Change {
 		}
 	}
 
-	private UndoEdit performEdits(ITextFileBuffer buffer, final IDocument document, final boolean[] setContentStampSuccess) throws MalformedTreeException, BadLocationException, CoreException {
+	private UndoEdit performEdits(ITextFileBuffer buffer, final IDocument document, final TextEdit undo, final boolean[] setContentStampSuccess) throws MalformedTreeException, BadLocationException, CoreException {
 		if (! buffer.isSynchronizationContextRequested()) {
-			return doPerformEdits(document, setContentStampSuccess);
+			return doPerformEdits(document, undo, setContentStampSuccess);
 		}
 
 		ITextFileBufferManager fileBufferManager= FileBuffers.getTextFileBufferManager();
@@ -230,7 +262,7 @@ public class UndoTextFileChange extends Change {
 		Runnable runnable= () -> {
 			synchronized (completionLock) {
 				try {
-					result[0]= doPerformEdits(document, setContentStampSuccess);
+					result[0]= doPerformEdits(document, undo, setContentStampSuccess);
 				} catch (BadLocationException e) {
 					badLocationException[0]= e;
 				} catch (MalformedTreeException e) {
@@ -264,10 +296,10 @@ public class UndoTextFileChange extends Change {
 		return result[0];
 	}
 
-	private UndoEdit doPerformEdits(IDocument document, boolean[] setContentStampSuccess) throws MalformedTreeException, BadLocationException, CoreException {
+	private UndoEdit doPerformEdits(IDocument document, TextEdit undo, boolean[] setContentStampSuccess) throws MalformedTreeException, BadLocationException, CoreException {
 		// perform the changes
 		LinkedModeModel.closeAllModels(document);
-		UndoEdit redo= fUndo.apply(document, TextEdit.CREATE_UNDO);
+		UndoEdit redo= undo.apply(document, TextEdit.CREATE_UNDO);
 
 		// try to restore the document content stamp
 		setContentStampSuccess[0]= ContentStamps.set(document, fContentStampToRestore);
@@ -279,6 +311,86 @@ public class UndoTextFileChange extends Change {
 		if (fValidationState != null) {
 			fValidationState.dispose();
 		}
+		UndoMemoryBudget.CompactedEdit compacted;
+		BudgetEntry entry;
+		synchronized (this) {
+			compacted= fCompactedUndo;
+			fCompactedUndo= null;
+			entry= fBudgetEntry;
+			fDisposed= true;
+		}
+		if (compacted != null)
+			compacted.delete();
+		if (entry != null)
+			UndoMemoryBudget.getDefault().remove(entry, compacted != null);
+	}
+
+	/**
+	 * Registers the undo edit in the memory budget of the undo stack, once the change is about
+	 * to be put onto it.
+	 */
+	private void registerUndo() {
+		if (!UndoMemoryBudget.isEnabled())
+			return;
+		BudgetEntry entry;
+		synchronized (this) {
+			if (fBudgetEntry != null || fDisposed || fUndo == null)
+				return;
+			entry= new BudgetEntry(this, UndoMemoryBudget.estimateSize(fUndo));
+			fBudgetEntry= entry;
+		}
+		UndoMemoryBudget.getDefault().add(entry);
+	}
+
+	/**
+	 * Returns the undo edit, reading it again if it has been compacted.
+	 *
+	 * @return the undo edit
+	 * @throws CoreException if the compacted edit cannot be read
+	 */
+	private TextEdit getUndoEdit() throws CoreException {
+		UndoMemoryBudget.CompactedEdit compacted;
+		TextEdit undo;
+		synchronized (this) {
+			compacted= fCompactedUndo;
+			if (compacted != null) {
+				fUndo= compacted.restore();
+				fCompactedUndo= null;
+			}
+			undo= fUndo;
+		}
+		if (compacted != null) {
+			compacted.delete();
+			UndoMemoryBudget.getDefault().restored(fBudgetEntry);
+		}
+		return undo;
+	}
+
+	/**
+	 * Replaces the undo edit by its compacted form.
+	 *
+	 * @return the size of the compacted edit kept in memory, or <code>-1</code> if the edit has
+	 *         not been compacted
+	 */
+	private long compactUndo() {
+		TextEdit undo;
+		synchronized (this) {
+			undo= fUndo;
+		}
+		if (undo == null)
+			return -1;
+		UndoMemoryBudget.CompactedEdit compacted= UndoMemoryBudget.getDefault().compact(undo);
+		if (compacted == null)
+			return -1;
+		synchronized (this) {
+			if (fUndo != undo || fDisposed) {
+				compacted.delete();
+				return -1;
+			}
+			fUndo= null;
+			fCompactedUndo= compacted;
+		}
+		return compacted.getSize();
 	}
 
 	private boolean needsSaving() {
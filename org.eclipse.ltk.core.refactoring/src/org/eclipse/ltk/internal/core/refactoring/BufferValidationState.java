@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -101,6 +101,9 @@ public abstract class BufferValidationState {
 		if (resilientForDerived && fDerived) {
 			return new RefactoringStatus();
 		}
+		ResourceValidationCache cache= ResourceValidationCache.getDefault();
+		if (cache != null)
+			return isValid(cache.getState(fFile), needsSaving);
 		if (!fExisted) {
 			if (fFile.exists())
 				return RefactoringStatus.createFatalErrorStatus(Messages.format(
@@ -135,6 +138,35 @@ public abstract class BufferValidationState {
 		return new RefactoringStatus();
 	}
 
+	private RefactoringStatus isValid(ResourceValidationCache.FileState state, boolean needsSaving) {
+		if (fExisted != state.exists()) {
+			return RefactoringStatus.createFatalErrorStatus(Messages.format(
+				fExisted ? RefactoringCoreMessages.TextChanges_error_not_existing : RefactoringCoreMessages.TextChanges_error_existing,
+				BasicElementLabels.getPathLabel(fFile.getFullPath(), false)));
+		}
+		if (needsSaving) {
+			if (state.isReadOnly()) {
+				return RefactoringStatus.createFatalErrorStatus(Messages.format(
+					RefactoringCoreMessages.TextChanges_error_read_only,
+					BasicElementLabels.getPathLabel(fFile.getFullPath(), false)));
+			} else if (!state.isSynchronized()) {
+				return RefactoringStatus.createFatalErrorStatus(Messages.format(
+					RefactoringCoreMessages.TextChanges_error_outOfSync,
+					BasicElementLabels.getPathLabel(fFile.getFullPath(), false)));
+			}
+		}
+		if (fEncoding == null) {
+			return RefactoringStatus.createFatalErrorStatus(Messages.format(
+				RefactoringCoreMessages.BufferValidationState_no_character_encoding,
+				BasicElementLabels.getPathLabel(fFile.getFullPath(), false)));
+		} else if (!fEncoding.equals(state.getCharset())) {
+			return RefactoringStatus.createFatalErrorStatus(Messages.format(
+				RefactoringCoreMessages.BufferValidationState_character_encoding_changed,
+				BasicElementLabels.getPathLabel(fFile.getFullPath(), false)));
+		}
+		return new RefactoringStatus();
+	}
+
 	public void dispose() {
 	}
 
@@ -368,18 +400,20 @@ class SavedBufferValidationState extends BufferValidationState {
 		RefactoringStatus result= super.isValid(needsSaving);
 		if (result.hasFatalError())
 			return result;
+		ResourceValidationCache cache= ResourceValidationCache.getDefault();
+		ResourceValidationCache.FileState state= cache != null ? cache.getState(fFile) : null;
 		ModificationStamp currentStamp= getModificationStamp();
 		if (fModificationStamp != currentStamp.value) {
 			result.addFatalError(Messages.format(
 				RefactoringCoreMessages.TextChanges_error_content_changed, //$NON-NLS-1$
 				fFile.getFullPath().toString()
 				));
-		} else if (fFile.isReadOnly()) {
+		} else if (state != null ? state.isReadOnly() : fFile.isReadOnly()) {
 			result.addFatalError(Messages.format(
 				RefactoringCoreMessages.TextChanges_error_read_only, //$NON-NLS-1$
 				fFile.getFullPath().toString()
 				));
-		} else if (!fFile.isSynchronized(IResource.DEPTH_ZERO)) {
+		} else if (state != null ? !state.isSynchronized() : !fFile.isSynchronized(IResource.DEPTH_ZERO)) {
 			result.addFatalError(Messages.format(
 				RefactoringCoreMessages.TextChanges_error_outOfSync, //$NON-NLS-1$
 				fFile.getFullPath().toString()
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -121,6 +121,7 @@ public class RefactoringCorePlugin extends Plugin {
 		service.connect();
 		fRefactoringHistoryListener= new RefactoringHistorySerializer();
 		service.addHistoryListener(fRefactoringHistoryListener);
+		UndoMemoryBudget.deleteStaleFiles();
 	}
 
 	@Override
@@ -138,6 +139,7 @@ public class RefactoringCorePlugin extends Plugin {
 		if (fRefactoringHistoryListener != null)
 			service.removeHistoryListener(fRefactoringHistoryListener);
 		RefactoringContributionManager.getInstance().disconnect();
+		ResourceValidationCache.shutdown();
 		super.stop(context);
 	}
 
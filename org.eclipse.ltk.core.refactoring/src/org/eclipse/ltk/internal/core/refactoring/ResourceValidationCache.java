@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.MultiStateTextFileChange;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+
+/**
+ * Caches the state of files that {@link BufferValidationState} checks against the file system:
+ * whether a file exists, is read-only, is in sync with the file system, and its character
+ * encoding.
+ * <p>
+ * The states of all files touched by a change are computed in one pass by
+ * {@link #snapshot(Change)}, using a few threads for large changes. A resource change listener
+ * drops the state of every file that has been changed since, so validating a change again, e.g.
+ * right before it is performed after the preview, only checks the files that changed in between.
+ * </p>
+ * <p>
+ * The cached states are only as current as the workspace: modifications that do not produce
+ * resource deltas, like files changed or made read-only outside of the workspace without a
+ * refresh, are not detected when a change is validated. The files are not checked against the
+ * file system again, since this is what the cache saves. Such modifications are detected when the
+ * change is performed instead: the file buffers refuse to commit files that are not in sync with
+ * the file system, and the file system refuses to write read-only files.
+ * </p>
+ * <p>
+ * The cache is enabled with the system property
+ * <code>org.eclipse.ltk.core.refactoring.validationCache</code>.
+ * </p>
+ */
+public final class ResourceValidationCache {
+
+	/**
+	 * Tells whether change validation uses the cache.
+	 */
+	private static volatile boolean fgEnabled= Boolean.getBoolean("org.eclipse.ltk.core.refactoring.validationCache"); //$NON-NLS-1$
+
+	/**
+	 * The maximal number of cached states, the cache is cleared when it grows larger.
+	 */
+	private static final int MAX_ENTRIES= 50000;
+
+	/**
+	 * The minimal number of files per thread computing states.
+	 */
+	private static final int MIN_FILES_PER_WORKER= 200;
+
+	private static final int WORKER_COUNT= Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	private static ResourceValidationCache fgInstance;
+
+	/**
+	 * The worker threads that compute states of large changes, shared by all snapshots.
+	 */
+	private static final ThreadPoolExecutor fgExecutor;
+
+	static {
+		AtomicInteger threadCount= new AtomicInteger();
+		fgExecutor= new ThreadPoolExecutor(WORKER_COUNT, WORKER_COUNT, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+			Thread thread= new Thread(r, "Change Validation Worker-" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		fgExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * The validated state of a file.
+	 */
+	public static final class FileState {
+
+		private final long fStamp;
+
+		private final boolean fExists;
+
+		private final boolean fReadOnly;
+
+		private final boolean fSynchronized;
+
+		private final String fCharset;
+
+		private FileState(IFile file) {
+			fStamp= file.getModificationStamp();
+			fExists= file.exists();
+			fReadOnly= file.isReadOnly();
+			fSynchronized= file.isSynchronized(IResource.DEPTH_ZERO);
+			String charset;
+			try {
+				charset= file.getCharset(true);
+			} catch (CoreException e) {
+				charset= null;
+			}
+			fCharset= charset;
+		}
+
+		public boolean exists() {
+			return fExists;
+		}
+
+		public boolean isReadOnly() {
+			return fReadOnly;
+		}
+
+		public boolean isSynchronized() {
+			return fSynchronized;
+		}
+
+		/**
+		 * Returns the character encoding of the file.
+		 *
+		 * @return the encoding, or <code>null</code> if it could not be determined
+		 */
+		public String getCharset() {
+			return fCharset;
+		}
+	}
+
+	private final Map<IFile, FileState> fStates= new ConcurrentHashMap<>();
+
+	private final IResourceChangeListener fListener= this::resourceChanged;
+
+	private ResourceValidationCache() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(fListener, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Returns the shared cache.
+	 *
+	 * @return the cache, or <code>null</code> if validation does not use the cache
+	 */
+	public static synchronized ResourceValidationCache getDefault() {
+		if (!fgEnabled)
+			return null;
+		if (fgInstance == null)
+			fgInstance= new ResourceValidationCache();
+		return fgInstance;
+	}
+
+	/**
+	 * Returns whether change validation uses the cache.
+	 *
+	 * @return <code>true</code> if the cache is enabled
+	 */
+	public static boolean isEnabled() {
+		return fgEnabled;
+	}
+
+	/**
+	 * Enables or disables the cache. Disabling the cache discards it.
+	 *
+	 * @param enabled <code>true</code> to use the cache for change validation
+	 */
+	public static void setEnabled(boolean enabled) {
+		fgEnabled= enabled;
+		if (!enabled)
+			shutdown();
+	}
+
+	/**
+	 * Discards the shared cache and stops listening to resource changes.
+	 */
+	public static synchronized void shutdown() {
+		if (fgInstance != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(fgInstance.fListener);
+			fgInstance.fStates.clear();
+			fgInstance= null;
+		}
+	}
+
+	/**
+	 * Returns the state of a file, computing it if it is not cached or if the file has been
+	 * modified since.
+	 * <p>
+	 * The modification stamp of the file is compared as well, since the resource deltas of a
+	 * workspace operation are only broadcast when the operation ends.
+	 * </p>
+	 *
+	 * @param file the file
+	 * @return the state of the file
+	 */
+	public FileState getState(IFile file) {
+		FileState state= fStates.get(file);
+		if (state == null || state.fStamp != file.getModificationStamp()) {
+			state= new FileState(file);
+			put(file, state);
+		}
+		return state;
+	}
+
+	/**
+	 * Computes the states of all files modified by the text file changes of a change which are
+	 * not cached yet.
+	 *
+	 * @param change the change
+	 */
+	public void snapshot(Change change) {
+		Set<IFile> collected= new LinkedHashSet<>();
+		collectFiles(change, collected);
+		List<IFile> files= new ArrayList<>(collected.size());
+		for (IFile file : collected) {
+			if (!fStates.containsKey(file))
+				files.add(file);
+		}
+		int workers= Math.min(WORKER_COUNT, files.size() / MIN_FILES_PER_WORKER);
+		if (workers <= 1) {
+			for (IFile file : files)
+				put(file, new FileState(file));
+			return;
+		}
+		AtomicInteger next= new AtomicInteger();
+		List<Future<?>> futures= new ArrayList<>(workers);
+		try {
+			for (int i= 0; i < workers; i++) {
+				futures.add(fgExecutor.submit(() -> {
+					for (int index= next.getAndIncrement(); index < files.size(); index= next.getAndIncrement()) {
+						IFile file= files.get(index);
+						put(file, new FileState(file));
+					}
+				}));
+			}
+			for (Future<?> future : futures)
+				future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// the states that are missing are computed when the files are validated
+			RefactoringCorePlugin.log(e.getCause());
+		} finally {
+			for (Future<?> future : futures)
+				future.cancel(true);
+		}
+	}
+
+	private static void collectFiles(Change change, Set<IFile> result) {
+		if (!change.isEnabled())
+			return;
+		if (change instanceof CompositeChange) {
+			for (Change child : ((CompositeChange) change).getChildren())
+				collectFiles(child, result);
+		} else if (change instanceof TextFileChange) {
+			result.add(((TextFileChange) change).getFile());
+		} else if (change instanceof MultiStateTextFileChange) {
+			result.add((IFile) change.getModifiedElement());
+		}
+	}
+
+	private void put(IFile file, FileState state) {
+		if (fStates.size() >= MAX_ENTRIES)
+			fStates.clear();
+		fStates.put(file, state);
+	}
+
+	private void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null || fStates.isEmpty())
+			return;
+		try {
+			delta.accept(child -> {
+				IResource resource= child.getResource();
+				if (resource.getType() == IResource.FILE) {
+					if (child.getKind() != IResourceDelta.CHANGED || child.getFlags() != IResourceDelta.MARKERS)
+						fStates.remove(resource);
+					return false;
+				}
+				if ((child.getFlags() & (IResourceDelta.ENCODING | IResourceDelta.DESCRIPTION | IResourceDelta.OPEN)) != 0) {
+					// the encoding or the existence of contained files may have changed without a delta on the files
+					fStates.clear();
+					return false;
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			fStates.clear();
+		}
+	}
+}
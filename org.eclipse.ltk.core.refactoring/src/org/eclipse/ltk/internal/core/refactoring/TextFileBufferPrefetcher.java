@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+
+/**
+ * Connects the text file buffers of the text file changes of a composite change in the background,
+ * while the changes before them are performed.
+ * <p>
+ * The changes are still performed one after the other in the calling thread, which holds the
+ * scheduling rule of the refactoring. When a change connects to its buffer, the contents of the
+ * file have usually been read already. At most {@link #getWindow()} buffers are connected ahead of the
+ * performed change, and each buffer is disconnected right after its change has been performed.
+ * </p>
+ * <p>
+ * The buffer of a file that an earlier change modifies or affects is not prefetched, since it
+ * would be read before that change has been performed. The buffers are connected by a small pool
+ * of worker threads that is shared by all prefetchers; the threads end when they become idle.
+ * </p>
+ * <p>
+ * The window is set with the system property
+ * <code>org.eclipse.ltk.core.refactoring.bufferPrefetchWindow</code>. The default of
+ * <code>0</code> disables prefetching.
+ * </p>
+ */
+public final class TextFileBufferPrefetcher {
+
+	/**
+	 * The maximal number of buffers that are connected ahead of the performed change.
+	 */
+	private static volatile int fgWindow= Integer.getInteger("org.eclipse.ltk.core.refactoring.bufferPrefetchWindow", 0).intValue(); //$NON-NLS-1$
+
+	/**
+	 * The minimal number of text file changes for which buffers are prefetched.
+	 */
+	private static final int MIN_CHANGES= 16;
+
+	/**
+	 * The number of threads that connect buffers.
+	 */
+	private static final int WORKER_COUNT= Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * The prefetcher of the composite change that is being performed in the current thread.
+	 */
+	private static final ThreadLocal<TextFileBufferPrefetcher> fgCurrent= new ThreadLocal<>();
+
+	/**
+	 * The worker threads that connect buffers, shared by all prefetchers.
+	 */
+	private static final ThreadPoolExecutor fgExecutor;
+
+	static {
+		AtomicInteger threadCount= new AtomicInteger();
+		fgExecutor= new ThreadPoolExecutor(WORKER_COUNT, WORKER_COUNT, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+			Thread thread= new Thread(r, "Text File Buffer Prefetcher-" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		fgExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	private final List<TextFileChange> fChanges;
+
+	private final Map<TextFileChange, Future<IPath>> fConnects= new IdentityHashMap<>();
+
+	private final ITextFileBufferManager fManager;
+
+	private final int fWindow;
+
+	private int fNext;
+
+	private TextFileBufferPrefetcher(List<TextFileChange> changes, int window) {
+		fChanges= changes;
+		fWindow= window;
+		fManager= FileBuffers.getTextFileBufferManager();
+	}
+
+	/**
+	 * Returns the maximal number of buffers that are connected ahead of the performed change.
+	 *
+	 * @return the window, <code>0</code> if buffers are not prefetched
+	 */
+	public static int getWindow() {
+		return fgWindow;
+	}
+
+	/**
+	 * Sets the maximal number of buffers that are connected ahead of the performed change.
+	 *
+	 * @param window the window, <code>0</code> to disable prefetching
+	 */
+	public static void setWindow(int window) {
+		fgWindow= window;
+	}
+
+	/**
+	 * Starts to connect the buffers of the text file changes of a composite change that is about
+	 * to be performed.
+	 *
+	 * @param change the composite change
+	 * @return the prefetcher, to be stopped after the change has been performed, or
+	 *         <code>null</code> if no buffers are prefetched
+	 */
+	public static TextFileBufferPrefetcher start(CompositeChange change) {
+		int window= fgWindow;
+		if (window <= 0 || fgCurrent.get() != null)
+			return null;
+		List<TextFileChange> changes= new ArrayList<>();
+		collectTextFileChanges(change, changes, new HashSet<>());
+		if (changes.size() < MIN_CHANGES)
+			return null;
+		TextFileBufferPrefetcher prefetcher= new TextFileBufferPrefetcher(changes, window);
+		fgCurrent.set(prefetcher);
+		prefetcher.fill();
+		return prefetcher;
+	}
+
+	/**
+	 * Notifies the prefetcher of the current thread that a change has been performed.
+	 *
+	 * @param change the performed change
+	 */
+	public static void changePerformed(Change change) {
+		if (!(change instanceof TextFileChange))
+			return;
+		TextFileBufferPrefetcher prefetcher= fgCurrent.get();
+		if (prefetcher != null) {
+			prefetcher.release(prefetcher.fConnects.remove(change));
+			prefetcher.fill();
+		}
+	}
+
+	/**
+	 * Stops prefetching and disconnects the buffers that have been connected ahead.
+	 */
+	public void stop() {
+		fgCurrent.remove();
+		fNext= fChanges.size();
+		for (Future<IPath> connect : fConnects.values()) {
+			if (!connect.cancel(false))
+				release(connect);
+		}
+		fConnects.clear();
+	}
+
+	/**
+	 * Collects the text file changes whose files are not touched by an earlier change.
+	 *
+	 * @param composite the composite change
+	 * @param result the list to add the text file changes to
+	 * @param touched the paths of the resources touched by the changes collected so far
+	 */
+	private static void collectTextFileChanges(CompositeChange composite, List<TextFileChange> result, Set<IPath> touched) {
+		for (Change child : composite.getChildren()) {
+			if (!child.isEnabled())
+				continue;
+			if (child instanceof CompositeChange) {
+				collectTextFileChanges((CompositeChange) child, result, touched);
+				continue;
+			}
+			if (child instanceof TextFileChange) {
+				IFile file= ((TextFileChange) child).getFile();
+				if (file != null && !isTouched(file.getFullPath(), touched))
+					result.add((TextFileChange) child);
+			}
+			addTouched(child.getModifiedElement(), touched);
+			Object[] affected= child.getAffectedObjects();
+			if (affected != null) {
+				for (Object element : affected)
+					addTouched(element, touched);
+			}
+		}
+	}
+
+	private static boolean isTouched(IPath path, Set<IPath> touched) {
+		for (int i= 0; i <= path.segmentCount(); i++) {
+			if (touched.contains(path.removeLastSegments(i)))
+				return true;
+		}
+		return false;
+	}
+
+	private static void addTouched(Object element, Set<IPath> touched) {
+		IResource resource= null;
+		if (element instanceof IResource)
+			resource= (IResource) element;
+		else if (element instanceof IAdaptable)
+			resource= ((IAdaptable) element).getAdapter(IResource.class);
+		if (resource != null)
+			touched.add(resource.getFullPath());
+	}
+
+	private void fill() {
+		while (fConnects.size() < fWindow && fNext < fChanges.size()) {
+			TextFileChange change= fChanges.get(fNext++);
+			IFile file= change.getFile();
+			if (file == null || fConnects.containsKey(change))
+				continue;
+			fConnects.put(change, fgExecutor.submit(() -> {
+				if (!file.exists())
+					return null;
+				IPath path= file.getFullPath();
+				fManager.connect(path, LocationKind.IFILE, null);
+				return path;
+			}));
+		}
+	}
+
+	private void release(Future<IPath> connect) {
+		if (connect == null)
+			return;
+		try {
+			IPath path= connect.get();
+			if (path != null)
+				fManager.disconnect(path, LocationKind.IFILE, null);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			if (!(e.getCause() instanceof CoreException))
+				RefactoringCorePlugin.log(e.getCause());
+			// the change reports problems with its file when it is performed
+		} catch (CoreException e) {
+			RefactoringCorePlugin.log(e);
+		}
+	}
+}
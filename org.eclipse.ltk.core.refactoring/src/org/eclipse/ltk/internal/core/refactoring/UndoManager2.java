@@ -355,6 +355,40 @@ public class UndoManager2 implements IUndoManager {
 		}
 	}
 
+	//---- monitoring methods ------------------------------------------
+
+	/**
+	 * Returns the estimated memory used by the undo edits of text file changes that are kept in
+	 * memory.
+	 *
+	 * @return the size in bytes
+	 * @see UndoMemoryBudget
+	 */
+	public long getResidentUndoSize() {
+		return UndoMemoryBudget.getDefault().getResidentSize();
+	}
+
+	/**
+	 * Returns the memory used by the undo edits of text file changes that have been compacted to
+	 * stay within the memory budget of the undo stack.
+	 *
+	 * @return the size in bytes
+	 * @see UndoMemoryBudget
+	 */
+	public long getCompactedUndoSize() {
+		return UndoMemoryBudget.getDefault().getCompactedSize();
+	}
+
+	/**
+	 * Returns the number of text file changes whose undo edits have been compacted.
+	 *
+	 * @return the number of changes
+	 * @see UndoMemoryBudget
+	 */
+	public int getCompactedUndoCount() {
+		return UndoMemoryBudget.getDefault().getCompactedCount();
+	}
+
 	//---- testing methods ---------------------------------------------
 
 	public boolean testHasNumberOfUndos(int number) {
@@ -0,0 +1,507 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Keeps the memory used by the undo edits of performed text file changes within a budget.
+ * <p>
+ * Undo changes register their edits when their validation data is initialized. When the
+ * registered edits exceed the budget, the edits of the oldest undo changes are compacted in the
+ * background: they are serialized in compressed form and written to the state location of the
+ * plug-in. The edits are read again when the undo change is performed. Files left over from a
+ * previous session are deleted when the plug-in starts.
+ * </p>
+ * <p>
+ * The children of an {@link org.eclipse.text.edits.UndoEdit} are applied one after the other,
+ * the last child first, each relative to the document left by the previous one. They are stored
+ * with their offsets translated to the document before the undo, and restored as children of a
+ * {@link MultiTextEdit}, which applies them together with the same result. Undo edits whose
+ * children cannot be translated unambiguously, e.g. insertions at the same offset, stay in
+ * memory.
+ * </p>
+ * <p>
+ * The budget is set in megabytes with the system property
+ * <code>org.eclipse.ltk.core.refactoring.undoMemoryBudget</code>. The default of <code>0</code>
+ * keeps all edits in memory.
+ * </p>
+ */
+public final class UndoMemoryBudget {
+
+	/**
+	 * The budget in bytes, <code>0</code> if unbounded.
+	 */
+	private static volatile long fgBudget= Long.getLong("org.eclipse.ltk.core.refactoring.undoMemoryBudget", 0).longValue() * 1024 * 1024; //$NON-NLS-1$
+
+	/**
+	 * The name of the directory in the state location holding the compacted edits.
+	 */
+	private static final String DIRECTORY_NAME= "undo"; //$NON-NLS-1$
+
+	/**
+	 * The estimated size of an edit without its text.
+	 */
+	private static final int EDIT_OVERHEAD= 64;
+
+	/**
+	 * The minimal estimated size of the edits that are compacted.
+	 */
+	private static final int MIN_COMPACTED_SIZE= 8 * 1024;
+
+	private static UndoMemoryBudget fgInstance;
+
+	/**
+	 * The undo edits of a change.
+	 */
+	public abstract static class Entry {
+
+		private final long fSize;
+
+		private long fCompactedSize;
+
+		private boolean fRemoved;
+
+		/**
+		 * Creates a new entry.
+		 *
+		 * @param size the estimated size of the edits in memory
+		 */
+		protected Entry(long size) {
+			fSize= size;
+		}
+
+		/**
+		 * Tells whether the change is still referenced.
+		 *
+		 * @return <code>true</code> if the change can still be performed
+		 */
+		protected abstract boolean isAlive();
+
+		/**
+		 * Compacts the edits of the change.
+		 *
+		 * @return the size of the compacted edits kept in memory, or <code>-1</code> if the edits
+		 *         have not been compacted
+		 */
+		protected abstract long compact();
+	}
+
+	/**
+	 * The serialized form of compacted edits.
+	 */
+	public static final class CompactedEdit {
+
+		private byte[] fBytes;
+
+		private File fFile;
+
+		private CompactedEdit(byte[] bytes, File file) {
+			fBytes= bytes;
+			fFile= file;
+		}
+
+		/**
+		 * Returns the size of the compacted edits kept in memory.
+		 *
+		 * @return the size in bytes
+		 */
+		public long getSize() {
+			return fBytes != null ? fBytes.length : EDIT_OVERHEAD;
+		}
+
+		/**
+		 * Reads the edits again.
+		 *
+		 * @return the edits, to be applied with {@link TextEdit#CREATE_UNDO} instead of the
+		 *         original undo edit
+		 * @throws CoreException if the edits cannot be read
+		 */
+		public TextEdit restore() throws CoreException {
+			try (InputStream stream= fBytes != null ? new ByteArrayInputStream(fBytes) : Files.newInputStream(fFile.toPath());
+					DataInputStream input= new DataInputStream(new InflaterInputStream(stream))) {
+				MultiTextEdit result= new MultiTextEdit();
+				int count= input.readInt();
+				for (int i= 0; i < count; i++) {
+					int offset= input.readInt();
+					int length= input.readInt();
+					byte[] text= new byte[input.readInt()];
+					input.readFully(text);
+					result.addChild(new ReplaceEdit(offset, length, new String(text, StandardCharsets.UTF_8)));
+				}
+				return result;
+			} catch (IOException | MalformedTreeException e) {
+				throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IStatus.ERROR,
+						RefactoringCoreMessages.RefactoringCorePlugin_internal_error, e));
+			}
+		}
+
+		/**
+		 * Deletes the file holding the edits.
+		 */
+		public void delete() {
+			if (fFile != null)
+				fFile.delete();
+			fFile= null;
+			fBytes= null;
+		}
+	}
+
+	/**
+	 * The entries whose edits are in memory, the oldest first.
+	 */
+	private final LinkedHashSet<Entry> fResident= new LinkedHashSet<>();
+
+	/**
+	 * The entries whose edits are to be compacted by {@link #fCompactJob}.
+	 */
+	private final List<Entry> fPending= new ArrayList<>();
+
+	private final Job fCompactJob= Job.createSystem(RefactoringCoreMessages.UndoMemoryBudget_compact_job, this::compactPending);
+
+	private long fResidentSize;
+
+	private long fCompactedSize;
+
+	private int fCompactedCount;
+
+	private File fDirectory;
+
+	private int fNextFile;
+
+	private UndoMemoryBudget() {
+	}
+
+	/**
+	 * Tells whether the memory used by undo edits is bounded.
+	 *
+	 * @return <code>true</code> if a budget has been set
+	 */
+	public static boolean isEnabled() {
+		return fgBudget > 0;
+	}
+
+	/**
+	 * Returns the budget.
+	 *
+	 * @return the budget in bytes, <code>0</code> if unbounded
+	 */
+	public static long getBudget() {
+		return fgBudget;
+	}
+
+	/**
+	 * Sets the budget for the undo edits registered from now on.
+	 *
+	 * @param budget the budget in bytes, <code>0</code> if unbounded
+	 */
+	public static void setBudget(long budget) {
+		fgBudget= budget;
+	}
+
+	/**
+	 * Deletes the compacted edits left over from a previous session in the background.
+	 */
+	public static void deleteStaleFiles() {
+		Job job= Job.createSystem(RefactoringCoreMessages.UndoMemoryBudget_delete_job, monitor -> {
+			getDefault().deleteFiles();
+		});
+		job.schedule();
+	}
+
+	/**
+	 * Returns the shared budget.
+	 *
+	 * @return the budget
+	 */
+	public static synchronized UndoMemoryBudget getDefault() {
+		if (fgInstance == null)
+			fgInstance= new UndoMemoryBudget();
+		return fgInstance;
+	}
+
+	/**
+	 * Estimates the memory used by an undo edit.
+	 *
+	 * @param edit the undo edit
+	 * @return the estimated size in bytes
+	 */
+	public static long estimateSize(TextEdit edit) {
+		long size= EDIT_OVERHEAD;
+		for (TextEdit child : edit.getChildren()) {
+			size+= EDIT_OVERHEAD;
+			if (child instanceof ReplaceEdit)
+				size+= 2L * ((ReplaceEdit) child).getText().length();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the estimated memory used by the undo edits which are not compacted.
+	 *
+	 * @return the size in bytes
+	 */
+	public synchronized long getResidentSize() {
+		return fResidentSize;
+	}
+
+	/**
+	 * Returns the memory used by the compacted undo edits.
+	 *
+	 * @return the size in bytes
+	 */
+	public synchronized long getCompactedSize() {
+		return fCompactedSize;
+	}
+
+	/**
+	 * Returns the number of changes whose undo edits are compacted.
+	 *
+	 * @return the number of changes
+	 */
+	public synchronized int getCompactedCount() {
+		return fCompactedCount;
+	}
+
+	/**
+	 * Registers the edits of a change, and schedules the compaction of the edits of the oldest
+	 * changes if the budget is exceeded.
+	 *
+	 * @param entry the entry of the change
+	 */
+	public void add(Entry entry) {
+		boolean schedule= false;
+		synchronized (this) {
+			entry.fRemoved= false;
+			if (fResident.add(entry))
+				fResidentSize+= entry.fSize;
+			Iterator<Entry> iterator= fResident.iterator();
+			while (fResidentSize > fgBudget && iterator.hasNext()) {
+				Entry oldest= iterator.next();
+				if (oldest == entry)
+					break;
+				if (oldest.isAlive() && oldest.fSize < MIN_COMPACTED_SIZE)
+					continue;
+				iterator.remove();
+				fResidentSize-= oldest.fSize;
+				if (oldest.isAlive()) {
+					fPending.add(oldest);
+					schedule= true;
+				}
+			}
+		}
+		if (schedule)
+			fCompactJob.schedule();
+	}
+
+	/**
+	 * Waits until the pending compactions are done.
+	 *
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public void join() throws InterruptedException {
+		fCompactJob.join();
+	}
+
+	private void compactPending(IProgressMonitor monitor) {
+		while (!monitor.isCanceled()) {
+			Entry victim;
+			synchronized (this) {
+				if (fPending.isEmpty())
+					return;
+				victim= fPending.remove(0);
+			}
+			long compactedSize= victim.compact();
+			synchronized (this) {
+				if (compactedSize >= 0) {
+					victim.fCompactedSize= compactedSize;
+					fCompactedSize+= compactedSize;
+					fCompactedCount++;
+				} else if (!victim.fRemoved && victim.isAlive() && fResident.add(victim)) {
+					fResidentSize+= victim.fSize;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Notifies the budget that the edits of a change have been read again.
+	 *
+	 * @param entry the entry of the change
+	 */
+	public void restored(Entry entry) {
+		synchronized (this) {
+			fCompactedSize-= entry.fCompactedSize;
+			fCompactedCount--;
+			entry.fCompactedSize= 0;
+		}
+		add(entry);
+	}
+
+	/**
+	 * Unregisters the edits of a disposed change.
+	 *
+	 * @param entry the entry of the change
+	 * @param compacted <code>true</code> if the edits were compacted
+	 */
+	public synchronized void remove(Entry entry, boolean compacted) {
+		entry.fRemoved= true;
+		fPending.remove(entry);
+		if (fResident.remove(entry))
+			fResidentSize-= entry.fSize;
+		if (compacted) {
+			fCompactedSize-= entry.fCompactedSize;
+			fCompactedCount--;
+			entry.fCompactedSize= 0;
+		}
+	}
+
+	/**
+	 * Serializes an undo edit in compressed form.
+	 *
+	 * @param edit the undo edit
+	 * @return the compacted edit, or <code>null</code> if the edit cannot be compacted
+	 */
+	public CompactedEdit compact(TextEdit edit) {
+		List<ReplaceEdit> edits= translate(edit.getChildren());
+		if (edits == null)
+			return null;
+		byte[] bytes;
+		try {
+			ByteArrayOutputStream buffer= new ByteArrayOutputStream();
+			try (DataOutputStream output= new DataOutputStream(new DeflaterOutputStream(buffer))) {
+				output.writeInt(edits.size());
+				for (ReplaceEdit child : edits) {
+					byte[] text= child.getText().getBytes(StandardCharsets.UTF_8);
+					output.writeInt(child.getOffset());
+					output.writeInt(child.getLength());
+					output.writeInt(text.length);
+					output.write(text);
+				}
+			}
+			bytes= buffer.toByteArray();
+		} catch (IOException e) {
+			return null;
+		}
+		File file= createFile();
+		if (file != null) {
+			try (OutputStream output= Files.newOutputStream(file.toPath())) {
+				output.write(bytes);
+				return new CompactedEdit(null, file);
+			} catch (IOException e) {
+				file.delete();
+			}
+		}
+		return new CompactedEdit(bytes, null);
+	}
+
+	/**
+	 * Translates the children of an undo edit, which are applied one after the other starting
+	 * with the last one, into edits relative to the document before the undo.
+	 *
+	 * @param children the children of the undo edit
+	 * @return the translated edits in ascending order of their offsets, or <code>null</code> if
+	 *         the children cannot be applied together
+	 */
+	private static List<ReplaceEdit> translate(TextEdit[] children) {
+		// the translated edits applied so far, in ascending order of their offsets
+		List<ReplaceEdit> result= new ArrayList<>(children.length);
+		for (int i= children.length - 1; i >= 0; i--) {
+			if (!(children[i] instanceof ReplaceEdit) || children[i].hasChildren())
+				return null;
+			ReplaceEdit child= (ReplaceEdit) children[i];
+			int offset= child.getOffset();
+			int end= offset + child.getLength();
+			int delta= 0;
+			int index= 0;
+			for (; index < result.size(); index++) {
+				ReplaceEdit applied= result.get(index);
+				int start= applied.getOffset() + delta;
+				int length= applied.getText().length();
+				if (start >= end && (start > offset || length > 0))
+					break;
+				if (start + length > offset)
+					return null; // overlaps an applied edit
+				delta+= length - applied.getLength();
+			}
+			int translated= offset - delta;
+			if (index > 0 && result.get(index - 1).getOffset() == translated
+					|| index < result.size() && result.get(index).getOffset() == translated)
+				return null; // the order of the edits at this offset would be lost
+			result.add(index, new ReplaceEdit(translated, child.getLength(), child.getText()));
+		}
+		return result;
+	}
+
+	private synchronized File createFile() {
+		if (fDirectory == null) {
+			File directory= getDirectory();
+			if (directory == null)
+				return null;
+			deleteFiles();
+			if (!directory.isDirectory() && !directory.mkdirs())
+				return null;
+			fDirectory= directory;
+		}
+		return new File(fDirectory, "undo" + fNextFile++ + ".bin"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Deletes the compacted edits of a previous session, unless edits have already been compacted
+	 * in this session.
+	 */
+	private synchronized void deleteFiles() {
+		if (fDirectory != null)
+			return;
+		File directory= getDirectory();
+		File[] files= directory != null ? directory.listFiles() : null;
+		if (files != null) {
+			for (File file : files)
+				file.delete();
+		}
+	}
+
+	private static File getDirectory() {
+		RefactoringCorePlugin plugin= RefactoringCorePlugin.getDefault();
+		if (plugin == null)
+			return null;
+		return plugin.getStateLocation().append(DIRECTORY_NAME).toFile();
+	}
+}
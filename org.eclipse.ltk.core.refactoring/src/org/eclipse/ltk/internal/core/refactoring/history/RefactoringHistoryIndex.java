@@ -0,0 +1,642 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.SubProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+
+/**
+ * Binary index of the refactoring descriptors stored in a refactoring history
+ * location.
+ * <p>
+ * The XML history files and the <code>refactorings.index</code> files remain
+ * the authoritative representation of a refactoring history, since project
+ * histories are shared with other workspaces. The index caches the time stamps
+ * and descriptions of all index files of a history location in a sorted form,
+ * such that time ranges are answered by a binary search without reading the
+ * index files again. Descriptors are only materialized when requested.
+ * </p>
+ * <p>
+ * The index is persisted as an append-only log in the state location of the
+ * plug-in. Each record is a snapshot of one index file, together with its
+ * modification time and length, so the log is also the manifest of the index
+ * files of the history location. The history location is only walked by the
+ * first query of a session, which migrates the existing history files if the
+ * log is missing or incompatible, and reads index files which have been changed
+ * in the meantime, e.g. by an update from a version control system. Later
+ * queries only compare the index files listed in the manifest with their
+ * snapshots. The refactoring history managers report the index files they
+ * change, and the history location is walked again when the refactoring
+ * history service sees index files being added by others. The log is compacted
+ * when it contains too many superseded records.
+ * </p>
+ */
+public final class RefactoringHistoryIndex {
+
+	/** Tells whether the refactoring history managers use the index */
+	private static volatile boolean fgEnabled= Boolean.getBoolean("org.eclipse.ltk.core.refactoring.historyIndex"); //$NON-NLS-1$
+
+	/** The magic number of the log file */
+	private static final int FILE_MAGIC= 0x52484958;
+
+	/** The version of the log file format */
+	private static final int FILE_VERSION= 1;
+
+	/** The record kind of an index file snapshot */
+	private static final byte RECORD_FILE= 1;
+
+	/** The record kind of a removed index file */
+	private static final byte RECORD_REMOVED= 2;
+
+	/** The minimal number of superseded records before the log is compacted */
+	private static final int MIN_SUPERSEDED_RECORDS= 64;
+
+	/** The shared indexes, by URI of the history location */
+	private static final Map<URI, RefactoringHistoryIndex> fgIndexes= new HashMap<>();
+
+	/**
+	 * Snapshot of the entries of one index file.
+	 */
+	private static final class FileEntry {
+
+		/** The descriptions, in the order of the time stamps */
+		private final String[] fDescriptions;
+
+		/** The length of the index file */
+		private final long fLength;
+
+		/** The modification time of the index file */
+		private final long fModified;
+
+		/** The time stamps, in ascending order */
+		private final long[] fStamps;
+
+		private FileEntry(final long modified, final long length, final long[] stamps, final String[] descriptions) {
+			fModified= modified;
+			fLength= length;
+			fStamps= stamps;
+			fDescriptions= descriptions;
+		}
+
+		private boolean matches(final IFileInfo info) {
+			return fModified == info.getLastModified() && fLength == info.getLength();
+		}
+	}
+
+	/**
+	 * Returns the shared index of the specified history location.
+	 *
+	 * @param store
+	 *            the history file store
+	 * @return the index, or <code>null</code> if the index is disabled or the
+	 *         history location cannot be indexed
+	 */
+	static RefactoringHistoryIndex getIndex(final IFileStore store) {
+		if (!fgEnabled)
+			return null;
+		final URI uri= store.toURI();
+		if (uri == null)
+			return null;
+		final RefactoringCorePlugin plugin= RefactoringCorePlugin.getDefault();
+		if (plugin == null)
+			return null;
+		synchronized (fgIndexes) {
+			RefactoringHistoryIndex index= fgIndexes.get(uri);
+			if (index == null) {
+				final File directory= plugin.getStateLocation().append("historyIndex").toFile(); //$NON-NLS-1$
+				index= new RefactoringHistoryIndex(store, uri, new File(directory, Integer.toHexString(uri.toString().hashCode()) + ".index")); //$NON-NLS-1$
+				fgIndexes.put(uri, index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Makes the next query of the index of the specified history location
+	 * walk the location again, since index files have been added to it
+	 * without a refactoring history manager.
+	 *
+	 * @param store
+	 *            the history file store
+	 */
+	static void locationChanged(final IFileStore store) {
+		final URI uri= store.toURI();
+		if (uri == null)
+			return;
+		final RefactoringHistoryIndex index;
+		synchronized (fgIndexes) {
+			index= fgIndexes.get(uri);
+		}
+		if (index != null)
+			index.reset();
+	}
+
+	/**
+	 * Returns whether the refactoring history managers use the index.
+	 *
+	 * @return <code>true</code> if the index is enabled
+	 */
+	public static boolean isEnabled() {
+		return fgEnabled;
+	}
+
+	/**
+	 * Determines whether the refactoring history managers use the index.
+	 * Indexes which have not been kept up to date while the index was disabled
+	 * are discarded.
+	 *
+	 * @param enabled
+	 *            <code>true</code> to enable the index
+	 */
+	public static void setEnabled(final boolean enabled) {
+		synchronized (fgIndexes) {
+			if (enabled && !fgEnabled)
+				fgIndexes.clear();
+			fgEnabled= enabled;
+		}
+	}
+
+	/** The descriptions of all entries, in the order of the time stamps */
+	private String[] fDescriptions= new String[0];
+
+	/** The snapshots of the index files, by path relative to the history location */
+	private final Map<String, FileEntry> fFiles= new HashMap<>();
+
+	/** Has the log been read? */
+	private boolean fLoaded= false;
+
+	/** The log file */
+	private final File fLogFile;
+
+	/** The number of records in the log file */
+	private int fRecords= 0;
+
+	/** Do the sorted arrays have to be computed again? */
+	private boolean fSorted= false;
+
+	/** The time stamps of all entries, in ascending order */
+	private long[] fStamps= new long[0];
+
+	/** The history file store */
+	private final IFileStore fStore;
+
+	/** The URI of the history location */
+	private final URI fURI;
+
+	/** Has the history location been walked in this session? */
+	private boolean fWalked= false;
+
+	/**
+	 * Creates a new refactoring history index.
+	 *
+	 * @param store
+	 *            the history file store
+	 * @param uri
+	 *            the URI of the history location
+	 * @param log
+	 *            the log file
+	 */
+	private RefactoringHistoryIndex(final IFileStore store, final URI uri, final File log) {
+		fStore= store;
+		fURI= uri;
+		fLogFile= log;
+	}
+
+	/**
+	 * Appends records to the log file.
+	 *
+	 * @param paths
+	 *            the paths of the index files whose snapshots to append
+	 */
+	private void appendRecords(final Set<String> paths) {
+		if (paths.isEmpty())
+			return;
+		if (fRecords == 0 || !fLogFile.isFile() || fRecords - fFiles.size() + paths.size() > Math.max(MIN_SUPERSEDED_RECORDS, fFiles.size())) {
+			compact();
+			return;
+		}
+		try (DataOutputStream output= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fLogFile, true)))) {
+			for (String path : paths) {
+				writeRecord(output, path, fFiles.get(path));
+				fRecords++;
+			}
+		} catch (IOException exception) {
+			RefactoringCorePlugin.log(exception);
+			fLogFile.delete();
+			fRecords= 0;
+		}
+	}
+
+	/**
+	 * Writes the current snapshots into a new log file, dropping all
+	 * superseded records.
+	 */
+	private void compact() {
+		final File directory= fLogFile.getParentFile();
+		if (!directory.isDirectory() && !directory.mkdirs())
+			return;
+		final File temporary= new File(directory, fLogFile.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream output= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+				output.writeInt(FILE_MAGIC);
+				output.writeInt(FILE_VERSION);
+				output.writeUTF(fURI.toString());
+				for (Entry<String, FileEntry> entry : fFiles.entrySet())
+					writeRecord(output, entry.getKey(), entry.getValue());
+			}
+			Files.move(temporary.toPath(), fLogFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			fRecords= fFiles.size();
+		} catch (IOException exception) {
+			RefactoringCorePlugin.log(exception);
+			temporary.delete();
+			fRecords= 0;
+		}
+	}
+
+	/**
+	 * Updates the snapshot of the specified index file after the refactoring
+	 * history manager has changed it.
+	 *
+	 * @param file
+	 *            the index file
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while reading the index file
+	 */
+	synchronized void indexChanged(final IFileStore file, final IProgressMonitor monitor) throws CoreException {
+		if (!fLoaded)
+			return;
+		final String path= getRelativePath(file);
+		if (path == null)
+			return;
+		final IFileInfo info= file.fetchInfo(EFS.NONE, monitor);
+		final Set<String> changed= new HashSet<>(2);
+		if (info.exists())
+			readIndexFile(file, path, info, monitor);
+		else if (fFiles.remove(path) != null)
+			fSorted= false;
+		changed.add(path);
+		appendRecords(changed);
+	}
+
+	/**
+	 * Returns the path of the specified file relative to the history location.
+	 *
+	 * @param file
+	 *            the file
+	 * @return the relative path, or <code>null</code> if the file is not in
+	 *         the history location
+	 */
+	private String getRelativePath(final IFileStore file) {
+		final String path= fURI.relativize(file.toURI()).getPath();
+		if (path == null || path.equals(file.toURI().getPath()))
+			return null;
+		return path;
+	}
+
+	/**
+	 * Reads the log file, if not already done.
+	 */
+	private void load() {
+		if (fLoaded)
+			return;
+		fLoaded= true;
+		if (!fLogFile.isFile())
+			return;
+		try (DataInputStream input= new DataInputStream(new BufferedInputStream(new FileInputStream(fLogFile)))) {
+			if (input.readInt() != FILE_MAGIC || input.readInt() != FILE_VERSION || !fURI.toString().equals(input.readUTF()))
+				return;
+			while (true) {
+				final byte kind;
+				try {
+					kind= input.readByte();
+				} catch (EOFException exception) {
+					break;
+				}
+				final String path= input.readUTF();
+				if (kind == RECORD_FILE) {
+					final long modified= input.readLong();
+					final long length= input.readLong();
+					final int count= input.readInt();
+					final long[] stamps= new long[count];
+					final String[] descriptions= new String[count];
+					for (int index= 0; index < count; index++) {
+						stamps[index]= input.readLong();
+						descriptions[index]= input.readUTF();
+					}
+					fFiles.put(path, new FileEntry(modified, length, stamps, descriptions));
+				} else if (kind == RECORD_REMOVED)
+					fFiles.remove(path);
+				else
+					throw new IOException("Unknown record kind " + kind); //$NON-NLS-1$
+				fRecords++;
+			}
+		} catch (IOException exception) {
+			// Truncated or corrupt log, the snapshots read so far are validated against the history files
+			fRecords= 0;
+		}
+	}
+
+	/**
+	 * Returns proxies for the refactoring descriptors in the specified time
+	 * range.
+	 *
+	 * @param project
+	 *            the name of the project, or <code>null</code> for the
+	 *            workspace
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the proxies, in ascending order of their time stamps
+	 * @throws CoreException
+	 *             if an error occurs while reading the history location
+	 */
+	synchronized RefactoringDescriptorProxy[] query(final String project, final long start, final long end, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 100);
+			load();
+			validate(new SubProgressMonitor(monitor, 90));
+			sort();
+			int first= Arrays.binarySearch(fStamps, start);
+			if (first < 0)
+				first= -first - 1;
+			while (first > 0 && fStamps[first - 1] == start)
+				first--;
+			int last= first;
+			while (last < fStamps.length && fStamps[last] <= end)
+				last++;
+			final RefactoringDescriptorProxy[] proxies= new RefactoringDescriptorProxy[last - first];
+			for (int index= first; index < last; index++)
+				proxies[index - first]= new DefaultRefactoringDescriptorProxy(fDescriptions[index], project, fStamps[index]);
+			monitor.worked(10);
+			return proxies;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Reads the specified index file into a new snapshot.
+	 *
+	 * @param file
+	 *            the index file
+	 * @param path
+	 *            the path relative to the history location
+	 * @param info
+	 *            the file info of the index file
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while reading the index file
+	 */
+	private void readIndexFile(final IFileStore file, final String path, final IFileInfo info, final IProgressMonitor monitor) throws CoreException {
+		final RefactoringDescriptorProxy[] proxies;
+		try (InputStream stream= file.openInputStream(EFS.NONE, monitor)) {
+			proxies= RefactoringHistoryManager.readRefactoringDescriptorProxies(stream, null, 0, Long.MAX_VALUE);
+		} catch (IOException exception) {
+			throw RefactoringHistoryManager.createCoreException(exception);
+		}
+		RefactoringHistoryManager.sortRefactoringDescriptorsAscending(proxies);
+		final long[] stamps= new long[proxies.length];
+		final String[] descriptions= new String[proxies.length];
+		for (int index= 0; index < proxies.length; index++) {
+			stamps[index]= proxies[index].getTimeStamp();
+			descriptions[index]= proxies[index].getDescription();
+		}
+		fFiles.put(path, new FileEntry(info.getLastModified(), info.getLength(), stamps, descriptions));
+		fSorted= false;
+	}
+
+	/**
+	 * Walks the history location again on the next query.
+	 */
+	private synchronized void reset() {
+		fWalked= false;
+	}
+
+	/**
+	 * Merges the snapshots of all index files into the sorted arrays, if
+	 * necessary.
+	 */
+	private void sort() {
+		if (fSorted)
+			return;
+		int count= 0;
+		for (FileEntry entry : fFiles.values())
+			count+= entry.fStamps.length;
+		final Integer[] order= new Integer[count];
+		final long[] stamps= new long[count];
+		final String[] descriptions= new String[count];
+		int offset= 0;
+		for (FileEntry entry : fFiles.values()) {
+			for (int index= 0; index < entry.fStamps.length; index++, offset++) {
+				stamps[offset]= entry.fStamps[index];
+				descriptions[offset]= entry.fDescriptions[index];
+				order[offset]= Integer.valueOf(offset);
+			}
+		}
+		Arrays.sort(order, (first, second) -> Long.compare(stamps[first.intValue()], stamps[second.intValue()]));
+		fStamps= new long[count];
+		fDescriptions= new String[count];
+		for (int index= 0; index < count; index++) {
+			fStamps[index]= stamps[order[index].intValue()];
+			fDescriptions[index]= descriptions[order[index].intValue()];
+		}
+		fSorted= true;
+	}
+
+	/**
+	 * Compares the index files of the history location with the recorded
+	 * snapshots, and reads the index files which have changed.
+	 * <p>
+	 * The history location is walked by the first call of a session. Later
+	 * calls only fetch the file infos of the index files in the manifest.
+	 * </p>
+	 *
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while reading the history location
+	 */
+	private void validate(final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 2);
+			final Set<String> visited= new HashSet<>(fFiles.size());
+			final Set<String> changed= new HashSet<>();
+			if (fWalked)
+				validateManifest(visited, changed, new SubProgressMonitor(monitor, 2));
+			else {
+				if (fStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
+					validate(fStore, "", visited, changed, new SubProgressMonitor(monitor, 1)); //$NON-NLS-1$
+				fWalked= true;
+			}
+			for (String path : new HashSet<>(fFiles.keySet())) {
+				if (!visited.contains(path)) {
+					fFiles.remove(path);
+					changed.add(path);
+					fSorted= false;
+				}
+			}
+			appendRecords(changed);
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Compares the index files in the manifest with the recorded snapshots.
+	 *
+	 * @param visited
+	 *            the set of paths of existing index files to fill in
+	 * @param changed
+	 *            the set of paths of changed index files to fill in
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while reading the history location
+	 */
+	private void validateManifest(final Set<String> visited, final Set<String> changed, final IProgressMonitor monitor) throws CoreException {
+		try {
+			final String[] paths= fFiles.keySet().toArray(new String[fFiles.size()]);
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, paths.length);
+			for (String path : paths) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				final IFileStore file= fStore.getFileStore(new Path(path));
+				final IFileInfo info= file.fetchInfo(EFS.NONE, null);
+				if (info.exists() && !info.isDirectory()) {
+					visited.add(path);
+					if (!fFiles.get(path).matches(info)) {
+						readIndexFile(file, path, info, null);
+						changed.add(path);
+					}
+				}
+				monitor.worked(1);
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Compares the index files below the specified folder with the recorded
+	 * snapshots.
+	 *
+	 * @param folder
+	 *            the folder
+	 * @param prefix
+	 *            the path of the folder relative to the history location,
+	 *            ending with a separator unless empty
+	 * @param visited
+	 *            the set of paths of visited index files to fill in
+	 * @param changed
+	 *            the set of paths of changed index files to fill in
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while reading the history location
+	 */
+	private void validate(final IFileStore folder, final String prefix, final Set<String> visited, final Set<String> changed, final IProgressMonitor monitor) throws CoreException {
+		try {
+			final IFileInfo[] infos= folder.childInfos(EFS.NONE, null);
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, infos.length);
+			for (IFileInfo info : infos) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				final String name= info.getName();
+				if (info.isDirectory())
+					validate(folder.getChild(name), prefix + name + '/', visited, changed, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+				else {
+					if (info.exists() && RefactoringHistoryService.NAME_INDEX_FILE.equalsIgnoreCase(name)) {
+						final String path= prefix + name;
+						visited.add(path);
+						final FileEntry entry= fFiles.get(path);
+						if (entry == null || !entry.matches(info)) {
+							readIndexFile(folder.getChild(name), path, info, null);
+							changed.add(path);
+						}
+					}
+					monitor.worked(1);
+				}
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Writes a record for the specified index file.
+	 *
+	 * @param output
+	 *            the output stream where to write to
+	 * @param path
+	 *            the path of the index file relative to the history location
+	 * @param entry
+	 *            the snapshot of the index file, or <code>null</code> if it
+	 *            has been removed
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private static void writeRecord(final DataOutputStream output, final String path, final FileEntry entry) throws IOException {
+		if (entry == null) {
+			output.writeByte(RECORD_REMOVED);
+			output.writeUTF(path);
+			return;
+		}
+		output.writeByte(RECORD_FILE);
+		output.writeUTF(path);
+		output.writeLong(entry.fModified);
+		output.writeLong(entry.fLength);
+		output.writeInt(entry.fStamps.length);
+		for (int index= 0; index < entry.fStamps.length; index++) {
+			output.writeLong(entry.fStamps[index]);
+			output.writeUTF(entry.fDescriptions[index]);
+		}
+	}
+}
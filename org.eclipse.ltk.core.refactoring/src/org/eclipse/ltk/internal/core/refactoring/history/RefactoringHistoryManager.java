@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -87,6 +88,10 @@ import org.eclipse.ltk.internal.core.refactoring.RefactoringSessionTransformer;
 
 /**
  * Manager for persistable refactoring histories.
+ * <p>
+ * The methods accessing the history are synchronized, since descriptors may be
+ * requested from a background thread while a refactoring is being performed.
+ * </p>
  *
  * @since 3.2
  */
@@ -98,8 +103,11 @@ public final class RefactoringHistoryManager {
 	/** The index entry delimiter */
 	public static final char DELIMITER_ENTRY= '\n';
 
-	/** The calendar instance */
-	private static final Calendar fgCalendar= Calendar.getInstance(TimeZone.getTimeZone("GMT+00:00")); //$NON-NLS-1$
+	/** The maximal number of cached session descriptors */
+	private static final int MAX_CACHED_SESSIONS= 8;
+
+	/** The time zone of the history parts */
+	private static final TimeZone fgTimeZone= TimeZone.getTimeZone("GMT+00:00"); //$NON-NLS-1$
 
 	/**
 	 * Checks whether the argument map is well-formed.
@@ -142,7 +150,7 @@ public final class RefactoringHistoryManager {
 	 *            the throwable to wrap
 	 * @return the core exception
 	 */
-	private static CoreException createCoreException(final Throwable exception) {
+	static CoreException createCoreException(final Throwable exception) {
 		return new CoreException(new Status(IStatus.ERROR, RefactoringCore.ID_PLUGIN, IRefactoringCoreStatusCodes.REFACTORING_HISTORY_IO_ERROR, exception.getLocalizedMessage(), exception));
 	}
 
@@ -406,13 +414,15 @@ public final class RefactoringHistoryManager {
 	 * @return A path representing the folder of the history part
 	 */
 	public static IPath stampToPath(final long stamp) {
-		fgCalendar.setTimeInMillis(stamp);
+		// Calendars are not thread-safe, and descriptors are resolved in the background
+		final Calendar calendar= Calendar.getInstance(fgTimeZone);
+		calendar.setTimeInMillis(stamp);
 		final StringBuilder buffer= new StringBuilder(256);
-		buffer.append(fgCalendar.get(Calendar.YEAR));
+		buffer.append(calendar.get(Calendar.YEAR));
 		buffer.append(IPath.SEPARATOR);
-		buffer.append(fgCalendar.get(Calendar.MONTH) + 1);
+		buffer.append(calendar.get(Calendar.MONTH) + 1);
 		buffer.append(IPath.SEPARATOR);
-		buffer.append(fgCalendar.get(Calendar.WEEK_OF_YEAR));
+		buffer.append(calendar.get(Calendar.WEEK_OF_YEAR));
 		return new Path(buffer.toString());
 	}
 
@@ -718,17 +728,25 @@ public final class RefactoringHistoryManager {
 		writer.flush();
 	}
 
-	/** The cached session descriptor, or <code>null</code> */
-	private RefactoringSessionDescriptor fCachedDescriptor= null;
-
 	/** The cached document, or <code>null</code> */
 	private Document fCachedDocument= null;
 
 	/** The cached path, or <code>null</code> */
 	private IPath fCachedPath= null;
 
-	/** The cached file store, or <code>null</code> */
-	private IFileStore fCachedStore= null;
+	/**
+	 * The cached session descriptors, in access order. Since reading the
+	 * access order modifies the map, all accesses synchronize on it.
+	 */
+	private final Map<IFileStore, RefactoringSessionDescriptor> fCachedSessions= new LinkedHashMap<>(16, 0.75f, true) {
+
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Entry<IFileStore, RefactoringSessionDescriptor> eldest) {
+			return size() > MAX_CACHED_SESSIONS;
+		}
+	};
 
 	/** The history file store */
 	private final IFileStore fHistoryStore;
@@ -770,7 +788,7 @@ public final class RefactoringHistoryManager {
 	 * @throws CoreException
 	 *             if an error occurs while adding the descriptor to the history
 	 */
-	void addRefactoringDescriptor(final RefactoringDescriptor descriptor, final boolean sort, final IProgressMonitor monitor) throws CoreException {
+	synchronized void addRefactoringDescriptor(final RefactoringDescriptor descriptor, final boolean sort, final IProgressMonitor monitor) throws CoreException {
 		try {
 			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, 18);
 			final long stamp= descriptor.getTimeStamp();
@@ -821,6 +839,7 @@ public final class RefactoringHistoryManager {
 								writeIndexEntry(index, set.toArray(new RefactoringDescriptorProxy[set.size()]), EFS.NONE, new SubProgressMonitor(monitor, 3, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
 							} else
 								writeIndexEntry(index, proxies, EFS.APPEND, new SubProgressMonitor(monitor, 5, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+							indexChanged(index);
 						}
 					} catch (ParserConfigurationException | IOException | SAXException exception) {
 						throw createCoreException(exception);
@@ -838,6 +857,7 @@ public final class RefactoringHistoryManager {
 						final Document result= transformDescriptor(descriptor, false);
 						writeHistoryEntry(history, result, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
 							writeIndexEntry(index, proxies, EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+						indexChanged(index);
 					} catch (IOException exception) {
 						throw createCoreException(exception);
 					}
@@ -848,6 +868,24 @@ public final class RefactoringHistoryManager {
 		}
 	}
 
+	/**
+	 * Updates the index of the history file store after the specified index
+	 * file has been changed.
+	 *
+	 * @param file
+	 *            the index file
+	 */
+	private void indexChanged(final IFileStore file) {
+		final RefactoringHistoryIndex index= RefactoringHistoryIndex.getIndex(fHistoryStore);
+		if (index != null) {
+			try {
+				index.indexChanged(file, new NullProgressMonitor());
+			} catch (CoreException exception) {
+				RefactoringCorePlugin.log(exception);
+			}
+		}
+	}
+
 	/**
 	 * Returns the cached refactoring history document.
 	 *
@@ -888,13 +926,19 @@ public final class RefactoringHistoryManager {
 	 *             if an error occurs while reading the session
 	 */
 	private RefactoringSessionDescriptor getCachedSession(final IFileStore store, String projectName, final InputStream input) throws CoreException {
-		if (store.equals(fCachedStore) && fCachedDescriptor != null)
-			return fCachedDescriptor;
-		final RefactoringSessionDescriptor descriptor;
+		RefactoringSessionDescriptor descriptor;
+		synchronized (fCachedSessions) {
+			descriptor= fCachedSessions.get(store);
+		}
+		if (descriptor != null)
+			return descriptor;
 		try {
 			descriptor= new RefactoringSessionReader(false, projectName).readSession(new InputSource(input));
-			fCachedDescriptor= descriptor;
-			fCachedStore= store;
+			if (descriptor != null) {
+				synchronized (fCachedSessions) {
+					fCachedSessions.put(store, descriptor);
+				}
+			}
 			return descriptor;
 		} catch (CoreException e) {
 			throw new CoreException(new MultiStatus(
@@ -917,16 +961,23 @@ public final class RefactoringHistoryManager {
 	 *            the progress monitor to use
 	 * @return the refactoring history
 	 */
-	RefactoringHistory readRefactoringHistory(final long start, final long end, final IProgressMonitor monitor) {
+	synchronized RefactoringHistory readRefactoringHistory(final long start, final long end, final IProgressMonitor monitor) {
 		try {
 			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 200);
 			final Set<RefactoringDescriptorProxy> set= new HashSet<>();
 			try {
-				if (fHistoryStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
-					readRefactoringDescriptorProxies(fHistoryStore, fProjectName, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
 				final IFileStore store= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(RefactoringHistoryService.NAME_HISTORY_FOLDER).getChild(RefactoringHistoryService.NAME_WORKSPACE_PROJECT);
-				if (store.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
-					readRefactoringDescriptorProxies(store, null, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+				final RefactoringHistoryIndex projectIndex= RefactoringHistoryIndex.getIndex(fHistoryStore);
+				final RefactoringHistoryIndex workspaceIndex= RefactoringHistoryIndex.getIndex(store);
+				if (projectIndex != null && workspaceIndex != null) {
+					set.addAll(Arrays.asList(projectIndex.query(fProjectName, start, end, new SubProgressMonitor(monitor, 100))));
+					set.addAll(Arrays.asList(workspaceIndex.query(null, start, end, new SubProgressMonitor(monitor, 100))));
+				} else {
+					if (fHistoryStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
+						readRefactoringDescriptorProxies(fHistoryStore, fProjectName, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+					if (store.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
+						readRefactoringDescriptorProxies(store, null, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+				}
 			} catch (CoreException exception) {
 				RefactoringCorePlugin.log(exception);
 			}
@@ -964,9 +1015,10 @@ public final class RefactoringHistoryManager {
 			if (index.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
 				final Set<RefactoringDescriptorProxy> resultingProxies= new HashSet<>(64);
 				readRefactoringDescriptorProxies(index, null, resultingProxies, 0, Long.MAX_VALUE, new SubProgressMonitor(monitor, 1), task);
-				if (resultingProxies.size() == proxies.length)
+				if (resultingProxies.size() == proxies.length) {
 					removeIndexTree(folder, new SubProgressMonitor(monitor, 1), task);
-				else {
+					indexChanged(index);
+				} else {
 					final IFileStore history= folder.getChild(RefactoringHistoryService.NAME_HISTORY_FILE);
 					if (history.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
 						InputStream input= null;
@@ -1012,6 +1064,7 @@ public final class RefactoringHistoryManager {
 						}
 						try {
 							writeIndexEntry(index, resultingProxies.toArray(new RefactoringDescriptorProxy[resultingProxies.size()]), EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), task);
+							indexChanged(index);
 							writeHistoryEntry(history, document, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), task);
 						} catch (IOException exception) {
 							throw createCoreException(exception);
@@ -1036,7 +1089,7 @@ public final class RefactoringHistoryManager {
 	 * @throws CoreException
 	 *             if an error occurs
 	 */
-	void removeRefactoringDescriptors(final RefactoringDescriptorProxy[] proxies, final IProgressMonitor monitor, final String task) throws CoreException {
+	synchronized void removeRefactoringDescriptors(final RefactoringDescriptorProxy[] proxies, final IProgressMonitor monitor, final String task) throws CoreException {
 		try {
 			final Map<IPath, Collection<RefactoringDescriptorProxy>> paths= new HashMap<>();
 			monitor.beginTask(task, proxies.length + 300);
@@ -1075,7 +1128,7 @@ public final class RefactoringHistoryManager {
 	 *            the progress monitor to use
 	 * @return the associated refactoring descriptor, or <code>null</code>
 	 */
-	RefactoringDescriptor requestDescriptor(final RefactoringDescriptorProxy proxy, final IProgressMonitor monitor) {
+	synchronized RefactoringDescriptor requestDescriptor(final RefactoringDescriptorProxy proxy, final IProgressMonitor monitor) {
 		try {
 			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_resolving_information, 2);
 			final long stamp= proxy.getTimeStamp();
@@ -1125,7 +1178,7 @@ public final class RefactoringHistoryManager {
 	 * @throws CoreException
 	 *             if an error occurs while setting the comment
 	 */
-	void setComment(final RefactoringDescriptorProxy proxy, final String comment, final IProgressMonitor monitor) throws CoreException {
+	synchronized void setComment(final RefactoringDescriptorProxy proxy, final String comment, final IProgressMonitor monitor) throws CoreException {
 		try {
 			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, 100);
 			final long stamp= proxy.getTimeStamp();
@@ -1197,8 +1250,9 @@ public final class RefactoringHistoryManager {
 				} finally {
 					fCachedDocument= null;
 					fCachedPath= null;
-					fCachedDescriptor= null;
-					fCachedStore= null;
+					synchronized (fCachedSessions) {
+						fCachedSessions.clear();
+					}
 				if (output != null) {
 					try {
 						output.close();
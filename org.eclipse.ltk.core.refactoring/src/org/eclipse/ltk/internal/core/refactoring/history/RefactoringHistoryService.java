@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -49,6 +49,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
@@ -258,6 +259,7 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 							destination.mkdir(EFS.NONE, new SubProgressMonitor(monitor, 20));
 							source.copy(destination, EFS.OVERWRITE, new SubProgressMonitor(monitor, 20));
 							source.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
+							RefactoringHistoryIndex.locationChanged(destination);
 						}
 					} else {
 						final IFileStore source= EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER);
@@ -268,6 +270,7 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 							destination.mkdir(EFS.NONE, new SubProgressMonitor(monitor, 20));
 							source.copy(destination, EFS.OVERWRITE, new SubProgressMonitor(monitor, 20));
 							source.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
+							RefactoringHistoryIndex.locationChanged(destination);
 						}
 					}
 				} finally {
@@ -537,7 +540,9 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 	@Override
 	public void disconnect() {
 		if (fReferenceCount > 0) {
-			fManagerCache.clear();
+			synchronized (fManagerCache) {
+				fManagerCache.clear();
+			}
 			fReferenceCount--;
 		}
 		if (fReferenceCount == 0) {
@@ -854,6 +859,7 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 				if (newStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
 					newStore.delete(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
 				oldStore.move(newStore, EFS.OVERWRITE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+				RefactoringHistoryIndex.locationChanged(newStore);
 			}
 		} catch (CoreException exception) {
 			RefactoringCorePlugin.log(exception);
@@ -885,10 +891,46 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 						}
 					}
 				}
+				if (RefactoringHistoryIndex.isEnabled())
+					performHistoryFoldersChanged(deltas);
+			}
+		}
+	}
+
+	/**
+	 * Tells the indexes of the shared project histories about index files
+	 * which have been added by others, e.g. by a version control system.
+	 *
+	 * @param deltas
+	 *            the project deltas
+	 */
+	private static void performHistoryFoldersChanged(final IResourceDelta[] deltas) {
+		for (IResourceDelta delta : deltas) {
+			final IResourceDelta folder= delta.findMember(new Path(NAME_HISTORY_FOLDER));
+			if (folder != null && hasAddedIndexFile(folder)) {
+				final URI uri= delta.getResource().getLocationURI();
+				if (uri != null) {
+					try {
+						RefactoringHistoryIndex.locationChanged(EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER));
+					} catch (CoreException exception) {
+						RefactoringCorePlugin.log(exception);
+					}
+				}
 			}
 		}
 	}
 
+	private static boolean hasAddedIndexFile(final IResourceDelta delta) {
+		final IResource resource= delta.getResource();
+		if (resource.getType() == IResource.FILE)
+			return delta.getKind() == IResourceDelta.ADDED && NAME_INDEX_FILE.equalsIgnoreCase(resource.getName());
+		for (IResourceDelta child : delta.getAffectedChildren()) {
+			if (hasAddedIndexFile(child))
+				return true;
+		}
+		return false;
+	}
+
 	private RefactoringDescriptor getRefactoringDescriptor(IUndoableOperation operation) {
 		if (operation instanceof TriggeredOperations) {
 			operation= ((TriggeredOperations) operation).getTriggeringOperation();
@@ -988,12 +1030,14 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 	 */
 	private RefactoringHistoryManager getManager(final IFileStore store, final String name) {
 		Assert.isNotNull(store);
-		RefactoringHistoryManager manager= fManagerCache.get(store);
-		if (manager == null) {
-			manager= new RefactoringHistoryManager(store, name);
-			fManagerCache.put(store, manager);
+		synchronized (fManagerCache) {
+			RefactoringHistoryManager manager= fManagerCache.get(store);
+			if (manager == null) {
+				manager= new RefactoringHistoryManager(store, name);
+				fManagerCache.put(store, manager);
+			}
+			return manager;
 		}
-		return manager;
 	}
 
 }